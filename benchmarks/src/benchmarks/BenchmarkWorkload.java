@@ -0,0 +1,54 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import core.ProcessControlBlock;
+import core.SimulationContext;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * BenchmarkWorkload genera las cargas deterministas compartidas por los benchmarks, de modo que
+ * todas las variantes de una misma medición reciban exactamente los mismos procesos.
+ *
+ * @author santiagodelcastillo
+ */
+final class BenchmarkWorkload {
+
+    /** Semilla fija para que las cargas sean reproducibles entre ejecuciones. */
+    static final long SEED = 42L;
+    /** Duración máxima de los procesos generados (en instrucciones). */
+    static final int MAX_BURST = 200;
+
+    private BenchmarkWorkload() {
+    }
+
+    /**
+     * Apaga el logging del simulador: las políticas registran cada decisión y eso dominaría la medición.
+     */
+    static void silenceLogging() {
+        Logger.getLogger("").setLevel(Level.OFF);
+    }
+
+    /**
+     * Crea procesos listos con ráfagas y arribos pseudoaleatorios.
+     * @param context contexto que asigna los PIDs
+     * @param count cantidad de procesos
+     * @param maxBurst duración máxima de cada proceso
+     * @return procesos con su arribo a listos ya marcado en [0, count)
+     */
+    static ProcessControlBlock[] readyProcesses(SimulationContext context, int count, int maxBurst) {
+        Random random = new Random(SEED);
+        ProcessControlBlock[] processes = new ProcessControlBlock[count];
+        for (int i = 0; i < count; i++) {
+            ProcessControlBlock pcb = context.newProcess("B" + i);
+            pcb.setTotalInstructions(1 + random.nextInt(maxBurst));
+            pcb.markReadyQueueArrival(random.nextInt(count));
+            processes[i] = pcb;
+        }
+        return processes;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import datastructures.ArrayList;
+import datastructures.EnumMap;
+import datastructures.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import scheduler.PolicyType;
+
+/**
+ * CollectionsBenchmark mide las estructuras propias del paquete datastructures en los usos que
+ * hace el simulador: listas que se llenan y recorren (métricas, instantáneas), listas enlazadas
+ * usadas como colas y el EnumMap del catálogo de políticas del Scheduler.
+ *
+ * @author santiagodelcastillo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionsBenchmark {
+
+    /** Cantidad de elementos insertados por operación en las listas. */
+    @Param({"16", "256", "4096"})
+    public int elements;
+
+    private Integer[] values;
+    private PolicyType[] keys;
+    private EnumMap<PolicyType, Integer> policyMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[elements];
+        for (int i = 0; i < elements; i++) {
+            values[i] = i;
+        }
+        keys = PolicyType.values();
+        policyMap = new EnumMap<>(PolicyType.class);
+        for (PolicyType key : keys) {
+            policyMap.put(key, key.ordinal());
+        }
+    }
+
+    /**
+     * Llena una ArrayList desde su capacidad por defecto y la recorre por índice.
+     */
+    @Benchmark
+    public void arrayListAddAndGet(Blackhole blackhole) {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            blackhole.consume(list.get(i));
+        }
+    }
+
+    /**
+     * Quita el primer elemento de una ArrayList llena hasta vaciarla (desplazamiento O(n) por paso).
+     */
+    @Benchmark
+    public void arrayListRemoveFirst(Blackhole blackhole) {
+        ArrayList<Integer> list = new ArrayList<>(elements);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        while (!list.isEmpty()) {
+            blackhole.consume(list.remove(0));
+        }
+    }
+
+    /**
+     * Usa una LinkedList como cola FIFO: inserta al final y retira del frente.
+     */
+    @Benchmark
+    public void linkedListAddLastRemoveFirst(Blackhole blackhole) {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (Integer value : values) {
+            list.addLast(value);
+        }
+        while (!list.isEmpty()) {
+            blackhole.consume(list.removeFirst());
+        }
+    }
+
+    /**
+     * Busca en una LinkedList por índice, recorriendo nodos en cada acceso.
+     */
+    @Benchmark
+    public void linkedListIndexedGet(Blackhole blackhole) {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            blackhole.consume(list.get(i));
+        }
+    }
+
+    /**
+     * Consulta y reemplaza cada política del catálogo, como al cambiar la política activa.
+     */
+    @Benchmark
+    public void enumMapPutGet(Blackhole blackhole) {
+        for (PolicyType key : keys) {
+            Integer value = policyMap.get(key);
+            blackhole.consume(policyMap.put(key, value));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import core.ProcessControlBlock;
+import core.ProcessQueue;
+import core.SimulationContext;
+import datastructures.CustomQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CustomQueueBenchmark mide las operaciones de la cola usada por el sistema operativo para
+ * listos, bloqueados y suspendidos, comparando la lista enlazada genérica con la ProcessQueue
+ * intrusiva. Cada operación deja la cola con el mismo tamaño con el que empezó, para que el
+ * resultado dependa solo de los parámetros.
+ *
+ * @author santiagodelcastillo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomQueueBenchmark {
+
+    /** Cantidad de procesos encolados. */
+    @Param({"16", "256", "4096"})
+    public int queuedProcesses;
+
+    /** Implementación: ENLAZADA (CustomQueue con nodos) o INTRUSIVA (ProcessQueue sobre la tabla). */
+    @Param({"ENLAZADA", "INTRUSIVA"})
+    public String queueKind;
+
+    private CustomQueue<ProcessControlBlock> queue;
+    private ProcessControlBlock[] processes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkWorkload.silenceLogging();
+        SimulationContext context = new SimulationContext();
+        processes = BenchmarkWorkload.readyProcesses(context, queuedProcesses, BenchmarkWorkload.MAX_BURST);
+        queue = "INTRUSIVA".equals(queueKind) ? new ProcessQueue(context.getProcessTable()) : new CustomQueue<>();
+        for (ProcessControlBlock pcb : processes) {
+            queue.enqueue(pcb);
+        }
+        cursor = 0;
+    }
+
+    /**
+     * Rota la cola: retira el frente y lo vuelve a encolar al final.
+     * @return proceso rotado
+     */
+    @Benchmark
+    public ProcessControlBlock enqueueDequeue() {
+        ProcessControlBlock head = queue.dequeue();
+        queue.enqueue(head);
+        return head;
+    }
+
+    /**
+     * Extrae un proceso arbitrario (como al suspender o bloquear) y lo reinserta al final.
+     * Recorre los procesos en orden: la cola enlazada busca en promedio hasta la mitad de la cola,
+     * la intrusiva desenlaza el proceso en O(1).
+     * @return true si el proceso estaba encolado
+     */
+    @Benchmark
+    public boolean removeAndReinsert() {
+        ProcessControlBlock target = processes[cursor];
+        cursor = cursor + 1 == processes.length ? 0 : cursor + 1;
+        boolean removed = queue.remove(target);
+        queue.enqueue(target);
+        return removed;
+    }
+
+    /**
+     * Copia la cola completa, como hacen la interfaz y las métricas al pedir una instantánea.
+     * @return arreglo con los procesos encolados
+     */
+    @Benchmark
+    public Object[] getAllProcesses() {
+        return queue.getAllProcesses();
+    }
+}
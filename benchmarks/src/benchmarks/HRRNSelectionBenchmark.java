@@ -0,0 +1,111 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import core.ProcessControlBlock;
+import core.SimulationContext;
+import datastructures.CustomQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import scheduler.HRRN;
+import scheduler.ResponseRatioQueue;
+
+/**
+ * HRRNSelectionBenchmark compara el costo de un despacho HRRN usando la cola FIFO con recorrido
+ * lineal frente a la ResponseRatioQueue, con colas de listos de 1k, 10k y 100k procesos.
+ * Cada operación simula un ciclo en régimen estable: se selecciona el proceso de mayor ratio y
+ * se reencola como si volviera de CPU, de modo que el tamaño de la cola no cambia.
+ * Antes de medir se comprueba que ambas variantes eligen exactamente la misma secuencia.
+ *
+ * @author santiagodelcastillo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HRRNSelectionBenchmark {
+
+    /** Despachos comparados entre variantes antes de medir. */
+    private static final int VERIFIED_DISPATCHES = 1_000;
+
+    /** Cantidad de procesos en la cola de listos. */
+    @Param({"1000", "10000", "100000"})
+    public int readyProcesses;
+
+    /** Cola evaluada: FIFO con recorrido lineal o indexada por ráfaga. */
+    @Param({"LINEAL", "INDEXADA"})
+    public String queueKind;
+
+    private HRRN policy;
+    private CustomQueue<ProcessControlBlock> readyQueue;
+    private long cycle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkWorkload.silenceLogging();
+        long linear = checksum(new CustomQueue<>(), VERIFIED_DISPATCHES);
+        long indexed = checksum(new ResponseRatioQueue(), VERIFIED_DISPATCHES);
+        if (linear != indexed) {
+            throw new IllegalStateException("Las variantes seleccionaron secuencias distintas para " + readyProcesses + " procesos");
+        }
+        policy = new HRRN();
+        readyQueue = fill("INDEXADA".equals(queueKind) ? new ResponseRatioQueue() : new CustomQueue<>());
+        cycle = readyProcesses;
+    }
+
+    /**
+     * Selecciona el proceso de mayor ratio de respuesta y lo reencola con el ciclo actual.
+     * @return proceso elegido (consumido por JMH)
+     */
+    @Benchmark
+    public ProcessControlBlock dispatch() {
+        cycle++;
+        ProcessControlBlock selected = policy.selectNextProcess(readyQueue, null, cycle);
+        selected.markReadyQueueArrival(cycle);
+        readyQueue.enqueue(selected);
+        return selected;
+    }
+
+    /**
+     * Llena la cola con la carga determinista del benchmark.
+     */
+    private CustomQueue<ProcessControlBlock> fill(CustomQueue<ProcessControlBlock> queue) {
+        for (ProcessControlBlock pcb : BenchmarkWorkload.readyProcesses(new SimulationContext(), readyProcesses, BenchmarkWorkload.MAX_BURST)) {
+            queue.enqueue(pcb);
+        }
+        return queue;
+    }
+
+    /**
+     * Ejecuta despachos sobre una cola nueva y resume la secuencia elegida en una suma de control.
+     */
+    private long checksum(CustomQueue<ProcessControlBlock> queue, int dispatches) {
+        HRRN verifier = new HRRN();
+        fill(queue);
+        long now = readyProcesses;
+        long checksum = 0L;
+        for (int i = 0; i < dispatches; i++) {
+            now++;
+            ProcessControlBlock selected = verifier.selectNextProcess(queue, null, now);
+            checksum = checksum * 31L + selected.getTotalInstructions() * 1_000_003L + selected.getReadyQueueArrivalTime();
+            selected.markReadyQueueArrival(now);
+            queue.enqueue(selected);
+        }
+        return checksum;
+    }
+}
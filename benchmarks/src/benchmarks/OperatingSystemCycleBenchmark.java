@@ -0,0 +1,104 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import core.CPU;
+import core.OperatingSystem;
+import core.ProcessControlBlock;
+import core.SimulationContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scheduler.PolicyType;
+import util.IOHandler;
+
+/**
+ * OperatingSystemCycleBenchmark mide un paso completo del pipeline de ciclo del sistema
+ * operativo en modo headless (admisión, I/O, alineación de colas, planificación y ejecución en
+ * cada núcleo) mediante OperatingSystem.advanceClock.
+ * Cada iteración arranca con un sistema nuevo cargado con procesos lo bastante largos para no
+ * terminar durante la medición, y con una parte de ellos I/O-bound para ejercitar bloqueos.
+ *
+ * @author santiagodelcastillo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatingSystemCycleBenchmark {
+
+    /** Instrucciones por proceso: muy por encima de los ciclos que cabe medir en una iteración. */
+    private static final int LONG_BURST = 50_000_000;
+    /** Proporción de procesos I/O-bound en la carga. */
+    private static final double IO_BOUND_RATIO = 0.25;
+
+    /** Política activa durante la medición. */
+    @Param({"FCFS", "ROUND_ROBIN", "SPN", "SRT", "HRRN", "FEEDBACK"})
+    public PolicyType policyType;
+
+    /** Cantidad de núcleos registrados en el sistema. */
+    @Param({"1", "4"})
+    public int cores;
+
+    /** Cantidad de procesos admitidos al inicio de la iteración. */
+    @Param({"64"})
+    public int processes;
+
+    private OperatingSystem operatingSystem;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        BenchmarkWorkload.silenceLogging();
+        operatingSystem = new OperatingSystem(new SimulationContext());
+        operatingSystem.setHeadlessMode(true);
+        operatingSystem.setMaxProcessesInMemory(processes);
+        IOHandler ioHandler = new IOHandler(operatingSystem);
+        for (int i = 0; i < cores; i++) {
+            operatingSystem.attachCpu(new CPU(operatingSystem, ioHandler));
+        }
+        operatingSystem.setSchedulingPolicy(policyType);
+
+        Random random = new Random(BenchmarkWorkload.SEED);
+        SimulationContext context = operatingSystem.getContext();
+        for (int i = 0; i < processes; i++) {
+            ProcessControlBlock pcb = context.newProcess("B" + i);
+            pcb.setTotalInstructions(LONG_BURST + random.nextInt(BenchmarkWorkload.MAX_BURST));
+            if (random.nextDouble() < IO_BOUND_RATIO) {
+                pcb.setIOBound(true);
+                pcb.setIoExceptionCycle(1 + random.nextInt(BenchmarkWorkload.MAX_BURST));
+                pcb.setIoDuration(1 + random.nextInt(10));
+            }
+            operatingSystem.admitProcess(pcb);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        operatingSystem.stopSystemClock();
+    }
+
+    /**
+     * Ejecuta un ciclo del reloj global en el hilo del benchmark.
+     * @return número del ciclo ejecutado
+     */
+    @Benchmark
+    public long advanceClock() {
+        return operatingSystem.advanceClock();
+    }
+}
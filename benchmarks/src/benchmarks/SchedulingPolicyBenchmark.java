@@ -0,0 +1,80 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import core.ProcessControlBlock;
+import core.SimulationContext;
+import datastructures.CustomQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import scheduler.PolicyType;
+import scheduler.Scheduler;
+import scheduler.SchedulingPolicy;
+
+/**
+ * SchedulingPolicyBenchmark mide SchedulingPolicy.selectNextProcess de cada política registrada
+ * en el Scheduler, sobre la cola de listos que la propia política crea (createReadyQueue).
+ * Cada operación es un despacho en régimen estable: se elige un proceso y se reencola con el
+ * ciclo actual, como si volviera de CPU, así el tamaño de la cola se mantiene constante.
+ *
+ * @author santiagodelcastillo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulingPolicyBenchmark {
+
+    /** Política evaluada. */
+    @Param({"FCFS", "ROUND_ROBIN", "SPN", "SRT", "HRRN", "FEEDBACK"})
+    public PolicyType policyType;
+
+    /** Cantidad de procesos en la cola de listos. */
+    @Param({"16", "256", "4096"})
+    public int readyProcesses;
+
+    private SchedulingPolicy policy;
+    private CustomQueue<ProcessControlBlock> readyQueue;
+    private long cycle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkWorkload.silenceLogging();
+        Scheduler scheduler = new Scheduler();
+        scheduler.setPolicy(policyType);
+        policy = scheduler.getActivePolicy();
+        readyQueue = policy.createReadyQueue();
+        for (ProcessControlBlock pcb : BenchmarkWorkload.readyProcesses(new SimulationContext(), readyProcesses, BenchmarkWorkload.MAX_BURST)) {
+            readyQueue.enqueue(pcb);
+        }
+        cycle = readyProcesses;
+    }
+
+    /**
+     * Selecciona el próximo proceso con la CPU ociosa y lo devuelve a la cola de listos.
+     * @return proceso elegido (consumido por JMH)
+     */
+    @Benchmark
+    public ProcessControlBlock selectAndRequeue() {
+        cycle++;
+        ProcessControlBlock selected = policy.selectNextProcess(readyQueue, null, cycle);
+        selected.markReadyQueueArrival(cycle);
+        readyQueue.enqueue(selected);
+        return selected;
+    }
+}
@@ -6,8 +6,10 @@
 package core;
 
 import datastructures.CustomQueue;
+import datastructures.WorkStealingDeque;
 import java.util.Objects;
-import java.util.logging.Logger;
+import java.util.logging.Level;
+import scheduler.AdaptiveQuantumController;
 import scheduler.Feedback;
 import scheduler.RoundRobin;
 import scheduler.SRTF;
@@ -21,8 +23,29 @@ import util.IOHandler;
  */
 public class CPU {
 
-    /** Logger para mensajes de depuración y seguimiento de eventos. */
-    private static final Logger LOGGER = Logger.getLogger(CPU.class.getName());
+    /** Mensajes de seguimiento de eventos; se registran sin asignar memoria (ver SimulatorLog). */
+    private static final SimulatorLog.Message LOAD_MESSAGE = SimulatorLog.message(CPU.class,
+            SimulatorLog.Subsystem.CPU, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) cargado en CPU", entry.ref(0), entry.arg(0)));
+    private static final SimulatorLog.Message RELEASE_MESSAGE = SimulatorLog.message(CPU.class,
+            SimulatorLog.Subsystem.CPU, Level.INFO,
+            entry -> String.format("CPU libera proceso %s (#%d)", entry.ref(0), entry.arg(0)));
+    private static final SimulatorLog.Message IO_BLOCK_MESSAGE = SimulatorLog.message(CPU.class,
+            SimulatorLog.Subsystem.CPU, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) movido a BLOQUEADO por evento de I/O",
+                    entry.ref(0), entry.arg(0)));
+    private static final SimulatorLog.Message QUANTUM_MESSAGE = SimulatorLog.message(CPU.class,
+            SimulatorLog.Subsystem.CPU, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) expropiado tras alcanzar quantum RR=%d",
+                    entry.ref(0), entry.arg(0), entry.arg(1)));
+    private static final SimulatorLog.Message SRTF_PREEMPTION_MESSAGE = SimulatorLog.message(CPU.class,
+            SimulatorLog.Subsystem.CPU, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) expropiado por SRTF; nuevo proceso %s (#%d) restante=%d",
+                    entry.ref(0), entry.arg(0), entry.ref(1), entry.arg(1), entry.arg(2)));
+    private static final SimulatorLog.Message FEEDBACK_DEMOTION_MESSAGE = SimulatorLog.message(CPU.class,
+            SimulatorLog.Subsystem.CPU, Level.INFO,
+            entry -> String.format("Feedback degrada %s (#%d) al nivel %d tras agotar quantum=%d",
+                    entry.ref(0), entry.arg(0), entry.arg(1), entry.arg(2)));
 
     /** Referencia al sistema operativo que gestiona las colas de procesos. */
     private final OperatingSystem operatingSystem;
@@ -36,10 +59,28 @@ public class CPU {
     private int cyclesExecutedByCurrentProcess;
     /** Quantum configurado para Round Robin (en ciclos). */
     private int timeQuantum;
-    /** Quantums base para la política Feedback. */
-    private static final int[] FEEDBACK_QUANTA = {1, 2, 3, 4, Integer.MAX_VALUE};
-    /** Cantidad de niveles configurables en la política Feedback. */
-    private static final int FEEDBACK_LEVELS = 4;
+    /** Quantums de la política Feedback para este núcleo, uno por nivel; el último nivel se reparte en Round Robin. */
+    private int[] feedbackQuanta = {1, 2, 3, 4};
+    /** Identificador del núcleo asignado por el sistema operativo (0 para el primero registrado). */
+    private int coreId;
+    /** Ciclos en los que el núcleo ejecutó instrucciones. */
+    private long busyCycles;
+    /** Ciclos en los que el núcleo permaneció ocioso. */
+    private long idleCycles;
+    /** Ciclos en los que el núcleo estuvo cargando un proceso (costo de cambio de contexto). */
+    private long switchCycles;
+    /** Ciclos de cambio de contexto que faltan antes de que el proceso cargado ejecute. */
+    private int switchCyclesRemaining;
+    /** Cantidad de procesos cargados en el núcleo. */
+    private long dispatchCount;
+    /** Procesos que finalizaron su ejecución en este núcleo. */
+    private long completedProcesses;
+    /** Procesos que este núcleo robó de la cola local de otro núcleo. */
+    private long stealCount;
+    /** Procesos cargados en este núcleo cuya ejecución anterior ocurrió en otro núcleo. */
+    private long migrationCount;
+    /** Cola local de listos del núcleo; solo se usa cuando el sistema operativo activa colas por núcleo. */
+    private final WorkStealingDeque<ProcessControlBlock> localRunQueue;
 
     /**
      * Crea una CPU asociada al sistema operativo y al manejador de I/O.
@@ -52,6 +93,118 @@ public class CPU {
         this.scheduler = null;
         this.cyclesExecutedByCurrentProcess = 0;
         this.timeQuantum = 4;
+        this.coreId = 0;
+        this.localRunQueue = new WorkStealingDeque<>();
+    }
+
+    /**
+     * Devuelve el identificador del núcleo dentro del sistema operativo.
+     * @return índice del núcleo (0 para la primera CPU registrada)
+     */
+    public int getCoreId() {
+        return coreId;
+    }
+
+    /**
+     * Asigna el identificador del núcleo al registrarse en el sistema operativo.
+     * @param coreId índice del núcleo
+     */
+    void assignCoreId(int coreId) {
+        this.coreId = coreId;
+    }
+
+    /**
+     * Ciclos en los que el núcleo ejecutó instrucciones de algún proceso.
+     * @return ciclos ocupados acumulados
+     */
+    public long getBusyCycles() {
+        return busyCycles;
+    }
+
+    /**
+     * Ciclos en los que el núcleo no tenía proceso cargado.
+     * @return ciclos ociosos acumulados
+     */
+    public long getIdleCycles() {
+        return idleCycles;
+    }
+
+    /**
+     * Ciclos que el núcleo dedicó a cargar procesos según el costo de cambio de contexto.
+     * @return ciclos de cambio de contexto acumulados
+     */
+    public long getSwitchCycles() {
+        return switchCycles;
+    }
+
+    /**
+     * Cantidad de veces que se cargó un proceso en este núcleo.
+     * @return despachos acumulados
+     */
+    public long getDispatchCount() {
+        return dispatchCount;
+    }
+
+    /**
+     * Cantidad de procesos que terminaron su ejecución en este núcleo.
+     * @return procesos completados
+     */
+    public long getCompletedProcesses() {
+        return completedProcesses;
+    }
+
+    /**
+     * Registra que el proceso que ocupaba el núcleo terminó su ejecución.
+     */
+    void recordCompletion() {
+        completedProcesses++;
+    }
+
+    /**
+     * Cantidad de procesos que este núcleo robó de otros núcleos estando ocioso.
+     * @return robos acumulados
+     */
+    public long getStealCount() {
+        return stealCount;
+    }
+
+    /**
+     * Registra que el núcleo robó un proceso de la cola local de otro núcleo.
+     */
+    void recordSteal() {
+        stealCount++;
+    }
+
+    /**
+     * Cantidad de procesos que llegaron a este núcleo habiendo ejecutado antes en otro.
+     * @return migraciones acumuladas
+     */
+    public long getMigrationCount() {
+        return migrationCount;
+    }
+
+    /**
+     * Cantidad de procesos en espera en la cola local del núcleo.
+     * @return tamaño aproximado de la cola local
+     */
+    public int getLocalRunQueueSize() {
+        return localRunQueue.size();
+    }
+
+    /**
+     * Cola local de listos del núcleo, administrada por el sistema operativo.
+     * @return deque de robo de trabajo del núcleo
+     */
+    WorkStealingDeque<ProcessControlBlock> localRunQueue() {
+        return localRunQueue;
+    }
+
+    /**
+     * Devuelve el manejador de I/O al que la CPU entrega los procesos bloqueados.
+     * @return manejador de I/O asociado
+     */
+    public IOHandler getIoHandler() {
+        return ioHandler;
     }
 
     /**
@@ -83,22 +236,18 @@ public class CPU {
 
     /**
      * Permite personalizar los quantums por nivel para la política Feedback.
-     * @param quanta arreglo con los quantums para cada uno de los niveles configurables
+     * @param quanta arreglo con un quantum por nivel (entre 1 y SimulationContext.MAX_FEEDBACK_LEVELS)
      */
     public void setFeedbackQuanta(int[] quanta) {
-        if (quanta == null || quanta.length != FEEDBACK_LEVELS) {
-            throw new IllegalArgumentException("Se requieren " + FEEDBACK_LEVELS + " quantums para Feedback");
+        if (quanta == null || quanta.length == 0 || quanta.length > SimulationContext.MAX_FEEDBACK_LEVELS) {
+            throw new IllegalArgumentException("Feedback admite entre 1 y " + SimulationContext.MAX_FEEDBACK_LEVELS + " niveles");
         }
-        for (int i = 0; i < FEEDBACK_LEVELS; i++) {
-            int value = quanta[i];
-            if (value <= 0) {
+        for (int i = 0; i < quanta.length; i++) {
+            if (quanta[i] <= 0) {
                 throw new IllegalArgumentException("El quantum de Feedback debe ser positivo (nivel " + i + ")");
             }
-            FEEDBACK_QUANTA[i] = value;
-        }
-        if (FEEDBACK_QUANTA.length > FEEDBACK_LEVELS) {
-            FEEDBACK_QUANTA[FEEDBACK_QUANTA.length - 1] = Integer.MAX_VALUE;
         }
+        feedbackQuanta = quanta.clone();
     }
 
     /**
@@ -106,9 +255,21 @@ public class CPU {
      * @return arreglo con los quantums configurados para cada nivel
      */
     public int[] getFeedbackQuantaSnapshot() {
-        int[] snapshot = new int[FEEDBACK_LEVELS];
-        System.arraycopy(FEEDBACK_QUANTA, 0, snapshot, 0, FEEDBACK_LEVELS);
-        return snapshot;
+        return feedbackQuanta.clone();
+    }
+
+    /**
+     * Devuelve al nivel 0 de Feedback al proceso en ejecución y reinicia los ciclos que lleva en
+     * el nivel, como parte de un boost de prioridad. Lo invoca el hilo del reloj entre ciclos.
+     * @return true si había un proceso en un nivel inferior al 0
+     */
+    boolean boostFeedbackLevel() {
+        if (currentProcess == null || currentProcess.getPriorityLevel() == 0) {
+            return false;
+        }
+        currentProcess.setPriorityLevel(0);
+        cyclesExecutedByCurrentProcess = 0;
+        return true;
     }
 
     /**
@@ -138,13 +299,31 @@ public class CPU {
         Objects.requireNonNull(pcb, "El proceso a cargar no puede ser nulo");
         this.currentProcess = pcb;
         this.cyclesExecutedByCurrentProcess = 0;
-        pcb.clearReadyQueueArrival();
+        this.dispatchCount++;
+        int previousCore = pcb.getLastCoreId();
+        if (previousCore >= 0 && previousCore != coreId) {
+            migrationCount++;
+        }
+        pcb.setLastCoreId(coreId);
+        long now = operatingSystem.getGlobalClockCycle();
+        // El costo se cobra en los próximos ciclos de este núcleo, antes de la primera instrucción
+        ContextSwitchCost cost = operatingSystem.getContext().getContextSwitchCost();
+        int latency = cost.getDispatchLatencyCycles();
+        int penalty = cost.cachePenalty(pcb.getLastRunCycle(), previousCore, coreId, now);
+        this.switchCyclesRemaining = latency + penalty;
+        pcb.leaveReadyQueue(now);
+        ProcessState previousState = pcb.getProcessState();
         pcb.setProcessState(ProcessState.EJECUCION);
+        recordCpuEvent(EventRecorder.TYPE_CPU_LOAD, pcb, previousState, ProcessState.EJECUCION);
+        pcb.recordDispatch();
+        operatingSystem.getInstrumentation().recordContextSwitch(latency, penalty);
+        boolean firstExecution = pcb.getFirstExecutionCycle() < 0L;
+        operatingSystem.getMetrics().recordDispatch(scheduler != null ? scheduler.getActivePolicyType() : null,
+                firstExecution ? Math.max(0L, now - Math.max(0L, pcb.getArrivalCycle())) : -1L,
+                latency + penalty);
         // ⭐ Registrar ciclo de primer inicio si aún no se ha marcado
-        pcb.markFirstExecution(operatingSystem.getGlobalClockCycle());
-        LOGGER.info(() -> String.format("Proceso %s (#%d) cargado en CPU",
-                pcb.getProcessName(),
-                pcb.getProcessId()));
+        pcb.markFirstExecution(now);
+        SimulatorLog.log(LOAD_MESSAGE, pcb.getProcessName(), pcb.getProcessId());
     }
 
     /**
@@ -178,11 +357,21 @@ public class CPU {
 
     /**
      * Ejecuta un ciclo de CPU: avanza los registros de contexto y gestiona posibles bloqueos por I/O.
+     * Mientras quede costo de cambio de contexto por pagar, el ciclo se consume sin ejecutar
+     * instrucciones y no cuenta para el quantum.
      */
     public void executeCycle() {
         if (currentProcess == null) {
+            idleCycles++;
             return;
         }
+        if (switchCyclesRemaining > 0) {
+            switchCyclesRemaining--;
+            switchCycles++;
+            return;
+        }
+        busyCycles++;
+        currentProcess.setLastRunCycle(operatingSystem.getGlobalClockCycle());
 
         // Avanza el contador de programa y el registro de dirección de memoria
         int nextProgramCounter = currentProcess.getProgramCounter() + 1;
@@ -213,11 +402,14 @@ public class CPU {
      */
     public void releaseProcess() {
         if (currentProcess != null) {
-            LOGGER.info(() -> String.format("CPU libera proceso %s (#%d)",
-                    currentProcess.getProcessName(),
-                    currentProcess.getProcessId()));
+            SimulatorLog.log(RELEASE_MESSAGE, currentProcess.getProcessName(), currentProcess.getProcessId());
+            operatingSystem.getInstrumentation().recordRelease();
+            recordCpuEvent(EventRecorder.TYPE_CPU_RELEASE, currentProcess, ProcessState.EJECUCION,
+                    currentProcess.getProcessState());
+            recordBurst(cyclesExecutedByCurrentProcess, false);
             currentProcess = null;
             cyclesExecutedByCurrentProcess = 0;
+            switchCyclesRemaining = 0;
         }
     }
 
@@ -234,11 +426,13 @@ public class CPU {
             ProcessControlBlock processToBlock = currentProcess;
             operatingSystem.moveToBlocked(processToBlock);
             ioHandler.enqueueProcess(processToBlock);
+            recordCpuEvent(EventRecorder.TYPE_CPU_RELEASE, processToBlock, ProcessState.EJECUCION,
+                    processToBlock.getProcessState());
+            recordBurst(cyclesExecutedByCurrentProcess, false);
             currentProcess = null;
             cyclesExecutedByCurrentProcess = 0;
-            LOGGER.info(() -> String.format("Proceso %s (#%d) movido a BLOQUEADO por evento de I/O",
-                    processToBlock.getProcessName(),
-                    processToBlock.getProcessId()));
+            operatingSystem.getInstrumentation().recordIoBlock();
+            SimulatorLog.log(IO_BLOCK_MESSAGE, processToBlock.getProcessName(), processToBlock.getProcessId());
         }
     }
 
@@ -257,15 +451,46 @@ public class CPU {
             return;
         }
         ProcessControlBlock processToRequeue = currentProcess;
-        operatingSystem.moveToReady(processToRequeue);
+        recordBurst(cyclesExecutedByCurrentProcess, true);
+        operatingSystem.requeuePreempted(this, processToRequeue);
+        recordCpuEvent(EventRecorder.TYPE_CPU_RELEASE, processToRequeue, ProcessState.EJECUCION,
+                processToRequeue.getProcessState());
         currentProcess = null;
-        LOGGER.info(() -> String.format("Proceso %s (#%d) expropiado tras alcanzar quantum RR=%d",
-                processToRequeue.getProcessName(),
-                processToRequeue.getProcessId(),
-                timeQuantum));
+        operatingSystem.getInstrumentation().recordPreemption(Instrumentation.PreemptionCause.QUANTUM);
+        SimulatorLog.log(QUANTUM_MESSAGE, processToRequeue.getProcessName(),
+                processToRequeue.getProcessId(), timeQuantum);
         cyclesExecutedByCurrentProcess = 0;
     }
 
+    /**
+     * Agrega a la traza de eventos, si hay un grabador conectado, que este núcleo cargó o liberó
+     * el proceso.
+     * @param type EventRecorder.TYPE_CPU_LOAD o EventRecorder.TYPE_CPU_RELEASE
+     * @param pcb proceso cargado o liberado
+     * @param from estado anterior
+     * @param to estado posterior
+     */
+    private void recordCpuEvent(int type, ProcessControlBlock pcb, ProcessState from, ProcessState to) {
+        EventRecorder recorder = operatingSystem != null ? operatingSystem.getEventRecorder() : null;
+        if (recorder != null) {
+            recorder.record(operatingSystem.getGlobalClockCycle(), pcb.getProcessId(), type, from, to,
+                    EventRecorder.QUEUE_CPU, coreId);
+        }
+    }
+
+    /**
+     * Informa al controlador del quantum adaptativo, si está activo con Round Robin, el fin de una
+     * ráfaga del proceso actual.
+     * @param cycles instrucciones ejecutadas desde la carga
+     * @param quantumExpired true si la ráfaga terminó por agotar el quantum
+     */
+    private void recordBurst(int cycles, boolean quantumExpired) {
+        AdaptiveQuantumController controller = operatingSystem.getAdaptiveQuantum();
+        if (controller != null && isRoundRobinActive()) {
+            controller.recordBurst(cycles, quantumExpired);
+        }
+    }
+
     /**
      * Determina si la política activa corresponde a Round Robin.
      * @return true cuando RR está configurado en el scheduler
@@ -276,28 +501,16 @@ public class CPU {
 
     /**
      * Gestiona la expropiación cuando hay un proceso con menor tiempo restante (SRTF).
+     * Mientras SRTF está activa la cola de listos es un montículo ordenado por tiempo restante
+     * que solo se reordena al encolar o retirar procesos, por lo que la cabeza ya es el mínimo:
+     * la comprobación por ciclo es O(1) y no reserva memoria.
      */
     private void handleShortestRemainingPreemption() {
         if (!isSrtActive() || currentProcess == null) {
             return;
         }
 
-        ProcessControlBlock[] snapshot = operatingSystem.getReadyQueueSnapshot();
-        if (snapshot == null || snapshot.length == 0) {
-            return;
-        }
-
-        ProcessControlBlock shortest = null;
-        for (int i = 0; i < snapshot.length; i++) {
-            ProcessControlBlock candidate = snapshot[i];
-            if (candidate == null) {
-                continue;
-            }
-            if (shortest == null || compareRemainingTime(candidate, shortest) < 0) {
-                shortest = candidate;
-            }
-        }
-
+        ProcessControlBlock shortest = operatingSystem.peekReady();
         if (shortest == null) {
             return;
         }
@@ -314,17 +527,14 @@ public class CPU {
 
         ProcessControlBlock preempted = currentProcess;
         ProcessControlBlock selectedProcess = shortest;
-        final int finalCandidateRemaining = candidateRemaining;
         currentProcess = null;
         cyclesExecutedByCurrentProcess = 0;
-        LOGGER.info(() -> String.format("Proceso %s (#%d) expropiado por SRTF; nuevo proceso %s (#%d) restante=%d",
-                preempted.getProcessName(),
-                preempted.getProcessId(),
-                selectedProcess.getProcessName(),
-                selectedProcess.getProcessId(),
-                finalCandidateRemaining));
-
-        operatingSystem.moveToReady(preempted);
+        operatingSystem.getInstrumentation().recordPreemption(Instrumentation.PreemptionCause.SHORTEST_REMAINING);
+        SimulatorLog.log(SRTF_PREEMPTION_MESSAGE, preempted.getProcessName(), selectedProcess.getProcessName(),
+                preempted.getProcessId(), selectedProcess.getProcessId(), candidateRemaining);
+
+        operatingSystem.requeuePreempted(this, preempted);
+        recordCpuEvent(EventRecorder.TYPE_CPU_RELEASE, preempted, ProcessState.EJECUCION, preempted.getProcessState());
         loadProcess(selectedProcess);
     }
 
@@ -336,20 +546,6 @@ public class CPU {
         return scheduler != null && scheduler.getActivePolicy() instanceof SRTF;
     }
 
-    /**
-     * Compara el tiempo restante de dos procesos.
-     * @param candidate proceso candidato
-     * @param current proceso actualmente considerado más corto
-     * @return valor negativo si candidate tiene menor restante
-     */
-    private int compareRemainingTime(ProcessControlBlock candidate, ProcessControlBlock current) {
-        int diff = remainingTime(candidate) - remainingTime(current);
-        if (diff != 0) {
-            return diff;
-        }
-        return candidate.getProcessId() - current.getProcessId();
-    }
-
     /**
      * Calcula el tiempo restante de ejecución para el proceso indicado.
      * @param pcb proceso a evaluar
@@ -365,30 +561,40 @@ public class CPU {
 
     /**
      * Maneja la degradación de nivel en la política Feedback cuando se alcanza el quantum asignado.
+     * En el último nivel el proceso se reencola en el mismo nivel, sin contar una degradación. Como
+     * en Round Robin, un proceso que ya ejecutó todas sus instrucciones no se expropia: se deja en
+     * la CPU para que el sistema operativo lo finalice (con quantums de 1 ciclo volvería a listos
+     * en cada ciclo sin terminar nunca).
      */
     private void handleFeedbackQuantumExpiration() {
         if (!isFeedbackActive() || currentProcess == null) {
             return;
         }
-        int level = currentProcess.getPriorityLevel();
-        int levelQuantum = FEEDBACK_QUANTA[level];
-        if (levelQuantum == Integer.MAX_VALUE) {
+        int totalInstructions = currentProcess.getTotalInstructions();
+        if (totalInstructions > 0 && currentProcess.getProgramCounter() >= totalInstructions) {
             return;
         }
+        int[] quanta = feedbackQuanta;
+        int lowestLevel = quanta.length - 1;
+        int level = Math.min(currentProcess.getPriorityLevel(), lowestLevel);
+        int levelQuantum = quanta[level];
         if (cyclesExecutedByCurrentProcess < levelQuantum) {
             return;
         }
         ProcessControlBlock processToRequeue = currentProcess;
-        int nextLevel = Math.min(level + 1, FEEDBACK_QUANTA.length - 1);
+        int nextLevel = Math.min(level + 1, lowestLevel);
         processToRequeue.setPriorityLevel(nextLevel);
+        if (nextLevel > level) {
+            operatingSystem.getMetrics().recordFeedbackDemotion(scheduler.getActivePolicyType());
+        }
         currentProcess = null;
         cyclesExecutedByCurrentProcess = 0;
-        operatingSystem.moveToReady(processToRequeue);
-        LOGGER.info(() -> String.format("Feedback degrada %s (#%d) al nivel %d tras agotar quantum=%d",
-                processToRequeue.getProcessName(),
-                processToRequeue.getProcessId(),
-                nextLevel,
-                levelQuantum));
+        operatingSystem.requeuePreempted(this, processToRequeue);
+        recordCpuEvent(EventRecorder.TYPE_CPU_RELEASE, processToRequeue, ProcessState.EJECUCION,
+                processToRequeue.getProcessState());
+        operatingSystem.getInstrumentation().recordPreemption(Instrumentation.PreemptionCause.FEEDBACK);
+        SimulatorLog.log(FEEDBACK_DEMOTION_MESSAGE, processToRequeue.getProcessName(),
+                processToRequeue.getProcessId(), nextLevel, levelQuantum);
     }
 
     /**
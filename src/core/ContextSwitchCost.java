@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+/**
+ * ContextSwitchCost modela el costo de cargar un proceso en una CPU, en ciclos durante los que el
+ * núcleo está ocupado pero no ejecuta instrucciones del proceso:
+ * <ul>
+ *   <li>una latencia fija de despacho que se cobra en cada carga, y</li>
+ *   <li>una penalización por caché fría que crece con los ciclos que el proceso pasó sin ejecutar:
+ *       es cero si vuelve al núcleo en el ciclo siguiente a su última ejecución, proporcional
+ *       dentro de la ventana de calidez y completa si nunca ejecutó, si lo hizo en otro núcleo o
+ *       si la ventana ya pasó.</li>
+ * </ul>
+ * Es inmutable; {@link #NONE} conserva el comportamiento original de cambios instantáneos.
+ *
+ * @author santiagodelcastillo
+ */
+public final class ContextSwitchCost {
+
+    /** Cambios de contexto instantáneos. */
+    public static final ContextSwitchCost NONE = new ContextSwitchCost(0, 0, 0);
+
+    /** Ciclos que cuesta toda carga de proceso. */
+    private final int dispatchLatencyCycles;
+    /** Ciclos adicionales cuando la caché del proceso está completamente fría. */
+    private final int cacheRefillCycles;
+    /** Ciclos sin ejecutar tras los cuales la caché se considera completamente fría. */
+    private final int cacheWarmWindowCycles;
+
+    /**
+     * Crea un modelo de costo.
+     * @param dispatchLatencyCycles ciclos por cada carga (no negativo)
+     * @param cacheRefillCycles penalización máxima por caché fría (no negativa)
+     * @param cacheWarmWindowCycles ventana de calidez; debe ser positiva si hay penalización
+     */
+    public ContextSwitchCost(int dispatchLatencyCycles, int cacheRefillCycles, int cacheWarmWindowCycles) {
+        if (dispatchLatencyCycles < 0 || cacheRefillCycles < 0 || cacheWarmWindowCycles < 0) {
+            throw new IllegalArgumentException("Los ciclos del costo de cambio de contexto no pueden ser negativos");
+        }
+        if (cacheRefillCycles > 0 && cacheWarmWindowCycles == 0) {
+            throw new IllegalArgumentException("La penalización por caché requiere una ventana de calidez positiva");
+        }
+        this.dispatchLatencyCycles = dispatchLatencyCycles;
+        this.cacheRefillCycles = cacheRefillCycles;
+        this.cacheWarmWindowCycles = cacheWarmWindowCycles;
+    }
+
+    /**
+     * Interpreta un costo escrito como "latencia" o "latencia:penalización:ventana" (por ejemplo 1:4:8).
+     * @param spec texto a interpretar
+     * @return modelo de costo
+     */
+    public static ContextSwitchCost parse(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            throw new IllegalArgumentException("El costo de cambio de contexto no puede estar vacío");
+        }
+        String[] parts = spec.trim().split(":");
+        if (parts.length != 1 && parts.length != 3) {
+            throw new IllegalArgumentException("Costo de cambio de contexto inválido (latencia[:penalización:ventana]): " + spec);
+        }
+        int[] values = new int[3];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                values[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Valor numérico inválido en el costo de cambio de contexto: " + parts[i]);
+            }
+        }
+        return new ContextSwitchCost(values[0], values[1], values[2]);
+    }
+
+    public int getDispatchLatencyCycles() {
+        return dispatchLatencyCycles;
+    }
+
+    public int getCacheRefillCycles() {
+        return cacheRefillCycles;
+    }
+
+    public int getCacheWarmWindowCycles() {
+        return cacheWarmWindowCycles;
+    }
+
+    /**
+     * @return true si las cargas no cuestan ciclos
+     */
+    public boolean isFree() {
+        return dispatchLatencyCycles == 0 && cacheRefillCycles == 0;
+    }
+
+    /**
+     * Penalización por caché fría para un proceso que se carga en el núcleo indicado.
+     * @param lastRunCycle último ciclo en que el proceso ejecutó una instrucción o -1
+     * @param lastCoreId núcleo de su última carga o -1
+     * @param coreId núcleo en el que se carga ahora
+     * @param now ciclo global actual
+     * @return ciclos de penalización entre 0 y getCacheRefillCycles()
+     */
+    public int cachePenalty(long lastRunCycle, int lastCoreId, int coreId, long now) {
+        if (cacheRefillCycles == 0) {
+            return 0;
+        }
+        if (lastRunCycle < 0L || lastCoreId != coreId) {
+            return cacheRefillCycles;
+        }
+        long idle = now - lastRunCycle - 1L;
+        if (idle <= 0L) {
+            return 0;
+        }
+        if (idle >= cacheWarmWindowCycles) {
+            return cacheRefillCycles;
+        }
+        return (int) ((cacheRefillCycles * idle + cacheWarmWindowCycles - 1L) / cacheWarmWindowCycles);
+    }
+
+    @Override
+    public String toString() {
+        return dispatchLatencyCycles + ":" + cacheRefillCycles + ":" + cacheWarmWindowCycles;
+    }
+}
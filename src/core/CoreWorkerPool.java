@@ -0,0 +1,130 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * CoreWorkerPool ejecuta el executeCycle() de cada núcleo en su propio hilo trabajador.
+ * El hilo del reloj libera a todos los trabajadores con una barrera de inicio y espera a que
+ * terminen en una barrera de fin, de modo que cada ciclo global sigue siendo atómico para el
+ * resto del pipeline (planificación, despacho y finalización).
+ */
+final class CoreWorkerPool {
+
+    /** Logger para registrar fallos de los hilos trabajadores. */
+    private static final Logger LOGGER = Logger.getLogger(CoreWorkerPool.class.getName());
+
+    /** Núcleos atendidos por el pool, uno por hilo. */
+    private final CPU[] cores;
+    /** Barrera que libera a los trabajadores al comenzar el ciclo. */
+    private final CyclicBarrier startBarrier;
+    /** Barrera que reúne a los trabajadores al terminar el ciclo. */
+    private final CyclicBarrier endBarrier;
+    /** Hilos trabajadores, uno por núcleo. */
+    private final Thread[] workers;
+    /** Indica si el pool sigue aceptando ciclos. */
+    private volatile boolean running;
+
+    /**
+     * Crea e inicia un hilo trabajador por núcleo.
+     * @param cores núcleos a ejecutar en paralelo
+     */
+    CoreWorkerPool(CPU[] cores) {
+        this.cores = cores.clone();
+        this.startBarrier = new CyclicBarrier(cores.length + 1);
+        this.endBarrier = new CyclicBarrier(cores.length + 1);
+        this.workers = new Thread[cores.length];
+        this.running = true;
+        for (int i = 0; i < cores.length; i++) {
+            CPU core = this.cores[i];
+            Thread worker = new Thread(() -> runWorker(core), "CPU-Core-" + core.getCoreId());
+            worker.setDaemon(true);
+            workers[i] = worker;
+            worker.start();
+        }
+    }
+
+    /**
+     * Ejecuta un ciclo en todos los núcleos y espera a que terminen.
+     * @return true si el ciclo se completó; false si el pool quedó inutilizable (interrupción o barrera rota)
+     */
+    boolean executeCycle() {
+        if (!running) {
+            return false;
+        }
+        try {
+            startBarrier.await();
+            endBarrier.await();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (BrokenBarrierException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Detiene los trabajadores y espera su terminación.
+     */
+    void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(1000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica si el pool atiende exactamente los núcleos indicados.
+     * @param candidates núcleos registrados actualmente
+     * @return true si coinciden en cantidad y orden
+     */
+    boolean serves(CPU[] candidates) {
+        if (candidates.length != cores.length) {
+            return false;
+        }
+        for (int i = 0; i < cores.length; i++) {
+            if (candidates[i] != cores[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bucle del hilo trabajador: espera el inicio del ciclo, ejecuta su núcleo y se reúne al final.
+     * @param core núcleo asignado al hilo
+     */
+    private void runWorker(CPU core) {
+        while (running) {
+            try {
+                startBarrier.await();
+                try {
+                    core.executeCycle();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.SEVERE, "Fallo en el núcleo " + core.getCoreId(), ex);
+                }
+                endBarrier.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (BrokenBarrierException ex) {
+                break;
+            }
+        }
+    }
+}
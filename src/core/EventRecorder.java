@@ -0,0 +1,428 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * EventRecorder graba en binario cada transición de estado y cada carga o liberación de CPU.
+ * Los productores (el hilo del reloj y, con núcleos paralelos, los hilos de los núcleos) escriben
+ * eventos de 16 bytes en un búfer circular preasignado con el mismo esquema de secuencias por
+ * posición que MpscQueue, sin formatear texto ni reservar objetos. Un hilo de fondo los vacía a
+ * un archivo mapeado en memoria que crece por bloques.
+ *
+ * Si el búfer se llena, el productor espera a que el hilo de fondo libere posiciones: la traza
+ * conserva todos los eventos. Los eventos emitidos antes de start() o después de close(), y los
+ * que quedan en el búfer si falla la escritura, se descartan y se cuentan en getDroppedEvents().
+ *
+ * Formato del archivo (little endian): un encabezado de 32 bytes (magic "PSOE", versión, tamaño
+ * de evento, cantidad de eventos) seguido de los eventos. Cada evento es el ciclo global (long)
+ * y una palabra empaquetada (long) con PID, núcleo, tipo, cola, estado anterior y estado nuevo;
+ * los métodos estáticos decodifican cada campo. La cantidad del encabezado se actualiza tras cada
+ * lote, así que una traza interrumpida sigue siendo legible hasta el último lote escrito.
+ *
+ * @author santiagodelcastillo
+ */
+public final class EventRecorder implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(EventRecorder.class.getName());
+
+    /** Firma del formato ("PSOE" leído en little endian). */
+    public static final int MAGIC = 0x454F5350;
+    /** Versión del formato. */
+    public static final int VERSION = 1;
+    /** Tamaño del encabezado en bytes. */
+    public static final int HEADER_SIZE = 32;
+    /** Tamaño de cada evento en bytes. */
+    public static final int EVENT_SIZE = 16;
+
+    /** Cambio de estado de un proceso entre colas del sistema operativo. */
+    public static final int TYPE_TRANSITION = 0;
+    /** Un núcleo cargó el proceso (pasa a EJECUCION). */
+    public static final int TYPE_CPU_LOAD = 1;
+    /** Un núcleo liberó el proceso que tenía cargado. */
+    public static final int TYPE_CPU_RELEASE = 2;
+
+    /** Sin cola asociada. */
+    public static final int QUEUE_NONE = 0;
+    /** Cola de listos. */
+    public static final int QUEUE_READY = 1;
+    /** Cola de bloqueados. */
+    public static final int QUEUE_BLOCKED = 2;
+    /** Cola de listos suspendidos. */
+    public static final int QUEUE_READY_SUSPENDED = 3;
+    /** Cola de bloqueados suspendidos. */
+    public static final int QUEUE_BLOCKED_SUSPENDED = 4;
+    /** Lista de procesos terminados. */
+    public static final int QUEUE_FINISHED = 5;
+    /** Cola local del núcleo indicado en el evento. */
+    public static final int QUEUE_LOCAL_RUN = 6;
+    /** El núcleo indicado en el evento. */
+    public static final int QUEUE_CPU = 7;
+    /** Núcleo de los eventos que no ocurren en un núcleo. */
+    public static final int NO_CPU = 0xFFFF;
+
+    /** Capacidad por defecto del búfer circular, en eventos. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    /** Bytes que se agregan al archivo cada vez que se llena el bloque mapeado. */
+    private static final long MAPPING_CHUNK = 4L << 20;
+    /** Pausa del hilo de fondo cuando no hay eventos. */
+    private static final long IDLE_PARK_NANOS = 200_000L;
+    /** Pausa de un productor mientras el búfer está lleno. */
+    private static final long FULL_PARK_NANOS = 10_000L;
+    /** Códigos de estado: 0 = ninguno, ordinal + 1 para el resto. */
+    private static final ProcessState[] STATES = ProcessState.values();
+    /** Valor de producerIndex tras close(): ninguna reserva posterior puede tener éxito. */
+    private static final long CLOSED_INDEX = -1L;
+
+    /** Ciclo de cada posición del búfer. */
+    private final long[] cycles;
+    /** Palabra empaquetada de cada posición del búfer. */
+    private final long[] words;
+    /** Secuencia esperada en cada posición (libre para producir o lista para consumir). */
+    private final AtomicLongArray sequences;
+    private final int mask;
+    /** Próximo índice lógico que reservará un productor. */
+    private final AtomicLong producerIndex;
+    /** Próximo índice lógico que vaciará el hilo de fondo. */
+    private long consumerIndex;
+    /** Eventos descartados por emitirse con el grabador detenido o por un fallo de escritura. */
+    private final AtomicLong droppedEvents;
+    /** Archivo destino. */
+    private final File file;
+
+    private volatile boolean running;
+    private volatile boolean closed;
+    private Thread drainer;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer region;
+    /** Posición del archivo donde empieza region. */
+    private long regionStart;
+    /** Eventos escritos en el archivo. */
+    private volatile long writtenEvents;
+    /** Error del hilo de fondo; close() lo propaga. */
+    private volatile IOException failure;
+
+    /**
+     * Crea un grabador con la capacidad de búfer por defecto.
+     * @param file archivo de la traza (se trunca al iniciar)
+     */
+    public EventRecorder(File file) {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Crea un grabador con al menos la capacidad indicada (se redondea a potencia de dos).
+     * @param file archivo de la traza (se trunca al iniciar)
+     * @param requestedCapacity eventos que caben en el búfer circular
+     */
+    public EventRecorder(File file, int requestedCapacity) {
+        this.file = Objects.requireNonNull(file, "El archivo no puede ser nulo");
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y 2^30: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity);
+        if (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.cycles = new long[capacity];
+        this.words = new long[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.producerIndex = new AtomicLong(0L);
+        this.droppedEvents = new AtomicLong(0L);
+    }
+
+    /**
+     * Abre el archivo, escribe el encabezado e inicia el hilo que vacía el búfer.
+     * @throws IOException si no se puede crear o mapear el archivo
+     */
+    public synchronized void start() throws IOException {
+        if (running || closed) {
+            throw new IllegalStateException("El grabador ya fue iniciado");
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, EVENT_SIZE).putLong(16, 0L);
+        mapRegion(HEADER_SIZE);
+        running = true;
+        drainer = new Thread(this::drainLoop, "event-recorder");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Registra un evento. Seguro desde cualquier hilo y sin reservar memoria.
+     * @param cycle ciclo global en que ocurre
+     * @param pid proceso afectado
+     * @param type TYPE_TRANSITION, TYPE_CPU_LOAD o TYPE_CPU_RELEASE
+     * @param from estado anterior (puede ser null)
+     * @param to estado nuevo (puede ser null)
+     * @param queue código de cola (QUEUE_*)
+     * @param cpu núcleo involucrado o NO_CPU
+     */
+    public void record(long cycle, int pid, int type, ProcessState from, ProcessState to, int queue, int cpu) {
+        long word = pack(pid, type, stateCode(from), stateCode(to), queue, cpu);
+        while (true) {
+            if (!running) {
+                droppedEvents.incrementAndGet();
+                return;
+            }
+            long position = producerIndex.get();
+            int slot = (int) (position & mask);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0L) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    cycles[slot] = cycle;
+                    words[slot] = word;
+                    // Publicar la secuencia hace visible el evento al hilo de fondo
+                    sequences.set(slot, position + 1);
+                    return;
+                }
+            } else if (difference < 0L) {
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Detiene la grabación, vacía los eventos pendientes y ajusta el archivo a su tamaño real.
+     * El archivo se cierra siempre, aunque el hilo de fondo o la escritura final fallen.
+     * @throws IOException si falló la escritura de la traza (en el hilo de fondo o al cerrar)
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                drainer.join();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        // Un productor que ya pasó el control de running todavía puede intentar reservar: al
+        // cambiar el índice su compareAndSet falla, vuelve a ver el grabador detenido y descarta
+        // el evento. Las reservas anteriores a este punto se publican enseguida y se vacían abajo.
+        long end = producerIndex.getAndSet(CLOSED_INDEX);
+        IOException error = failure;
+        try {
+            if (error == null) {
+                while (consumerIndex < end) {
+                    if (drainAvailable() == 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                header.putLong(16, writtenEvents);
+                header.force();
+                region.force();
+            }
+        } catch (IOException ex) {
+            error = ex;
+        } finally {
+            if (consumerIndex < end) {
+                droppedEvents.addAndGet(end - consumerIndex);
+            }
+            header = null;
+            region = null;
+            try {
+                channel.truncate(HEADER_SIZE + writtenEvents * EVENT_SIZE);
+            } catch (IOException ex) {
+                // Algunas plataformas no truncan archivos con regiones mapeadas: la cantidad del
+                // encabezado sigue delimitando los eventos válidos.
+                LOGGER.log(Level.FINE, "No se pudo truncar la traza de eventos", ex);
+            }
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                if (error == null) {
+                    error = ex;
+                } else {
+                    error.addSuppressed(ex);
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Eventos escritos en el archivo hasta el momento.
+     * @return cantidad de eventos persistidos
+     */
+    public long getWrittenEvents() {
+        return writtenEvents;
+    }
+
+    /**
+     * Eventos descartados por emitirse con el grabador detenido o por un fallo de escritura.
+     * @return cantidad de eventos perdidos
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Indica si el grabador acepta eventos.
+     * @return true entre start() y close()
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    // --- Codificación de la palabra: pid(32) | cpu(16) | tipo(4) | cola(4) | desde(4) | hacia(4) ---
+
+    static long pack(int pid, int type, int from, int to, int queue, int cpu) {
+        return ((long) pid << 32)
+                | ((long) (cpu & 0xFFFF) << 16)
+                | ((type & 0xF) << 12)
+                | ((queue & 0xF) << 8)
+                | ((from & 0xF) << 4)
+                | (to & 0xF);
+    }
+
+    /**
+     * Proceso del evento.
+     * @param word palabra empaquetada del evento
+     * @return PID del proceso afectado
+     */
+    public static int pid(long word) {
+        return (int) (word >>> 32);
+    }
+
+    /**
+     * Núcleo del evento.
+     * @param word palabra empaquetada del evento
+     * @return núcleo involucrado o NO_CPU
+     */
+    public static int cpu(long word) {
+        return (int) ((word >>> 16) & 0xFFFF);
+    }
+
+    /**
+     * Tipo del evento.
+     * @param word palabra empaquetada del evento
+     * @return TYPE_TRANSITION, TYPE_CPU_LOAD o TYPE_CPU_RELEASE
+     */
+    public static int type(long word) {
+        return (int) ((word >>> 12) & 0xF);
+    }
+
+    /**
+     * Cola del evento.
+     * @param word palabra empaquetada del evento
+     * @return código de cola (QUEUE_*)
+     */
+    public static int queue(long word) {
+        return (int) ((word >>> 8) & 0xF);
+    }
+
+    /**
+     * Estado anterior del evento.
+     * @param word palabra empaquetada del evento
+     * @return estado o null si el evento no lo registra
+     */
+    public static ProcessState fromState(long word) {
+        return state((int) ((word >>> 4) & 0xF));
+    }
+
+    /**
+     * Estado nuevo del evento.
+     * @param word palabra empaquetada del evento
+     * @return estado o null si el evento no lo registra
+     */
+    public static ProcessState toState(long word) {
+        return state((int) (word & 0xF));
+    }
+
+    private static int stateCode(ProcessState state) {
+        return state == null ? 0 : state.ordinal() + 1;
+    }
+
+    private static ProcessState state(int code) {
+        return code == 0 || code > STATES.length ? null : STATES[code - 1];
+    }
+
+    // --- Hilo de fondo ---
+
+    private void drainLoop() {
+        try {
+            while (running) {
+                if (drainAvailable() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException ex) {
+            failure = ex;
+            running = false;
+            LOGGER.log(Level.SEVERE, "No se pudo escribir la traza de eventos; se detiene la grabación", ex);
+        }
+    }
+
+    /**
+     * Copia al archivo todos los eventos publicados en orden y actualiza la cantidad del encabezado.
+     * @return eventos escritos
+     */
+    private int drainAvailable() throws IOException {
+        int drained = 0;
+        while (true) {
+            long position = consumerIndex;
+            int slot = (int) (position & mask);
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            if (region.remaining() < EVENT_SIZE) {
+                mapRegion(regionStart + region.position());
+            }
+            region.putLong(cycles[slot]);
+            region.putLong(words[slot]);
+            // Liberar la posición para la siguiente vuelta del búfer
+            sequences.set(slot, position + mask + 1);
+            consumerIndex = position + 1;
+            drained++;
+        }
+        if (drained > 0) {
+            writtenEvents += drained;
+            header.putLong(16, writtenEvents);
+        }
+        return drained;
+    }
+
+    private void mapRegion(long start) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, MAPPING_CHUNK);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        regionStart = start;
+    }
+}
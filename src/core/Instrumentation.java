@@ -0,0 +1,447 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import datastructures.LogHistogram;
+import datastructures.StripedCounter;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Instrumentation cuenta lo que ocurre en el pipeline de cada ciclo para medir el costo de las
+ * políticas y del propio simulador: cambios de contexto, liberaciones, bloqueos por I/O,
+ * expropiaciones por causa y el tiempo de pared de las etapas planificador / despachador / CPU.
+ * El costo de los cambios de contexto (ver ContextSwitchCost) se cuenta aparte: ciclos de latencia
+ * de despacho y de caché fría cobrados al cargar, y ciclos de CPU efectivamente dedicados a cargar.
+ * Los ciclos ociosos, ocupados y de carga se suman desde los contadores de cada núcleo al consultar.
+ *
+ * Los contadores son StripedCounter, así que los núcleos en paralelo registran sin cerrojos;
+ * snapshot() devuelve una copia inmutable barata de consultar desde la interfaz o la consola, y
+ * registerMBean() publica la misma información por JMX.
+ *
+ * @author santiagodelcastillo
+ */
+public final class Instrumentation implements InstrumentationMBean {
+
+    /**
+     * Motivo por el que un proceso dejó la CPU sin haber terminado ni pedido I/O.
+     */
+    public enum PreemptionCause {
+        /** Agotó el quantum de Round Robin. */
+        QUANTUM,
+        /** Llegó un proceso con menor tiempo restante (SRTF). */
+        SHORTEST_REMAINING,
+        /** Agotó el quantum de su nivel en Feedback. */
+        FEEDBACK
+    }
+
+    /** Etapas del pipeline de un ciclo. */
+    public enum Stage {
+        SCHEDULER,
+        DISPATCHER,
+        CPU
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(Instrumentation.class.getName());
+    private static final PreemptionCause[] CAUSES = PreemptionCause.values();
+    /** Identificador de la próxima instancia registrada por JMX. */
+    private static final AtomicInteger NEXT_MBEAN_ID = new AtomicInteger(1);
+
+    /** Sistema operativo instrumentado, para leer los contadores de sus núcleos. */
+    private final OperatingSystem operatingSystem;
+    private final StripedCounter cycles;
+    private final StripedCounter contextSwitches;
+    private final StripedCounter dispatchLatencyCycles;
+    private final StripedCounter cachePenaltyCycles;
+    private final StripedCounter releases;
+    private final StripedCounter ioBlocks;
+    private final StripedCounter[] preemptions;
+    private final StripedCounter[] stageNanos;
+    /** Tiempo total del pipeline por ciclo. */
+    private final LogHistogram cycleNanos;
+    /** Si es false el pipeline no toma marcas de tiempo. */
+    private volatile boolean stageTimingEnabled;
+    /** Nombre JMX con el que se registró, o null. */
+    private volatile ObjectName objectName;
+
+    /**
+     * Crea la instrumentación de un sistema operativo con la medición de etapas activa.
+     * @param operatingSystem sistema operativo instrumentado
+     */
+    public Instrumentation(OperatingSystem operatingSystem) {
+        this.operatingSystem = Objects.requireNonNull(operatingSystem, "El sistema operativo no puede ser nulo");
+        this.cycles = new StripedCounter();
+        this.contextSwitches = new StripedCounter();
+        this.dispatchLatencyCycles = new StripedCounter();
+        this.cachePenaltyCycles = new StripedCounter();
+        this.releases = new StripedCounter();
+        this.ioBlocks = new StripedCounter();
+        this.preemptions = new StripedCounter[CAUSES.length];
+        for (int i = 0; i < preemptions.length; i++) {
+            preemptions[i] = new StripedCounter();
+        }
+        Stage[] stages = Stage.values();
+        this.stageNanos = new StripedCounter[stages.length];
+        for (int i = 0; i < stageNanos.length; i++) {
+            stageNanos[i] = new StripedCounter();
+        }
+        this.cycleNanos = new LogHistogram();
+        this.stageTimingEnabled = true;
+    }
+
+    // --- Registro (lo invocan el sistema operativo y las CPU) ---
+
+    /**
+     * Cuenta una carga de proceso y los ciclos que se cobraron por ella.
+     */
+    void recordContextSwitch(int latencyCycles, int cachePenalty) {
+        contextSwitches.increment();
+        if (latencyCycles > 0) {
+            dispatchLatencyCycles.add(latencyCycles);
+        }
+        if (cachePenalty > 0) {
+            cachePenaltyCycles.add(cachePenalty);
+        }
+    }
+
+    void recordRelease() {
+        releases.increment();
+    }
+
+    void recordIoBlock() {
+        ioBlocks.increment();
+    }
+
+    void recordPreemption(PreemptionCause cause) {
+        preemptions[cause.ordinal()].increment();
+    }
+
+    void recordCycle() {
+        cycles.increment();
+    }
+
+    /**
+     * Suma el tiempo de pared de cada etapa de un ciclo ya contado con recordCycle.
+     */
+    void recordStageTimes(long schedulerNanos, long dispatcherNanos, long cpuNanos) {
+        stageNanos[Stage.SCHEDULER.ordinal()].add(schedulerNanos);
+        stageNanos[Stage.DISPATCHER.ordinal()].add(dispatcherNanos);
+        stageNanos[Stage.CPU.ordinal()].add(cpuNanos);
+        cycleNanos.record(schedulerNanos + dispatcherNanos + cpuNanos);
+    }
+
+    // --- Consulta ---
+
+    /**
+     * Copia el estado actual de los contadores.
+     * @return instantánea inmutable
+     */
+    public Snapshot snapshot() {
+        long idle = getIdleCpuCycles();
+        long busy = getBusyCpuCycles();
+        long switching = getSwitchingCpuCycles();
+        long[] preemptionCounts = new long[preemptions.length];
+        for (int i = 0; i < preemptions.length; i++) {
+            preemptionCounts[i] = preemptions[i].sum();
+        }
+        long[] stageTotals = new long[stageNanos.length];
+        for (int i = 0; i < stageNanos.length; i++) {
+            stageTotals[i] = stageNanos[i].sum();
+        }
+        return new Snapshot(cycles.sum(), contextSwitches.sum(), dispatchLatencyCycles.sum(), cachePenaltyCycles.sum(),
+                releases.sum(), ioBlocks.sum(), preemptionCounts, idle, busy, switching, stageTotals,
+                cycleNanos.snapshot());
+    }
+
+    /**
+     * Vuelve a cero los contadores propios (los de cada núcleo no se modifican).
+     */
+    @Override
+    public void reset() {
+        cycles.reset();
+        contextSwitches.reset();
+        dispatchLatencyCycles.reset();
+        cachePenaltyCycles.reset();
+        releases.reset();
+        ioBlocks.reset();
+        for (StripedCounter counter : preemptions) {
+            counter.reset();
+        }
+        for (StripedCounter counter : stageNanos) {
+            counter.reset();
+        }
+        cycleNanos.reset();
+    }
+
+    @Override
+    public boolean isStageTimingEnabled() {
+        return stageTimingEnabled;
+    }
+
+    @Override
+    public void setStageTimingEnabled(boolean enabled) {
+        this.stageTimingEnabled = enabled;
+    }
+
+    @Override
+    public long getCycles() {
+        return cycles.sum();
+    }
+
+    @Override
+    public long getContextSwitches() {
+        return contextSwitches.sum();
+    }
+
+    @Override
+    public long getDispatchLatencyCycles() {
+        return dispatchLatencyCycles.sum();
+    }
+
+    @Override
+    public long getCachePenaltyCycles() {
+        return cachePenaltyCycles.sum();
+    }
+
+    @Override
+    public long getReleases() {
+        return releases.sum();
+    }
+
+    @Override
+    public long getIoBlocks() {
+        return ioBlocks.sum();
+    }
+
+    @Override
+    public long getQuantumPreemptions() {
+        return preemptions[PreemptionCause.QUANTUM.ordinal()].sum();
+    }
+
+    @Override
+    public long getShortestRemainingPreemptions() {
+        return preemptions[PreemptionCause.SHORTEST_REMAINING.ordinal()].sum();
+    }
+
+    @Override
+    public long getFeedbackPreemptions() {
+        return preemptions[PreemptionCause.FEEDBACK.ordinal()].sum();
+    }
+
+    @Override
+    public long getIdleCpuCycles() {
+        long idle = 0L;
+        for (CPU core : operatingSystem.getCpus()) {
+            idle += core.getIdleCycles();
+        }
+        return idle;
+    }
+
+    @Override
+    public long getBusyCpuCycles() {
+        long busy = 0L;
+        for (CPU core : operatingSystem.getCpus()) {
+            busy += core.getBusyCycles();
+        }
+        return busy;
+    }
+
+    @Override
+    public long getSwitchingCpuCycles() {
+        long switching = 0L;
+        for (CPU core : operatingSystem.getCpus()) {
+            switching += core.getSwitchCycles();
+        }
+        return switching;
+    }
+
+    @Override
+    public double getSchedulerNanosPerCycle() {
+        return nanosPerCycle(Stage.SCHEDULER);
+    }
+
+    @Override
+    public double getDispatcherNanosPerCycle() {
+        return nanosPerCycle(Stage.DISPATCHER);
+    }
+
+    @Override
+    public double getCpuNanosPerCycle() {
+        return nanosPerCycle(Stage.CPU);
+    }
+
+    private double nanosPerCycle(Stage stage) {
+        long total = cycles.sum();
+        return total == 0L ? 0.0 : stageNanos[stage.ordinal()].sum() / (double) total;
+    }
+
+    @Override
+    public long getCycleNanosP99() {
+        return cycleNanos.snapshot().getPercentile(99.0);
+    }
+
+    // --- JMX ---
+
+    /**
+     * Publica esta instrumentación en el servidor MBean de la plataforma como
+     * {@code p_so1:type=Instrumentation,id=N}. Llamarlo de nuevo no tiene efecto.
+     * @return nombre registrado o null si JMX no está disponible
+     */
+    public synchronized ObjectName registerMBean() {
+        if (objectName != null) {
+            return objectName;
+        }
+        try {
+            ObjectName name = new ObjectName("p_so1:type=Instrumentation,id=" + NEXT_MBEAN_ID.getAndIncrement());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+            return name;
+        } catch (JMException | SecurityException ex) {
+            LOGGER.log(Level.WARNING, "No se pudo registrar la instrumentación por JMX", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Retira el MBean si estaba registrado.
+     */
+    public synchronized void unregisterMBean() {
+        ObjectName name = objectName;
+        if (name == null) {
+            return;
+        }
+        objectName = null;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException | SecurityException ex) {
+            LOGGER.log(Level.WARNING, "No se pudo retirar la instrumentación de JMX", ex);
+        }
+    }
+
+    /**
+     * Valores de la instrumentación en un instante.
+     */
+    public static final class Snapshot {
+        private final long cycles;
+        private final long contextSwitches;
+        private final long dispatchLatencyCycles;
+        private final long cachePenaltyCycles;
+        private final long releases;
+        private final long ioBlocks;
+        private final long[] preemptions;
+        private final long idleCpuCycles;
+        private final long busyCpuCycles;
+        private final long switchingCpuCycles;
+        private final long[] stageNanos;
+        private final LogHistogram.Snapshot cycleNanos;
+
+        private Snapshot(long cycles, long contextSwitches, long dispatchLatencyCycles, long cachePenaltyCycles,
+                         long releases, long ioBlocks, long[] preemptions, long idleCpuCycles, long busyCpuCycles,
+                         long switchingCpuCycles, long[] stageNanos, LogHistogram.Snapshot cycleNanos) {
+            this.cycles = cycles;
+            this.contextSwitches = contextSwitches;
+            this.dispatchLatencyCycles = dispatchLatencyCycles;
+            this.cachePenaltyCycles = cachePenaltyCycles;
+            this.releases = releases;
+            this.ioBlocks = ioBlocks;
+            this.preemptions = preemptions;
+            this.idleCpuCycles = idleCpuCycles;
+            this.busyCpuCycles = busyCpuCycles;
+            this.switchingCpuCycles = switchingCpuCycles;
+            this.stageNanos = stageNanos;
+            this.cycleNanos = cycleNanos;
+        }
+
+        public long getCycles() {
+            return cycles;
+        }
+
+        public long getContextSwitches() {
+            return contextSwitches;
+        }
+
+        /**
+         * @return ciclos de latencia de despacho cobrados
+         */
+        public long getDispatchLatencyCycles() {
+            return dispatchLatencyCycles;
+        }
+
+        /**
+         * @return ciclos de penalización por caché fría cobrados
+         */
+        public long getCachePenaltyCycles() {
+            return cachePenaltyCycles;
+        }
+
+        public long getReleases() {
+            return releases;
+        }
+
+        public long getIoBlocks() {
+            return ioBlocks;
+        }
+
+        public long getPreemptions(PreemptionCause cause) {
+            return preemptions[cause.ordinal()];
+        }
+
+        /**
+         * @return expropiaciones de todas las causas
+         */
+        public long getTotalPreemptions() {
+            long total = 0L;
+            for (long count : preemptions) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long getIdleCpuCycles() {
+            return idleCpuCycles;
+        }
+
+        public long getBusyCpuCycles() {
+            return busyCpuCycles;
+        }
+
+        /**
+         * @return ciclos de CPU dedicados a cargar procesos
+         */
+        public long getSwitchingCpuCycles() {
+            return switchingCpuCycles;
+        }
+
+        /**
+         * @return nanosegundos acumulados en la etapa
+         */
+        public long getStageNanos(Stage stage) {
+            return stageNanos[stage.ordinal()];
+        }
+
+        /**
+         * @return nanosegundos promedio por ciclo en la etapa
+         */
+        public double getNanosPerCycle(Stage stage) {
+            return cycles == 0L ? 0.0 : stageNanos[stage.ordinal()] / (double) cycles;
+        }
+
+        /**
+         * @return distribución del tiempo total del pipeline por ciclo, en nanosegundos
+         */
+        public LogHistogram.Snapshot getCycleNanos() {
+            return cycleNanos;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+/**
+ * Interfaz JMX (MBean estándar) de {@link Instrumentation}: expone los contadores del simulador a
+ * JConsole o a cualquier cliente JMX.
+ *
+ * @author santiagodelcastillo
+ */
+public interface InstrumentationMBean {
+
+    long getCycles();
+
+    long getContextSwitches();
+
+    long getDispatchLatencyCycles();
+
+    long getCachePenaltyCycles();
+
+    long getReleases();
+
+    long getIoBlocks();
+
+    long getQuantumPreemptions();
+
+    long getShortestRemainingPreemptions();
+
+    long getFeedbackPreemptions();
+
+    long getIdleCpuCycles();
+
+    long getBusyCpuCycles();
+
+    long getSwitchingCpuCycles();
+
+    double getSchedulerNanosPerCycle();
+
+    double getDispatcherNanosPerCycle();
+
+    double getCpuNanosPerCycle();
+
+    long getCycleNanosP99();
+
+    boolean isStageTimingEnabled();
+
+    void setStageTimingEnabled(boolean enabled);
+
+    void reset();
+}
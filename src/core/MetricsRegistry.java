@@ -0,0 +1,433 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import datastructures.LogHistogram;
+import datastructures.StripedCounter;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import scheduler.PolicyType;
+
+/**
+ * MetricsRegistry acumula en vivo las métricas por proceso de cada política, a medida que
+ * ocurren los eventos: el tiempo de respuesta al primer despacho y, al terminar, la espera en
+ * listos, el turnaround, el slowdown y la cantidad de cambios de contexto del proceso. El costo
+ * en ciclos de esos cambios de contexto (ver ContextSwitchCost) se acumula aparte. Cada
+ * métrica es un LogHistogram y los totales son StripedCounter, así que el hilo del reloj (o los
+ * núcleos en paralelo) registran con operaciones atómicas sin cerrojos; las consultas toman una
+ * instantánea con percentiles p50/p95/p99 y máximo.
+ *
+ * También guarda los cambios de quantum del modo Round Robin adaptativo: un contador por política
+ * y el historial de los últimos QUANTUM_HISTORY cambios con su ciclo y el largo de la cola de listos.
+ * Para Feedback cuenta las degradaciones de nivel, los boosts de prioridad con los procesos que
+ * subieron al nivel 0 y los ascensos por envejecimiento.
+ *
+ * Las políticas inyectadas fuera del catálogo (sin PolicyType) se agrupan juntas.
+ *
+ * @author santiagodelcastillo
+ */
+public final class MetricsRegistry {
+
+    /**
+     * Métricas por proceso registradas en histogramas.
+     */
+    public enum Metric {
+        /** Ciclos acumulados en la cola de listos. */
+        WAITING("Espera", 1),
+        /** Ciclos desde el arribo hasta el primer despacho. */
+        RESPONSE("Respuesta", 1),
+        /** Ciclos desde el arribo hasta la finalización. */
+        TURNAROUND("Turnaround", 1),
+        /** Turnaround dividido por las instrucciones del proceso (se registra en centésimas). */
+        SLOWDOWN("Slowdown", 100),
+        /** Veces que el proceso fue cargado en una CPU. */
+        CONTEXT_SWITCHES("Cambios de contexto", 1);
+
+        private final String label;
+        private final int scale;
+
+        Metric(String label, int scale) {
+            this.label = label;
+            this.scale = scale;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return divisor que convierte el valor registrado a la unidad de la métrica
+         */
+        public int getScale() {
+            return scale;
+        }
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+    private static final PolicyType[] POLICIES = PolicyType.values();
+    /** Posición de las políticas sin PolicyType. */
+    private static final int CUSTOM_SLOT = POLICIES.length;
+    /** Contadores de Feedback de una instantánea: degradaciones, boosts, procesos subidos por boost y por envejecimiento. */
+    private static final int FEEDBACK_COUNTERS = 4;
+    /** Cambios de quantum que se conservan en el historial. */
+    public static final int QUANTUM_HISTORY = 256;
+
+    /** Estadísticas por política, creadas al primer registro. */
+    private final AtomicReferenceArray<PolicyStats> stats;
+    /** Últimos cambios de quantum en un anillo; se protege con el propio registro. */
+    private final QuantumChange[] quantumChanges;
+    /** Total de cambios de quantum registrados (puede superar al tamaño del historial). */
+    private long quantumChangeCount;
+
+    /**
+     * Construye un registro vacío.
+     */
+    public MetricsRegistry() {
+        this.stats = new AtomicReferenceArray<>(POLICIES.length + 1);
+        this.quantumChanges = new QuantumChange[QUANTUM_HISTORY];
+    }
+
+    /**
+     * Registra un despacho: suma un cambio de contexto con su costo y, si es el primero del
+     * proceso, su tiempo de respuesta.
+     * @param policy política activa (null para políticas inyectadas)
+     * @param responseCycles ciclos desde el arribo o -1 si no es el primer despacho
+     * @param switchCostCycles ciclos que la CPU dedica a cargar el proceso
+     */
+    public void recordDispatch(PolicyType policy, long responseCycles, long switchCostCycles) {
+        PolicyStats target = statsFor(policy);
+        target.contextSwitches.increment();
+        if (switchCostCycles > 0L) {
+            target.switchCostCycles.add(switchCostCycles);
+        }
+        if (responseCycles >= 0L) {
+            target.histograms[Metric.RESPONSE.ordinal()].record(responseCycles);
+        }
+    }
+
+    /**
+     * Registra la finalización de un proceso.
+     * @param policy política activa (null para políticas inyectadas)
+     * @param waitingCycles ciclos acumulados en listos
+     * @param turnaroundCycles ciclos desde el arribo hasta la finalización
+     * @param serviceCycles instrucciones del proceso
+     * @param contextSwitches veces que el proceso fue cargado en una CPU
+     */
+    public void recordCompletion(PolicyType policy,
+                                 long waitingCycles,
+                                 long turnaroundCycles,
+                                 long serviceCycles,
+                                 long contextSwitches) {
+        PolicyStats target = statsFor(policy);
+        target.completed.increment();
+        target.histograms[Metric.WAITING.ordinal()].record(waitingCycles);
+        target.histograms[Metric.TURNAROUND.ordinal()].record(turnaroundCycles);
+        target.histograms[Metric.SLOWDOWN.ordinal()]
+                .record(turnaroundCycles * Metric.SLOWDOWN.scale / Math.max(1L, serviceCycles));
+        target.histograms[Metric.CONTEXT_SWITCHES.ordinal()].record(contextSwitches);
+    }
+
+    /**
+     * Registra un cambio del quantum de Round Robin decidido por el controlador adaptativo.
+     * @param policy política activa (null para políticas inyectadas)
+     * @param cycle ciclo global del cambio
+     * @param previousQuantum quantum anterior
+     * @param newQuantum quantum nuevo
+     * @param readyQueueLength procesos en listos al decidir
+     * @param coveragePercent porcentaje de ráfagas que cubría el quantum anterior
+     */
+    public void recordQuantumChange(PolicyType policy, long cycle, int previousQuantum, int newQuantum,
+                                    int readyQueueLength, int coveragePercent) {
+        statsFor(policy).quantumChanges.increment();
+        QuantumChange change = new QuantumChange(cycle, previousQuantum, newQuantum, readyQueueLength, coveragePercent);
+        synchronized (quantumChanges) {
+            quantumChanges[(int) (quantumChangeCount % QUANTUM_HISTORY)] = change;
+            quantumChangeCount++;
+        }
+    }
+
+    /**
+     * Registra que un proceso bajó de nivel en Feedback al agotar su quantum.
+     * @param policy política activa (null para políticas inyectadas)
+     */
+    public void recordFeedbackDemotion(PolicyType policy) {
+        statsFor(policy).feedbackDemotions.increment();
+    }
+
+    /**
+     * Registra un boost de prioridad de Feedback.
+     * @param policy política activa (null para políticas inyectadas)
+     * @param boostedProcesses procesos que estaban en un nivel inferior y volvieron al nivel 0
+     */
+    public void recordFeedbackBoost(PolicyType policy, int boostedProcesses) {
+        PolicyStats target = statsFor(policy);
+        target.feedbackBoosts.increment();
+        if (boostedProcesses > 0) {
+            target.feedbackBoostedProcesses.add(boostedProcesses);
+        }
+    }
+
+    /**
+     * Registra ascensos de nivel en Feedback por envejecimiento en la cola de listos.
+     * @param policy política activa (null para políticas inyectadas)
+     * @param promotedProcesses procesos que subieron un nivel
+     */
+    public void recordFeedbackAging(PolicyType policy, int promotedProcesses) {
+        statsFor(policy).feedbackAgingPromotions.add(promotedProcesses);
+    }
+
+    /**
+     * Devuelve los últimos cambios de quantum, del más antiguo al más reciente.
+     * @return copia del historial (como máximo QUANTUM_HISTORY elementos)
+     */
+    public QuantumChange[] getQuantumChanges() {
+        synchronized (quantumChanges) {
+            int size = (int) Math.min(quantumChangeCount, QUANTUM_HISTORY);
+            QuantumChange[] copy = new QuantumChange[size];
+            long first = quantumChangeCount - size;
+            for (int i = 0; i < size; i++) {
+                copy[i] = quantumChanges[(int) ((first + i) % QUANTUM_HISTORY)];
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * @return total de cambios de quantum registrados desde el último reset
+     */
+    public long getQuantumChangeCount() {
+        synchronized (quantumChanges) {
+            return quantumChangeCount;
+        }
+    }
+
+    /**
+     * Toma una instantánea de las métricas de una política.
+     * @param policy política a consultar (null para políticas inyectadas)
+     * @return instantánea, vacía si la política no registró eventos
+     */
+    public PolicySnapshot snapshot(PolicyType policy) {
+        PolicyStats source = stats.get(slot(policy));
+        LogHistogram.Snapshot[] histograms = new LogHistogram.Snapshot[METRICS.length];
+        if (source == null) {
+            LogHistogram empty = new LogHistogram();
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = empty.snapshot();
+            }
+            return new PolicySnapshot(policy, 0L, 0L, 0L, 0L, new long[FEEDBACK_COUNTERS], histograms);
+        }
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = source.histograms[i].snapshot();
+        }
+        long[] feedback = {
+            source.feedbackDemotions.sum(),
+            source.feedbackBoosts.sum(),
+            source.feedbackBoostedProcesses.sum(),
+            source.feedbackAgingPromotions.sum()
+        };
+        return new PolicySnapshot(policy, source.completed.sum(), source.contextSwitches.sum(),
+                source.switchCostCycles.sum(), source.quantumChanges.sum(), feedback, histograms);
+    }
+
+    /**
+     * Descarta todo lo registrado.
+     */
+    public void reset() {
+        for (int i = 0; i < stats.length(); i++) {
+            stats.set(i, null);
+        }
+        synchronized (quantumChanges) {
+            for (int i = 0; i < quantumChanges.length; i++) {
+                quantumChanges[i] = null;
+            }
+            quantumChangeCount = 0L;
+        }
+    }
+
+    private PolicyStats statsFor(PolicyType policy) {
+        int slot = slot(policy);
+        PolicyStats current = stats.get(slot);
+        if (current != null) {
+            return current;
+        }
+        PolicyStats created = new PolicyStats();
+        return stats.compareAndSet(slot, null, created) ? created : stats.get(slot);
+    }
+
+    private static int slot(PolicyType policy) {
+        return policy == null ? CUSTOM_SLOT : policy.ordinal();
+    }
+
+    /**
+     * Contadores e histogramas de una política.
+     */
+    private static final class PolicyStats {
+        final StripedCounter completed = new StripedCounter();
+        final StripedCounter contextSwitches = new StripedCounter();
+        final StripedCounter switchCostCycles = new StripedCounter();
+        final StripedCounter quantumChanges = new StripedCounter();
+        final StripedCounter feedbackDemotions = new StripedCounter();
+        final StripedCounter feedbackBoosts = new StripedCounter();
+        final StripedCounter feedbackBoostedProcesses = new StripedCounter();
+        final StripedCounter feedbackAgingPromotions = new StripedCounter();
+        final LogHistogram[] histograms = new LogHistogram[METRICS.length];
+
+        PolicyStats() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LogHistogram();
+            }
+        }
+    }
+
+    /**
+     * Métricas de una política en un instante.
+     */
+    public static final class PolicySnapshot {
+        private final PolicyType policy;
+        private final long completed;
+        private final long contextSwitches;
+        private final long switchCostCycles;
+        private final long quantumChanges;
+        private final long[] feedback;
+        private final LogHistogram.Snapshot[] histograms;
+
+        private PolicySnapshot(PolicyType policy, long completed, long contextSwitches, long switchCostCycles,
+                               long quantumChanges, long[] feedback, LogHistogram.Snapshot[] histograms) {
+            this.policy = policy;
+            this.completed = completed;
+            this.contextSwitches = contextSwitches;
+            this.switchCostCycles = switchCostCycles;
+            this.quantumChanges = quantumChanges;
+            this.feedback = feedback;
+            this.histograms = histograms;
+        }
+
+        /**
+         * @return política consultada o null para políticas inyectadas
+         */
+        public PolicyType getPolicy() {
+            return policy;
+        }
+
+        public long getCompletedProcesses() {
+            return completed;
+        }
+
+        public long getContextSwitches() {
+            return contextSwitches;
+        }
+
+        /**
+         * @return ciclos de CPU cobrados por los cambios de contexto de la política
+         */
+        public long getSwitchCostCycles() {
+            return switchCostCycles;
+        }
+
+        /**
+         * @return cambios de quantum del controlador adaptativo mientras la política estuvo activa
+         */
+        public long getQuantumChanges() {
+            return quantumChanges;
+        }
+
+        /**
+         * @return veces que Feedback bajó de nivel a un proceso por agotar su quantum
+         */
+        public long getFeedbackDemotions() {
+            return feedback[0];
+        }
+
+        /**
+         * @return boosts de prioridad de Feedback
+         */
+        public long getFeedbackBoosts() {
+            return feedback[1];
+        }
+
+        /**
+         * @return procesos que los boosts devolvieron al nivel 0 (en listos o en ejecución al momento del boost)
+         */
+        public long getFeedbackBoostedProcesses() {
+            return feedback[2];
+        }
+
+        /**
+         * @return ascensos de un nivel por envejecimiento en la cola de listos
+         */
+        public long getFeedbackAgingPromotions() {
+            return feedback[3];
+        }
+
+        public LogHistogram.Snapshot get(Metric metric) {
+            return histograms[metric.ordinal()];
+        }
+
+        /**
+         * Percentil de una métrica en su unidad (por ejemplo, slowdown sin escalar).
+         * @param metric métrica a consultar
+         * @param percentile percentil entre 0 y 100
+         * @return valor del percentil
+         */
+        public double getPercentile(Metric metric, double percentile) {
+            return get(metric).getPercentile(percentile) / (double) metric.scale;
+        }
+
+        /**
+         * @return máximo de la métrica en su unidad
+         */
+        public double getMax(Metric metric) {
+            return get(metric).getMax() / (double) metric.scale;
+        }
+
+        /**
+         * @return promedio de la métrica en su unidad
+         */
+        public double getMean(Metric metric) {
+            return get(metric).getMean() / metric.scale;
+        }
+    }
+
+    /**
+     * Un cambio del quantum de Round Robin.
+     */
+    public static final class QuantumChange {
+        private final long cycle;
+        private final int previousQuantum;
+        private final int newQuantum;
+        private final int readyQueueLength;
+        private final int coveragePercent;
+
+        QuantumChange(long cycle, int previousQuantum, int newQuantum, int readyQueueLength, int coveragePercent) {
+            this.cycle = cycle;
+            this.previousQuantum = previousQuantum;
+            this.newQuantum = newQuantum;
+            this.readyQueueLength = readyQueueLength;
+            this.coveragePercent = coveragePercent;
+        }
+
+        public long getCycle() {
+            return cycle;
+        }
+
+        public int getPreviousQuantum() {
+            return previousQuantum;
+        }
+
+        public int getNewQuantum() {
+            return newQuantum;
+        }
+
+        public int getReadyQueueLength() {
+            return readyQueueLength;
+        }
+
+        /**
+         * @return porcentaje de ráfagas que terminaban dentro del quantum anterior
+         */
+        public int getCoveragePercent() {
+            return coveragePercent;
+        }
+    }
+}
@@ -6,42 +6,98 @@
 package core;
 
 import datastructures.CustomQueue;
+import datastructures.IntArrayList;
+import datastructures.LongArrayList;
+import datastructures.MpscQueue;
+import datastructures.TimingWheel;
+import datastructures.WorkStealingDeque;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import scheduler.AdaptiveQuantumController;
 import scheduler.Dispatcher;
 import scheduler.PolicyType;
 import scheduler.RoundRobin;
 import scheduler.Feedback;
 import scheduler.Scheduler;
 import scheduler.SchedulingPolicy;
+import util.IOHandler;
 
 /**
  * OperatingSystem coordina las transiciones de estado de los procesos y administra
  * las colas de listos, bloqueados, finalizados y suspendidos, asegurando que la
  * capacidad de memoria principal se respete en todo momento.
+ * Admite uno o varios núcleos (CPU) que comparten una cola de listos global; en cada
+ * ciclo el despachador llena todos los núcleos ociosos y luego cada núcleo ejecuta su
+ * ciclo, opcionalmente en paralelo sobre hilos trabajadores sincronizados por barrera.
+ * Con colas por núcleo activas (y una política que las admita, como RR) cada núcleo reencola
+ * sus expropiados en una deque local sin tomar stateLock; un núcleo ocioso sin trabajo global
+ * ni local roba del vecino más cargado, y cada cierto intervalo se rebalancean las colas locales.
+ * Opcionalmente los arribos se publican en una cola de admisión sin bloqueos que el hilo que avanza
+ * el reloj vacía al comienzo de cada ciclo, de modo que los productores no compiten por stateLock.
+ * Los arribos futuros se programan en una rueda de tiempo jerárquica indexada por ciclo, que
+ * entrega al comienzo de cada ciclo solo los procesos que vencen en él, sin hilos de sondeo.
  */
 public class OperatingSystem {
 
     /** Logger para trazabilidad de cambios de estado. */
     private static final Logger LOGGER = Logger.getLogger(OperatingSystem.class.getName());
+    /** Mensajes del hilo del reloj; se registran sin asignar memoria (ver SimulatorLog). */
+    private static final SimulatorLog.Message CYCLE_MESSAGE = SimulatorLog.message(OperatingSystem.class,
+            SimulatorLog.Subsystem.CLOCK, Level.INFO,
+            entry -> String.format("Ciclo global #%d", entry.arg(0)));
+    private static final SimulatorLog.Message STEAL_MESSAGE = SimulatorLog.message(OperatingSystem.class,
+            SimulatorLog.Subsystem.DISPATCHER, Level.FINE,
+            entry -> String.format("Núcleo %d robó %s (#%d) del núcleo %d",
+                    entry.arg(0), entry.ref(0), entry.arg(1), entry.arg(2)));
+    private static final SimulatorLog.Message COMPLETION_MESSAGE = SimulatorLog.message(OperatingSystem.class,
+            SimulatorLog.Subsystem.TRANSITIONS, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) completó su ejecución en el ciclo #%d",
+                    entry.ref(0), entry.arg(0), entry.arg(1)));
+    private static final SimulatorLog.Message TRANSITION_MESSAGE = SimulatorLog.message(OperatingSystem.class,
+            SimulatorLog.Subsystem.TRANSITIONS, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) %s -> %s en %s",
+                    entry.ref(0), entry.arg(0), entry.ref(1), entry.ref(2),
+                    queueName((int) entry.arg(1), (int) entry.arg(2))));
+    private static final SimulatorLog.Message QUANTUM_CHANGE_MESSAGE = SimulatorLog.message(OperatingSystem.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.INFO,
+            entry -> String.format("Quantum RR adaptativo %d -> %d (listos=%d, cobertura=%d%%)",
+                    entry.arg(0), entry.arg(1), entry.arg(2), entry.arg(3)));
+    private static final SimulatorLog.Message FEEDBACK_BOOST_MESSAGE = SimulatorLog.message(OperatingSystem.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.INFO,
+            entry -> String.format("Feedback: boost de prioridad en el ciclo #%d (%d procesos vuelven al nivel 0)",
+                    entry.arg(0), entry.arg(1)));
     /** Capacidad máxima de procesos residentes en memoria principal por defecto. */
     private static final int DEFAULT_MAX_PROCESSES_IN_MEMORY = 4;
     /** Duración por defecto de un ciclo del reloj global en milisegundos. */
     private static final long DEFAULT_CYCLE_DURATION_MILLIS = 100L;
+    /** Intervalo por defecto, en ciclos, entre rebalanceos de las colas locales por núcleo. */
+    private static final int DEFAULT_LOAD_BALANCE_INTERVAL = 4;
+    /** Capacidad de la cola de admisión sin bloqueos; si se llena, los arribos se admiten por la vía con cerradura. */
+    private static final int ADMISSION_QUEUE_CAPACITY = 1024;
 
-    /** Cola de procesos listos. */
-    private final CustomQueue<ProcessControlBlock> readyQueue;
-    /** Cola de procesos bloqueados. */
-    private final CustomQueue<ProcessControlBlock> blockedQueue;
-    /** Cola de procesos finalizados. */
-    private final CustomQueue<ProcessControlBlock> finishedProcessesList;
-    /** Cola de procesos listos pero suspendidos (swap out). */
-    private final CustomQueue<ProcessControlBlock> readySuspendedQueue;
-    /** Cola de procesos bloqueados y suspendidos (swap out). */
-    private final CustomQueue<ProcessControlBlock> blockedSuspendedQueue;
+    /** Cola de procesos listos; su implementación la define la política activa. */
+    private CustomQueue<ProcessControlBlock> readyQueue;
+    /** Política para la que se construyó la cola de listos actual. */
+    private SchedulingPolicy readyQueuePolicy;
+    /** Procesos bloqueados, en orden de llegada (cola intrusiva sobre la tabla de procesos). */
+    private final ProcessQueue blockedQueue;
+    /** PID de los procesos finalizados, en orden de finalización (vacía si se liberan sus filas). */
+    private final IntArrayList finishedProcessesList;
+    /** Cantidad de procesos finalizados, se conserven o no sus filas. */
+    private int finishedCount;
+    /** Finalizados de este ciclo cuya fila se libera al comenzar el siguiente. */
+    private final IntArrayList pendingReleases;
+    /** Procesos listos pero suspendidos (swap out). */
+    private final ProcessQueue readySuspendedQueue;
+    /** Procesos bloqueados y suspendidos (swap out). */
+    private final ProcessQueue blockedSuspendedQueue;
     /** Cerradura que protege todas las transiciones de estado. */
     private final Object stateLock;
     /** Capacidad máxima de procesos residentes en memoria principal. */
@@ -58,26 +114,73 @@ public class OperatingSystem {
     private volatile long cycleDurationMillis;
     /** Hilo que ejecuta el ciclo de reloj del sistema. */
     private Thread clockThread;
-    /** Referencia a la CPU coordinada por el sistema operativo. */
-    private CPU cpu;
+    /** Indica si el reloj avanza sin esperas reales (modo headless / lo más rápido posible). */
+    private volatile boolean headlessMode;
+    /** Si es true, las filas de los procesos terminados se liberan y solo se cuentan. */
+    private volatile boolean releaseFinishedProcesses;
+    /** Núcleos registrados en orden de alta; la posición coincide con el coreId de cada CPU. */
+    private volatile CPU[] cpus;
+    /** Indica si los núcleos ejecutan su ciclo en hilos trabajadores propios. */
+    private volatile boolean parallelCoreExecution;
+    /** Hilos trabajadores de los núcleos (solo con ejecución paralela y más de un núcleo). */
+    private CoreWorkerPool coreWorkerPool;
+    /** Motor de I/O asociado a la CPU, avanzado por el reloj al inicio de cada ciclo. */
+    private IOHandler ioHandler;
     /** Estrategia de planificación activa. */
     private Scheduler scheduler;
     /** Componente despachador responsable de cargar procesos en CPU. */
     private Dispatcher dispatcher;
-    /** Quantum utilizado cuando Round Robin es la política activa. */
-    private int roundRobinQuantum;
-    /** Quantums configurados para cada nivel de la política Feedback. */
-    private final int[] feedbackQuanta;
+    /** Estado propio de esta simulación: PIDs, quantums y generador de procesos. */
+    private final SimulationContext context;
+    /** Indica si cada núcleo mantiene su propia cola local de listos con robo de trabajo. */
+    private volatile boolean perCoreRunQueues;
+    /** Cada cuántos ciclos se rebalancean las colas locales (0 = solo robo bajo demanda). */
+    private volatile int loadBalanceInterval;
+    /** Procesos trasladados entre colas locales por el balanceador periódico. */
+    private final AtomicLong balancedTransfers;
+    /** Arribos publicados por otros hilos, pendientes de ingresar a listos en el próximo ciclo. */
+    private final MpscQueue<ProcessControlBlock> admissionQueue;
+    /** Indica si admitProcess publica en la cola de admisión en lugar de tomar stateLock. */
+    private volatile boolean lockFreeAdmission;
+    /** Arribos programados por ciclo (PID); se sincroniza sobre la propia rueda. */
+    private final TimingWheel arrivalWheel;
+    /** PID de los arribos que vencen en el ciclo en curso; solo lo usa el hilo que avanza el reloj. */
+    private final IntArrayList dueArrivals;
+    /** Observador opcional que se notifica cuando un arribo programado ingresa al sistema. */
+    private volatile Consumer<ProcessControlBlock> arrivalListener;
+    /** Grabador de la traza binaria de eventos, o null si no se graba. */
+    private volatile EventRecorder eventRecorder;
+    /** Métricas por proceso y por política registradas a medida que ocurren los eventos. */
+    private final MetricsRegistry metrics;
+    /** Contadores del pipeline y de las CPU (cambios de contexto, expropiaciones, tiempos por etapa). */
+    private final Instrumentation instrumentation;
+    /** Controlador del quantum de Round Robin adaptativo, o null si el quantum es fijo. */
+    private volatile AdaptiveQuantumController adaptiveQuantum;
+    /** Nanosegundos que el planificador consumió en el ciclo en curso; solo lo usa el hilo del reloj. */
+    private long cycleSchedulerNanos;
+    /** Selectores del despachador, creados una vez para no reservar memoria en cada ciclo. */
+    private final Function<CPU, ProcessControlBlock> schedulerStep;
+    private final Function<CPU, ProcessControlBlock> timedSchedulerStep;
 
     /**
-     * Construye el sistema operativo con colas vacías y contador en cero.
+     * Construye el sistema operativo con colas vacías, contador en cero y un contexto propio.
      */
     public OperatingSystem() {
-        this.readyQueue = new CustomQueue<>();
-        this.blockedQueue = new CustomQueue<>();
-        this.finishedProcessesList = new CustomQueue<>();
-        this.readySuspendedQueue = new CustomQueue<>();
-        this.blockedSuspendedQueue = new CustomQueue<>();
+        this(new SimulationContext());
+    }
+
+    /**
+     * Construye el sistema operativo sobre un contexto de simulación existente.
+     * @param context contexto que aporta PIDs, quantums y generador de procesos
+     */
+    public OperatingSystem(SimulationContext context) {
+        this.context = Objects.requireNonNull(context, "El contexto de simulación no puede ser nulo");
+        ProcessTable processTable = context.getProcessTable();
+        this.blockedQueue = new ProcessQueue(processTable);
+        this.finishedProcessesList = new IntArrayList();
+        this.pendingReleases = new IntArrayList();
+        this.readySuspendedQueue = new ProcessQueue(processTable);
+        this.blockedSuspendedQueue = new ProcessQueue(processTable);
         this.stateLock = new Object();
         this.maxProcessesInMemory = DEFAULT_MAX_PROCESSES_IN_MEMORY;
         this.processesInMemory = 0;
@@ -86,11 +189,27 @@ public class OperatingSystem {
         this.clockLock = new Object();
         this.cycleDurationMillis = DEFAULT_CYCLE_DURATION_MILLIS;
         this.clockThread = null;
-        this.cpu = null;
+        this.headlessMode = false;
+        this.cpus = new CPU[0];
+        this.parallelCoreExecution = false;
+        this.coreWorkerPool = null;
+        this.ioHandler = null;
         this.scheduler = new Scheduler();
         this.dispatcher = new Dispatcher();
-        this.roundRobinQuantum = RoundRobin.DEFAULT_QUANTUM;
-        this.feedbackQuanta = new int[] {1, 2, 3, 4};
+        this.perCoreRunQueues = false;
+        this.loadBalanceInterval = DEFAULT_LOAD_BALANCE_INTERVAL;
+        this.balancedTransfers = new AtomicLong(0L);
+        this.admissionQueue = new MpscQueue<>(ADMISSION_QUEUE_CAPACITY);
+        this.lockFreeAdmission = false;
+        this.arrivalWheel = new TimingWheel();
+        this.dueArrivals = new IntArrayList();
+        this.arrivalListener = null;
+        this.metrics = new MetricsRegistry();
+        this.instrumentation = new Instrumentation(this);
+        this.schedulerStep = this::runSchedulerStep;
+        this.timedSchedulerStep = this::runTimedSchedulerStep;
+        this.readyQueuePolicy = scheduler.getActivePolicy();
+        this.readyQueue = readyQueuePolicy.createReadyQueue(processTable);
     }
 
     /**
@@ -99,7 +218,148 @@ public class OperatingSystem {
      * @param pcb bloque de control que debe ir a ready
      */
     public void moveToReady(ProcessControlBlock pcb) {
-        updateProcessState(pcb, ProcessState.LISTO, readyQueue, "readyQueue");
+        updateProcessState(pcb, ProcessState.LISTO);
+    }
+
+    /**
+     * Admite un proceso que llega al sistema. Con la admisión sin bloqueos activa, y mientras haya
+     * un hilo avanzando el reloj (reloj en marcha o modo headless), el proceso se publica en la cola
+     * de admisión y pasa a listos al comienzo del siguiente ciclo, con el ciclo de llegada que tendría
+     * si se hubiera admitido ahora. En otro caso, o si la cola de admisión está llena, equivale a
+     * {@link #moveToReady(ProcessControlBlock)}.
+     * @param pcb proceso que arriba
+     */
+    public void admitProcess(ProcessControlBlock pcb) {
+        requireOwnProcess(pcb);
+        if (lockFreeAdmission && (clockRunning.get() || headlessMode) && admissionQueue.offer(pcb)) {
+            return;
+        }
+        moveToReady(pcb);
+    }
+
+    /**
+     * Programa el arribo de un proceso para un ciclo del reloj. Si el ciclo ya fue alcanzado el
+     * proceso se admite de inmediato con {@link #admitProcess(ProcessControlBlock)}; si no, queda
+     * en la rueda de arribos y pasa a listos al comienzo del ciclo indicado (antes de ejecutarlo),
+     * exactamente como si el llamador lo admitiera al leer ese valor de reloj.
+     * @param pcb proceso que arribará
+     * @param arrivalCycle ciclo global de llegada (no negativo)
+     */
+    public void scheduleArrival(ProcessControlBlock pcb, long arrivalCycle) {
+        requireOwnProcess(pcb);
+        context.getProcessTable().setArrivalCycle(pcb.getProcessId(), arrivalCycle);
+        synchronized (arrivalWheel) {
+            if (arrivalCycle > arrivalWheel.currentTime()) {
+                arrivalWheel.schedule(pcb.getProcessId(), arrivalCycle);
+                return;
+            }
+        }
+        admitProcess(pcb);
+        notifyArrival(pcb);
+    }
+
+    /**
+     * Registra el observador de arribos programados; se invoca en el hilo que admite el proceso
+     * (el del reloj para arribos futuros) y fuera de stateLock.
+     * @param listener observador a notificar, o null para quitarlo
+     */
+    public void setArrivalListener(Consumer<ProcessControlBlock> listener) {
+        this.arrivalListener = listener;
+    }
+
+    /**
+     * Conecta un grabador de eventos: desde ese momento cada transición de estado y cada carga o
+     * liberación de CPU se agrega a su traza binaria. El llamador inicia y cierra el grabador.
+     * @param recorder grabador iniciado, o null para dejar de grabar
+     */
+    public void setEventRecorder(EventRecorder recorder) {
+        this.eventRecorder = recorder;
+    }
+
+    /**
+     * Devuelve el grabador de eventos conectado.
+     * @return grabador o null si no se graba
+     */
+    public EventRecorder getEventRecorder() {
+        return eventRecorder;
+    }
+
+    /**
+     * Expone las métricas en vivo de la simulación.
+     * @return registro de métricas por política
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Expone los contadores del pipeline para consultarlos (snapshot) o publicarlos por JMX.
+     * @return instrumentación de este sistema operativo
+     */
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Cantidad de arribos programados que aún no llegaron.
+     * @return procesos pendientes en la rueda de arribos
+     */
+    public int pendingArrivalCount() {
+        synchronized (arrivalWheel) {
+            return arrivalWheel.size();
+        }
+    }
+
+    /**
+     * Obtiene los procesos programados que aún no llegaron, ordenados por ciclo de arribo.
+     * @return arreglo con los procesos pendientes; su ciclo se consulta con getArrivalCycle()
+     */
+    public ProcessControlBlock[] getPendingArrivalsSnapshot() {
+        IntArrayList pids = new IntArrayList();
+        LongArrayList cycles = new LongArrayList();
+        synchronized (arrivalWheel) {
+            arrivalWheel.snapshot(pids, cycles);
+        }
+        ProcessControlBlock[] snapshot = processes(pids.toArray());
+        Arrays.sort(snapshot, Comparator
+                .comparingLong(ProcessControlBlock::getArrivalCycle)
+                .thenComparingInt(ProcessControlBlock::getProcessId));
+        return snapshot;
+    }
+
+    /**
+     * Admite los arribos programados que vencen en el ciclo indicado. Se ejecuta en el hilo que
+     * avanza el reloj, antes de incrementar el ciclo, con el mismo efecto que una admisión directa.
+     * @param cycle ciclo alcanzado por el reloj
+     */
+    private void admitDueArrivals(long cycle) {
+        synchronized (arrivalWheel) {
+            dueArrivals.clear();
+            if (arrivalWheel.advanceTo(cycle, dueArrivals) == 0) {
+                return;
+            }
+        }
+        for (int i = 0; i < dueArrivals.size(); i++) {
+            ProcessControlBlock pcb = process(dueArrivals.get(i));
+            try {
+                moveToReady(pcb);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.SEVERE, "No se pudo admitir el arribo del proceso " + pcb.getProcessId(), ex);
+                continue;
+            }
+            notifyArrival(pcb);
+        }
+    }
+
+    /**
+     * Notifica al observador de arribos, si existe.
+     * @param pcb proceso que acaba de arribar
+     */
+    private void notifyArrival(ProcessControlBlock pcb) {
+        Consumer<ProcessControlBlock> listener = arrivalListener;
+        if (listener != null) {
+            listener.accept(pcb);
+        }
     }
 
     /**
@@ -107,7 +367,28 @@ public class OperatingSystem {
      * @param pcb bloque de control que debe ir a bloqueados
      */
     public void moveToBlocked(ProcessControlBlock pcb) {
-        updateProcessState(pcb, ProcessState.BLOQUEADO, blockedQueue, "blockedQueue");
+        updateProcessState(pcb, ProcessState.BLOQUEADO);
+    }
+
+    /**
+     * Devuelve a listos un proceso expropiado por el núcleo indicado. Con colas por núcleo activas
+     * y una política que las admite, el proceso queda en la cola local de ese núcleo (afinidad)
+     * sin tomar stateLock: sigue residente en memoria, por lo que no cambian los contadores.
+     * En cualquier otro caso equivale a {@link #moveToReady(ProcessControlBlock)}.
+     * @param core núcleo que expropió al proceso
+     * @param pcb proceso expropiado
+     */
+    void requeuePreempted(CPU core, ProcessControlBlock pcb) {
+        Objects.requireNonNull(pcb, "El proceso no puede ser nulo");
+        ProcessState previousState = pcb.getProcessState();
+        if (core == null || previousState != ProcessState.EJECUCION || !usesLocalRunQueues()) {
+            moveToReady(pcb);
+            return;
+        }
+        pcb.setProcessState(ProcessState.LISTO);
+        pcb.markReadyQueueArrival(globalClockCycle.get());
+        core.localRunQueue().pushBottom(pcb);
+        logTransition(pcb, previousState, ProcessState.LISTO, EventRecorder.QUEUE_LOCAL_RUN, core.getCoreId());
     }
 
     /**
@@ -116,20 +397,27 @@ public class OperatingSystem {
      * @param pcb proceso cuya ejecución culminó
      */
     public void markAsFinished(ProcessControlBlock pcb) {
-        Objects.requireNonNull(pcb, "El proceso no puede ser nulo");
+        requireOwnProcess(pcb);
         synchronized (stateLock) {
             ProcessState previousState = pcb.getProcessState();
+            int pid = pcb.getProcessId();
             readyQueue.remove(pcb);
-            blockedQueue.remove(pcb);
-            readySuspendedQueue.remove(pcb);
-            blockedSuspendedQueue.remove(pcb);
+            blockedQueue.remove(pid);
+            readySuspendedQueue.remove(pid);
+            blockedSuspendedQueue.remove(pid);
             adjustMemoryCounters(previousState, ProcessState.TERMINADO);
             pcb.setProcessState(ProcessState.TERMINADO);
             if (pcb.getCompletionTime() < 0) {
                 pcb.markCompleted(System.currentTimeMillis());
             }
-            finishedProcessesList.enqueue(pcb);
-            logTransition(pcb, previousState, ProcessState.TERMINADO, "finishedProcessesList");
+            recordCompletionMetrics(pcb);
+            finishedCount++;
+            if (releaseFinishedProcesses) {
+                pendingReleases.add(pid);
+            } else {
+                finishedProcessesList.add(pid);
+            }
+            logTransition(pcb, previousState, ProcessState.TERMINADO, EventRecorder.QUEUE_FINISHED, EventRecorder.NO_CPU);
             if (isInMemoryState(previousState)) {
                 restoreSuspendedProcessIfPossible();
             }
@@ -144,19 +432,20 @@ public class OperatingSystem {
     public void completeIo(ProcessControlBlock pcb) {
         Objects.requireNonNull(pcb, "El proceso no puede ser nulo");
         synchronized (stateLock) {
-            boolean removed = blockedQueue.remove(pcb);
+            boolean removed = blockedQueue.remove(pcb.getProcessId());
             if (!removed) {
-                removed = blockedSuspendedQueue.remove(pcb);
+                removed = blockedSuspendedQueue.remove(pcb.getProcessId());
             }
             if (!removed) {
                 LOGGER.log(Level.WARNING, "No se encontró el proceso {0} en las colas de bloqueados", pcb.getProcessId());
             }
-            updateProcessState(pcb, ProcessState.LISTO, readyQueue, "readyQueue");
+            updateProcessState(pcb, ProcessState.LISTO);
         }
     }
 
     /**
-     * Devuelve el siguiente proceso de la cola de listos sin retirarlo.
+     * Devuelve el siguiente proceso de la cola de listos sin retirarlo. Con una política por
+     * prioridad (SPN, SRTF) es el proceso de mayor prioridad y se obtiene en O(1).
      * @return PCB en la cabeza de ready o null si está vacía
      */
     public ProcessControlBlock peekReady() {
@@ -181,7 +470,7 @@ public class OperatingSystem {
      */
     public ProcessControlBlock peekFinished() {
         synchronized (stateLock) {
-            return finishedProcessesList.peek();
+            return finishedProcessesList.isEmpty() ? null : process(finishedProcessesList.get(0));
         }
     }
 
@@ -196,15 +485,29 @@ public class OperatingSystem {
     }
 
     /**
-     * Devuelve una instantánea de la cola de listos para análisis externos (SRTF).
+     * Devuelve una instantánea de la cola de listos para análisis externos y la interfaz.
+     * Con colas por núcleo se agregan al final los procesos de cada cola local (lectura de mejor esfuerzo).
      * @return arreglo con los procesos actualmente listos
      */
     public ProcessControlBlock[] getReadyQueueSnapshot() {
         synchronized (stateLock) {
             Object[] raw = readyQueue.getAllProcesses();
-            ProcessControlBlock[] snapshot = new ProcessControlBlock[raw.length];
+            CPU[] cores = cpus;
+            Object[][] locals = new Object[cores.length][];
+            int total = raw.length;
+            for (int i = 0; i < cores.length; i++) {
+                locals[i] = cores[i].localRunQueue().toArray();
+                total += locals[i].length;
+            }
+            ProcessControlBlock[] snapshot = new ProcessControlBlock[total];
+            int index = 0;
             for (int i = 0; i < raw.length; i++) {
-                snapshot[i] = (ProcessControlBlock) raw[i];
+                snapshot[index++] = (ProcessControlBlock) raw[i];
+            }
+            for (Object[] local : locals) {
+                for (Object pcb : local) {
+                    snapshot[index++] = (ProcessControlBlock) pcb;
+                }
             }
             return snapshot;
         }
@@ -216,12 +519,7 @@ public class OperatingSystem {
      */
     public ProcessControlBlock[] getBlockedQueueSnapshot() {
         synchronized (stateLock) {
-            Object[] raw = blockedQueue.getAllProcesses();
-            ProcessControlBlock[] snapshot = new ProcessControlBlock[raw.length];
-            for (int i = 0; i < raw.length; i++) {
-                snapshot[i] = (ProcessControlBlock) raw[i];
-            }
-            return snapshot;
+            return processes(blockedQueue.toArray());
         }
     }
 
@@ -231,12 +529,7 @@ public class OperatingSystem {
      */
     public ProcessControlBlock[] getFinishedQueueSnapshot() {
         synchronized (stateLock) {
-            Object[] raw = finishedProcessesList.getAllProcesses();
-            ProcessControlBlock[] snapshot = new ProcessControlBlock[raw.length];
-            for (int i = 0; i < raw.length; i++) {
-                snapshot[i] = (ProcessControlBlock) raw[i];
-            }
-            return snapshot;
+            return processes(finishedProcessesList.toArray());
         }
     }
 
@@ -246,18 +539,26 @@ public class OperatingSystem {
      */
     public ProcessControlBlock[] getSuspendedQueuesSnapshot() {
         synchronized (stateLock) {
-            Object[] rawReady = readySuspendedQueue.getAllProcesses();
-            Object[] rawBlocked = blockedSuspendedQueue.getAllProcesses();
-            ProcessControlBlock[] snapshot = new ProcessControlBlock[rawReady.length + rawBlocked.length];
-            int index = 0;
-            for (int i = 0; i < rawReady.length; i++) {
-                snapshot[index++] = (ProcessControlBlock) rawReady[i];
-            }
-            for (int i = 0; i < rawBlocked.length; i++) {
-                snapshot[index++] = (ProcessControlBlock) rawBlocked[i];
-            }
-            return snapshot;
+            int[] readyPids = readySuspendedQueue.toArray();
+            int[] blockedPids = blockedSuspendedQueue.toArray();
+            int[] pids = new int[readyPids.length + blockedPids.length];
+            System.arraycopy(readyPids, 0, pids, 0, readyPids.length);
+            System.arraycopy(blockedPids, 0, pids, readyPids.length, blockedPids.length);
+            return processes(pids);
+        }
+    }
+
+    /**
+     * Traduce una lista de PID a vistas PCB.
+     * @param pids identificadores en el orden de la cola
+     * @return arreglo de procesos en el mismo orden
+     */
+    private ProcessControlBlock[] processes(int[] pids) {
+        ProcessControlBlock[] snapshot = new ProcessControlBlock[pids.length];
+        for (int i = 0; i < pids.length; i++) {
+            snapshot[i] = process(pids[i]);
         }
+        return snapshot;
     }
 
     /**
@@ -272,12 +573,12 @@ public class OperatingSystem {
     }
 
     /**
-     * Número de procesos listos actualmente en memoria.
+     * Número de procesos listos actualmente en memoria, incluidas las colas locales de los núcleos.
      * @return tamaño de la cola ready
      */
     public int readyQueueSize() {
         synchronized (stateLock) {
-            return readyQueue.size();
+            return readyQueue.size() + localRunQueuesSize();
         }
     }
 
@@ -297,7 +598,7 @@ public class OperatingSystem {
      */
     public int finishedQueueSize() {
         synchronized (stateLock) {
-            return finishedProcessesList.size();
+            return finishedCount;
         }
     }
     
@@ -332,14 +633,160 @@ public class OperatingSystem {
     }
 
     /**
-     * Registra la CPU que cooperará con el reloj global del sistema.
+     * Número de procesos admitidos que todavía no terminaron: residentes en memoria (listos,
+     * bloqueados o en ejecución), suspendidos o publicados en la cola de admisión. No incluye los
+     * arribos que siguen en la rueda ni los procesos cuya admisión falló.
+     * @return procesos vivos del sistema
+     */
+    public int liveProcessCount() {
+        synchronized (stateLock) {
+            return processesInMemory + readySuspendedQueue.size() + blockedSuspendedQueue.size()
+                    + admissionQueue.size();
+        }
+    }
+
+    /**
+     * Registra una CPU (núcleo) que cooperará con el reloj global del sistema.
+     * Puede invocarse varias veces para modelar un multiprocesador; todos los núcleos
+     * comparten la cola de listos y el manejador de I/O.
      * @param cpu instancia de CPU asociada
      */
     public void attachCpu(CPU cpu) {
-        this.cpu = Objects.requireNonNull(cpu, "La CPU asociada no puede ser nula");
-        this.cpu.setScheduler(scheduler);
-        this.cpu.setTimeQuantum(roundRobinQuantum);
-        this.cpu.setFeedbackQuanta(feedbackQuanta);
+        Objects.requireNonNull(cpu, "La CPU asociada no puede ser nula");
+        synchronized (clockLock) {
+            CPU[] current = cpus;
+            for (CPU attached : current) {
+                if (attached == cpu) {
+                    throw new IllegalArgumentException("La CPU ya está registrada como núcleo " + cpu.getCoreId());
+                }
+            }
+            if (ioHandler != null && cpu.getIoHandler() != ioHandler) {
+                throw new IllegalArgumentException("Todos los núcleos deben compartir el mismo manejador de I/O");
+            }
+            this.ioHandler = cpu.getIoHandler();
+            cpu.assignCoreId(current.length);
+            cpu.setScheduler(scheduler);
+            cpu.setTimeQuantum(context.getRoundRobinQuantum());
+            cpu.setFeedbackQuanta(context.getFeedbackQuanta());
+            CPU[] updated = new CPU[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = cpu;
+            cpus = updated;
+        }
+    }
+
+    /**
+     * Devuelve los núcleos registrados en orden de coreId.
+     * @return copia del arreglo de CPUs
+     */
+    public CPU[] getCpus() {
+        return cpus.clone();
+    }
+
+    /**
+     * Cantidad de núcleos registrados.
+     * @return número de CPUs asociadas
+     */
+    public int getCpuCount() {
+        return cpus.length;
+    }
+
+    /**
+     * Activa o desactiva la ejecución de cada núcleo en su propio hilo trabajador.
+     * Con un solo núcleo no tiene efecto. En modo paralelo el orden en que los núcleos
+     * devuelven procesos a las colas dentro de un mismo ciclo deja de ser determinista.
+     * @param parallel true para ejecutar los núcleos en paralelo
+     */
+    public void setParallelCoreExecution(boolean parallel) {
+        synchronized (clockLock) {
+            this.parallelCoreExecution = parallel;
+            if (!parallel) {
+                shutdownCoreWorkers();
+            }
+        }
+    }
+
+    /**
+     * Indica si los núcleos ejecutan su ciclo en paralelo.
+     * @return true cuando la ejecución paralela está activa
+     */
+    public boolean isParallelCoreExecution() {
+        return parallelCoreExecution;
+    }
+
+    /**
+     * Activa o desactiva las colas locales por núcleo con robo de trabajo. Al desactivarlas,
+     * los procesos que quedaban en colas locales regresan a la cola de listos global.
+     * Solo tienen efecto con políticas que las admiten (ver SchedulingPolicy.supportsLocalRunQueues()).
+     * @param enabled true para que cada núcleo reencole sus expropiados localmente
+     */
+    public void setPerCoreRunQueues(boolean enabled) {
+        this.perCoreRunQueues = enabled;
+        if (!enabled) {
+            synchronized (stateLock) {
+                drainLocalRunQueues();
+            }
+        }
+    }
+
+    /**
+     * Indica si las colas locales por núcleo están habilitadas.
+     * @return true cuando cada núcleo mantiene su propia cola local
+     */
+    public boolean isPerCoreRunQueues() {
+        return perCoreRunQueues;
+    }
+
+    /**
+     * Define cada cuántos ciclos se rebalancean las colas locales de los núcleos.
+     * @param cycles intervalo en ciclos (0 desactiva el balanceo periódico y deja solo el robo bajo demanda)
+     */
+    public void setLoadBalanceInterval(int cycles) {
+        if (cycles < 0) {
+            throw new IllegalArgumentException("El intervalo de balanceo no puede ser negativo");
+        }
+        this.loadBalanceInterval = cycles;
+    }
+
+    /**
+     * Devuelve el intervalo de balanceo de las colas locales.
+     * @return intervalo en ciclos (0 si está desactivado)
+     */
+    public int getLoadBalanceInterval() {
+        return loadBalanceInterval;
+    }
+
+    /**
+     * Activa o desactiva la cola de admisión sin bloqueos para admitProcess. Los procesos ya
+     * publicados se admiten igualmente en el siguiente ciclo.
+     * @param enabled true para que los arribos no tomen stateLock en el hilo productor
+     */
+    public void setLockFreeAdmission(boolean enabled) {
+        this.lockFreeAdmission = enabled;
+    }
+
+    /**
+     * Indica si la admisión sin bloqueos está activa.
+     * @return true cuando admitProcess publica en la cola de admisión
+     */
+    public boolean isLockFreeAdmission() {
+        return lockFreeAdmission;
+    }
+
+    /**
+     * Cantidad de arribos publicados que aún no ingresaron a listos.
+     * @return tamaño aproximado de la cola de admisión
+     */
+    public int pendingAdmissionCount() {
+        return admissionQueue.size();
+    }
+
+    /**
+     * Cantidad de procesos que el balanceador periódico trasladó entre colas locales.
+     * @return traslados acumulados
+     */
+    public long getBalancedTransfers() {
+        return balancedTransfers.get();
     }
 
     /**
@@ -348,11 +795,12 @@ public class OperatingSystem {
      */
     public void setScheduler(Scheduler scheduler) {
         this.scheduler = Objects.requireNonNull(scheduler, "El planificador no puede ser nulo");
-        if (cpu != null) {
-            cpu.setScheduler(this.scheduler);
-            cpu.setTimeQuantum(roundRobinQuantum);
-            cpu.setFeedbackQuanta(feedbackQuanta);
+        for (CPU core : cpus) {
+            core.setScheduler(this.scheduler);
+            core.setTimeQuantum(context.getRoundRobinQuantum());
+            core.setFeedbackQuanta(context.getFeedbackQuanta());
         }
+        alignReadyQueueWithPolicy();
     }
 
     /**
@@ -370,11 +818,14 @@ public class OperatingSystem {
     public void setSchedulingPolicy(SchedulingPolicy policy) {
         Objects.requireNonNull(policy, "La política de planificación no puede ser nula");
         scheduler.setPolicy(policy);
-        if (cpu != null && policy instanceof RoundRobin) {
-            cpu.setTimeQuantum(roundRobinQuantum);
-        }
-        if (cpu != null && policy instanceof Feedback) {
-            cpu.setFeedbackQuanta(feedbackQuanta);
+        alignReadyQueueWithPolicy();
+        for (CPU core : cpus) {
+            if (policy instanceof RoundRobin) {
+                core.setTimeQuantum(context.getRoundRobinQuantum());
+            }
+            if (policy instanceof Feedback) {
+                core.setFeedbackQuanta(context.getFeedbackQuanta());
+            }
         }
     }
 
@@ -385,11 +836,14 @@ public class OperatingSystem {
     public void setSchedulingPolicy(PolicyType policyType) {
         Objects.requireNonNull(policyType, "El tipo de política no puede ser nulo");
         scheduler.setPolicy(policyType);
-        if (cpu != null && policyType == PolicyType.ROUND_ROBIN) {
-            cpu.setTimeQuantum(roundRobinQuantum);
-        }
-        if (cpu != null && policyType == PolicyType.FEEDBACK) {
-            cpu.setFeedbackQuanta(feedbackQuanta);
+        alignReadyQueueWithPolicy();
+        for (CPU core : cpus) {
+            if (policyType == PolicyType.ROUND_ROBIN) {
+                core.setTimeQuantum(context.getRoundRobinQuantum());
+            }
+            if (policyType == PolicyType.FEEDBACK) {
+                core.setFeedbackQuanta(context.getFeedbackQuanta());
+            }
         }
     }
 
@@ -406,13 +860,28 @@ public class OperatingSystem {
      * @param quantum cantidad de ciclos a asignar a cada proceso
      */
     public void setRoundRobinQuantum(int quantum) {
-        if (!RoundRobin.isSupportedQuantum(quantum)) {
-            throw new IllegalArgumentException("Quantum inválido para Round Robin: " + quantum);
-        }
-        if (cpu != null) {
-            cpu.setTimeQuantum(quantum);
+        context.setRoundRobinQuantum(quantum);
+        for (CPU core : cpus) {
+            core.setTimeQuantum(quantum);
         }
-        roundRobinQuantum = quantum;
+    }
+
+    /**
+     * Activa el modo Round Robin adaptativo: mientras RR esté activa, el controlador reajusta el
+     * quantum a partir de las ráfagas observadas y del largo de la cola de listos, y cada cambio
+     * se registra en las métricas. Con null el quantum vuelve a ser fijo (conserva el último valor).
+     * @param controller controlador del quantum o null para desactivar el modo adaptativo
+     */
+    public void setAdaptiveQuantum(AdaptiveQuantumController controller) {
+        this.adaptiveQuantum = controller;
+    }
+
+    /**
+     * Devuelve el controlador del quantum adaptativo.
+     * @return controlador activo o null si el quantum es fijo
+     */
+    public AdaptiveQuantumController getAdaptiveQuantum() {
+        return adaptiveQuantum;
     }
 
     /**
@@ -423,26 +892,59 @@ public class OperatingSystem {
      * @param level3 quantum para el nivel 3
      */
     public void setFeedbackQuanta(int level0, int level1, int level2, int level3) {
-        if (level0 <= 0 || level1 <= 0 || level2 <= 0 || level3 <= 0) {
-            throw new IllegalArgumentException("Todos los quantums de Feedback deben ser positivos");
-        }
-        feedbackQuanta[0] = level0;
-        feedbackQuanta[1] = level1;
-        feedbackQuanta[2] = level2;
-        feedbackQuanta[3] = level3;
-        if (cpu != null) {
-            cpu.setFeedbackQuanta(feedbackQuanta);
+        setFeedbackQuanta(new int[] {level0, level1, level2, level3});
+    }
+
+    /**
+     * Configura la cantidad de niveles de Feedback y el quantum de cada uno.
+     * @param quanta entre 1 y SimulationContext.MAX_FEEDBACK_LEVELS quantums positivos, del nivel 0 al último
+     */
+    public void setFeedbackQuanta(int[] quanta) {
+        context.setFeedbackQuanta(quanta);
+        int[] configured = context.getFeedbackQuanta();
+        for (CPU core : cpus) {
+            core.setFeedbackQuanta(configured);
         }
     }
 
+    /**
+     * Define cada cuántos ciclos Feedback devuelve al nivel 0 a todos los procesos.
+     * @param cycles intervalo en ciclos (0 desactiva el boost)
+     */
+    public void setFeedbackBoostInterval(int cycles) {
+        context.setFeedbackBoostInterval(cycles);
+    }
+
+    /**
+     * Devuelve el intervalo del boost de prioridad de Feedback.
+     * @return ciclos entre boosts o 0 si está desactivado
+     */
+    public int getFeedbackBoostInterval() {
+        return context.getFeedbackBoostInterval();
+    }
+
+    /**
+     * Define la espera en listos tras la que Feedback sube un nivel a un proceso.
+     * @param cycles umbral en ciclos (0 desactiva el envejecimiento)
+     */
+    public void setFeedbackAgingThreshold(int cycles) {
+        context.setFeedbackAgingThreshold(cycles);
+    }
+
+    /**
+     * Devuelve el umbral de envejecimiento de Feedback.
+     * @return ciclos de espera o 0 si está desactivado
+     */
+    public int getFeedbackAgingThreshold() {
+        return context.getFeedbackAgingThreshold();
+    }
+
     /**
      * Devuelve una copia de los quantums configurados para la política Feedback.
      * @return arreglo con los quantums por nivel
      */
     public int[] getFeedbackQuantaSnapshot() {
-        int[] snapshot = new int[feedbackQuanta.length];
-        System.arraycopy(feedbackQuanta, 0, snapshot, 0, feedbackQuanta.length);
-        return snapshot;
+        return context.getFeedbackQuanta();
     }
 
     /**
@@ -450,7 +952,31 @@ public class OperatingSystem {
      * @return quantum en ciclos
      */
     public int getRoundRobinQuantum() {
-        return roundRobinQuantum;
+        return context.getRoundRobinQuantum();
+    }
+
+    /**
+     * Define cuántos ciclos cuesta cargar un proceso en una CPU (latencia de despacho y caché fría).
+     * @param cost modelo de costo; ContextSwitchCost.NONE para cambios instantáneos
+     */
+    public void setContextSwitchCost(ContextSwitchCost cost) {
+        context.setContextSwitchCost(cost);
+    }
+
+    /**
+     * Devuelve el costo de cambio de contexto vigente.
+     * @return modelo de costo
+     */
+    public ContextSwitchCost getContextSwitchCost() {
+        return context.getContextSwitchCost();
+    }
+
+    /**
+     * Devuelve el contexto de simulación propio de este sistema operativo.
+     * @return contexto con la secuencia de PIDs, los quantums y el generador de procesos
+     */
+    public SimulationContext getContext() {
+        return context;
     }
 
     /**
@@ -497,6 +1023,44 @@ public class OperatingSystem {
         return cycleDurationMillis;
     }
 
+    /**
+     * Activa o desactiva el modo headless: el reloj ejecuta los ciclos sin dormir entre ellos.
+     * Las finalizaciones de I/O ya se programan sobre ciclos simulados, por lo que el resultado
+     * es idéntico al de la ejecución en tiempo real.
+     * @param headless true para simular lo más rápido posible
+     */
+    public void setHeadlessMode(boolean headless) {
+        this.headlessMode = headless;
+    }
+
+    /**
+     * Hace que los procesos terminados no se conserven: tras registrar sus métricas se cuentan
+     * y su fila de la tabla de procesos se libera al comenzar el ciclo siguiente, para que la
+     * reutilice un proceso nuevo. La memoria queda acotada por los procesos vivos y no por el
+     * total de la traza. Las instantáneas de finalizados quedan vacías, así que es para corridas
+     * headless que solo consultan métricas y conteos (TraceRunner); el PID se reasigna.
+     * @param release true para liberar las filas de los procesos terminados
+     */
+    public void setReleaseFinishedProcesses(boolean release) {
+        this.releaseFinishedProcesses = release;
+    }
+
+    /**
+     * Indica si las filas de los procesos terminados se liberan.
+     * @return true si los finalizados solo se cuentan
+     */
+    public boolean isReleaseFinishedProcesses() {
+        return releaseFinishedProcesses;
+    }
+
+    /**
+     * Indica si el sistema operativo está configurado en modo headless.
+     * @return true cuando el reloj no respeta la duración real de cada ciclo
+     */
+    public boolean isHeadlessMode() {
+        return headlessMode;
+    }
+
     /**
      * Obtiene el número acumulado de ciclos globales ejecutados por el reloj.
      * @return contador de ciclos globales
@@ -522,7 +1086,7 @@ public class OperatingSystem {
             if (clockRunning.get()) {
                 return;
             }
-            if (cpu == null) {
+            if (cpus.length == 0) {
                 throw new IllegalStateException("Se debe registrar una CPU antes de iniciar el reloj del sistema");
             }
             clockRunning.set(true);
@@ -533,12 +1097,13 @@ public class OperatingSystem {
     }
 
     /**
-     * Detiene el hilo de reloj de forma ordenada y espera su terminación.
+     * Detiene el hilo de reloj de forma ordenada, espera su terminación y libera los hilos de los núcleos.
      */
     public void stopSystemClock() {
         Thread threadToJoin;
         synchronized (clockLock) {
             if (!clockRunning.get()) {
+                shutdownCoreWorkers();
                 return;
             }
             clockRunning.set(false);
@@ -559,6 +1124,29 @@ public class OperatingSystem {
             if (clockThread == threadToJoin) {
                 clockThread = null;
             }
+            shutdownCoreWorkers();
+        }
+    }
+
+    /**
+     * Avanza el reloj global exactamente un ciclo en el hilo invocador, sin esperas.
+     * Pensado para simulaciones headless deterministas donde el llamador intercala arribos entre ciclos.
+     * @return número del ciclo recién ejecutado
+     */
+    public long advanceClock() {
+        synchronized (clockLock) {
+            if (clockRunning.get()) {
+                throw new IllegalStateException("No es posible avanzar manualmente el reloj mientras su hilo está activo");
+            }
+            if (cpus.length == 0) {
+                throw new IllegalStateException("Se debe registrar una CPU antes de avanzar el reloj del sistema");
+            }
+            releaseFinishedRows();
+            drainAdmissionQueue();
+            admitDueArrivals(globalClockCycle.get());
+            long currentCycle = globalClockCycle.incrementAndGet();
+            runCycle(currentCycle);
+            return currentCycle;
         }
     }
 
@@ -568,20 +1156,18 @@ public class OperatingSystem {
     private void runClockLoop() {
         LOGGER.info("Reloj del sistema iniciado");
         while (clockRunning.get()) {
+            releaseFinishedRows();
+            drainAdmissionQueue();
+            admitDueArrivals(globalClockCycle.get());
             long currentCycle = globalClockCycle.incrementAndGet();
-            LOGGER.info(() -> String.format("Ciclo global #%d", currentCycle));
-            try {
-                executeCyclePipeline();
-            } catch (RuntimeException ex) {
-                LOGGER.log(Level.SEVERE, "Fallo durante la ejecución del ciclo " + currentCycle, ex);
-            }
+            runCycle(currentCycle);
 
             if (!clockRunning.get()) {
                 break;
             }
 
             try {
-                long sleepTime = cycleDurationMillis;
+                long sleepTime = headlessMode ? 0L : cycleDurationMillis;
                 if (sleepTime > 0L) {
                     Thread.sleep(sleepTime);
                 }
@@ -595,142 +1181,653 @@ public class OperatingSystem {
         LOGGER.info("Reloj del sistema detenido");
     }
 
+    /**
+     * Libera las filas de los procesos que terminaron en el ciclo anterior. Se posterga hasta
+     * aquí porque, durante el ciclo en que termina, el núcleo todavía consulta al proceso para
+     * liberarlo y registrarlo; al comenzar el ciclo siguiente nadie conserva su vista.
+     */
+    private void releaseFinishedRows() {
+        synchronized (stateLock) {
+            if (pendingReleases.isEmpty()) {
+                return;
+            }
+            ProcessTable table = context.getProcessTable();
+            for (int i = 0; i < pendingReleases.size(); i++) {
+                table.release(pendingReleases.get(i));
+            }
+            pendingReleases.clear();
+        }
+    }
+
+    /**
+     * Ingresa a listos los arribos publicados en la cola de admisión. Se ejecuta en el hilo que
+     * avanza el reloj (único consumidor) antes de incrementar el ciclo, por lo que el ciclo de
+     * llegada registrado coincide con el de una admisión directa.
+     */
+    private void drainAdmissionQueue() {
+        if (admissionQueue.isEmpty()) {
+            return;
+        }
+        synchronized (stateLock) {
+            ProcessControlBlock pcb;
+            while ((pcb = admissionQueue.poll()) != null) {
+                try {
+                    updateProcessState(pcb, ProcessState.LISTO);
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.SEVERE, "No se pudo admitir el proceso " + pcb.getProcessId(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un ciclo completo: libera las finalizaciones de I/O vencidas y luego corre el pipeline.
+     * @param currentCycle número de ciclo global que se está ejecutando
+     */
+    private void runCycle(long currentCycle) {
+        SimulatorLog.log(CYCLE_MESSAGE, currentCycle);
+        try {
+            if (ioHandler != null) {
+                ioHandler.advanceToCycle(currentCycle);
+            }
+            executeCyclePipeline();
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Fallo durante la ejecución del ciclo " + currentCycle, ex);
+        }
+    }
+
     /**
      * Ejecuta la secuencia planificador → despachador → CPU para un ciclo del reloj.
+     * Primero se llenan todos los núcleos ociosos (en orden de coreId) y después se ejecuta
+     * el ciclo de cada núcleo.
      */
     private void executeCyclePipeline() {
-        ProcessControlBlock scheduledProcess = runSchedulerStep();
-        runDispatcherStep(scheduledProcess);
-        runCpuStep();
+        CPU[] cores = cpus;
+        boolean timed = instrumentation.isStageTimingEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        cycleSchedulerNanos = 0L;
+        // Se alinea antes de evaluar los núcleos para que la expropiación de este ciclo ya vea la cola correcta
+        alignReadyQueueWithPolicy();
+        if (usesLocalRunQueues()) {
+            balanceLocalRunQueues(cores);
+        }
+        adjustAdaptiveQuantum();
+        applyFeedbackBoostAndAging(cores);
+        long dispatchStart = timed ? System.nanoTime() : 0L;
+        if (dispatcher != null) {
+            dispatcher.fillIdleCores(cores, timed ? timedSchedulerStep : schedulerStep);
+        } else {
+            for (CPU core : cores) {
+                dispatchDefault(timed ? runTimedSchedulerStep(core) : runSchedulerStep(core), core);
+            }
+        }
+        long cpuStart = timed ? System.nanoTime() : 0L;
+        runCpuStep(cores);
+        instrumentation.recordCycle();
+        if (timed) {
+            long end = System.nanoTime();
+            long scheduling = (dispatchStart - start) + cycleSchedulerNanos;
+            instrumentation.recordStageTimes(scheduling,
+                    Math.max(0L, cpuStart - dispatchStart - cycleSchedulerNanos), end - cpuStart);
+        }
     }
 
     /**
-     * Solicita al planificador el siguiente proceso listo para ejecutar.
+     * Si el modo adaptativo está activo con Round Robin y vence su intervalo, pide al controlador
+     * un nuevo quantum y, si cambia, lo aplica a todos los núcleos y lo registra en las métricas.
+     */
+    private void adjustAdaptiveQuantum() {
+        AdaptiveQuantumController controller = adaptiveQuantum;
+        if (controller == null) {
+            return;
+        }
+        Scheduler active = activeScheduler();
+        long cycle = globalClockCycle.get();
+        if (active == null || !(active.getActivePolicy() instanceof RoundRobin) || !controller.isAdjustmentDue(cycle)) {
+            return;
+        }
+        int current = context.getRoundRobinQuantum();
+        int readyLength = readyQueueSize();
+        int proposed = controller.proposeQuantum(current, readyLength);
+        if (proposed == current) {
+            return;
+        }
+        setRoundRobinQuantum(proposed);
+        int coverage = controller.getLastCoveragePercent();
+        metrics.recordQuantumChange(active.getActivePolicyType(), cycle, current, proposed, readyLength, coverage);
+        SimulatorLog.log(QUANTUM_CHANGE_MESSAGE, null, current, proposed, readyLength, coverage);
+    }
+
+    /**
+     * Con Feedback activa aplica, si están configurados, el boost periódico (los procesos en listos
+     * y en ejecución vuelven al nivel 0) y el envejecimiento de los que esperan en listos, y los
+     * registra en las métricas.
+     * @param cores núcleos cuyo proceso en ejecución también recibe el boost
+     */
+    private void applyFeedbackBoostAndAging(CPU[] cores) {
+        int boostInterval = context.getFeedbackBoostInterval();
+        int agingThreshold = context.getFeedbackAgingThreshold();
+        if (boostInterval == 0 && agingThreshold == 0) {
+            return;
+        }
+        Scheduler active = activeScheduler();
+        if (active == null || !(active.getActivePolicy() instanceof Feedback)) {
+            return;
+        }
+        Feedback feedback = (Feedback) active.getActivePolicy();
+        long cycle = globalClockCycle.get();
+        if (boostInterval > 0 && cycle > 0L && cycle % boostInterval == 0L) {
+            int boosted = feedback.boost(cycle);
+            for (CPU core : cores) {
+                if (core.boostFeedbackLevel()) {
+                    boosted++;
+                }
+            }
+            metrics.recordFeedbackBoost(active.getActivePolicyType(), boosted);
+            SimulatorLog.log(FEEDBACK_BOOST_MESSAGE, null, cycle, boosted);
+        }
+        if (agingThreshold > 0) {
+            int promoted = feedback.age(cycle, agingThreshold);
+            if (promoted > 0) {
+                metrics.recordFeedbackAging(active.getActivePolicyType(), promoted);
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link #runSchedulerStep(CPU)}, pero suma su duración al tiempo del planificador del ciclo.
+     * @param core núcleo ocioso que recibirá el proceso
+     * @return proceso seleccionado o null si no hay candidatos
+     */
+    private ProcessControlBlock runTimedSchedulerStep(CPU core) {
+        long start = System.nanoTime();
+        ProcessControlBlock selected = runSchedulerStep(core);
+        cycleSchedulerNanos += System.nanoTime() - start;
+        return selected;
+    }
+
+    /**
+     * Solicita al planificador el siguiente proceso listo para el núcleo indicado.
+     * Sin colas por núcleo se consulta solo la cola global (arribos, retornos de I/O y
+     * expropiados, ordenados por la política). Con colas por núcleo se toma el que llegó antes a
+     * listos entre la cabeza de la cola global y la de la cola local, para que un expropiado no
+     * quede detrás de los arribos posteriores y se respete el turno de RR; si ambas están vacías,
+     * se roba al núcleo con la cola local más larga.
+     * @param core núcleo ocioso que recibirá el proceso
      * @return proceso seleccionado o null si no hay candidatos
      */
-    private ProcessControlBlock runSchedulerStep() {
-        if (cpu == null || !cpu.isIdle()) {
+    private ProcessControlBlock runSchedulerStep(CPU core) {
+        if (core == null || !core.isIdle()) {
             return null;
         }
+        if (!usesLocalRunQueues()) {
+            return selectFromReadyQueue(core);
+        }
+        ProcessControlBlock localHead = core.localRunQueue().peekTop();
+        if (localHead != null && !readyQueueHeadArrivedFirst(localHead)) {
+            ProcessControlBlock own = core.localRunQueue().steal();
+            if (own != null) {
+                return own;
+            }
+        }
+        ProcessControlBlock selected = selectFromReadyQueue(core);
+        if (selected != null) {
+            return selected;
+        }
+        return takeFromLocalRunQueues(core);
+    }
+
+    /**
+     * Compara la cabeza de la cola global con la de una cola local por su ciclo de llegada a
+     * listos. A igual ciclo gana la global, que es el orden en que se atendían antes.
+     * @param localHead proceso más antiguo de la cola local
+     * @return true si la cola global tiene un proceso que llegó a listos antes o a la vez
+     */
+    private boolean readyQueueHeadArrivedFirst(ProcessControlBlock localHead) {
+        synchronized (stateLock) {
+            ProcessControlBlock globalHead = readyQueue.peek();
+            return globalHead != null
+                    && globalHead.getReadyQueueArrivalTime() <= localHead.getReadyQueueArrivalTime();
+        }
+    }
+
+    /**
+     * Aplica la política activa sobre la cola de listos global.
+     * @param core núcleo ocioso que recibirá el proceso
+     * @return proceso seleccionado o null si la cola global está vacía
+     */
+    private ProcessControlBlock selectFromReadyQueue(CPU core) {
         synchronized (stateLock) {
             long currentCycle = globalClockCycle.get();
-            if (cpu.getScheduler() != null) {
-                return cpu.selectNextProcess(readyQueue);
+            if (core.getScheduler() != null) {
+                return core.selectNextProcess(readyQueue);
             }
             if (scheduler != null) {
-                return scheduler.selectNextProcess(readyQueue, cpu.getCurrentProcess(), currentCycle);
+                return scheduler.selectNextProcess(readyQueue, core.getCurrentProcess(), currentCycle);
             }
             return readyQueue.dequeue();
         }
     }
 
     /**
-     * Entrega el proceso seleccionado al despachador para su carga en CPU.
-     * @param candidate proceso listo a despachar
+     * Toma trabajo de las colas locales sin pasar por stateLock: primero la propia (FIFO, para
+     * respetar el turno de RR) y luego la del vecino con más procesos en espera.
+     * @param core núcleo ocioso que recibirá el proceso
+     * @return proceso tomado o null si todas las colas locales están vacías
      */
-    private void runDispatcherStep(ProcessControlBlock candidate) {
-        if (candidate == null || cpu == null) {
-            return;
+    private ProcessControlBlock takeFromLocalRunQueues(CPU core) {
+        WorkStealingDeque<ProcessControlBlock> own = core.localRunQueue();
+        while (!own.isEmpty()) {
+            ProcessControlBlock pcb = own.steal();
+            if (pcb != null) {
+                return pcb;
+            }
         }
-        if (!cpu.isIdle()) {
-            moveToReady(candidate);
-            return;
+        CPU victim;
+        while ((victim = busiestCore(cpus, core)) != null) {
+            ProcessControlBlock stolen = victim.localRunQueue().steal();
+            if (stolen != null) {
+                core.recordSteal();
+                recordLocalMove(stolen, EventRecorder.QUEUE_LOCAL_RUN, core.getCoreId());
+                SimulatorLog.log(STEAL_MESSAGE, stolen.getProcessName(),
+                        core.getCoreId(), stolen.getProcessId(), victim.getCoreId());
+                return stolen;
+            }
         }
-        if (dispatcher != null) {
-            dispatcher.dispatch(candidate, cpu);
-        } else {
-            dispatchDefault(candidate);
+        return null;
+    }
+
+    /**
+     * Busca el núcleo con la cola local más larga.
+     * @param cores núcleos registrados
+     * @param excluded núcleo que no debe considerarse (puede ser null)
+     * @return núcleo con más procesos locales o null si todas las colas están vacías
+     */
+    private CPU busiestCore(CPU[] cores, CPU excluded) {
+        CPU busiest = null;
+        int busiestSize = 0;
+        for (CPU candidate : cores) {
+            if (candidate == excluded) {
+                continue;
+            }
+            int size = candidate.getLocalRunQueueSize();
+            if (size > busiestSize) {
+                busiest = candidate;
+                busiestSize = size;
+            }
         }
+        return busiest;
     }
 
     /**
-     * Ejecuta el ciclo de CPU y comprueba si el proceso actual ha finalizado.
+     * Cada loadBalanceInterval ciclos traslada procesos de la cola local más larga a la más corta
+     * hasta que difieran en a lo sumo uno. Corre en el hilo del reloj antes de ejecutar los núcleos,
+     * cuando ningún trabajador está insertando en su cola, por lo que puede actuar como dueño de ambas.
+     * @param cores núcleos registrados
      */
-    private void runCpuStep() {
-        if (cpu == null) {
+    private void balanceLocalRunQueues(CPU[] cores) {
+        int interval = loadBalanceInterval;
+        if (interval <= 0 || cores.length < 2 || globalClockCycle.get() % interval != 0) {
             return;
         }
-        cpu.executeCycle();
-        finalizeProcessIfCompleted();
+        while (true) {
+            CPU busiest = busiestCore(cores, null);
+            if (busiest == null) {
+                return;
+            }
+            CPU idlest = busiest;
+            for (CPU candidate : cores) {
+                if (candidate.getLocalRunQueueSize() < idlest.getLocalRunQueueSize()) {
+                    idlest = candidate;
+                }
+            }
+            if (busiest.getLocalRunQueueSize() - idlest.getLocalRunQueueSize() <= 1) {
+                return;
+            }
+            ProcessControlBlock moved = busiest.localRunQueue().steal();
+            if (moved == null) {
+                return;
+            }
+            idlest.localRunQueue().pushBottom(moved);
+            recordLocalMove(moved, EventRecorder.QUEUE_LOCAL_RUN, idlest.getCoreId());
+            balancedTransfers.incrementAndGet();
+        }
+    }
+
+    /**
+     * Indica si en este momento los expropiados deben ir a las colas locales de los núcleos.
+     * @return true si las colas por núcleo están habilitadas y la política activa las admite
+     */
+    private boolean usesLocalRunQueues() {
+        if (!perCoreRunQueues) {
+            return false;
+        }
+        Scheduler activeScheduler = activeScheduler();
+        SchedulingPolicy activePolicy = activeScheduler != null ? activeScheduler.getActivePolicy() : null;
+        return activePolicy != null && activePolicy.supportsLocalRunQueues();
+    }
+
+    /**
+     * Devuelve el planificador efectivo: el del primer núcleo si tiene uno, o el del sistema operativo.
+     * @return planificador activo o null
+     */
+    private Scheduler activeScheduler() {
+        CPU[] cores = cpus;
+        return cores.length > 0 && cores[0].getScheduler() != null ? cores[0].getScheduler() : scheduler;
+    }
+
+    /**
+     * Suma los procesos en espera en las colas locales de todos los núcleos.
+     * @return cantidad aproximada de procesos en colas locales
+     */
+    private int localRunQueuesSize() {
+        int total = 0;
+        for (CPU core : cpus) {
+            total += core.getLocalRunQueueSize();
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve a la cola global los procesos de todas las colas locales, conservando su ciclo
+     * de llegada a ready. Debe invocarse con stateLock tomado.
+     */
+    private void drainLocalRunQueues() {
+        for (CPU core : cpus) {
+            WorkStealingDeque<ProcessControlBlock> local = core.localRunQueue();
+            while (!local.isEmpty()) {
+                ProcessControlBlock pcb = local.steal();
+                if (pcb != null) {
+                    readyQueue.enqueue(pcb);
+                    recordLocalMove(pcb, EventRecorder.QUEUE_READY, EventRecorder.NO_CPU);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retira el proceso más antiguo de la cola local más larga y lo suspende en la cola de
+     * listos suspendidos, registrando la transición. Debe invocarse con stateLock tomado.
+     * @return true si se suspendió un proceso; false si todas las colas locales están vacías
+     */
+    private boolean suspendFromLocalRunQueues() {
+        CPU victim;
+        while ((victim = busiestCore(cpus, null)) != null) {
+            ProcessControlBlock pcb = victim.localRunQueue().steal();
+            if (pcb != null) {
+                suspendCandidate(pcb, ProcessState.LISTO_SUSPENDIDO, readySuspendedQueue, EventRecorder.QUEUE_READY_SUSPENDED);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registra en la traza binaria el traslado de un proceso listo entre colas locales o hacia la
+     * cola global. El estado no cambia (LISTO → LISTO), pero el evento lleva la cola y el núcleo
+     * destino para que TraceReplay lo ubique donde quedó. Los robos y reparticiones ya tienen su
+     * propio mensaje de log, así que aquí solo se graba el evento.
+     * @param pcb proceso trasladado
+     * @param queue código de la cola destino (EventRecorder.QUEUE_*)
+     * @param coreId núcleo de la cola local destino o EventRecorder.NO_CPU
+     */
+    private void recordLocalMove(ProcessControlBlock pcb, int queue, int coreId) {
+        EventRecorder recorder = eventRecorder;
+        if (recorder != null) {
+            recorder.record(globalClockCycle.get(), pcb.getProcessId(), EventRecorder.TYPE_TRANSITION,
+                    ProcessState.LISTO, ProcessState.LISTO, queue, coreId);
+        }
+    }
+
+    /**
+     * Reconstruye la cola de listos cuando la política activa cambió, para que use la estructura
+     * que esa política declara (FIFO o cola de prioridad indexada). Los procesos se trasladan
+     * conservando su ciclo de llegada a ready; si la política no cambió, no hace nada.
+     * Si la política activa no admite colas por núcleo, las colas locales se vacían en la global.
+     */
+    private void alignReadyQueueWithPolicy() {
+        synchronized (stateLock) {
+            Scheduler activeScheduler = activeScheduler();
+            SchedulingPolicy activePolicy = activeScheduler != null ? activeScheduler.getActivePolicy() : null;
+            if (activePolicy == null) {
+                return;
+            }
+            if (activePolicy == readyQueuePolicy) {
+                if (!usesLocalRunQueues()) {
+                    drainLocalRunQueues();
+                }
+                return;
+            }
+            CustomQueue<ProcessControlBlock> newQueue = activePolicy.createReadyQueue(context.getProcessTable());
+            ProcessControlBlock pcb;
+            while ((pcb = readyQueue.dequeueOldest()) != null) {
+                newQueue.enqueue(pcb);
+            }
+            readyQueue = newQueue;
+            readyQueuePolicy = activePolicy;
+            if (!usesLocalRunQueues()) {
+                drainLocalRunQueues();
+            }
+            LOGGER.fine(() -> String.format("Cola de listos reconstruida como %s para la política %s",
+                    newQueue.getClass().getSimpleName(),
+                    activePolicy.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Ejecuta el ciclo de todos los núcleos y comprueba cuáles terminaron su proceso actual.
+     * Con ejecución paralela cada núcleo corre en su hilo y el reloj espera en la barrera de fin.
+     * @param cores núcleos registrados
+     */
+    private void runCpuStep(CPU[] cores) {
+        CoreWorkerPool pool = obtainCoreWorkerPool(cores);
+        if (pool == null || !pool.executeCycle()) {
+            if (pool != null) {
+                LOGGER.warning("Los hilos de los núcleos se interrumpieron; el ciclo se completa en el hilo del reloj");
+                discardCoreWorkerPool(pool);
+            }
+            for (CPU core : cores) {
+                core.executeCycle();
+            }
+        }
+        for (CPU core : cores) {
+            finalizeProcessIfCompleted(core);
+        }
+    }
+
+    /**
+     * Devuelve el pool de hilos de los núcleos, creándolo si la ejecución paralela está activa.
+     * @param cores núcleos registrados
+     * @return pool listo para usar o null si los núcleos se ejecutan en el hilo del reloj
+     */
+    private CoreWorkerPool obtainCoreWorkerPool(CPU[] cores) {
+        if (!parallelCoreExecution || cores.length < 2) {
+            return null;
+        }
+        synchronized (clockLock) {
+            if (coreWorkerPool != null && !coreWorkerPool.serves(cores)) {
+                shutdownCoreWorkers();
+            }
+            if (coreWorkerPool == null) {
+                coreWorkerPool = new CoreWorkerPool(cores);
+            }
+            return coreWorkerPool;
+        }
+    }
+
+    /**
+     * Descarta un pool que quedó inutilizable para que se recree en el siguiente ciclo.
+     * @param pool pool a descartar
+     */
+    private void discardCoreWorkerPool(CoreWorkerPool pool) {
+        synchronized (clockLock) {
+            if (coreWorkerPool == pool) {
+                shutdownCoreWorkers();
+            }
+        }
+    }
+
+    /**
+     * Detiene los hilos de los núcleos si existen. Debe invocarse con clockLock tomado.
+     */
+    private void shutdownCoreWorkers() {
+        if (coreWorkerPool != null) {
+            coreWorkerPool.shutdown();
+            coreWorkerPool = null;
+        }
     }
 
     /**
      * Carga el proceso en la CPU usando el comportamiento por defecto cuando no hay despachador externo.
      * @param candidate proceso a cargar en CPU
+     * @param core núcleo de destino
      */
-    private void dispatchDefault(ProcessControlBlock candidate) {
-        if (candidate == null || cpu == null || !cpu.isIdle()) {
+    private void dispatchDefault(ProcessControlBlock candidate, CPU core) {
+        if (candidate == null || core == null) {
+            return;
+        }
+        if (!core.isIdle()) {
+            moveToReady(candidate);
             return;
         }
-        cpu.loadProcess(candidate);
+        core.loadProcess(candidate);
     }
 
     /**
-     * Verifica si el proceso actual ya completó todas sus instrucciones y lo marca como terminado.
+     * Verifica si el proceso actual del núcleo ya completó todas sus instrucciones y lo marca como terminado.
+     * @param core núcleo a revisar
      */
-    private void finalizeProcessIfCompleted() {
-        if (cpu == null) {
-            return;
-        }
-        ProcessControlBlock runningProcess = cpu.getCurrentProcess();
+    private void finalizeProcessIfCompleted(CPU core) {
+        ProcessControlBlock runningProcess = core.getCurrentProcess();
         if (runningProcess == null) {
             return;
         }
         int totalInstructions = runningProcess.getTotalInstructions();
         if (runningProcess.getProgramCounter() > totalInstructions) {
             markAsFinished(runningProcess);
-            cpu.releaseProcess();
-            LOGGER.info(() -> String.format("Proceso %s (#%d) completó su ejecución en el ciclo #%d",
-                    runningProcess.getProcessName(),
-                    runningProcess.getProcessId(),
-                    globalClockCycle.get()));
+            core.releaseProcess();
+            core.recordCompletion();
+            SimulatorLog.log(COMPLETION_MESSAGE, runningProcess.getProcessName(),
+                    runningProcess.getProcessId(), globalClockCycle.get());
         }
     }
 
     /**
-     * Actualiza un proceso a un estado objetivo, colocando el PCB en la cola correspondiente
-     * y ajustando contadores de memoria según el cambio.
+     * Actualiza un proceso a un estado residente (LISTO o BLOQUEADO), colocándolo en la cola
+     * correspondiente y ajustando contadores de memoria según el cambio.
      * @param pcb proceso a actualizar
      * @param targetState estado objetivo
-     * @param targetQueue cola donde se inserta el proceso
-     * @param targetQueueName nombre lógico de la cola para logging
      */
-    private void updateProcessState(ProcessControlBlock pcb,
-                                    ProcessState targetState,
-                                    CustomQueue<ProcessControlBlock> targetQueue,
-                                    String targetQueueName) {
-        Objects.requireNonNull(pcb, "El proceso no puede ser nulo");
+    private void updateProcessState(ProcessControlBlock pcb, ProcessState targetState) {
+        requireOwnProcess(pcb);
         synchronized (stateLock) {
             ProcessState previousState = pcb.getProcessState();
+            if (!isInMemoryState(previousState) && isInMemoryState(targetState) && !canMakeRoomInMemory()) {
+                // Con varios núcleos la memoria puede estar ocupada solo por procesos en ejecución:
+                // el proceso se admite directamente como suspendido hasta que se libere espacio.
+                admitAsSuspended(pcb, previousState, targetState);
+                return;
+            }
             adjustMemoryCounters(previousState, targetState);
             pcb.setProcessState(targetState);
             if (targetState == ProcessState.LISTO) {
                 pcb.markReadyQueueArrival(globalClockCycle.get());
             } else {
-                pcb.clearReadyQueueArrival();
+                pcb.leaveReadyQueue(globalClockCycle.get());
             }
-            targetQueue.enqueue(pcb);
-            logTransition(pcb, previousState, targetState, targetQueueName);
+            if (targetState == ProcessState.LISTO) {
+                readyQueue.enqueue(pcb);
+            } else {
+                blockedQueue.enqueue(pcb.getProcessId());
+            }
+            logTransition(pcb, previousState, targetState,
+                    targetState == ProcessState.LISTO ? EventRecorder.QUEUE_READY : EventRecorder.QUEUE_BLOCKED,
+                    EventRecorder.NO_CPU);
+        }
+    }
+
+    /**
+     * Verifica que el proceso pertenezca a la tabla de procesos de esta simulación: las colas de
+     * bloqueados, suspendidos y finalizados guardan solo el PID y lo resuelven contra esa tabla.
+     * @param pcb proceso a validar
+     */
+    private void requireOwnProcess(ProcessControlBlock pcb) {
+        Objects.requireNonNull(pcb, "El proceso no puede ser nulo");
+        if (pcb.getProcessTable() != context.getProcessTable()) {
+            throw new IllegalArgumentException("El proceso #" + pcb.getProcessId()
+                    + " pertenece a otra simulación; debe crearse con getContext().newProcess");
         }
     }
 
     /**
-     * Registra la transición de estado con información contextual.
+     * Obtiene la vista PCB de un PID de esta simulación.
+     * @param pid identificador guardado en una cola de PID
+     * @return vista sobre la fila del proceso
+     */
+    private ProcessControlBlock process(int pid) {
+        return context.getProcessTable().view(pid);
+    }
+
+    /**
+     * Registra la transición de estado con información contextual y, si hay un grabador de
+     * eventos activo, la agrega a la traza binaria.
      * @param pcb proceso que cambió de estado
      * @param fromState estado previo
      * @param toState estado nuevo
-     * @param queueName nombre de la cola destino
+     * @param queue código de la cola destino (EventRecorder.QUEUE_*)
+     * @param coreId núcleo de la cola local o EventRecorder.NO_CPU
      */
     private void logTransition(ProcessControlBlock pcb,
                                ProcessState fromState,
                                ProcessState toState,
-                               String queueName) {
-        LOGGER.info(() -> String.format("Proceso %s (#%d) %s -> %s en %s",
-                pcb.getProcessName(),
-                pcb.getProcessId(),
-                fromState,
-                toState,
-                queueName));
+                               int queue,
+                               int coreId) {
+        if (fromState == ProcessState.NUEVO && pcb.getArrivalCycle() < 0L) {
+            // Los procesos admitidos sin scheduleArrival arriban al dejar el estado NUEVO
+            context.getProcessTable().setArrivalCycle(pcb.getProcessId(), globalClockCycle.get());
+        }
+        EventRecorder recorder = eventRecorder;
+        if (recorder != null) {
+            recorder.record(globalClockCycle.get(), pcb.getProcessId(), EventRecorder.TYPE_TRANSITION,
+                    fromState, toState, queue, coreId);
+        }
+        SimulatorLog.log(TRANSITION_MESSAGE, pcb.getProcessName(), fromState, toState,
+                pcb.getProcessId(), queue, coreId);
+    }
+
+    /**
+     * Registra en las métricas de la política activa la espera, el turnaround, el slowdown y los
+     * cambios de contexto del proceso que acaba de terminar.
+     * @param pcb proceso finalizado
+     */
+    private void recordCompletionMetrics(ProcessControlBlock pcb) {
+        long now = globalClockCycle.get();
+        pcb.leaveReadyQueue(now);
+        long arrival = Math.max(0L, pcb.getArrivalCycle());
+        Scheduler active = activeScheduler();
+        metrics.recordCompletion(active != null ? active.getActivePolicyType() : null,
+                pcb.getAccumulatedWaitingTime(),
+                Math.max(0L, now - arrival),
+                pcb.getTotalInstructions(),
+                pcb.getContextSwitchCount());
+    }
+
+    /**
+     * Nombre lógico de una cola para los mensajes de log.
+     * @param queue código de la cola (EventRecorder.QUEUE_*)
+     * @param coreId núcleo de la cola local
+     * @return nombre de la cola
+     */
+    private static String queueName(int queue, int coreId) {
+        switch (queue) {
+            case EventRecorder.QUEUE_READY: return "readyQueue";
+            case EventRecorder.QUEUE_BLOCKED: return "blockedQueue";
+            case EventRecorder.QUEUE_READY_SUSPENDED: return "readySuspendedQueue";
+            case EventRecorder.QUEUE_BLOCKED_SUSPENDED: return "blockedSuspendedQueue";
+            case EventRecorder.QUEUE_FINISHED: return "finishedProcessesList";
+            case EventRecorder.QUEUE_LOCAL_RUN: return "localRunQueue[" + coreId + "]";
+            default: return "CPU[" + coreId + "]";
+        }
     }
 
     /**
@@ -739,37 +1836,69 @@ public class OperatingSystem {
      */
     private void ensureCapacity() {
         while (processesInMemory >= maxProcessesInMemory) {
-            ProcessControlBlock candidate = readyQueue.dequeue();
+            ProcessControlBlock candidate = readyQueue.dequeueOldest();
             if (candidate != null) {
-                suspendCandidate(candidate, ProcessState.LISTO_SUSPENDIDO, readySuspendedQueue, "readySuspendedQueue");
+                suspendCandidate(candidate, ProcessState.LISTO_SUSPENDIDO, readySuspendedQueue, EventRecorder.QUEUE_READY_SUSPENDED);
                 continue;
             }
-            candidate = blockedQueue.dequeue();
-            if (candidate != null) {
-                suspendCandidate(candidate, ProcessState.BLOQUEADO_SUSPENDIDO, blockedSuspendedQueue, "blockedSuspendedQueue");
+            if (suspendFromLocalRunQueues()) {
+                continue;
+            }
+            if (!blockedQueue.isEmpty()) {
+                suspendCandidate(blockedQueue.dequeue(), ProcessState.BLOQUEADO_SUSPENDIDO, blockedSuspendedQueue, EventRecorder.QUEUE_BLOCKED_SUSPENDED);
                 continue;
             }
             throw new IllegalStateException("No hay procesos disponibles para suspender y la memoria está llena");
         }
     }
 
+    /**
+     * Indica si es posible hacer lugar en memoria principal, ya sea porque hay capacidad libre
+     * o porque existe algún proceso listo o bloqueado que se pueda suspender.
+     * @return true si ensureCapacity podrá liberar un espacio
+     */
+    private boolean canMakeRoomInMemory() {
+        return processesInMemory < maxProcessesInMemory
+                || !readyQueue.isEmpty()
+                || localRunQueuesSize() > 0
+                || !blockedQueue.isEmpty();
+    }
+
+    /**
+     * Ubica el proceso en la cola suspendida equivalente al estado objetivo cuando la memoria
+     * está ocupada únicamente por procesos en ejecución.
+     * @param pcb proceso que no puede ingresar a memoria
+     * @param previousState estado previo del proceso
+     * @param targetState estado residente que se solicitó
+     */
+    private void admitAsSuspended(ProcessControlBlock pcb, ProcessState previousState, ProcessState targetState) {
+        boolean blocked = targetState == ProcessState.BLOQUEADO;
+        ProcessState suspendedState = blocked ? ProcessState.BLOQUEADO_SUSPENDIDO : ProcessState.LISTO_SUSPENDIDO;
+        ProcessQueue targetQueue = blocked ? blockedSuspendedQueue : readySuspendedQueue;
+        pcb.setProcessState(suspendedState);
+        pcb.leaveReadyQueue(globalClockCycle.get());
+        targetQueue.enqueue(pcb.getProcessId());
+        logTransition(pcb, previousState, suspendedState,
+                blocked ? EventRecorder.QUEUE_BLOCKED_SUSPENDED : EventRecorder.QUEUE_READY_SUSPENDED, EventRecorder.NO_CPU);
+    }
+
     /**
      * Suspende el proceso indicado, ajusta los contadores y registra la transición.
      * @param candidate proceso a suspender
      * @param suspendedState estado suspendido objetivo
      * @param targetQueue cola de suspendidos donde se almacenará
-     * @param queueName nombre descriptivo de la cola suspendida
+     * @param queue código de la cola suspendida (EventRecorder.QUEUE_*)
      */
     private void suspendCandidate(ProcessControlBlock candidate,
                                   ProcessState suspendedState,
-                                  CustomQueue<ProcessControlBlock> targetQueue,
-                                  String queueName) {
+                                  ProcessQueue targetQueue,
+                                  int queue) {
         ProcessState previousState = candidate.getProcessState();
         candidate.setProcessState(suspendedState);
-        candidate.clearReadyQueueArrival();
-        targetQueue.enqueue(candidate);
+        candidate.leaveReadyQueue(globalClockCycle.get());
+        targetQueue.enqueue(candidate.getProcessId());
         processesInMemory = Math.max(0, processesInMemory - 1);
-        logTransition(candidate, previousState, suspendedState, queueName);
+        logTransition(candidate, previousState, suspendedState, queue, EventRecorder.NO_CPU);
     }
 
     /**
@@ -779,14 +1908,12 @@ public class OperatingSystem {
         if (processesInMemory >= maxProcessesInMemory) {
             return;
         }
-        ProcessControlBlock candidate = readySuspendedQueue.dequeue();
-        if (candidate != null) {
-            updateProcessState(candidate, ProcessState.LISTO, readyQueue, "readyQueue");
+        if (!readySuspendedQueue.isEmpty()) {
+            updateProcessState(readySuspendedQueue.dequeue(), ProcessState.LISTO);
             return;
         }
-        candidate = blockedSuspendedQueue.dequeue();
-        if (candidate != null) {
-            updateProcessState(candidate, ProcessState.BLOQUEADO, blockedQueue, "blockedQueue");
+        if (!blockedSuspendedQueue.isEmpty()) {
+            updateProcessState(blockedSuspendedQueue.dequeue(), ProcessState.BLOQUEADO);
         }
     }
 
@@ -8,94 +8,61 @@ package core;
 
 
 import java.util.Objects; // Utilidad para validaciones de nulidad
-import java.util.concurrent.atomic.AtomicInteger; // Para generación segura de IDs únicos
 
 /**
  * Representa el bloque de control de un proceso (PCB) con los datos básicos
  * necesarios para gestionar su ciclo de vida dentro del simulador.
  * Cada proceso tiene un identificador único, nombre, estado, registros de contexto,
  * información de planificación (scheduling), y métricas de creación/finalización.
+ * Los datos viven en la ProcessTable de la simulación; el PCB es una vista liviana
+ * (tabla + PID) sobre su fila, por lo que dos vistas del mismo PID son equivalentes.
  */
 
 public class ProcessControlBlock {
 
 
-	/**
-	 * Generador atómico para IDs únicos de procesos.
-	 */
-	private static final AtomicInteger ID_GENERATOR = new AtomicInteger(1);
+	/** Tabla de procesos que almacena los campos de este PCB (el PCB es una vista de una fila). */
+	private final ProcessTable table;
+	/** Identificador único del proceso; también es la fila en la tabla. */
+	private final int processId;
 
 
-	/** Identificador único del proceso. */
-	private final int processId;
-	/** Nombre del proceso. */
-	private String processName;
-	/** Estado actual del proceso (enum). */
-	private ProcessState processState;
-	// --- Registros de contexto/hardware ---
-	/** Contador de programa (PC): instrucción actual. */
-	private int programCounter;
-	/** Registro de dirección de memoria (MAR). */
-	private int memoryAddressRegister;
-
-	// --- Datos de planificación (scheduling) ---
-	/** Número total de instrucciones a ejecutar. */
-	private int totalInstructions;
-	/** Indica si el proceso es I/O bound. */
-	private boolean isIOBound;
-	/** Ciclo en el que se solicita I/O (relativo al inicio). */
-	private int ioExceptionCycle;
-	/** Duración del evento de I/O en ciclos. */
-	private int ioDuration;
-
-	// --- Métricas ---
-	/** Timestamp de creación del proceso. */
-	private long creationTime;
-	/** Timestamp de finalización del proceso. */
-	private long completionTime;
-	/** Ciclo en el que el proceso ingresó a la cola de listos. */
-	private long readyQueueArrivalTime;
-	/** Ciclo en el que el proceso ejecuta por PRIMERA vez en CPU. */
-	private long firstExecutionCycle;
-	/** Nivel de prioridad usado por políticas Feedback (0=alta … 3=baja). */
-	private int priorityLevel;
-
-
-	/**
-	 * Constructor principal. Crea un proceso en estado NUEVO.
+	/**
+	 * Crea un proceso en estado NUEVO cuyo PID proviene del contexto de simulación indicado.
+	 * @param context Contexto que asigna el identificador
 	 * @param processName Nombre del proceso
 	 */
-	public ProcessControlBlock(String processName) {
-		this(processName, ProcessState.NUEVO);
+	public ProcessControlBlock(SimulationContext context, String processName) {
+		this(context, processName, ProcessState.NUEVO);
 	}
 
 	/**
-	 * Constructor completo. Permite especificar el estado inicial.
+	 * Constructor completo. Permite especificar el contexto y el estado inicial.
+	 * @param context Contexto que asigna el identificador
 	 * @param processName Nombre del proceso
 	 * @param initialState Estado inicial del proceso
 	 */
-	public ProcessControlBlock(String processName, ProcessState initialState) {
-		this.processId = ID_GENERATOR.getAndIncrement();
-		// Validación de nombre y estado
-		if (processName == null || processName.isBlank()) {
-			throw new IllegalArgumentException("El nombre del proceso no puede ser nulo ni vacío");
-		}
-		this.processName = processName.trim();
-		this.processState = Objects.requireNonNull(initialState, "El estado del proceso no puede ser nulo");
-		// Inicialización de registros y métricas
-		this.programCounter = 0;
-		this.memoryAddressRegister = 0;
-		this.totalInstructions = 0;
-		this.isIOBound = false;
-		this.ioExceptionCycle = -1;
-		this.ioDuration = 0;
-		this.creationTime = System.currentTimeMillis();
-		this.completionTime = -1L;
-		this.readyQueueArrivalTime = -1L;
-		this.firstExecutionCycle = -1L;
-		this.priorityLevel = 0;
+	public ProcessControlBlock(SimulationContext context, String processName, ProcessState initialState) {
+		this.table = Objects.requireNonNull(context, "El contexto de simulación no puede ser nulo").getProcessTable();
+		this.processId = table.allocate(processName, initialState);
+	}
+
+	/**
+	 * Crea una vista sobre una fila ya reservada en la tabla (ver ProcessTable.view).
+	 * @param table Tabla que contiene la fila
+	 * @param processId PID de la fila
+	 */
+	ProcessControlBlock(ProcessTable table, int processId) {
+		this.table = table;
+		this.processId = processId;
 	}
 
+	/**
+	 * Devuelve la tabla de procesos que respalda esta vista.
+	 */
+	public ProcessTable getProcessTable() {
+		return table;
+	}
 
 	/**
 	 * Devuelve el ID único del proceso.
@@ -109,7 +76,7 @@ public class ProcessControlBlock {
 	 * Devuelve el nombre del proceso.
 	 */
 	public String getProcessName() {
-		return processName;
+		return table.getName(processId);
 	}
 
 
@@ -118,10 +85,7 @@ public class ProcessControlBlock {
 	 * @param processName Nombre válido (no nulo ni vacío)
 	 */
 	public void setProcessName(String processName) {
-		if (processName == null || processName.isBlank()) {
-			throw new IllegalArgumentException("El nombre del proceso no puede ser nulo ni vacío");
-		}
-		this.processName = processName.trim();
+		table.setName(processId, processName);
 	}
 
 
@@ -129,7 +93,7 @@ public class ProcessControlBlock {
 	 * Devuelve el estado actual del proceso.
 	 */
 	public ProcessState getProcessState() {
-		return processState;
+		return table.getState(processId);
 	}
 
 
@@ -138,7 +102,7 @@ public class ProcessControlBlock {
 	 * @param processState Nuevo estado (no nulo)
 	 */
 	public void setProcessState(ProcessState processState) {
-		this.processState = Objects.requireNonNull(processState, "El estado del proceso no puede ser nulo");
+		table.setState(processId, processState);
 	}
 
 	/**
@@ -146,14 +110,65 @@ public class ProcessControlBlock {
 	 * @param cycle número de ciclo global
 	 */
 	public void markReadyQueueArrival(long cycle) {
-		readyQueueArrivalTime = Math.max(0L, cycle);
+		table.setReadyQueueArrival(processId, Math.max(0L, cycle));
 	}
 
 	/**
 	 * Limpia la marca de llegada a ready (cuando sale de la cola).
 	 */
 	public void clearReadyQueueArrival() {
-		readyQueueArrivalTime = -1L;
+		table.setReadyQueueArrival(processId, -1L);
+	}
+
+	/**
+	 * Sale de la cola de listos sumando a la espera acumulada los ciclos transcurridos desde la marca.
+	 * @param cycle ciclo global en que deja la cola de listos
+	 */
+	public void leaveReadyQueue(long cycle) {
+		long arrival = table.getReadyQueueArrival(processId);
+		if (arrival >= 0L) {
+			table.addReadyWaitCycles(processId, Math.max(0L, cycle - arrival));
+			table.setReadyQueueArrival(processId, -1L);
+		}
+	}
+
+	/**
+	 * Devuelve los ciclos que el proceso pasó en la cola de listos en todas sus visitas.
+	 * @return espera acumulada en ciclos
+	 */
+	public long getAccumulatedWaitingTime() {
+		return table.getReadyWaitCycles(processId);
+	}
+
+	/**
+	 * Registra el último ciclo en que el proceso ejecutó una instrucción en CPU.
+	 * @param cycle ciclo global de la ejecución
+	 */
+	public void setLastRunCycle(long cycle) {
+		table.setLastRunCycle(processId, cycle);
+	}
+
+	/**
+	 * Devuelve el último ciclo en que el proceso ejecutó una instrucción.
+	 * @return ciclo global o -1 si aún no ejecutó
+	 */
+	public long getLastRunCycle() {
+		return table.getLastRunCycle(processId);
+	}
+
+	/**
+	 * Registra que el proceso fue cargado en una CPU.
+	 */
+	public void recordDispatch() {
+		table.incrementDispatchCount(processId);
+	}
+
+	/**
+	 * Devuelve cuántas veces el proceso fue cargado en una CPU.
+	 * @return cambios de contexto hacia el proceso
+	 */
+	public int getContextSwitchCount() {
+		return table.getDispatchCount(processId);
 	}
 
 	/**
@@ -161,8 +176,8 @@ public class ProcessControlBlock {
 	 * @param cycle número de ciclo global cuando se carga en CPU por primera vez
 	 */
 	public void markFirstExecution(long cycle) {
-		if (firstExecutionCycle < 0) {
-			firstExecutionCycle = Math.max(0L, cycle);
+		if (table.getFirstExecutionCycle(processId) < 0) {
+			table.setFirstExecutionCycle(processId, Math.max(0L, cycle));
 		}
 	}
 
@@ -171,29 +186,48 @@ public class ProcessControlBlock {
 	 * @return ciclo registrado o -1 si no ha ejecutado aún
 	 */
 	public long getFirstExecutionCycle() {
-		return firstExecutionCycle;
+		return table.getFirstExecutionCycle(processId);
 	}
 
 	/**
 	 * Cambia el nivel de prioridad actual del proceso para políticas con múltiples colas.
-	 * @param level nivel entre 0 y 3
+	 * @param level nivel entre 0 y SimulationContext.MAX_FEEDBACK_LEVELS - 1 (se acota a ese rango)
 	 */
 	public void setPriorityLevel(int level) {
-		if (level < 0) {
-			priorityLevel = 0;
-		} else if (level > 3) {
-			priorityLevel = 3;
-		} else {
-			priorityLevel = level;
-		}
+		table.setPriorityLevel(processId, Math.max(0, Math.min(SimulationContext.MAX_FEEDBACK_LEVELS - 1, level)));
 	}
 
 	/**
 	 * Devuelve el nivel de prioridad asignado al proceso.
-	 * @return nivel de prioridad actual (0-3)
+	 * @return nivel de prioridad actual (0 es el más prioritario)
 	 */
 	public int getPriorityLevel() {
-		return priorityLevel;
+		return table.getPriorityLevel(processId);
+	}
+
+	/**
+	 * Devuelve el núcleo en el que el proceso ejecutó por última vez.
+	 * @return coreId del último núcleo o -1 si aún no ejecutó
+	 */
+	public int getLastCoreId() {
+		return table.getLastCoreId(processId);
+	}
+
+	/**
+	 * Registra el núcleo en el que se cargó el proceso.
+	 * @param coreId identificador del núcleo (>= 0)
+	 */
+	public void setLastCoreId(int coreId) {
+		table.setLastCoreId(processId, coreId);
+	}
+
+	/**
+	 * Devuelve el ciclo de arribo programado con OperatingSystem.scheduleArrival o, si se admitió
+	 * directamente, el ciclo en que dejó el estado NUEVO.
+	 * @return ciclo de arribo o -1 si el proceso aún no arribó
+	 */
+	public long getArrivalCycle() {
+		return table.getArrivalCycle(processId);
 	}
 
 	/**
@@ -201,7 +235,7 @@ public class ProcessControlBlock {
 	 * @return ciclo registrado o -1 si no está marcado
 	 */
 	public long getReadyQueueArrivalTime() {
-		return readyQueueArrivalTime;
+		return table.getReadyQueueArrival(processId);
 	}
 
 
@@ -211,7 +245,7 @@ public class ProcessControlBlock {
 	 * Devuelve el valor actual del contador de programa (PC).
 	 */
 	public int getProgramCounter() {
-		return programCounter;
+		return table.getProgramCounter(processId);
 	}
 
 
@@ -220,8 +254,7 @@ public class ProcessControlBlock {
 	 * @param programCounter Valor no negativo
 	 */
 	public void setProgramCounter(int programCounter) {
-		if (programCounter < 0) throw new IllegalArgumentException("programCounter no puede ser negativo");
-		this.programCounter = programCounter;
+		table.setProgramCounter(processId, programCounter);
 	}
 
 
@@ -229,7 +262,7 @@ public class ProcessControlBlock {
 	 * Devuelve el valor del registro de dirección de memoria (MAR).
 	 */
 	public int getMemoryAddressRegister() {
-		return memoryAddressRegister;
+		return table.getMemoryAddressRegister(processId);
 	}
 
 
@@ -238,8 +271,7 @@ public class ProcessControlBlock {
 	 * @param memoryAddressRegister Valor no negativo
 	 */
 	public void setMemoryAddressRegister(int memoryAddressRegister) {
-		if (memoryAddressRegister < 0) throw new IllegalArgumentException("memoryAddressRegister no puede ser negativo");
-		this.memoryAddressRegister = memoryAddressRegister;
+		table.setMemoryAddressRegister(processId, memoryAddressRegister);
 	}
 
 
@@ -249,7 +281,7 @@ public class ProcessControlBlock {
 	 * Devuelve el número total de instrucciones del proceso.
 	 */
 	public int getTotalInstructions() {
-		return totalInstructions;
+		return table.getTotalInstructions(processId);
 	}
 
 
@@ -258,8 +290,7 @@ public class ProcessControlBlock {
 	 * @param totalInstructions Valor no negativo
 	 */
 	public void setTotalInstructions(int totalInstructions) {
-		if (totalInstructions < 0) throw new IllegalArgumentException("totalInstructions no puede ser negativo");
-		this.totalInstructions = totalInstructions;
+		table.setTotalInstructions(processId, totalInstructions);
 	}
 
 	/**
@@ -268,6 +299,7 @@ public class ProcessControlBlock {
 	 * @return tiempo de espera en ciclos
 	 */
 	public long getWaitingTime(long currentCycle) {
+		long readyQueueArrivalTime = table.getReadyQueueArrival(processId);
 		if (readyQueueArrivalTime < 0) {
 			return 0L;
 		}
@@ -282,6 +314,7 @@ public class ProcessControlBlock {
 	 */
 	public double getResponseRatio(long currentCycle) {
 		long waiting = getWaitingTime(currentCycle);
+		int totalInstructions = table.getTotalInstructions(processId);
 		if (totalInstructions <= 0) {
 			return 1.0 + waiting;
 		}
@@ -293,7 +326,7 @@ public class ProcessControlBlock {
 	 * Indica si el proceso es I/O bound.
 	 */
 	public boolean isIOBound() {
-		return isIOBound;
+		return table.isIOBound(processId);
 	}
 
 
@@ -302,7 +335,7 @@ public class ProcessControlBlock {
 	 * @param isIOBound true si es I/O bound
 	 */
 	public void setIOBound(boolean isIOBound) {
-		this.isIOBound = isIOBound;
+		table.setIOBound(processId, isIOBound);
 	}
 
 
@@ -310,7 +343,7 @@ public class ProcessControlBlock {
 	 * Devuelve el ciclo en el que se solicita I/O.
 	 */
 	public int getIoExceptionCycle() {
-		return ioExceptionCycle;
+		return table.getIoExceptionCycle(processId);
 	}
 
 
@@ -319,8 +352,7 @@ public class ProcessControlBlock {
 	 * @param ioExceptionCycle Ciclo (>= -1)
 	 */
 	public void setIoExceptionCycle(int ioExceptionCycle) {
-		if (ioExceptionCycle < -1) throw new IllegalArgumentException("ioExceptionCycle inválido");
-		this.ioExceptionCycle = ioExceptionCycle;
+		table.setIoExceptionCycle(processId, ioExceptionCycle);
 	}
 
 
@@ -328,7 +360,7 @@ public class ProcessControlBlock {
 	 * Devuelve la duración del evento de I/O en ciclos.
 	 */
 	public int getIoDuration() {
-		return ioDuration;
+		return table.getIoDuration(processId);
 	}
 
 
@@ -337,8 +369,7 @@ public class ProcessControlBlock {
 	 * @param ioDuration Duración en ciclos (>= 0)
 	 */
 	public void setIoDuration(int ioDuration) {
-		if (ioDuration < 0) throw new IllegalArgumentException("ioDuration no puede ser negativo");
-		this.ioDuration = ioDuration;
+		table.setIoDuration(processId, ioDuration);
 	}
 
 
@@ -348,14 +379,14 @@ public class ProcessControlBlock {
 	 * Devuelve el timestamp de creación del proceso.
 	 */
 	public long getCreationTime() {
-		return creationTime;
+		return table.getCreationTime(processId);
 	}
 
 	/**
 	 * Devuelve el timestamp de finalización del proceso.
 	 */
 	public long getCompletionTime() {
-		return completionTime;
+		return table.getCompletionTime(processId);
 	}
 
 	/**
@@ -363,8 +394,28 @@ public class ProcessControlBlock {
 	 * @param completionTimestamp Timestamp de finalización (>= creationTime)
 	 */
 	public void markCompleted(long completionTimestamp) {
-		if (completionTimestamp < creationTime) throw new IllegalArgumentException("completionTime no puede ser anterior a creationTime");
-		this.completionTime = completionTimestamp;
+		if (completionTimestamp < table.getCreationTime(processId)) throw new IllegalArgumentException("completionTime no puede ser anterior a creationTime");
+		table.setCompletionTime(processId, completionTimestamp);
+	}
+
+	/**
+	 * Dos vistas son iguales si apuntan a la misma fila de la misma tabla.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof ProcessControlBlock)) {
+			return false;
+		}
+		ProcessControlBlock that = (ProcessControlBlock) other;
+		return processId == that.processId && table == that.table;
+	}
+
+	@Override
+	public int hashCode() {
+		return processId;
 	}
 
 	/**
@@ -374,16 +425,16 @@ public class ProcessControlBlock {
 	public String toString() {
 		return "PCB{" +
 			"id=" + processId +
-			", nombre='" + processName + '\'' +
-			", estado=" + processState +
-			", PC=" + programCounter +
-			", MAR=" + memoryAddressRegister +
-			", instrTotales=" + totalInstructions +
-			", isIOBound=" + isIOBound +
-			", ioExcCycle=" + ioExceptionCycle +
-			", ioDuration=" + ioDuration +
-			", creado=" + creationTime +
-			", completado=" + completionTime +
+			", nombre='" + getProcessName() + '\'' +
+			", estado=" + getProcessState() +
+			", PC=" + getProgramCounter() +
+			", MAR=" + getMemoryAddressRegister() +
+			", instrTotales=" + getTotalInstructions() +
+			", isIOBound=" + isIOBound() +
+			", ioExcCycle=" + getIoExceptionCycle() +
+			", ioDuration=" + getIoDuration() +
+			", creado=" + getCreationTime() +
+			", completado=" + getCompletionTime() +
 			'}';
 	}
 }
@@ -0,0 +1,252 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import datastructures.CustomQueue;
+import java.util.Objects;
+
+/**
+ * ProcessQueue es una cola FIFO intrusiva y doblemente enlazada de procesos de una misma
+ * ProcessTable. Los enlaces (PID siguiente y anterior) y la etiqueta de la cola que contiene al
+ * proceso viven en columnas de la propia tabla, de modo que encolar, desencolar y mover un proceso
+ * entre colas no reserva nodos, y remove() desenlaza el proceso en O(1) sin recorrer la cola.
+ *
+ * Como cada fila tiene un único juego de enlaces, un proceso puede estar en una sola ProcessQueue
+ * a la vez; encolarlo en una segunda sin retirarlo de la primera es un error. Extiende CustomQueue
+ * para sustituir a la cola FIFO sin cambiar a sus consumidores; la API por PID evita además crear
+ * vistas PCB cuando el llamador solo necesita el identificador.
+ *
+ * @author santiagodelcastillo
+ */
+public final class ProcessQueue extends CustomQueue<ProcessControlBlock> {
+
+    /** PID reservado que marca la ausencia de enlace (los PID empiezan en 1). */
+    private static final int NONE = 0;
+
+    /** Tabla dueña de los enlaces. */
+    private final ProcessTable table;
+    /** Etiqueta que identifica a esta cola en la columna de pertenencia. */
+    private final int tag;
+    /** PID del primer proceso. */
+    private int headPid;
+    /** PID del último proceso. */
+    private int tailPid;
+    /** Número de procesos encolados. */
+    private int size;
+
+    /**
+     * Construye una cola vacía sobre la tabla indicada.
+     * @param table tabla de procesos cuyos PID admitirá la cola
+     */
+    public ProcessQueue(ProcessTable table) {
+        this.table = Objects.requireNonNull(table, "La tabla de procesos no puede ser nula");
+        this.tag = table.newQueueTag();
+        this.headPid = NONE;
+        this.tailPid = NONE;
+        this.size = 0;
+    }
+
+    /**
+     * Inserta el proceso al final de la cola en O(1).
+     * @param pcb proceso de la tabla de esta cola
+     * @throws IllegalStateException si el proceso ya está en alguna ProcessQueue
+     */
+    @Override
+    public synchronized void enqueue(ProcessControlBlock pcb) {
+        enqueue(requireOwnProcess(pcb).getProcessId());
+    }
+
+    /**
+     * Inserta el PID al final de la cola en O(1).
+     * @param pid identificador asignado por la tabla de esta cola
+     * @throws IllegalStateException si el proceso ya está en alguna ProcessQueue
+     */
+    public synchronized void enqueue(int pid) {
+        if (!table.contains(pid)) {
+            throw new IllegalArgumentException("PID fuera de la tabla de procesos: " + pid);
+        }
+        int currentTag = table.getQueueTag(pid);
+        if (currentTag != NONE) {
+            throw new IllegalStateException("El proceso #" + pid + " ya está en una cola"
+                    + (currentTag == tag ? "" : " distinta"));
+        }
+        table.setQueueTag(pid, tag);
+        table.setQueuePrevious(pid, tailPid);
+        table.setQueueNext(pid, NONE);
+        if (tailPid == NONE) {
+            headPid = pid;
+        } else {
+            table.setQueueNext(tailPid, pid);
+        }
+        tailPid = pid;
+        size++;
+    }
+
+    /**
+     * Elimina y retorna el proceso al frente de la cola.
+     * @return vista del proceso en la cabeza o null si la cola está vacía
+     */
+    @Override
+    public synchronized ProcessControlBlock dequeue() {
+        if (size == 0) {
+            return null;
+        }
+        return table.view(dequeueProcessId());
+    }
+
+    /**
+     * Elimina y retorna el PID al frente de la cola sin crear una vista.
+     * @return PID en la cabeza
+     * @throws IllegalStateException si la cola está vacía
+     */
+    public synchronized int dequeueProcessId() {
+        if (size == 0) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        int pid = headPid;
+        unlink(pid);
+        return pid;
+    }
+
+    /**
+     * Devuelve el proceso al frente de la cola sin eliminarlo.
+     * @return vista del proceso en la cabeza o null si la cola está vacía
+     */
+    @Override
+    public synchronized ProcessControlBlock peek() {
+        return size == 0 ? null : table.view(headPid);
+    }
+
+    /**
+     * Devuelve el PID al frente de la cola sin eliminarlo.
+     * @return PID en la cabeza
+     * @throws IllegalStateException si la cola está vacía
+     */
+    public synchronized int peekProcessId() {
+        if (size == 0) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        return headPid;
+    }
+
+    /**
+     * Retira el proceso de la cola en O(1) usando sus enlaces.
+     * @param pcb proceso a retirar
+     * @return true si el proceso estaba en esta cola
+     */
+    @Override
+    public synchronized boolean remove(ProcessControlBlock pcb) {
+        if (pcb == null || pcb.getProcessTable() != table) {
+            return false;
+        }
+        return remove(pcb.getProcessId());
+    }
+
+    /**
+     * Retira el PID de la cola en O(1) usando sus enlaces.
+     * @param pid identificador a retirar
+     * @return true si el proceso estaba en esta cola
+     */
+    public synchronized boolean remove(int pid) {
+        if (!contains(pid)) {
+            return false;
+        }
+        unlink(pid);
+        return true;
+    }
+
+    /**
+     * Indica si el PID está en esta cola, en O(1).
+     * @param pid identificador buscado
+     * @return true si la fila lleva la etiqueta de esta cola
+     */
+    public synchronized boolean contains(int pid) {
+        return table.contains(pid) && table.getQueueTag(pid) == tag;
+    }
+
+    /**
+     * Indica si la cola está vacía.
+     * @return true si no hay procesos encolados
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Devuelve el número de procesos encolados.
+     * @return cantidad de procesos
+     */
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Copia los PID en orden FIFO.
+     * @return arreglo nuevo de longitud size
+     */
+    public synchronized int[] toArray() {
+        int[] snapshot = new int[size];
+        int pid = headPid;
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = pid;
+            pid = table.getQueueNext(pid);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Obtiene una instantánea de los procesos en orden FIFO.
+     * @return arreglo con las vistas de los procesos encolados
+     */
+    @Override
+    public synchronized Object[] getAllProcesses() {
+        Object[] snapshot = new Object[size];
+        int pid = headPid;
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = table.view(pid);
+            pid = table.getQueueNext(pid);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Desenlaza el PID de sus vecinos y limpia su etiqueta de pertenencia.
+     * @param pid proceso que abandona la cola
+     */
+    private void unlink(int pid) {
+        int previous = table.getQueuePrevious(pid);
+        int next = table.getQueueNext(pid);
+        if (previous == NONE) {
+            headPid = next;
+        } else {
+            table.setQueueNext(previous, next);
+        }
+        if (next == NONE) {
+            tailPid = previous;
+        } else {
+            table.setQueuePrevious(next, previous);
+        }
+        table.setQueueTag(pid, NONE);
+        table.setQueueNext(pid, NONE);
+        table.setQueuePrevious(pid, NONE);
+        size--;
+    }
+
+    /**
+     * Verifica que el proceso pertenezca a la tabla de esta cola.
+     * @param pcb proceso a validar
+     * @return el mismo proceso
+     */
+    private ProcessControlBlock requireOwnProcess(ProcessControlBlock pcb) {
+        Objects.requireNonNull(pcb, "El proceso no puede ser nulo");
+        if (pcb.getProcessTable() != table) {
+            throw new IllegalArgumentException("El proceso #" + pcb.getProcessId()
+                    + " pertenece a otra tabla de procesos");
+        }
+        return pcb;
+    }
+}
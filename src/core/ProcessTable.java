@@ -0,0 +1,646 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import datastructures.IntArrayList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ProcessTable almacena el estado de todos los procesos de una simulación como estructura de
+ * arreglos (SoA): una columna primitiva por campo, indexada por PID. Un ProcessControlBlock es
+ * solo una vista (flyweight) de una fila, de modo que un millón de procesos ocupan unas pocas
+ * decenas de arreglos en lugar de un millón de objetos con sus campos.
+ *
+ * Las filas se agrupan en páginas de tamaño fijo que nunca se reubican: al crecer la tabla solo
+ * se amplía el directorio de páginas, así un hilo que escribe en una fila no puede perder la
+ * escritura porque otro hilo esté agregando procesos. Las columnas tienen la misma semántica de
+ * visibilidad que los campos no volátiles del PCB original: la publicación entre hilos la dan
+ * las colas y cerrojos del sistema operativo.
+ *
+ * Además de las vistas, la tabla ofrece una API por PID (allocate/setX/getX) para cargar
+ * cargas masivas sin crear un objeto por proceso hasta que el proceso se admite.
+ *
+ * Una fila liberada con release() vuelve a una lista libre y allocate(String, ProcessState) la
+ * reutiliza antes de crecer, así que en una traza larga la tabla ocupa tantas filas como
+ * procesos vivos hubo a la vez y no tantas como procesos totales. Como en un sistema real, el
+ * PID de una fila liberada se reasigna: nadie debe conservar vistas de un proceso liberado.
+ *
+ * @author santiagodelcastillo
+ */
+public final class ProcessTable {
+
+    /** Filas por página (potencia de dos). */
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    /** Estados indexados por ordinal, para traducir la columna de estado sin reservar memoria. */
+    private static final ProcessState[] STATES = ProcessState.values();
+    /** Bandera de la columna flags: proceso I/O bound. */
+    private static final byte FLAG_IO_BOUND = 1;
+    /** Bandera de la columna flags: fila liberada, disponible para un proceso nuevo. */
+    private static final byte FLAG_RELEASED = 2;
+
+    /** Próximo PID a asignar (los PID empiezan en 1). */
+    private final AtomicInteger nextProcessId;
+    /** Próxima etiqueta de cola intrusiva (0 significa "fuera de toda cola"). */
+    private final AtomicInteger nextQueueTag;
+    /** Directorio de páginas; se reemplaza por uno mayor al crecer, las páginas se conservan. */
+    private volatile Page[] pages;
+    /** PID de las filas liberadas (pila); protegida por su propio monitor. */
+    private final IntArrayList freeRows;
+
+    /**
+     * Construye una tabla vacía cuyo primer PID es 1.
+     */
+    public ProcessTable() {
+        this.nextProcessId = new AtomicInteger(1);
+        this.nextQueueTag = new AtomicInteger(1);
+        this.pages = new Page[1];
+        this.freeRows = new IntArrayList();
+    }
+
+    /**
+     * Reserva una fila para un proceso nuevo en estado NUEVO, reutilizando una fila liberada
+     * si la hay.
+     * @param processName nombre del proceso (no nulo ni vacío)
+     * @param initialState estado inicial
+     * @return PID asignado
+     */
+    public int allocate(String processName, ProcessState initialState) {
+        if (processName == null || processName.isBlank()) {
+            throw new IllegalArgumentException("El nombre del proceso no puede ser nulo ni vacío");
+        }
+        Objects.requireNonNull(initialState, "El estado del proceso no puede ser nulo");
+        int pid = takeFreeRow();
+        if (pid == 0) {
+            pid = nextProcessId.getAndIncrement();
+        }
+        Page page = pageForAllocation(pid);
+        int row = pid & PAGE_MASK;
+        page.initialize(row, System.currentTimeMillis());
+        page.names[row] = processName.trim();
+        page.states[row] = (byte) initialState.ordinal();
+        return pid;
+    }
+
+    /**
+     * Reserva un bloque contiguo de filas en estado NUEVO sin nombre explícito (el nombre se
+     * deriva del PID). Pensado para cargas masivas que se describen luego columna a columna; el
+     * bloque siempre es nuevo, las filas liberadas no se usan aquí.
+     * @param count cantidad de procesos (positiva)
+     * @return PID del primer proceso; los siguientes son consecutivos
+     */
+    public int allocate(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("La cantidad de procesos debe ser positiva: " + count);
+        }
+        int first = nextProcessId.getAndAdd(count);
+        if (first + (long) count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Se agotaron los PID de la tabla de procesos");
+        }
+        long now = System.currentTimeMillis();
+        for (int pid = first; pid < first + count; pid++) {
+            pageForAllocation(pid).initialize(pid & PAGE_MASK, now);
+        }
+        return first;
+    }
+
+    /**
+     * Crea una vista PCB sobre una fila existente. Las vistas de un mismo PID son intercambiables
+     * (equals/hashCode comparan tabla y PID).
+     * @param pid identificador asignado por esta tabla
+     * @return PCB que lee y escribe directamente en la tabla
+     */
+    public ProcessControlBlock view(int pid) {
+        if (!contains(pid)) {
+            throw new IllegalArgumentException("PID fuera de la tabla de procesos: " + pid);
+        }
+        return new ProcessControlBlock(this, pid);
+    }
+
+    /**
+     * Libera la fila de un proceso que ya no se consultará (por ejemplo, uno terminado cuyas
+     * métricas ya se registraron). La fila vuelve a sus valores iniciales y su PID queda
+     * disponible para el próximo allocate(String, ProcessState).
+     * @param pid identificador asignado por esta tabla
+     * @throws IllegalStateException si la fila ya estaba liberada
+     */
+    public void release(int pid) {
+        if (!contains(pid)) {
+            throw new IllegalArgumentException("PID fuera de la tabla de procesos: " + pid);
+        }
+        Page page = page(pid);
+        int row = pid & PAGE_MASK;
+        if ((page.flags[row] & FLAG_RELEASED) != 0) {
+            throw new IllegalStateException("La fila del proceso #" + pid + " ya fue liberada");
+        }
+        page.initialize(row, -1L);
+        page.flags[row] = FLAG_RELEASED;
+        synchronized (freeRows) {
+            freeRows.add(pid);
+        }
+    }
+
+    /**
+     * Indica si la fila fue liberada y espera un proceso nuevo.
+     * @param pid identificador asignado por esta tabla
+     * @return true si la fila está en la lista libre
+     */
+    public boolean isReleased(int pid) {
+        return (page(pid).flags[pid & PAGE_MASK] & FLAG_RELEASED) != 0;
+    }
+
+    /**
+     * Cantidad de filas liberadas a la espera de un proceso nuevo.
+     * @return tamaño de la lista libre
+     */
+    public int releasedCount() {
+        synchronized (freeRows) {
+            return freeRows.size();
+        }
+    }
+
+    /**
+     * Cantidad de PID asignados hasta el momento (el mayor PID reservado), incluidas las filas
+     * liberadas.
+     * @return número de filas de la tabla
+     */
+    public int size() {
+        return nextProcessId.get() - 1;
+    }
+
+    /**
+     * Indica si el PID fue asignado por esta tabla.
+     * @param pid identificador a validar
+     * @return true si la fila existe
+     */
+    public boolean contains(int pid) {
+        return pid > 0 && pid < nextProcessId.get();
+    }
+
+    // --- Columnas: getX/setX por PID, con las mismas validaciones que los setters del PCB ---
+
+    /**
+     * Devuelve el nombre del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return nombre registrado, o "P" seguido del PID si no tiene
+     */
+    public String getName(int pid) {
+        String name = page(pid).names[pid & PAGE_MASK];
+        return name != null ? name : "P" + pid;
+    }
+
+    /**
+     * Asigna el nombre del proceso (se guarda sin espacios en los extremos).
+     * @param pid PID asignado por esta tabla
+     * @param processName Nombre válido (no nulo ni vacío)
+     */
+    public void setName(int pid, String processName) {
+        if (processName == null || processName.isBlank()) {
+            throw new IllegalArgumentException("El nombre del proceso no puede ser nulo ni vacío");
+        }
+        page(pid).names[pid & PAGE_MASK] = processName.trim();
+    }
+
+    /**
+     * Devuelve el estado actual del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return estado de la fila
+     */
+    public ProcessState getState(int pid) {
+        return STATES[page(pid).states[pid & PAGE_MASK]];
+    }
+
+    /**
+     * Cambia el estado del proceso.
+     * @param pid PID asignado por esta tabla
+     * @param state Nuevo estado (no nulo)
+     */
+    public void setState(int pid, ProcessState state) {
+        Objects.requireNonNull(state, "El estado del proceso no puede ser nulo");
+        page(pid).states[pid & PAGE_MASK] = (byte) state.ordinal();
+    }
+
+    /**
+     * Devuelve el contador de programa (PC) del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return instrucciones ejecutadas
+     */
+    public int getProgramCounter(int pid) {
+        return page(pid).programCounter[pid & PAGE_MASK];
+    }
+
+    /**
+     * Asigna el contador de programa (PC).
+     * @param pid PID asignado por esta tabla
+     * @param programCounter Valor no negativo
+     */
+    public void setProgramCounter(int pid, int programCounter) {
+        if (programCounter < 0) throw new IllegalArgumentException("programCounter no puede ser negativo");
+        page(pid).programCounter[pid & PAGE_MASK] = programCounter;
+    }
+
+    /**
+     * Devuelve el registro de dirección de memoria (MAR) del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return valor del MAR
+     */
+    public int getMemoryAddressRegister(int pid) {
+        return page(pid).memoryAddressRegister[pid & PAGE_MASK];
+    }
+
+    /**
+     * Asigna el registro de dirección de memoria (MAR).
+     * @param pid PID asignado por esta tabla
+     * @param memoryAddressRegister Valor no negativo
+     */
+    public void setMemoryAddressRegister(int pid, int memoryAddressRegister) {
+        if (memoryAddressRegister < 0) throw new IllegalArgumentException("memoryAddressRegister no puede ser negativo");
+        page(pid).memoryAddressRegister[pid & PAGE_MASK] = memoryAddressRegister;
+    }
+
+    /**
+     * Devuelve el número total de instrucciones del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return instrucciones totales
+     */
+    public int getTotalInstructions(int pid) {
+        return page(pid).totalInstructions[pid & PAGE_MASK];
+    }
+
+    /**
+     * Asigna el número total de instrucciones.
+     * @param pid PID asignado por esta tabla
+     * @param totalInstructions Valor no negativo
+     */
+    public void setTotalInstructions(int pid, int totalInstructions) {
+        if (totalInstructions < 0) throw new IllegalArgumentException("totalInstructions no puede ser negativo");
+        page(pid).totalInstructions[pid & PAGE_MASK] = totalInstructions;
+    }
+
+    /**
+     * Indica si el proceso es I/O bound.
+     * @param pid PID asignado por esta tabla
+     * @return true si la bandera I/O bound está activa
+     */
+    public boolean isIOBound(int pid) {
+        return (page(pid).flags[pid & PAGE_MASK] & FLAG_IO_BOUND) != 0;
+    }
+
+    /**
+     * Marca el proceso como I/O bound o no.
+     * @param pid PID asignado por esta tabla
+     * @param ioBound true si es I/O bound
+     */
+    public void setIOBound(int pid, boolean ioBound) {
+        Page page = page(pid);
+        int row = pid & PAGE_MASK;
+        page.flags[row] = (byte) (ioBound ? page.flags[row] | FLAG_IO_BOUND : page.flags[row] & ~FLAG_IO_BOUND);
+    }
+
+    /**
+     * Devuelve el ciclo en el que el proceso solicita I/O.
+     * @param pid PID asignado por esta tabla
+     * @return ciclo de la solicitud o -1 si no hace I/O
+     */
+    public int getIoExceptionCycle(int pid) {
+        return page(pid).ioExceptionCycle[pid & PAGE_MASK];
+    }
+
+    /**
+     * Asigna el ciclo de solicitud de I/O.
+     * @param pid PID asignado por esta tabla
+     * @param ioExceptionCycle Ciclo (>= -1)
+     */
+    public void setIoExceptionCycle(int pid, int ioExceptionCycle) {
+        if (ioExceptionCycle < -1) throw new IllegalArgumentException("ioExceptionCycle inválido");
+        page(pid).ioExceptionCycle[pid & PAGE_MASK] = ioExceptionCycle;
+    }
+
+    /**
+     * Devuelve la duración del evento de I/O.
+     * @param pid PID asignado por esta tabla
+     * @return duración en ciclos
+     */
+    public int getIoDuration(int pid) {
+        return page(pid).ioDuration[pid & PAGE_MASK];
+    }
+
+    /**
+     * Asigna la duración del evento de I/O.
+     * @param pid PID asignado por esta tabla
+     * @param ioDuration Duración en ciclos (>= 0)
+     */
+    public void setIoDuration(int pid, int ioDuration) {
+        if (ioDuration < 0) throw new IllegalArgumentException("ioDuration no puede ser negativo");
+        page(pid).ioDuration[pid & PAGE_MASK] = ioDuration;
+    }
+
+    /**
+     * Devuelve el nivel de prioridad del proceso en las políticas con múltiples colas.
+     * @param pid PID asignado por esta tabla
+     * @return nivel actual (0 es el más prioritario)
+     */
+    public int getPriorityLevel(int pid) {
+        return page(pid).priorityLevel[pid & PAGE_MASK];
+    }
+
+    /**
+     * Asigna el nivel de prioridad sin acotarlo; el PCB lo acota antes de llamar.
+     * @param pid PID asignado por esta tabla
+     * @param level nivel de prioridad
+     */
+    public void setPriorityLevel(int pid, int level) {
+        page(pid).priorityLevel[pid & PAGE_MASK] = level;
+    }
+
+    /**
+     * Devuelve el núcleo en el que el proceso ejecutó por última vez.
+     * @param pid PID asignado por esta tabla
+     * @return coreId del último núcleo o -1 si aún no ejecutó
+     */
+    public int getLastCoreId(int pid) {
+        return page(pid).lastCoreId[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra el núcleo en el que se cargó el proceso.
+     * @param pid PID asignado por esta tabla
+     * @param coreId identificador del núcleo (>= 0)
+     */
+    public void setLastCoreId(int pid, int coreId) {
+        if (coreId < 0) throw new IllegalArgumentException("coreId no puede ser negativo");
+        page(pid).lastCoreId[pid & PAGE_MASK] = coreId;
+    }
+
+    /**
+     * Devuelve el timestamp de creación del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return milisegundos desde la época en que se reservó la fila
+     */
+    public long getCreationTime(int pid) {
+        return page(pid).creationTime[pid & PAGE_MASK];
+    }
+
+    /**
+     * Devuelve el timestamp de finalización del proceso.
+     * @param pid PID asignado por esta tabla
+     * @return timestamp de finalización o -1 si no terminó
+     */
+    public long getCompletionTime(int pid) {
+        return page(pid).completionTime[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra el timestamp de finalización del proceso.
+     * @param pid PID asignado por esta tabla
+     * @param completionTime timestamp de finalización
+     */
+    public void setCompletionTime(int pid, long completionTime) {
+        page(pid).completionTime[pid & PAGE_MASK] = completionTime;
+    }
+
+    /**
+     * Devuelve el ciclo en el que el proceso entró a la cola de listos.
+     * @param pid PID asignado por esta tabla
+     * @return ciclo registrado o -1 si no está marcado
+     */
+    public long getReadyQueueArrival(int pid) {
+        return page(pid).readyQueueArrival[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra el ciclo de entrada a la cola de listos.
+     * @param pid PID asignado por esta tabla
+     * @param cycle ciclo global, o -1 para desmarcarlo
+     */
+    public void setReadyQueueArrival(int pid, long cycle) {
+        page(pid).readyQueueArrival[pid & PAGE_MASK] = cycle;
+    }
+
+    /**
+     * Devuelve el ciclo de arribo del proceso al sistema.
+     * @param pid PID asignado por esta tabla
+     * @return ciclo de arribo o -1 si aún no arribó
+     */
+    public long getArrivalCycle(int pid) {
+        return page(pid).arrivalCycle[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra el ciclo de arribo del proceso.
+     * @param pid PID asignado por esta tabla
+     * @param cycle ciclo global (no negativo)
+     */
+    public void setArrivalCycle(int pid, long cycle) {
+        if (cycle < 0L) throw new IllegalArgumentException("El ciclo de arribo no puede ser negativo");
+        page(pid).arrivalCycle[pid & PAGE_MASK] = cycle;
+    }
+
+    /**
+     * Devuelve el ciclo en el que el proceso ejecutó por primera vez.
+     * @param pid PID asignado por esta tabla
+     * @return ciclo registrado o -1 si no ha ejecutado aún
+     */
+    public long getFirstExecutionCycle(int pid) {
+        return page(pid).firstExecutionCycle[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra el ciclo de la primera ejecución.
+     * @param pid PID asignado por esta tabla
+     * @param cycle ciclo global
+     */
+    public void setFirstExecutionCycle(int pid, long cycle) {
+        page(pid).firstExecutionCycle[pid & PAGE_MASK] = cycle;
+    }
+
+    /**
+     * Devuelve los ciclos que el proceso pasó en la cola de listos en todas sus visitas.
+     * @param pid PID asignado por esta tabla
+     * @return espera acumulada en ciclos
+     */
+    public long getReadyWaitCycles(int pid) {
+        return page(pid).readyWaitCycles[pid & PAGE_MASK];
+    }
+
+    /**
+     * Suma ciclos a la espera acumulada en la cola de listos.
+     * @param pid PID asignado por esta tabla
+     * @param cycles ciclos de espera (no negativos)
+     */
+    public void addReadyWaitCycles(int pid, long cycles) {
+        if (cycles < 0L) throw new IllegalArgumentException("La espera no puede ser negativa");
+        page(pid).readyWaitCycles[pid & PAGE_MASK] += cycles;
+    }
+
+    /**
+     * Devuelve el último ciclo en que el proceso ejecutó una instrucción.
+     * @param pid PID asignado por esta tabla
+     * @return ciclo global o -1 si aún no ejecutó
+     */
+    public long getLastRunCycle(int pid) {
+        return page(pid).lastRunCycle[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra el último ciclo en que el proceso ejecutó una instrucción.
+     * @param pid PID asignado por esta tabla
+     * @param cycle ciclo global de la ejecución
+     */
+    public void setLastRunCycle(int pid, long cycle) {
+        page(pid).lastRunCycle[pid & PAGE_MASK] = cycle;
+    }
+
+    /**
+     * Devuelve cuántas veces el proceso fue cargado en una CPU.
+     * @param pid PID asignado por esta tabla
+     * @return cambios de contexto hacia el proceso
+     */
+    public int getDispatchCount(int pid) {
+        return page(pid).dispatchCount[pid & PAGE_MASK];
+    }
+
+    /**
+     * Registra que el proceso fue cargado en una CPU.
+     * @param pid PID asignado por esta tabla
+     */
+    public void incrementDispatchCount(int pid) {
+        page(pid).dispatchCount[pid & PAGE_MASK]++;
+    }
+
+    // --- Enlaces de ProcessQueue: siguiente/anterior PID y etiqueta de la cola que contiene la fila ---
+
+    int newQueueTag() {
+        return nextQueueTag.getAndIncrement();
+    }
+
+    int getQueueNext(int pid) {
+        return page(pid).queueNext[pid & PAGE_MASK];
+    }
+
+    void setQueueNext(int pid, int nextPid) {
+        page(pid).queueNext[pid & PAGE_MASK] = nextPid;
+    }
+
+    int getQueuePrevious(int pid) {
+        return page(pid).queuePrevious[pid & PAGE_MASK];
+    }
+
+    void setQueuePrevious(int pid, int previousPid) {
+        page(pid).queuePrevious[pid & PAGE_MASK] = previousPid;
+    }
+
+    int getQueueTag(int pid) {
+        return page(pid).queueTag[pid & PAGE_MASK];
+    }
+
+    void setQueueTag(int pid, int tag) {
+        page(pid).queueTag[pid & PAGE_MASK] = tag;
+    }
+
+    /**
+     * Retira la última fila liberada (la de páginas más recientemente usadas).
+     * @return PID de la fila o 0 si no hay filas liberadas
+     */
+    private int takeFreeRow() {
+        synchronized (freeRows) {
+            return freeRows.isEmpty() ? 0 : freeRows.removeAt(freeRows.size() - 1);
+        }
+    }
+
+    /**
+     * Obtiene la página de un PID ya asignado.
+     */
+    private Page page(int pid) {
+        Page[] directory = pages;
+        int index = pid >>> PAGE_SHIFT;
+        Page page = index < directory.length ? directory[index] : null;
+        if (page == null) {
+            throw new IllegalArgumentException("PID fuera de la tabla de procesos: " + pid);
+        }
+        return page;
+    }
+
+    /**
+     * Obtiene (o crea) la página que contendrá un PID recién reservado.
+     */
+    private Page pageForAllocation(int pid) {
+        int index = pid >>> PAGE_SHIFT;
+        Page[] directory = pages;
+        if (index < directory.length && directory[index] != null) {
+            return directory[index];
+        }
+        synchronized (this) {
+            directory = pages;
+            if (index >= directory.length) {
+                Page[] grown = new Page[Math.max(index + 1, directory.length * 2)];
+                System.arraycopy(directory, 0, grown, 0, directory.length);
+                directory = grown;
+            }
+            if (directory[index] == null) {
+                directory[index] = new Page();
+            }
+            pages = directory;
+            return directory[index];
+        }
+    }
+
+    /**
+     * Bloque de PAGE_SIZE filas con una columna primitiva por campo del PCB.
+     */
+    private static final class Page {
+        final String[] names = new String[PAGE_SIZE];
+        final byte[] states = new byte[PAGE_SIZE];
+        final byte[] flags = new byte[PAGE_SIZE];
+        final int[] programCounter = new int[PAGE_SIZE];
+        final int[] memoryAddressRegister = new int[PAGE_SIZE];
+        final int[] totalInstructions = new int[PAGE_SIZE];
+        final int[] ioExceptionCycle = new int[PAGE_SIZE];
+        final int[] ioDuration = new int[PAGE_SIZE];
+        final int[] priorityLevel = new int[PAGE_SIZE];
+        final int[] lastCoreId = new int[PAGE_SIZE];
+        final long[] creationTime = new long[PAGE_SIZE];
+        final long[] completionTime = new long[PAGE_SIZE];
+        final long[] readyQueueArrival = new long[PAGE_SIZE];
+        final long[] firstExecutionCycle = new long[PAGE_SIZE];
+        final long[] arrivalCycle = new long[PAGE_SIZE];
+        final long[] readyWaitCycles = new long[PAGE_SIZE];
+        final long[] lastRunCycle = new long[PAGE_SIZE];
+        final int[] dispatchCount = new int[PAGE_SIZE];
+        final int[] queueNext = new int[PAGE_SIZE];
+        final int[] queuePrevious = new int[PAGE_SIZE];
+        final int[] queueTag = new int[PAGE_SIZE];
+
+        /**
+         * Deja la fila con los valores iniciales de un proceso NUEVO.
+         */
+        void initialize(int row, long creationTimestamp) {
+            // Las filas reutilizadas conservan los valores del proceso anterior
+            names[row] = null;
+            states[row] = (byte) ProcessState.NUEVO.ordinal();
+            flags[row] = 0;
+            programCounter[row] = 0;
+            memoryAddressRegister[row] = 0;
+            totalInstructions[row] = 0;
+            ioDuration[row] = 0;
+            priorityLevel[row] = 0;
+            readyWaitCycles[row] = 0L;
+            dispatchCount[row] = 0;
+            queueNext[row] = 0;
+            queuePrevious[row] = 0;
+            queueTag[row] = 0;
+            ioExceptionCycle[row] = -1;
+            lastCoreId[row] = -1;
+            creationTime[row] = creationTimestamp;
+            completionTime[row] = -1L;
+            readyQueueArrival[row] = -1L;
+            firstExecutionCycle[row] = -1L;
+            arrivalCycle[row] = -1L;
+            lastRunCycle[row] = -1L;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import java.util.Objects;
+import scheduler.RoundRobin;
+import util.RandomProcessGenerator;
+
+/**
+ * SimulationContext agrupa el estado que antes era global a la JVM y que pertenece a una sola
+ * simulación: la tabla de procesos (que asigna los PIDs), los quantums de Round Robin y Feedback, el boost y el
+ * envejecimiento de Feedback, y el generador de procesos aleatorios. Cada OperatingSystem tiene su propio contexto, de modo que varias
+ * simulaciones pueden ejecutarse a la vez sin compartir identificadores ni configuración.
+ */
+public final class SimulationContext {
+
+    /** Cantidad de niveles de la política Feedback por defecto. */
+    public static final int DEFAULT_FEEDBACK_LEVELS = 4;
+    /** Máximo de niveles admitidos por la política Feedback. */
+    public static final int MAX_FEEDBACK_LEVELS = 16;
+    /** Quantums por defecto de cada nivel de Feedback. */
+    private static final int[] DEFAULT_FEEDBACK_QUANTA = {1, 2, 3, 4};
+    /** Tabla de procesos de la simulación; asigna los PID y almacena los campos de cada PCB. */
+    private final ProcessTable processTable;
+    /** Quantums configurados para cada nivel de Feedback; su largo es la cantidad de niveles. */
+    private int[] feedbackQuanta;
+    /** Ciclos entre boosts de prioridad de Feedback, o 0 si no hay boost periódico. */
+    private volatile int feedbackBoostInterval;
+    /** Ciclos de espera en listos tras los que Feedback sube un nivel a un proceso, o 0 sin envejecimiento. */
+    private volatile int feedbackAgingThreshold;
+    /** Quantum configurado para Round Robin. */
+    private volatile int roundRobinQuantum;
+    /** Costo en ciclos de cargar un proceso en una CPU. */
+    private volatile ContextSwitchCost contextSwitchCost;
+    /** Semilla del generador aleatorio, o null para una semilla no determinista. */
+    private final Long seed;
+    /** Generador de procesos aleatorios, creado bajo demanda. */
+    private RandomProcessGenerator processGenerator;
+
+    /**
+     * Crea un contexto con PIDs desde 1, quantums por defecto y semilla aleatoria no determinista.
+     */
+    public SimulationContext() {
+        this(null);
+    }
+
+    /**
+     * Crea un contexto cuyo generador de procesos es reproducible.
+     * @param seed semilla del generador aleatorio (null para no fijarla)
+     */
+    public SimulationContext(Long seed) {
+        this.processTable = new ProcessTable();
+        this.feedbackQuanta = DEFAULT_FEEDBACK_QUANTA.clone();
+        this.roundRobinQuantum = RoundRobin.DEFAULT_QUANTUM;
+        this.contextSwitchCost = ContextSwitchCost.NONE;
+        this.seed = seed;
+    }
+
+    /**
+     * Devuelve la tabla de procesos de la simulación.
+     * @return tabla compacta indexada por PID
+     */
+    public ProcessTable getProcessTable() {
+        return processTable;
+    }
+
+    /**
+     * Crea un proceso en estado NUEVO con un PID de este contexto.
+     * @param processName nombre del proceso
+     * @return PCB nuevo
+     */
+    public ProcessControlBlock newProcess(String processName) {
+        return new ProcessControlBlock(this, processName);
+    }
+
+    /**
+     * Devuelve el generador de procesos aleatorios de la simulación (se crea en el primer uso).
+     * @return generador que asigna PIDs de este contexto
+     */
+    public synchronized RandomProcessGenerator getProcessGenerator() {
+        if (processGenerator == null) {
+            processGenerator = seed != null ? new RandomProcessGenerator(this, seed) : new RandomProcessGenerator(this);
+        }
+        return processGenerator;
+    }
+
+    /**
+     * Quantum vigente para Round Robin.
+     * @return quantum en ciclos
+     */
+    public int getRoundRobinQuantum() {
+        return roundRobinQuantum;
+    }
+
+    /**
+     * Define el quantum de Round Robin.
+     * @param quantum cantidad de ciclos admitida por RoundRobin.isSupportedQuantum
+     */
+    public void setRoundRobinQuantum(int quantum) {
+        if (!RoundRobin.isSupportedQuantum(quantum)) {
+            throw new IllegalArgumentException("Quantum inválido para Round Robin: " + quantum);
+        }
+        this.roundRobinQuantum = quantum;
+    }
+
+    /**
+     * Costo de cambio de contexto que cobran las CPU al cargar un proceso.
+     * @return modelo de costo (ContextSwitchCost.NONE por defecto)
+     */
+    public ContextSwitchCost getContextSwitchCost() {
+        return contextSwitchCost;
+    }
+
+    /**
+     * Define el costo de cambio de contexto; aplica desde la siguiente carga.
+     * @param cost modelo de costo
+     */
+    public void setContextSwitchCost(ContextSwitchCost cost) {
+        this.contextSwitchCost = Objects.requireNonNull(cost, "El costo de cambio de contexto no puede ser nulo");
+    }
+
+    /**
+     * Devuelve una copia de los quantums de Feedback por nivel.
+     * @return arreglo con un quantum por nivel (DEFAULT_FEEDBACK_LEVELS posiciones por defecto)
+     */
+    public synchronized int[] getFeedbackQuanta() {
+        return feedbackQuanta.clone();
+    }
+
+    /**
+     * Define los quantums de Feedback por nivel; la cantidad de valores fija la cantidad de niveles.
+     * @param quanta entre 1 y MAX_FEEDBACK_LEVELS valores positivos
+     */
+    public synchronized void setFeedbackQuanta(int[] quanta) {
+        Objects.requireNonNull(quanta, "Los quantums de Feedback no pueden ser nulos");
+        if (quanta.length == 0 || quanta.length > MAX_FEEDBACK_LEVELS) {
+            throw new IllegalArgumentException("Feedback admite entre 1 y " + MAX_FEEDBACK_LEVELS + " niveles: " + quanta.length);
+        }
+        for (int i = 0; i < quanta.length; i++) {
+            if (quanta[i] <= 0) {
+                throw new IllegalArgumentException("El quantum de Feedback debe ser positivo (nivel " + i + ")");
+            }
+        }
+        this.feedbackQuanta = quanta.clone();
+    }
+
+    /**
+     * Ciclos entre boosts de prioridad de Feedback.
+     * @return intervalo en ciclos, 0 si el boost periódico está desactivado
+     */
+    public int getFeedbackBoostInterval() {
+        return feedbackBoostInterval;
+    }
+
+    /**
+     * Define cada cuántos ciclos Feedback devuelve todos los procesos al nivel 0.
+     * @param cycles intervalo en ciclos (0 lo desactiva)
+     */
+    public void setFeedbackBoostInterval(int cycles) {
+        if (cycles < 0) {
+            throw new IllegalArgumentException("El intervalo de boost de Feedback no puede ser negativo: " + cycles);
+        }
+        this.feedbackBoostInterval = cycles;
+    }
+
+    /**
+     * Ciclos de espera en listos tras los que Feedback sube un nivel a un proceso.
+     * @return umbral en ciclos, 0 si el envejecimiento está desactivado
+     */
+    public int getFeedbackAgingThreshold() {
+        return feedbackAgingThreshold;
+    }
+
+    /**
+     * Define la espera en listos a partir de la cual Feedback sube un nivel a un proceso.
+     * @param cycles umbral en ciclos (0 lo desactiva)
+     */
+    public void setFeedbackAgingThreshold(int cycles) {
+        if (cycles < 0) {
+            throw new IllegalArgumentException("El umbral de envejecimiento de Feedback no puede ser negativo: " + cycles);
+        }
+        this.feedbackAgingThreshold = cycles;
+    }
+}
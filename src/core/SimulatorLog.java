@@ -0,0 +1,470 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * SimulatorLog es el registro de eventos del simulador pensado para el hilo del reloj. Cada
+ * mensaje se declara una sola vez como {@link Message} (logger, subsistema, nivel y formateador)
+ * y en cada ciclo solo se copian sus argumentos primitivos y referencias ya existentes (nombres,
+ * estados) a un anillo preasignado. Un hilo daemon arma el texto y lo publica en el Logger del
+ * mensaje, así que los handlers de java.util.logging siguen recibiendo exactamente los mismos
+ * textos, pero el hilo que registra no asigna memoria ni formatea cadenas.
+ *
+ * Además del nivel de cada Logger, cada subsistema tiene su propio umbral (setLevel o la propiedad
+ * del sistema {@code p_so1.log.SUBSISTEMA=NIVEL}) para silenciar por ejemplo el log por ciclo
+ * del reloj sin perder las transiciones. Si el anillo se llena, quien registra despierta al hilo
+ * formateador y espera una ranura libre, igual que EventRecorder, para no perder mensajes. Si
+ * quien registra es el propio hilo formateador (un handler o formateador que vuelve a registrar),
+ * no puede esperarse a sí mismo: el mensaje se formatea y publica en el acto, antes que los que
+ * siguen en el anillo.
+ *
+ * El anillo es global a la JVM a propósito, a diferencia del estado que SimulationContext aísla
+ * por simulación: solo ordena mensajes hacia los Logger de java.util.logging, que ya son globales
+ * por nombre de clase, y no guarda estado que influya en una simulación. Los mensajes se declaran
+ * como campos estáticos en las clases que los emiten (políticas, CPU, Dispatcher, IOHandler),
+ * muchas de las cuales no conocen al OperatingSystem; un anillo por simulación obligaría a pasar
+ * la instancia a cada llamada y a mantener un hilo formateador por simulación en BatchRunner.
+ * Varias simulaciones concurrentes solo comparten la capacidad del anillo.
+ *
+ * @author santiagodelcastillo
+ */
+public final class SimulatorLog {
+
+    /**
+     * Subsistemas con umbral de log independiente.
+     */
+    public enum Subsystem {
+        /** Avance del reloj global. */
+        CLOCK,
+        /** Transiciones de estado de los procesos. */
+        TRANSITIONS,
+        /** Carga, liberación y expropiación en las CPU. */
+        CPU,
+        /** Selección de procesos por las políticas. */
+        SCHEDULER,
+        /** Despachador y robo de trabajo entre núcleos. */
+        DISPATCHER,
+        /** Dispositivo de I/O simulado. */
+        IO;
+
+        /** Valor mínimo de nivel que se registra en este subsistema. */
+        private volatile int threshold = Level.ALL.intValue();
+    }
+
+    /**
+     * Convierte una entrada del anillo en el texto final. Se ejecuta en el hilo formateador.
+     */
+    @FunctionalInterface
+    public interface Formatter {
+        String format(Entry entry);
+    }
+
+    /**
+     * Mensaje preregistrado. Se crea una vez (normalmente en un campo estático) y se reutiliza
+     * en cada llamada a log.
+     */
+    public static final class Message {
+        private final Logger logger;
+        private final String sourceClass;
+        private final Subsystem subsystem;
+        private final Level level;
+        private final int levelValue;
+        private final Formatter formatter;
+
+        private Message(Class<?> owner, Subsystem subsystem, Level level, Formatter formatter) {
+            this.sourceClass = owner.getName();
+            this.logger = Logger.getLogger(sourceClass);
+            this.subsystem = subsystem;
+            this.level = level;
+            this.levelValue = level.intValue();
+            this.formatter = formatter;
+        }
+
+        /**
+         * Indica si el mensaje se registraría ahora; permite evitar calcular argumentos costosos.
+         * @return true si el subsistema y el Logger aceptan el nivel del mensaje
+         */
+        public boolean isEnabled() {
+            return levelValue >= subsystem.threshold && logger.isLoggable(level);
+        }
+
+        /**
+         * Subsistema cuyo umbral filtra el mensaje.
+         * @return subsistema del mensaje
+         */
+        public Subsystem getSubsystem() {
+            return subsystem;
+        }
+
+        /**
+         * Nivel con que se publica el mensaje.
+         * @return nivel de java.util.logging
+         */
+        public Level getLevel() {
+            return level;
+        }
+    }
+
+    /**
+     * Vista de solo lectura sobre la entrada que se está formateando.
+     */
+    public static final class Entry {
+        private final long[] args;
+        private final Object[] refs;
+        private int slot;
+
+        private Entry(long[] args, Object[] refs) {
+            this.args = args;
+            this.refs = refs;
+        }
+
+        /**
+         * @param index argumento entero (0..3)
+         * @return valor registrado
+         */
+        public long arg(int index) {
+            return args[slot * ARGS_PER_ENTRY + index];
+        }
+
+        /**
+         * @param index argumento registrado con {@link SimulatorLog#bits(double)} (0..3)
+         * @return valor decimal original
+         */
+        public double decimal(int index) {
+            return Double.longBitsToDouble(arg(index));
+        }
+
+        /**
+         * @param index referencia (0..2)
+         * @return objeto registrado
+         */
+        public Object ref(int index) {
+            return refs[slot * REFS_PER_ENTRY + index];
+        }
+    }
+
+    /** Capacidad por defecto del anillo; debe ser potencia de dos. */
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int ARGS_PER_ENTRY = 4;
+    private static final int REFS_PER_ENTRY = 3;
+    /** Espera del hilo formateador cuando no hay entradas. */
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    /** Espera de quien registra cuando el anillo está lleno. */
+    private static final long FULL_PARK_NANOS = 10_000L;
+    private static final Logger LOGGER = Logger.getLogger(SimulatorLog.class.getName());
+
+    private static final int CAPACITY = ringCapacity();
+    private static final int MASK = CAPACITY - 1;
+    private static final Message[] MESSAGES = new Message[CAPACITY];
+    private static final long[] TIMESTAMPS = new long[CAPACITY];
+    private static final long[] ARGS = new long[CAPACITY * ARGS_PER_ENTRY];
+    private static final Object[] REFS = new Object[CAPACITY * REFS_PER_ENTRY];
+    /** Secuencia por ranura (esquema de Vyukov): indica si está libre o publicada. */
+    private static final AtomicLongArray SEQUENCES = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong PRODUCER_INDEX = new AtomicLong();
+    private static final Entry ENTRY = new Entry(ARGS, REFS);
+    /** Entradas consumidas; solo la escribe el hilo formateador. */
+    private static volatile long consumerIndex;
+    private static volatile Thread formatterThread;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            SEQUENCES.set(i, i);
+        }
+        for (Subsystem subsystem : Subsystem.values()) {
+            String configured = System.getProperty("p_so1.log." + subsystem.name());
+            if (configured != null) {
+                try {
+                    setLevel(subsystem, Level.parse(configured.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException ex) {
+                    LOGGER.warning(() -> "Nivel de log inválido para " + subsystem + ": " + configured);
+                }
+            }
+        }
+    }
+
+    private SimulatorLog() {
+    }
+
+    /**
+     * Declara un mensaje del simulador.
+     * @param owner clase que registra el mensaje; su nombre es el del Logger destino
+     * @param subsystem subsistema al que pertenece
+     * @param level nivel del mensaje
+     * @param formatter arma el texto a partir de la entrada
+     * @return mensaje reutilizable
+     */
+    public static Message message(Class<?> owner, Subsystem subsystem, Level level, Formatter formatter) {
+        Objects.requireNonNull(owner, "La clase dueña del mensaje no puede ser nula");
+        Objects.requireNonNull(subsystem, "El subsistema no puede ser nulo");
+        Objects.requireNonNull(level, "El nivel no puede ser nulo");
+        Objects.requireNonNull(formatter, "El formateador no puede ser nulo");
+        return new Message(owner, subsystem, level, formatter);
+    }
+
+    /**
+     * Ajusta el umbral de un subsistema. Level.ALL delega por completo en el nivel de los Logger.
+     */
+    public static void setLevel(Subsystem subsystem, Level level) {
+        Objects.requireNonNull(subsystem, "El subsistema no puede ser nulo");
+        Objects.requireNonNull(level, "El nivel no puede ser nulo");
+        subsystem.threshold = level.intValue();
+    }
+
+    /**
+     * @return umbral actual del subsistema como nivel de java.util.logging
+     */
+    public static Level getLevel(Subsystem subsystem) {
+        Objects.requireNonNull(subsystem, "El subsistema no puede ser nulo");
+        return Level.parse(Integer.toString(subsystem.threshold));
+    }
+
+    /**
+     * Codifica un decimal para pasarlo como argumento entero sin crear objetos.
+     */
+    public static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * Registra un mensaje con un argumento entero.
+     * @param message mensaje declarado con message(...)
+     * @param a0 argumento 0
+     */
+    public static void log(Message message, long a0) {
+        log(message, null, null, null, a0, 0L, 0L, 0L);
+    }
+
+    /**
+     * Registra un mensaje con una referencia.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     */
+    public static void log(Message message, Object r0) {
+        log(message, r0, null, null, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Registra un mensaje con una referencia y un argumento entero.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param a0 argumento 0
+     */
+    public static void log(Message message, Object r0, long a0) {
+        log(message, r0, null, null, a0, 0L, 0L, 0L);
+    }
+
+    /**
+     * Registra un mensaje con una referencia y dos argumentos enteros.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param a0 argumento 0
+     * @param a1 argumento 1
+     */
+    public static void log(Message message, Object r0, long a0, long a1) {
+        log(message, r0, null, null, a0, a1, 0L, 0L);
+    }
+
+    /**
+     * Registra un mensaje con una referencia y tres argumentos enteros.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param a0 argumento 0
+     * @param a1 argumento 1
+     * @param a2 argumento 2
+     */
+    public static void log(Message message, Object r0, long a0, long a1, long a2) {
+        log(message, r0, null, null, a0, a1, a2, 0L);
+    }
+
+    /**
+     * Registra un mensaje con una referencia y cuatro argumentos enteros.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param a0 argumento 0
+     * @param a1 argumento 1
+     * @param a2 argumento 2
+     * @param a3 argumento 3
+     */
+    public static void log(Message message, Object r0, long a0, long a1, long a2, long a3) {
+        log(message, r0, null, null, a0, a1, a2, a3);
+    }
+
+    /**
+     * Registra un mensaje con dos referencias y tres argumentos enteros.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param r1 referencia 1
+     * @param a0 argumento 0
+     * @param a1 argumento 1
+     * @param a2 argumento 2
+     */
+    public static void log(Message message, Object r0, Object r1, long a0, long a1, long a2) {
+        log(message, r0, r1, null, a0, a1, a2, 0L);
+    }
+
+    /**
+     * Registra un mensaje con tres referencias y tres argumentos enteros.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param r1 referencia 1
+     * @param r2 referencia 2
+     * @param a0 argumento 0
+     * @param a1 argumento 1
+     * @param a2 argumento 2
+     */
+    public static void log(Message message, Object r0, Object r1, Object r2, long a0, long a1, long a2) {
+        log(message, r0, r1, r2, a0, a1, a2, 0L);
+    }
+
+    /**
+     * Copia los argumentos a una ranura libre del anillo si el mensaje está habilitado. Con el
+     * anillo lleno espera a que el hilo formateador libere una ranura; si quien registra es el
+     * hilo formateador, publica el mensaje en el acto.
+     * @param message mensaje declarado con message(...)
+     * @param r0 referencia 0
+     * @param r1 referencia 1
+     * @param r2 referencia 2
+     * @param a0 argumento 0
+     * @param a1 argumento 1
+     * @param a2 argumento 2
+     * @param a3 argumento 3
+     */
+    public static void log(Message message, Object r0, Object r1, Object r2,
+                           long a0, long a1, long a2, long a3) {
+        if (!message.isEnabled()) {
+            return;
+        }
+        long position;
+        int slot;
+        while (true) {
+            position = PRODUCER_INDEX.get();
+            slot = (int) (position & MASK);
+            long sequence = SEQUENCES.get(slot);
+            if (sequence < position) {
+                Thread formatter = formatterThread;
+                if (formatter == null) {
+                    startFormatter();
+                    continue;
+                }
+                if (formatter == Thread.currentThread()) {
+                    publishNow(message, r0, r1, r2, a0, a1, a2, a3);
+                    return;
+                }
+                LockSupport.unpark(formatter);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                continue;
+            }
+            if (sequence == position && PRODUCER_INDEX.compareAndSet(position, position + 1L)) {
+                break;
+            }
+        }
+        MESSAGES[slot] = message;
+        TIMESTAMPS[slot] = System.currentTimeMillis();
+        int args = slot * ARGS_PER_ENTRY;
+        ARGS[args] = a0;
+        ARGS[args + 1] = a1;
+        ARGS[args + 2] = a2;
+        ARGS[args + 3] = a3;
+        int refs = slot * REFS_PER_ENTRY;
+        REFS[refs] = r0;
+        REFS[refs + 1] = r1;
+        REFS[refs + 2] = r2;
+        SEQUENCES.set(slot, position + 1L);
+        if (formatterThread == null) {
+            startFormatter();
+        }
+    }
+
+    /**
+     * Espera a que se publiquen todas las entradas registradas hasta el momento.
+     */
+    public static void flush() {
+        long target = PRODUCER_INDEX.get();
+        Thread formatter = formatterThread;
+        if (formatter == null || formatter == Thread.currentThread()) {
+            return;
+        }
+        while (consumerIndex < target) {
+            LockSupport.unpark(formatter);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static synchronized void startFormatter() {
+        if (formatterThread != null) {
+            return;
+        }
+        Thread thread = new Thread(SimulatorLog::formatLoop, "simulator-log");
+        thread.setDaemon(true);
+        formatterThread = thread;
+        thread.start();
+    }
+
+    private static void formatLoop() {
+        long position = consumerIndex;
+        while (true) {
+            int slot = (int) (position & MASK);
+            if (SEQUENCES.get(slot) != position + 1L) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            ENTRY.slot = slot;
+            publish(MESSAGES[slot], ENTRY, TIMESTAMPS[slot]);
+            int refs = slot * REFS_PER_ENTRY;
+            REFS[refs] = null;
+            REFS[refs + 1] = null;
+            REFS[refs + 2] = null;
+            SEQUENCES.set(slot, position + CAPACITY);
+            position++;
+            consumerIndex = position;
+        }
+    }
+
+    /**
+     * Formatea y publica un mensaje sin pasar por el anillo. Solo lo usa el hilo formateador
+     * cuando registra con el anillo lleno, así que puede reservar memoria.
+     */
+    private static void publishNow(Message message, Object r0, Object r1, Object r2,
+                                   long a0, long a1, long a2, long a3) {
+        Entry entry = new Entry(new long[] {a0, a1, a2, a3}, new Object[] {r0, r1, r2});
+        publish(message, entry, System.currentTimeMillis());
+    }
+
+    private static void publish(Message message, Entry entry, long millis) {
+        String text;
+        try {
+            text = message.formatter.format(entry);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "No se pudo formatear un mensaje del simulador", ex);
+            return;
+        }
+        LogRecord record = new LogRecord(message.level, text);
+        record.setLoggerName(message.logger.getName());
+        record.setSourceClassName(message.sourceClass);
+        record.setSourceMethodName(null);
+        record.setInstant(Instant.ofEpochMilli(millis));
+        message.logger.log(record);
+    }
+
+    private static int ringCapacity() {
+        int requested = Integer.getInteger("p_so1.log.capacity", DEFAULT_CAPACITY);
+        if (requested < 2) {
+            return 2;
+        }
+        int capacity = Integer.highestOneBit(requested);
+        return capacity < requested ? capacity << 1 : capacity;
+    }
+}
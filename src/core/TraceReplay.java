@@ -0,0 +1,560 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import datastructures.ArrayList;
+import datastructures.IntArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * TraceReplay reconstruye, a partir de una traza de EventRecorder, el contenido de las colas del
+ * sistema operativo y la ocupación de cada núcleo en cualquier ciclo, sin volver a simular.
+ * Aplicar los eventos en orden reproduce de forma determinista los mismos movimientos que hizo
+ * el sistema operativo: cada transición saca al proceso de donde estaba y lo agrega al final de
+ * la cola destino, y cada carga o liberación actualiza el núcleo correspondiente.
+ *
+ * Al abrir la traza se recorre una vez completa y se guarda un punto de control cada cierta
+ * cantidad de eventos (siempre en un límite de ciclo) con el contenido de las colas, los
+ * ocupantes de los núcleos y la cantidad de procesos terminados. seek() restaura el punto de
+ * control más cercano anterior al ciclo pedido y aplica solo los eventos restantes; avanzar
+ * desde la posición actual no restaura nada. Los terminados se representan como un prefijo del
+ * orden global de finalización, así que los puntos de control solo copian los procesos vivos.
+ *
+ * Las colas se reconstruyen en orden de llegada; con políticas por prioridad (SPN, HRRN, SRTF)
+ * el orden real de la cola de listos lo decide la política y no queda en la traza. Los robos y
+ * reparticiones entre colas locales de núcleos llegan como transiciones LISTO → LISTO con la
+ * cola y el núcleo destino. No es segura para hilos.
+ *
+ * @author santiagodelcastillo
+ */
+public final class TraceReplay {
+
+    /** Eventos entre puntos de control por defecto. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1 << 16;
+
+    /** Listas reconstruidas: las cuatro colas globales y una cola local por núcleo. */
+    private static final int LIST_READY = 1;
+    private static final int LIST_BLOCKED = 2;
+    private static final int LIST_READY_SUSPENDED = 3;
+    private static final int LIST_BLOCKED_SUSPENDED = 4;
+    private static final int LIST_LOCAL_BASE = 8;
+    /** Ubicación de un proceso cargado en un núcleo (las listas usan su identificador positivo). */
+    private static final int AT_CPU = -1;
+    private static final int NOWHERE = 0;
+    /** Bytes por bloque mapeado; múltiplo del tamaño de evento con el encabezado incluido. */
+    private static final int SEGMENT_BITS = 30;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+
+    /** Bloques mapeados del archivo. */
+    private final MappedByteBuffer[] segments;
+    private final long eventCount;
+    private final ArrayList<Checkpoint> checkpoints;
+    /** PID de los procesos terminados en orden de finalización. */
+    private final IntArrayList finishOrder;
+
+    // --- Estado reconstruido ---
+
+    /** Ubicación por PID: NOWHERE, AT_CPU o identificador de lista. */
+    private int[] location;
+    /** Núcleo por PID cuando está en AT_CPU. */
+    private int[] coreOf;
+    private int[] next;
+    private int[] previous;
+    /** Posición de cada PID en finishOrder (o MAX_VALUE si nunca termina). */
+    private int[] finishRank;
+    private final IntArrayList listHead;
+    private final IntArrayList listTail;
+    private final IntArrayList listSize;
+    /** PID cargado en cada núcleo (0 si está ocioso). */
+    private final IntArrayList occupants;
+    private int finishedCount;
+    /** Próximo evento a aplicar. */
+    private long nextEvent;
+    /** Último ciclo pedido a seek(). */
+    private long currentCycle;
+
+    private TraceReplay(MappedByteBuffer[] segments, long eventCount, int checkpointInterval) {
+        this.segments = segments;
+        this.eventCount = eventCount;
+        this.checkpoints = new ArrayList<>();
+        this.finishOrder = new IntArrayList();
+        this.location = new int[16];
+        this.coreOf = new int[16];
+        this.next = new int[16];
+        this.previous = new int[16];
+        this.finishRank = new int[16];
+        Arrays.fill(finishRank, Integer.MAX_VALUE);
+        this.listHead = new IntArrayList();
+        this.listTail = new IntArrayList();
+        this.listSize = new IntArrayList();
+        this.occupants = new IntArrayList();
+        ensureList(LIST_BLOCKED_SUSPENDED);
+        buildCheckpoints(checkpointInterval);
+    }
+
+    /**
+     * Abre una traza con el intervalo de puntos de control por defecto.
+     * @param file archivo escrito por EventRecorder
+     * @return reproductor posicionado al final de la traza
+     * @throws IOException si no se puede mapear el archivo
+     */
+    public static TraceReplay open(File file) throws IOException {
+        return open(file, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Abre una traza y construye sus puntos de control.
+     * @param file archivo escrito por EventRecorder
+     * @param checkpointInterval eventos mínimos entre puntos de control (positivo)
+     * @return reproductor posicionado al final de la traza
+     * @throws IOException si no se puede mapear el archivo
+     * @throws IllegalArgumentException si el archivo no es una traza de eventos
+     */
+    public static TraceReplay open(File file, int checkpointInterval) throws IOException {
+        Objects.requireNonNull(file, "El archivo no puede ser nulo");
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("El intervalo de puntos de control debe ser positivo: " + checkpointInterval);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            int segmentCount = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+            MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(1, segmentCount)];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << SEGMENT_BITS, length - start));
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (length < EventRecorder.HEADER_SIZE || segments[0].getInt(0) != EventRecorder.MAGIC) {
+                throw new IllegalArgumentException("El archivo no es una traza de eventos");
+            }
+            if (segments[0].getInt(4) != EventRecorder.VERSION || segments[0].getInt(8) != EventRecorder.EVENT_SIZE) {
+                throw new IllegalArgumentException("Versión de traza de eventos no soportada: " + segments[0].getInt(4));
+            }
+            long count = segments[0].getLong(16);
+            if (count < 0L || EventRecorder.HEADER_SIZE + count * EventRecorder.EVENT_SIZE > length) {
+                throw new IllegalArgumentException("La traza de eventos está truncada");
+            }
+            return new TraceReplay(segments, count, checkpointInterval);
+        }
+    }
+
+    /**
+     * Reconstruye el estado al final del ciclo indicado (todos los eventos con ciclo menor o
+     * igual). Avanzar solo aplica los eventos intermedios; retroceder restaura un punto de control.
+     * @param cycle ciclo objetivo
+     */
+    public void seek(long cycle) {
+        int index = checkpointFor(cycle);
+        Checkpoint checkpoint = checkpoints.get(index);
+        if (cycle < currentCycle || checkpoint.eventIndex > nextEvent) {
+            restore(checkpoint);
+        }
+        while (nextEvent < eventCount && eventCycle(nextEvent) <= cycle) {
+            apply(eventWord(nextEvent));
+            nextEvent++;
+        }
+        currentCycle = cycle;
+    }
+
+    /**
+     * Último ciclo reconstruido.
+     * @return ciclo pedido en el último seek (o el último de la traza tras abrirla)
+     */
+    public long getCurrentCycle() {
+        return currentCycle;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Ciclo del último evento de la traza.
+     * @return ciclo final, o 0 si la traza está vacía
+     */
+    public long getLastCycle() {
+        return eventCount == 0L ? 0L : eventCycle(eventCount - 1);
+    }
+
+    public int getCheckpointCount() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Cantidad de núcleos que aparecen en la traza.
+     * @return núcleos con algún evento de CPU o cola local
+     */
+    public int getCoreCount() {
+        return occupants.size();
+    }
+
+    /**
+     * PID cargado en el núcleo.
+     * @param core índice del núcleo
+     * @return PID o 0 si el núcleo está ocioso
+     */
+    public int getRunningProcess(int core) {
+        return core >= 0 && core < occupants.size() ? occupants.get(core) : 0;
+    }
+
+    public int[] getReadyQueue() {
+        return listContents(LIST_READY);
+    }
+
+    public int[] getBlockedQueue() {
+        return listContents(LIST_BLOCKED);
+    }
+
+    public int[] getReadySuspendedQueue() {
+        return listContents(LIST_READY_SUSPENDED);
+    }
+
+    public int[] getBlockedSuspendedQueue() {
+        return listContents(LIST_BLOCKED_SUSPENDED);
+    }
+
+    public int[] getLocalRunQueue(int core) {
+        return listContents(LIST_LOCAL_BASE + core);
+    }
+
+    /**
+     * Cantidad de procesos terminados hasta el ciclo actual.
+     * @return tamaño de la lista de terminados
+     */
+    public int getFinishedCount() {
+        return finishedCount;
+    }
+
+    /**
+     * PID de los procesos terminados hasta el ciclo actual, en orden de finalización.
+     * @return arreglo nuevo
+     */
+    public int[] getFinishedProcesses() {
+        return Arrays.copyOf(finishOrder.toArray(), finishedCount);
+    }
+
+    /**
+     * Estado del proceso en el ciclo actual.
+     * @param pid identificador del proceso
+     * @return estado reconstruido (NUEVO si aún no tuvo eventos)
+     */
+    public ProcessState getProcessState(int pid) {
+        if (pid <= 0 || pid >= location.length) {
+            return ProcessState.NUEVO;
+        }
+        int where = location[pid];
+        if (where == AT_CPU) {
+            return ProcessState.EJECUCION;
+        }
+        if (where == LIST_BLOCKED) {
+            return ProcessState.BLOQUEADO;
+        }
+        if (where == LIST_READY_SUSPENDED) {
+            return ProcessState.LISTO_SUSPENDIDO;
+        }
+        if (where == LIST_BLOCKED_SUSPENDED) {
+            return ProcessState.BLOQUEADO_SUSPENDIDO;
+        }
+        if (where != NOWHERE) {
+            return ProcessState.LISTO;
+        }
+        return finishRank[pid] < finishedCount ? ProcessState.TERMINADO : ProcessState.NUEVO;
+    }
+
+    // --- Puntos de control ---
+
+    /**
+     * Recorre la traza completa aplicando los eventos y guardando un punto de control cada
+     * checkpointInterval eventos, en el primer cambio de ciclo.
+     */
+    private void buildCheckpoints(int checkpointInterval) {
+        checkpoints.add(capture(Long.MIN_VALUE, 0L));
+        long lastCheckpoint = 0L;
+        long previousCycle = Long.MIN_VALUE;
+        for (long i = 0; i < eventCount; i++) {
+            long cycle = eventCycle(i);
+            if (cycle < previousCycle) {
+                throw new IllegalArgumentException("La traza de eventos no está ordenada por ciclo en el evento " + i);
+            }
+            if (cycle != previousCycle && i - lastCheckpoint >= checkpointInterval) {
+                checkpoints.add(capture(cycle, i));
+                lastCheckpoint = i;
+            }
+            previousCycle = cycle;
+            long word = eventWord(i);
+            if (EventRecorder.type(word) == EventRecorder.TYPE_TRANSITION
+                    && EventRecorder.toState(word) == ProcessState.TERMINADO) {
+                int pid = EventRecorder.pid(word);
+                ensurePid(pid);
+                finishRank[pid] = finishOrder.size();
+                finishOrder.add(pid);
+            }
+            apply(word);
+        }
+        nextEvent = eventCount;
+        currentCycle = getLastCycle();
+    }
+
+    /**
+     * Índice del último punto de control cuyo ciclo no supera el indicado.
+     */
+    private int checkpointFor(long cycle) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (checkpoints.get(middle).cycle <= cycle) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private Checkpoint capture(long cycle, long eventIndex) {
+        IntArrayList lists = new IntArrayList();
+        for (int list = 1; list < listHead.size(); list++) {
+            int size = listSize.get(list);
+            if (size == 0) {
+                continue;
+            }
+            lists.add(list);
+            lists.add(size);
+            for (int pid = listHead.get(list); pid != 0; pid = next[pid]) {
+                lists.add(pid);
+            }
+        }
+        return new Checkpoint(cycle, eventIndex, finishedCount, lists.toArray(), occupants.toArray());
+    }
+
+    private void restore(Checkpoint checkpoint) {
+        for (int list = 1; list < listHead.size(); list++) {
+            int pid = listHead.get(list);
+            while (pid != 0) {
+                int following = next[pid];
+                location[pid] = NOWHERE;
+                next[pid] = 0;
+                previous[pid] = 0;
+                pid = following;
+            }
+            listHead.set(list, 0);
+            listTail.set(list, 0);
+            listSize.set(list, 0);
+        }
+        for (int core = 0; core < occupants.size(); core++) {
+            int pid = occupants.get(core);
+            if (pid != 0) {
+                location[pid] = NOWHERE;
+                occupants.set(core, 0);
+            }
+        }
+        int[] lists = checkpoint.lists;
+        int position = 0;
+        while (position < lists.length) {
+            int list = lists[position++];
+            int size = lists[position++];
+            for (int i = 0; i < size; i++) {
+                append(list, lists[position++]);
+            }
+        }
+        for (int core = 0; core < checkpoint.occupants.length; core++) {
+            int pid = checkpoint.occupants[core];
+            if (pid != 0) {
+                occupants.set(core, pid);
+                location[pid] = AT_CPU;
+                coreOf[pid] = core;
+            }
+        }
+        finishedCount = checkpoint.finishedCount;
+        nextEvent = checkpoint.eventIndex;
+    }
+
+    // --- Aplicación de eventos ---
+
+    private void apply(long word) {
+        int pid = EventRecorder.pid(word);
+        int core = EventRecorder.cpu(word);
+        ensurePid(pid);
+        switch (EventRecorder.type(word)) {
+            case EventRecorder.TYPE_TRANSITION: {
+                detach(pid);
+                ProcessState target = EventRecorder.toState(word);
+                if (target == ProcessState.TERMINADO) {
+                    finishedCount++;
+                    return;
+                }
+                int list = listFor(EventRecorder.queue(word), core);
+                if (list != NOWHERE) {
+                    append(list, pid);
+                }
+                return;
+            }
+            case EventRecorder.TYPE_CPU_LOAD: {
+                detach(pid);
+                ensureCore(core);
+                int displaced = occupants.get(core);
+                if (displaced != 0 && location[displaced] == AT_CPU) {
+                    location[displaced] = NOWHERE;
+                }
+                occupants.set(core, pid);
+                location[pid] = AT_CPU;
+                coreOf[pid] = core;
+                return;
+            }
+            case EventRecorder.TYPE_CPU_RELEASE:
+                ensureCore(core);
+                if (occupants.get(core) == pid) {
+                    occupants.set(core, 0);
+                    if (location[pid] == AT_CPU) {
+                        location[pid] = NOWHERE;
+                    }
+                }
+                return;
+            default:
+                throw new IllegalArgumentException("Tipo de evento desconocido: " + EventRecorder.type(word));
+        }
+    }
+
+    private int listFor(int queue, int core) {
+        switch (queue) {
+            case EventRecorder.QUEUE_READY: return LIST_READY;
+            case EventRecorder.QUEUE_BLOCKED: return LIST_BLOCKED;
+            case EventRecorder.QUEUE_READY_SUSPENDED: return LIST_READY_SUSPENDED;
+            case EventRecorder.QUEUE_BLOCKED_SUSPENDED: return LIST_BLOCKED_SUSPENDED;
+            case EventRecorder.QUEUE_LOCAL_RUN:
+                ensureCore(core);
+                ensureList(LIST_LOCAL_BASE + core);
+                return LIST_LOCAL_BASE + core;
+            default: return NOWHERE;
+        }
+    }
+
+    /**
+     * Saca al proceso de la lista o del núcleo donde esté.
+     */
+    private void detach(int pid) {
+        int where = location[pid];
+        if (where == AT_CPU) {
+            int core = coreOf[pid];
+            if (occupants.get(core) == pid) {
+                occupants.set(core, 0);
+            }
+        } else if (where != NOWHERE) {
+            int before = previous[pid];
+            int after = next[pid];
+            if (before == 0) {
+                listHead.set(where, after);
+            } else {
+                next[before] = after;
+            }
+            if (after == 0) {
+                listTail.set(where, before);
+            } else {
+                previous[after] = before;
+            }
+            next[pid] = 0;
+            previous[pid] = 0;
+            listSize.set(where, listSize.get(where) - 1);
+        }
+        location[pid] = NOWHERE;
+    }
+
+    private void append(int list, int pid) {
+        int tail = listTail.get(list);
+        previous[pid] = tail;
+        next[pid] = 0;
+        if (tail == 0) {
+            listHead.set(list, pid);
+        } else {
+            next[tail] = pid;
+        }
+        listTail.set(list, pid);
+        listSize.set(list, listSize.get(list) + 1);
+        location[pid] = list;
+    }
+
+    private int[] listContents(int list) {
+        if (list <= 0 || list >= listHead.size()) {
+            return new int[0];
+        }
+        int[] contents = new int[listSize.get(list)];
+        int pid = listHead.get(list);
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = pid;
+            pid = next[pid];
+        }
+        return contents;
+    }
+
+    private void ensureList(int list) {
+        while (listHead.size() <= list) {
+            listHead.add(0);
+            listTail.add(0);
+            listSize.add(0);
+        }
+    }
+
+    private void ensureCore(int core) {
+        while (occupants.size() <= core) {
+            occupants.add(0);
+        }
+    }
+
+    private void ensurePid(int pid) {
+        if (pid <= 0) {
+            throw new IllegalArgumentException("PID inválido en la traza de eventos: " + pid);
+        }
+        if (pid < location.length) {
+            return;
+        }
+        int capacity = Math.max(pid + 1, location.length * 2);
+        location = Arrays.copyOf(location, capacity);
+        coreOf = Arrays.copyOf(coreOf, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        int oldLength = finishRank.length;
+        finishRank = Arrays.copyOf(finishRank, capacity);
+        Arrays.fill(finishRank, oldLength, capacity, Integer.MAX_VALUE);
+    }
+
+    private long eventCycle(long index) {
+        long position = EventRecorder.HEADER_SIZE + index * EventRecorder.EVENT_SIZE;
+        return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    private long eventWord(long index) {
+        long position = EventRecorder.HEADER_SIZE + index * EventRecorder.EVENT_SIZE + Long.BYTES;
+        return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Estado de las colas antes de aplicar el evento eventIndex (todos los anteriores tienen un
+     * ciclo menor que cycle).
+     */
+    private static final class Checkpoint {
+        final long cycle;
+        final long eventIndex;
+        final int finishedCount;
+        /** Por cada lista no vacía: identificador, tamaño y PID en orden. */
+        final int[] lists;
+        final int[] occupants;
+
+        Checkpoint(long cycle, long eventIndex, int finishedCount, int[] lists, int[] occupants) {
+            this.cycle = cycle;
+            this.eventIndex = eventIndex;
+            this.finishedCount = finishedCount;
+            this.lists = lists;
+            this.occupants = occupants;
+        }
+    }
+}
@@ -55,6 +55,15 @@ public class CustomQueue<T> {
         return removed.getValue();
     }
 
+    /**
+     * Elimina y retorna el elemento que lleva más tiempo en la cola. En una cola FIFO coincide
+     * con dequeue(); las colas ordenadas por prioridad lo sobrescriben para conservar la antigüedad.
+     * @return elemento insertado hace más tiempo o null si la cola está vacía
+     */
+    public synchronized T dequeueOldest() {
+        return dequeue();
+    }
+
     /**
      * Devuelve el elemento al frente de la cola sin eliminarlo.
      * @return elemento actual en la cabeza o null si la cola está vacía
@@ -0,0 +1,429 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * IndexedPriorityQueue es una cola de prioridad segura para hilos respaldada por un montículo binario
+ * indexado. Cada elemento se identifica por un manejador entero no negativo (por ejemplo, el ID del
+ * proceso), lo que permite localizarlo en O(1) y eliminarlo o reordenarlo en O(log n).
+ * Extiende CustomQueue para poder sustituir a la cola FIFO sin cambiar a sus consumidores:
+ * dequeue() y peek() devuelven el elemento de mayor prioridad (el menor según el comparador),
+ * mientras que dequeueOldest() conserva el orden de llegada gracias a una lista de antigüedad
+ * enlazada por manejador.
+ *
+ * @param <T> tipo de elementos que maneja la cola
+ * @author santiagodelcastillo
+ */
+public class IndexedPriorityQueue<T> extends CustomQueue<T> {
+
+    /** Capacidad inicial por defecto de los arreglos internos. */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Marca de posición usada para manejadores que no están en la cola. */
+    private static final int ABSENT = -1;
+
+    /** Criterio de orden: el menor elemento sale primero. */
+    private final Comparator<? super T> comparator;
+    /** Función que obtiene el manejador entero de cada elemento. */
+    private final ToIntFunction<? super T> handleFunction;
+    /** Montículo binario de elementos. */
+    private Object[] heap;
+    /** Posición en el montículo de cada manejador (ABSENT si no está en la cola). */
+    private int[] positions;
+    /** Manejador del siguiente elemento más reciente en orden de llegada (ABSENT si es el último). */
+    private int[] newerLinks;
+    /** Manejador del elemento anterior en orden de llegada (ABSENT si es el primero). */
+    private int[] olderLinks;
+    /** Manejador del elemento encolado hace más tiempo. */
+    private int oldestHandle;
+    /** Manejador del elemento encolado más recientemente. */
+    private int newestHandle;
+    /** Número de elementos almacenados actualmente. */
+    private int size;
+
+    /**
+     * Construye una cola de prioridad indexada vacía.
+     * @param comparator criterio de orden; debe ser total para obtener resultados deterministas
+     * @param handleFunction función que devuelve un manejador no negativo y único por elemento
+     */
+    public IndexedPriorityQueue(Comparator<? super T> comparator, ToIntFunction<? super T> handleFunction) {
+        this.comparator = Objects.requireNonNull(comparator, "El comparador no puede ser nulo");
+        this.handleFunction = Objects.requireNonNull(handleFunction, "La función de manejador no puede ser nula");
+        this.heap = new Object[DEFAULT_CAPACITY];
+        this.positions = new int[DEFAULT_CAPACITY];
+        this.newerLinks = new int[DEFAULT_CAPACITY];
+        this.olderLinks = new int[DEFAULT_CAPACITY];
+        fillAbsent(positions, 0);
+        this.oldestHandle = ABSENT;
+        this.newestHandle = ABSENT;
+        this.size = 0;
+    }
+
+    /**
+     * Inserta el elemento según su prioridad en O(log n).
+     * @param value elemento a encolar (no nulo)
+     * @throws IllegalStateException si ya existe un elemento con el mismo manejador
+     */
+    @Override
+    public synchronized void enqueue(T value) {
+        Objects.requireNonNull(value, "La cola de prioridad no admite elementos nulos");
+        int handle = handleOf(value);
+        ensureHandleCapacity(handle);
+        if (positions[handle] != ABSENT) {
+            throw new IllegalStateException("El elemento con manejador " + handle + " ya está en la cola");
+        }
+        ensureHeapCapacity(size + 1);
+        heap[size] = value;
+        positions[handle] = size;
+        siftUp(size++);
+        linkNewest(handle);
+    }
+
+    /**
+     * Elimina y retorna el elemento de mayor prioridad en O(log n).
+     * @return elemento mínimo según el comparador o null si la cola está vacía
+     */
+    @Override
+    public synchronized T dequeue() {
+        if (size == 0) {
+            return null;
+        }
+        return removeAt(0);
+    }
+
+    /**
+     * Elimina y retorna el elemento encolado hace más tiempo, independientemente de su prioridad.
+     * @return elemento más antiguo o null si la cola está vacía
+     */
+    @Override
+    public synchronized T dequeueOldest() {
+        if (size == 0) {
+            return null;
+        }
+        return removeAt(positions[oldestHandle]);
+    }
+
+    /**
+     * Devuelve el elemento de mayor prioridad sin eliminarlo, en O(1).
+     * @return elemento mínimo según el comparador o null si la cola está vacía
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T peek() {
+        return size == 0 ? null : (T) heap[0];
+    }
+
+    /**
+     * Elimina el elemento indicado localizándolo por su manejador, en O(log n).
+     * @param value elemento que se debe eliminar
+     * @return true si se eliminó un elemento, false en caso contrario
+     */
+    @Override
+    public synchronized boolean remove(T value) {
+        int index = indexOf(value);
+        if (index == ABSENT) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Reubica el elemento tras un cambio en su clave de prioridad (decrease/increase-key), en O(log n).
+     * @param value elemento cuya prioridad cambió
+     * @return true si el elemento estaba en la cola y fue reubicado
+     */
+    public synchronized boolean update(T value) {
+        int index = indexOf(value);
+        if (index == ABSENT) {
+            return false;
+        }
+        if (!siftUp(index)) {
+            siftDown(index);
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el comparador que define el orden de la cola.
+     * @return criterio de prioridad utilizado
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Indica si el elemento indicado se encuentra en la cola, en O(1).
+     * @param value elemento a buscar
+     * @return true si está encolado
+     */
+    public synchronized boolean contains(T value) {
+        return indexOf(value) != ABSENT;
+    }
+
+    /**
+     * Indica si la cola está vacía.
+     * @return true si la cola no contiene elementos
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos almacenados actualmente.
+     * @return cantidad de elementos
+     */
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene una copia de los elementos ordenada por prioridad (el siguiente en salir primero).
+     * Cuesta O(n log n), por lo que está pensada para visualización y no para la ruta de planificación.
+     * @return arreglo con la instantánea de los elementos
+     */
+    @Override
+    public synchronized Object[] getAllProcesses() {
+        Object[] snapshot = new Object[size];
+        System.arraycopy(heap, 0, snapshot, 0, size);
+        sortByPriority(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Elimina el elemento en la posición indicada del montículo y restaura su propiedad.
+     * @param index posición a eliminar
+     * @return elemento eliminado
+     */
+    @SuppressWarnings("unchecked")
+    private T removeAt(int index) {
+        T removed = (T) heap[index];
+        int removedHandle = handleOf(removed);
+        positions[removedHandle] = ABSENT;
+        unlink(removedHandle);
+        int last = --size;
+        if (index != last) {
+            heap[index] = heap[last];
+            positions[handleOf((T) heap[index])] = index;
+            heap[last] = null;
+            if (!siftUp(index)) {
+                siftDown(index);
+            }
+        } else {
+            heap[last] = null; // Ayuda al recolector de basura
+        }
+        return removed;
+    }
+
+    /**
+     * Agrega el manejador al final de la lista de antigüedad.
+     * @param handle manejador recién encolado
+     */
+    private void linkNewest(int handle) {
+        olderLinks[handle] = newestHandle;
+        newerLinks[handle] = ABSENT;
+        if (newestHandle == ABSENT) {
+            oldestHandle = handle;
+        } else {
+            newerLinks[newestHandle] = handle;
+        }
+        newestHandle = handle;
+    }
+
+    /**
+     * Retira el manejador de la lista de antigüedad en O(1).
+     * @param handle manejador que abandona la cola
+     */
+    private void unlink(int handle) {
+        int older = olderLinks[handle];
+        int newer = newerLinks[handle];
+        if (older == ABSENT) {
+            oldestHandle = newer;
+        } else {
+            newerLinks[older] = newer;
+        }
+        if (newer == ABSENT) {
+            newestHandle = older;
+        } else {
+            olderLinks[newer] = older;
+        }
+    }
+
+    /**
+     * Localiza la posición del elemento dentro del montículo usando su manejador.
+     * @param value elemento a localizar
+     * @return posición en el montículo o ABSENT si no está encolado
+     */
+    private int indexOf(T value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        int handle = handleOf(value);
+        if (handle >= positions.length) {
+            return ABSENT;
+        }
+        int index = positions[handle];
+        if (index == ABSENT || !Objects.equals(heap[index], value)) {
+            return ABSENT;
+        }
+        return index;
+    }
+
+    /**
+     * Sube el elemento mientras sea menor que su padre.
+     * @param index posición inicial
+     * @return true si el elemento cambió de posición
+     */
+    @SuppressWarnings("unchecked")
+    private boolean siftUp(int index) {
+        int start = index;
+        T value = (T) heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            T parentValue = (T) heap[parent];
+            if (comparator.compare(value, parentValue) >= 0) {
+                break;
+            }
+            place(parentValue, index);
+            index = parent;
+        }
+        place(value, index);
+        return index != start;
+    }
+
+    /**
+     * Baja el elemento mientras alguno de sus hijos sea menor.
+     * @param index posición inicial
+     */
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index) {
+        T value = (T) heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare((T) heap[right], (T) heap[child]) < 0) {
+                child = right;
+            }
+            T childValue = (T) heap[child];
+            if (comparator.compare(childValue, value) >= 0) {
+                break;
+            }
+            place(childValue, index);
+            index = child;
+        }
+        place(value, index);
+    }
+
+    /**
+     * Coloca el elemento en la posición indicada y actualiza su índice.
+     */
+    private void place(T value, int index) {
+        heap[index] = value;
+        positions[handleOf(value)] = index;
+    }
+
+    /**
+     * Ordena el arreglo por prioridad usando heapsort sobre la copia, sin colecciones externas.
+     * @param items arreglo a ordenar en sitio
+     */
+    @SuppressWarnings("unchecked")
+    private void sortByPriority(Object[] items) {
+        int n = items.length;
+        // Construye un montículo máximo para dejar los menores al inicio tras las extracciones
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDownMax(items, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            Object top = items[0];
+            items[0] = items[end];
+            items[end] = top;
+            siftDownMax(items, 0, end);
+        }
+    }
+
+    /**
+     * Paso de hundimiento para el montículo máximo temporal usado por sortByPriority.
+     */
+    @SuppressWarnings("unchecked")
+    private void siftDownMax(Object[] items, int index, int length) {
+        Object value = items[index];
+        int half = length >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < length && comparator.compare((T) items[right], (T) items[child]) > 0) {
+                child = right;
+            }
+            if (comparator.compare((T) items[child], (T) value) <= 0) {
+                break;
+            }
+            items[index] = items[child];
+            index = child;
+        }
+        items[index] = value;
+    }
+
+    /**
+     * Obtiene y valida el manejador del elemento.
+     * @param value elemento a evaluar
+     * @return manejador no negativo
+     */
+    private int handleOf(T value) {
+        int handle = handleFunction.applyAsInt(value);
+        if (handle < 0) {
+            throw new IllegalArgumentException("El manejador del elemento no puede ser negativo: " + handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Asegura que los arreglos indexados por manejador puedan contener el manejador indicado.
+     * @param handle manejador requerido
+     */
+    private void ensureHandleCapacity(int handle) {
+        if (handle < positions.length) {
+            return;
+        }
+        int newCapacity = Math.max(positions.length * 2, handle + 1);
+        int[] newPositions = new int[newCapacity];
+        System.arraycopy(positions, 0, newPositions, 0, positions.length);
+        fillAbsent(newPositions, positions.length);
+        int[] newNewerLinks = new int[newCapacity];
+        int[] newOlderLinks = new int[newCapacity];
+        System.arraycopy(newerLinks, 0, newNewerLinks, 0, newerLinks.length);
+        System.arraycopy(olderLinks, 0, newOlderLinks, 0, olderLinks.length);
+        positions = newPositions;
+        newerLinks = newNewerLinks;
+        olderLinks = newOlderLinks;
+    }
+
+    /**
+     * Asegura que el montículo tenga capacidad para el número mínimo de elementos.
+     * @param minCapacity capacidad mínima requerida
+     */
+    private void ensureHeapCapacity(int minCapacity) {
+        if (minCapacity <= heap.length) {
+            return;
+        }
+        Object[] newHeap = new Object[Math.max(heap.length * 2, minCapacity)];
+        System.arraycopy(heap, 0, newHeap, 0, size);
+        heap = newHeap;
+    }
+
+    /**
+     * Marca como ausentes las posiciones desde el índice indicado.
+     */
+    private static void fillAbsent(int[] array, int from) {
+        for (int i = from; i < array.length; i++) {
+            array[i] = ABSENT;
+        }
+    }
+}
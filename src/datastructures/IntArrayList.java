@@ -0,0 +1,175 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * IntArrayList implementa una lista dinámica de enteros primitivos. A diferencia de
+ * ArrayList&lt;Integer&gt; no envuelve cada valor en un objeto, por lo que una lista de PID o de
+ * ráfagas ocupa 4 bytes por elemento. No es segura para hilos.
+ *
+ * @author santiagodelcastillo
+ */
+public class IntArrayList {
+
+    /** Capacidad inicial por defecto del arreglo interno. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Arreglo interno con los elementos en las posiciones [0, size). */
+    private int[] elements;
+    /** Número actual de elementos. */
+    private int size;
+
+    /**
+     * Construye una lista vacía con la capacidad por defecto.
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construye una lista vacía con la capacidad indicada.
+     * @param initialCapacity capacidad inicial (no negativa)
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        this.elements = new int[initialCapacity];
+        this.size = 0;
+    }
+
+    /**
+     * Agrega un valor al final de la lista.
+     * @param value valor a agregar
+     */
+    public void add(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+    }
+
+    /**
+     * Obtiene el valor en la posición indicada.
+     * @param index posición entre 0 y size-1
+     * @return valor almacenado
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Reemplaza el valor en la posición indicada.
+     * @param index posición entre 0 y size-1
+     * @param value nuevo valor
+     * @return valor anterior
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Elimina el valor en la posición indicada desplazando los siguientes.
+     * @param index posición entre 0 y size-1
+     * @return valor eliminado
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Elimina la primera ocurrencia del valor.
+     * @param value valor a eliminar
+     * @return true si se encontró y eliminó
+     */
+    public boolean removeValue(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Devuelve la posición de la primera ocurrencia del valor.
+     * @param value valor buscado
+     * @return posición o -1 si no está
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si la lista contiene el valor.
+     * @param value valor buscado
+     * @return true si está presente
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Número de elementos en la lista.
+     * @return tamaño actual
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indica si la lista está vacía.
+     * @return true si no hay elementos
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vacía la lista conservando su capacidad.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copia los elementos en orden.
+     * @return arreglo nuevo de longitud size
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            int newCapacity = Math.max(minCapacity, elements.length * 2);
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
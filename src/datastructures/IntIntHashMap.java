@@ -0,0 +1,207 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * IntIntHashMap implementa un mapa de int a int con direccionamiento abierto y sondeo lineal
+ * sobre arreglos primitivos: no crea nodos ni envuelve claves o valores. Al borrar se desplazan
+ * hacia atrás las entradas del mismo grupo, así no quedan lápidas y las búsquedas no se degradan.
+ * Las consultas de una clave ausente devuelven el valor "faltante" indicado en la construcción.
+ * No es segura para hilos.
+ *
+ * @author santiagodelcastillo
+ */
+public class IntIntHashMap {
+
+    /** Capacidad inicial por defecto (potencia de dos). */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Factor de carga máximo antes de duplicar la tabla. */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /** Valor devuelto cuando la clave no existe. */
+    private final int missingValue;
+    /** Claves por posición. */
+    private int[] keys;
+    /** Valores por posición. */
+    private int[] values;
+    /** Ocupación por posición. */
+    private boolean[] used;
+    /** Número de entradas. */
+    private int size;
+    /** Tamaño a partir del cual se duplica la tabla. */
+    private int resizeThreshold;
+
+    /**
+     * Construye un mapa vacío que devuelve -1 para claves ausentes.
+     */
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY, -1);
+    }
+
+    /**
+     * Construye un mapa vacío dimensionado para la cantidad de entradas esperada.
+     * @param expectedSize entradas previstas (no negativa)
+     * @param missingValue valor devuelto para claves ausentes
+     */
+    public IntIntHashMap(int expectedSize, int missingValue) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + expectedSize);
+        }
+        this.missingValue = missingValue;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Asocia el valor a la clave, reemplazando el anterior si existía.
+     * @param key clave
+     * @param value valor
+     * @return valor anterior o el valor faltante si la clave era nueva
+     */
+    public int put(int key, int value) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Obtiene el valor asociado a la clave.
+     * @param key clave buscada
+     * @return valor asociado o el valor faltante
+     */
+    public int get(int key) {
+        int slot = find(key);
+        return slot < 0 ? missingValue : values[slot];
+    }
+
+    /**
+     * Indica si la clave está presente.
+     * @param key clave buscada
+     * @return true si existe
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Elimina la clave y compacta su grupo de sondeo.
+     * @param key clave a eliminar
+     * @return valor eliminado o el valor faltante si no existía
+     */
+    public int remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return missingValue;
+        }
+        int removed = values[slot];
+        int mask = keys.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        // Desplazamiento hacia atrás: cada entrada que no esté en su posición ideal ocupa el hueco
+        while (used[next]) {
+            int ideal = hash(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Número de entradas del mapa.
+     * @return tamaño actual
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indica si el mapa está vacío.
+     * @return true si no hay entradas
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Elimina todas las entradas conservando la capacidad.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Valor que se devuelve para claves ausentes.
+     * @return valor faltante configurado
+     */
+    public int getMissingValue() {
+        return missingValue;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Mezcla los bits de la clave (Fibonacci hashing) para repartir claves consecutivas.
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LogHistogram cuenta valores no negativos en cubetas logarítmicas: cada potencia de dos se divide
+ * en SUB_BUCKETS cubetas lineales, de modo que los valores menores que 2 * SUB_BUCKETS se guardan
+ * exactos y el resto con un error relativo menor a 1 / SUB_BUCKETS (≈3 %). Con 1888 cubetas
+ * cubre todo el rango de long sin reservar memoria al registrar.
+ *
+ * Registrar es un getAndAdd sobre la cubeta y sobre la suma; el máximo exacto solo se actualiza
+ * con CAS cuando el valor supera al máximo vigente. Las instantáneas calculan percentiles sobre
+ * una copia de las cubetas y pueden no incluir registros concurrentes.
+ *
+ * @author santiagodelcastillo
+ */
+public class LogHistogram {
+
+    /** Bits de la subdivisión lineal de cada potencia de dos. */
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** Cubetas exactas (valores 0..SUB_BUCKETS-1) más SUB_BUCKETS por cada exponente 5..62. */
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    /** Cantidad de registros por cubeta. */
+    private final AtomicLongArray counts;
+    /** Suma de los valores registrados, para el promedio. */
+    private final StripedCounter sum;
+    /** Mayor valor registrado. */
+    private final AtomicLong max;
+
+    /**
+     * Construye un histograma vacío.
+     */
+    public LogHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.sum = new StripedCounter();
+        this.max = new AtomicLong(0L);
+    }
+
+    /**
+     * Registra un valor; los negativos se cuentan como cero.
+     * @param value valor a registrar
+     */
+    public void record(long value) {
+        long clamped = Math.max(0L, value);
+        counts.getAndIncrement(bucketIndex(clamped));
+        sum.add(clamped);
+        long current = max.get();
+        while (clamped > current && !max.compareAndSet(current, clamped)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Vacía el histograma. Los registros concurrentes pueden sobrevivir al reinicio.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+        sum.reset();
+        max.set(0L);
+    }
+
+    /**
+     * Copia el contenido actual para consultar percentiles sin afectar a quien registra.
+     * @return instantánea inmutable
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sum.sum(), max.get());
+    }
+
+    /**
+     * Cubeta a la que pertenece un valor no negativo.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Mayor valor que cae en la cubeta indicada.
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lowest = (long) (SUB_BUCKETS + sub) << shift;
+        return lowest + (1L << shift) - 1L;
+    }
+
+    /**
+     * Estado del histograma en un instante.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return count == 0L ? 0L : max;
+        }
+
+        /**
+         * @return suma exacta de los valores registrados
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return promedio exacto de los valores o 0 si no hay registros
+         */
+        public double getMean() {
+            return count == 0L ? 0.0 : sum / (double) count;
+        }
+
+        /**
+         * Valor bajo el cual queda la fracción indicada de los registros.
+         * @param percentile percentil entre 0 y 100
+         * @return límite superior de la cubeta del percentil (nunca mayor que el máximo)
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0.0 || percentile > 100.0) {
+                throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + percentile);
+            }
+            if (count == 0L) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
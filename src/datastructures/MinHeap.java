@@ -0,0 +1,231 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+/**
+ * MinHeap implementa un montículo binario mínimo con claves primitivas de tipo long.
+ * Los elementos con la misma clave se extraen en orden de inserción (FIFO), lo que
+ * garantiza resultados deterministas cuando varios eventos vencen en el mismo ciclo.
+ *
+ * @param <T> tipo de valores asociados a cada clave
+ * @author santiagodelcastillo
+ */
+public class MinHeap<T> {
+
+    /** Capacidad inicial por defecto de los arreglos internos. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Claves de cada posición del montículo. */
+    private long[] keys;
+    /** Número de secuencia de inserción usado como desempate estable. */
+    private long[] sequences;
+    /** Valores asociados a cada posición del montículo. */
+    private Object[] values;
+    /** Número de elementos almacenados actualmente. */
+    private int size;
+    /** Próximo número de secuencia a asignar. */
+    private long nextSequence;
+
+    /**
+     * Construye un montículo vacío con la capacidad inicial por defecto.
+     */
+    public MinHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construye un montículo vacío con la capacidad inicial indicada.
+     * @param initialCapacity capacidad inicial de los arreglos internos
+     * @throws IllegalArgumentException si la capacidad es negativa
+     */
+    public MinHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("La capacidad inicial no puede ser negativa: " + initialCapacity);
+        }
+        int capacity = Math.max(1, initialCapacity);
+        this.keys = new long[capacity];
+        this.sequences = new long[capacity];
+        this.values = new Object[capacity];
+        this.size = 0;
+        this.nextSequence = 0L;
+    }
+
+    /**
+     * Inserta un valor con la clave indicada en O(log n).
+     * @param key clave de ordenamiento (menor sale primero)
+     * @param value valor asociado
+     */
+    public void insert(long key, T value) {
+        ensureCapacity(size + 1);
+        int index = size++;
+        keys[index] = key;
+        sequences[index] = nextSequence++;
+        values[index] = value;
+        siftUp(index);
+    }
+
+    /**
+     * Devuelve la menor clave almacenada sin extraerla.
+     * @return clave mínima
+     * @throws IllegalStateException si el montículo está vacío
+     */
+    public long peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("El montículo está vacío");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Devuelve el valor con la menor clave sin extraerlo.
+     * @return valor mínimo o null si el montículo está vacío
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return size == 0 ? null : (T) values[0];
+    }
+
+    /**
+     * Extrae el valor con la menor clave en O(log n).
+     * @return valor extraído o null si el montículo está vacío
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T result = (T) values[0];
+        int last = --size;
+        if (last > 0) {
+            move(last, 0);
+            siftDown(0);
+        }
+        values[last] = null; // Limpiar referencia para ayudar al GC
+        return result;
+    }
+
+    /**
+     * Devuelve el número de elementos almacenados.
+     * @return tamaño actual del montículo
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indica si el montículo está vacío.
+     * @return true si no hay elementos
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Elimina todos los elementos del montículo.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Obtiene una copia de los valores almacenados en el orden interno del montículo.
+     * @return arreglo con la instantánea de los valores
+     */
+    public Object[] toArray() {
+        Object[] snapshot = new Object[size];
+        System.arraycopy(values, 0, snapshot, 0, size);
+        return snapshot;
+    }
+
+    /**
+     * Reubica hacia arriba el elemento en la posición indicada hasta restaurar la propiedad del montículo.
+     * @param index posición inicial
+     */
+    private void siftUp(int index) {
+        long key = keys[index];
+        long sequence = sequences[index];
+        Object value = values[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(key, sequence, keys[parent], sequences[parent])) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        keys[index] = key;
+        sequences[index] = sequence;
+        values[index] = value;
+    }
+
+    /**
+     * Reubica hacia abajo el elemento en la posición indicada hasta restaurar la propiedad del montículo.
+     * @param index posición inicial
+     */
+    private void siftDown(int index) {
+        long key = keys[index];
+        long sequence = sequences[index];
+        Object value = values[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && less(keys[right], sequences[right], keys[child], sequences[child])) {
+                child = right;
+            }
+            if (!less(keys[child], sequences[child], key, sequence)) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        keys[index] = key;
+        sequences[index] = sequence;
+        values[index] = value;
+    }
+
+    /**
+     * Compara dos entradas por clave y, ante empate, por orden de inserción.
+     */
+    private static boolean less(long keyA, long sequenceA, long keyB, long sequenceB) {
+        if (keyA != keyB) {
+            return keyA < keyB;
+        }
+        return sequenceA < sequenceB;
+    }
+
+    /**
+     * Copia la entrada de la posición origen a la posición destino.
+     */
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        sequences[to] = sequences[from];
+        values[to] = values[from];
+    }
+
+    /**
+     * Asegura que los arreglos internos tengan capacidad para el número mínimo de elementos.
+     * Si es necesario, los redimensiona duplicando su tamaño.
+     * @param minCapacity capacidad mínima requerida
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= keys.length) {
+            return;
+        }
+        int newCapacity = Math.max(keys.length * 2, minCapacity);
+        long[] newKeys = new long[newCapacity];
+        long[] newSequences = new long[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        System.arraycopy(keys, 0, newKeys, 0, size);
+        System.arraycopy(sequences, 0, newSequences, 0, size);
+        System.arraycopy(values, 0, newValues, 0, size);
+        keys = newKeys;
+        sequences = newSequences;
+        values = newValues;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * MpscQueue implementa una cola FIFO acotada sin bloqueos para múltiples productores y un único
+ * consumidor, sobre un búfer circular con números de secuencia por posición (esquema de Vyukov).
+ * Los productores reservan una posición con un CAS y el consumidor retira sin sincronización
+ * adicional. Las posiciones se reutilizan, por lo que encolar y desencolar no reservan memoria.
+ * Restricción: poll() debe invocarse siempre desde un solo hilo a la vez.
+ *
+ * @param <T> tipo de elementos que maneja la cola
+ * @author santiagodelcastillo
+ */
+public class MpscQueue<T> {
+
+    /** Elementos del búfer circular. */
+    private final AtomicReferenceArray<T> buffer;
+    /** Secuencia esperada en cada posición: indica si está libre para producir o lista para consumir. */
+    private final AtomicLongArray sequences;
+    /** Máscara para traducir índices lógicos a posiciones (capacidad potencia de dos). */
+    private final int mask;
+    /** Próximo índice lógico que reservará un productor. */
+    private final AtomicLong producerIndex;
+    /** Próximo índice lógico que leerá el consumidor; solo lo modifica el consumidor. */
+    private volatile long consumerIndex;
+
+    /**
+     * Construye una cola con al menos la capacidad indicada (se redondea a potencia de dos).
+     * @param requestedCapacity cantidad mínima de elementos que puede contener (positiva)
+     */
+    public MpscQueue(int requestedCapacity) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y 2^30: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity);
+        if (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.producerIndex = new AtomicLong(0L);
+        this.consumerIndex = 0L;
+    }
+
+    /**
+     * Inserta un elemento al final. Seguro desde cualquier hilo.
+     * @param value elemento a encolar (no nulo)
+     * @return true si se encoló; false si la cola está llena
+     */
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("La cola no admite elementos nulos");
+        }
+        while (true) {
+            long position = producerIndex.get();
+            int slot = (int) (position & mask);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0L) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(slot, value);
+                    // Publicar la secuencia hace visible el elemento al consumidor
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (difference < 0L) {
+                return false;
+            }
+            // difference > 0: otro productor tomó la posición; se reintenta con el índice actualizado
+        }
+    }
+
+    /**
+     * Retira el elemento al frente. Solo debe invocarlo el consumidor.
+     * @return elemento retirado o null si la cola está vacía (o el siguiente productor aún no publicó)
+     */
+    public T poll() {
+        long position = consumerIndex;
+        int slot = (int) (position & mask);
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        T value = buffer.get(slot);
+        buffer.lazySet(slot, null);
+        // Libera la posición para la siguiente vuelta del búfer
+        sequences.set(slot, position + mask + 1);
+        consumerIndex = position + 1;
+        return value;
+    }
+
+    /**
+     * Cantidad aproximada de elementos; exacta cuando no hay operaciones concurrentes.
+     * @return tamaño estimado (nunca negativo)
+     */
+    public int size() {
+        long size = producerIndex.get() - consumerIndex;
+        return size <= 0 ? 0 : (int) Math.min(capacity(), size);
+    }
+
+    /**
+     * Indica si la cola aparenta estar vacía.
+     * @return true si no hay elementos reservados por productores
+     */
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex;
+    }
+
+    /**
+     * Capacidad efectiva del búfer.
+     * @return cantidad máxima de elementos
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
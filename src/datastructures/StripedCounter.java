@@ -0,0 +1,90 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * StripedCounter es un contador de 64 bits repartido en celdas, cada una en su propia línea de
+ * caché. Cada hilo suma en la celda que le corresponde por su identificador con una única
+ * instrucción atómica (getAndAdd), así que registrar nunca reintenta ni espera a otros hilos y
+ * varios núcleos no compiten por la misma línea. Leer el total recorre todas las celdas; la suma
+ * es exacta cuando no hay escrituras concurrentes.
+ *
+ * @author santiagodelcastillo
+ */
+public class StripedCounter {
+
+    /** Longs por línea de caché de 64 bytes; solo se usa la primera posición de cada bloque. */
+    private static final int CELL_STRIDE = 8;
+
+    /** Celdas separadas por CELL_STRIDE posiciones. */
+    private final AtomicLongArray cells;
+    /** Máscara para elegir la celda (cantidad de celdas potencia de dos). */
+    private final int mask;
+
+    /**
+     * Construye un contador con una celda por procesador disponible (redondeado a potencia de dos).
+     */
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construye un contador con al menos la cantidad de celdas indicada.
+     * @param requestedStripes cantidad mínima de celdas (entre 1 y 2^16)
+     */
+    public StripedCounter(int requestedStripes) {
+        if (requestedStripes <= 0 || requestedStripes > (1 << 16)) {
+            throw new IllegalArgumentException("La cantidad de celdas debe estar entre 1 y 2^16: " + requestedStripes);
+        }
+        int stripes = Integer.highestOneBit(requestedStripes);
+        if (stripes < requestedStripes) {
+            stripes <<= 1;
+        }
+        this.cells = new AtomicLongArray(stripes * CELL_STRIDE);
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Suma uno al contador.
+     */
+    public void increment() {
+        cells.getAndAdd(cellIndex(), 1L);
+    }
+
+    /**
+     * Suma el valor indicado al contador.
+     * @param delta cantidad a sumar (puede ser negativa)
+     */
+    public void add(long delta) {
+        cells.getAndAdd(cellIndex(), delta);
+    }
+
+    /**
+     * Devuelve la suma de todas las celdas.
+     * @return valor acumulado
+     */
+    public long sum() {
+        long total = 0L;
+        for (int i = 0; i < cells.length(); i += CELL_STRIDE) {
+            total += cells.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Vuelve el contador a cero. Las sumas concurrentes pueden sobrevivir al reinicio.
+     */
+    public void reset() {
+        for (int i = 0; i < cells.length(); i += CELL_STRIDE) {
+            cells.set(i, 0L);
+        }
+    }
+
+    private int cellIndex() {
+        return ((int) Thread.currentThread().threadId() & mask) * CELL_STRIDE;
+    }
+}
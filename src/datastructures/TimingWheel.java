@@ -0,0 +1,238 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+/**
+ * TimingWheel es una rueda de tiempo jerárquica que programa enteros (por ejemplo, PID) para un
+ * instante discreto (un ciclo del reloj). Cada nivel tiene 64 ranuras y cubre 64 veces el rango
+ * del nivel anterior; una entrada se guarda en el nivel del bloque de 6 bits más alto en que su
+ * vencimiento difiere del instante actual, y baja ("cascada") de nivel cuando el reloj cruza el
+ * límite de su ranura. Así programar cuesta O(1) y avanzar un instante cuesta O(vencidas) más una
+ * cascada amortizada, sin recorrer las entradas pendientes.
+ *
+ * Las entradas con el mismo vencimiento salen en el orden en que se programaron. No es segura
+ * para hilos: el llamador debe sincronizar el acceso.
+ *
+ * @author santiagodelcastillo
+ */
+public class TimingWheel {
+
+    /** Bits de instante que resuelve cada nivel. */
+    private static final int BITS_PER_LEVEL = 6;
+    /** Ranuras por nivel. */
+    private static final int SLOTS = 1 << BITS_PER_LEVEL;
+    private static final int SLOT_MASK = SLOTS - 1;
+    /** Niveles necesarios para cubrir cualquier instante de 64 bits. */
+    private static final int LEVELS = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+
+    /** Valores por nivel y ranura; las ranuras se crean al usarse por primera vez. */
+    private final IntArrayList[][] values;
+    /** Vencimientos paralelos a values. */
+    private final LongArrayList[][] deadlines;
+    /** Último instante alcanzado. */
+    private long currentTime;
+    /** Número de entradas pendientes. */
+    private int size;
+
+    /**
+     * Construye una rueda vacía cuyo instante actual es 0.
+     */
+    public TimingWheel() {
+        this(0L);
+    }
+
+    /**
+     * Construye una rueda vacía a partir del instante indicado.
+     * @param startTime instante actual inicial (no negativo)
+     */
+    public TimingWheel(long startTime) {
+        if (startTime < 0L) {
+            throw new IllegalArgumentException("El instante inicial no puede ser negativo: " + startTime);
+        }
+        this.values = new IntArrayList[LEVELS][SLOTS];
+        this.deadlines = new LongArrayList[LEVELS][SLOTS];
+        this.currentTime = startTime;
+        this.size = 0;
+    }
+
+    /**
+     * Programa un valor para el instante indicado en O(1).
+     * @param value valor a entregar al vencer
+     * @param deadline instante de vencimiento, posterior al instante actual
+     */
+    public void schedule(int value, long deadline) {
+        if (deadline <= currentTime) {
+            throw new IllegalArgumentException("El vencimiento " + deadline
+                    + " debe ser posterior al instante actual " + currentTime);
+        }
+        place(value, deadline);
+        size++;
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado y agrega a due, en orden de vencimiento, los
+     * valores cuyo vencimiento quedó alcanzado. Los tramos sin vencimientos ni cascadas se
+     * saltan de una vez, por lo que el costo no depende de la distancia recorrida.
+     * @param time nuevo instante actual; si no es posterior al actual no se hace nada
+     * @param due lista donde se agregan los valores vencidos
+     * @return cantidad de valores agregados
+     */
+    public int advanceTo(long time, IntArrayList due) {
+        int delivered = 0;
+        while (currentTime < time) {
+            long next = size == 0 ? Long.MAX_VALUE : nextEventTime();
+            if (next > time) {
+                currentTime = time;
+                break;
+            }
+            currentTime = next;
+            cascade();
+            delivered += drain(values[0][(int) (currentTime & SLOT_MASK)],
+                    deadlines[0][(int) (currentTime & SLOT_MASK)], due);
+        }
+        return delivered;
+    }
+
+    /**
+     * Último instante alcanzado por la rueda.
+     * @return instante actual
+     */
+    public long currentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Número de entradas pendientes.
+     * @return entradas programadas que aún no vencieron
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indica si no hay entradas pendientes.
+     * @return true si la rueda está vacía
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copia las entradas pendientes (sin orden garantizado) en las listas indicadas.
+     * @param pendingValues lista donde se agregan los valores
+     * @param pendingDeadlines lista paralela donde se agregan sus vencimientos
+     */
+    public void snapshot(IntArrayList pendingValues, LongArrayList pendingDeadlines) {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                IntArrayList slotValues = values[level][slot];
+                if (slotValues == null) {
+                    continue;
+                }
+                LongArrayList slotDeadlines = deadlines[level][slot];
+                for (int i = 0; i < slotValues.size(); i++) {
+                    pendingValues.add(slotValues.get(i));
+                    pendingDeadlines.add(slotDeadlines.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta todas las entradas pendientes conservando el instante actual.
+     */
+    public void clear() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if (values[level][slot] != null) {
+                    values[level][slot].clear();
+                    deadlines[level][slot].clear();
+                }
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Calcula el próximo instante en que vence una ranura del nivel 0 o baja de nivel una ranura
+     * ocupada. Recorre a lo sumo las ranuras de cada nivel posteriores a la actual.
+     * @return instante del próximo evento, o Long.MAX_VALUE si no hay ninguno
+     */
+    private long nextEventTime() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS_PER_LEVEL * level;
+            int currentSlot = (int) ((currentTime >>> shift) & SLOT_MASK);
+            for (int slot = currentSlot + 1; slot < SLOTS; slot++) {
+                IntArrayList slotValues = values[level][slot];
+                if (slotValues != null && !slotValues.isEmpty()) {
+                    // Los niveles inferiores ya se revisaron: sus eventos caen antes de este límite
+                    long windowStart = shift + BITS_PER_LEVEL >= Long.SIZE
+                            ? 0L
+                            : currentTime & -(1L << (shift + BITS_PER_LEVEL));
+                    return windowStart + ((long) slot << shift);
+                }
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Redistribuye hacia niveles inferiores las ranuras cuyo límite acaba de cruzar el reloj,
+     * empezando por el nivel más alto para que una entrada pueda bajar varios niveles a la vez.
+     */
+    private void cascade() {
+        int topLevel = 0;
+        while (topLevel + 1 < LEVELS && (currentTime & ((1L << (BITS_PER_LEVEL * (topLevel + 1))) - 1)) == 0L) {
+            topLevel++;
+        }
+        for (int level = topLevel; level > 0; level--) {
+            int slot = (int) ((currentTime >>> (BITS_PER_LEVEL * level)) & SLOT_MASK);
+            IntArrayList slotValues = values[level][slot];
+            if (slotValues == null || slotValues.isEmpty()) {
+                continue;
+            }
+            LongArrayList slotDeadlines = deadlines[level][slot];
+            for (int i = 0; i < slotValues.size(); i++) {
+                place(slotValues.get(i), slotDeadlines.get(i));
+            }
+            slotValues.clear();
+            slotDeadlines.clear();
+        }
+    }
+
+    /**
+     * Mueve las entradas de una ranura del nivel 0 (todas vencen en el instante actual) a due.
+     */
+    private int drain(IntArrayList slotValues, LongArrayList slotDeadlines, IntArrayList due) {
+        if (slotValues == null || slotValues.isEmpty()) {
+            return 0;
+        }
+        int count = slotValues.size();
+        for (int i = 0; i < count; i++) {
+            due.add(slotValues.get(i));
+        }
+        slotValues.clear();
+        slotDeadlines.clear();
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Guarda la entrada en la ranura que le corresponde respecto del instante actual. Un
+     * vencimiento igual al instante actual (posible al bajar de nivel) va a la ranura del nivel 0
+     * que se vacía a continuación.
+     */
+    private void place(int value, long deadline) {
+        long difference = deadline ^ currentTime;
+        int level = difference == 0L ? 0 : (63 - Long.numberOfLeadingZeros(difference)) / BITS_PER_LEVEL;
+        int slot = (int) ((deadline >>> (BITS_PER_LEVEL * level)) & SLOT_MASK);
+        if (values[level][slot] == null) {
+            values[level][slot] = new IntArrayList();
+            deadlines[level][slot] = new LongArrayList();
+        }
+        values[level][slot].add(value);
+        deadlines[level][slot].add(deadline);
+    }
+}
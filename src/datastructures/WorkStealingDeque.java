@@ -0,0 +1,147 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * WorkStealingDeque implementa la deque de robo de trabajo de Chase-Lev sin bloqueos.
+ * El dueño inserta por el fondo (pushBottom) y cualquier hilo, incluido el dueño, retira por el
+ * tope (steal, orden FIFO) con una sola operación CAS. El sistema operativo no usa la variante
+ * LIFO del dueño (popBottom de Chase-Lev): los expropiados deben salir en el orden en que
+ * llegaron para respetar el turno de RR. El arreglo circular crece duplicando su tamaño cuando
+ * se llena.
+ * Restricción: pushBottom no debe ejecutarse de forma concurrente consigo mismo (un único dueño
+ * a la vez); steal sí puede invocarse desde cualquier hilo en cualquier momento.
+ *
+ * @param <T> tipo de elementos que maneja la deque
+ * @author santiagodelcastillo
+ */
+public class WorkStealingDeque<T> {
+
+    /** Capacidad inicial del arreglo circular (potencia de dos). */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Índice del próximo elemento a robar; solo avanza mediante CAS. */
+    private final AtomicLong top;
+    /** Índice de la próxima posición libre en el fondo; solo lo modifica el dueño. */
+    private volatile long bottom;
+    /** Arreglo circular de elementos; se reemplaza al crecer. */
+    private volatile AtomicReferenceArray<T> buffer;
+
+    /**
+     * Construye una deque vacía.
+     */
+    public WorkStealingDeque() {
+        this.top = new AtomicLong(0L);
+        this.bottom = 0L;
+        this.buffer = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Inserta un elemento en el fondo. Solo debe invocarlo el dueño.
+     * @param value elemento a insertar (no nulo)
+     */
+    public void pushBottom(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("La deque no admite elementos nulos");
+        }
+        long b = bottom;
+        long t = top.get();
+        AtomicReferenceArray<T> array = buffer;
+        if (b - t >= array.length()) {
+            array = grow(array, b, t);
+            buffer = array;
+        }
+        array.set(index(b, array), value);
+        bottom = b + 1;
+    }
+
+    /**
+     * Roba el elemento del tope (el más antiguo). Seguro desde cualquier hilo.
+     * @return elemento robado o null si la deque está vacía o se perdió la carrera con otro hilo
+     */
+    public T steal() {
+        long t = top.get();
+        long b = bottom;
+        if (t >= b) {
+            return null;
+        }
+        AtomicReferenceArray<T> array = buffer;
+        T value = array.get(index(t, array));
+        if (!top.compareAndSet(t, t + 1)) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Consulta el elemento del tope (el próximo que devolvería steal) sin retirarlo. Es una
+     * lectura de mejor esfuerzo: con operaciones concurrentes el elemento puede ya no estar.
+     * @return elemento del tope o null si la deque aparenta estar vacía
+     */
+    public T peekTop() {
+        long t = top.get();
+        long b = bottom;
+        if (t >= b) {
+            return null;
+        }
+        AtomicReferenceArray<T> array = buffer;
+        return array.get(index(t, array));
+    }
+
+    /**
+     * Cantidad aproximada de elementos; exacta cuando no hay operaciones concurrentes.
+     * @return tamaño estimado (nunca negativo)
+     */
+    public int size() {
+        long size = bottom - top.get();
+        return size <= 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Indica si la deque aparenta estar vacía.
+     * @return true si no hay elementos visibles
+     */
+    public boolean isEmpty() {
+        return bottom <= top.get();
+    }
+
+    /**
+     * Obtiene una copia de los elementos del tope al fondo. Es una lectura de mejor esfuerzo:
+     * con operaciones concurrentes puede omitir o repetir algún elemento.
+     * @return arreglo con la instantánea de los elementos
+     */
+    public Object[] toArray() {
+        long t = top.get();
+        long b = bottom;
+        AtomicReferenceArray<T> array = buffer;
+        int length = (int) Math.max(0L, Math.min(b - t, array.length()));
+        Object[] snapshot = new Object[length];
+        for (int i = 0; i < length; i++) {
+            snapshot[i] = array.get(index(t + i, array));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Duplica el arreglo circular copiando los elementos vivos entre top y bottom.
+     */
+    private AtomicReferenceArray<T> grow(AtomicReferenceArray<T> array, long b, long t) {
+        AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(array.length() * 2);
+        for (long i = t; i < b; i++) {
+            grown.set(index(i, grown), array.get(index(i, array)));
+        }
+        return grown;
+    }
+
+    /**
+     * Traduce un índice lógico a una posición del arreglo circular (longitud potencia de dos).
+     */
+    private static int index(long logicalIndex, AtomicReferenceArray<?> array) {
+        return (int) (logicalIndex & (array.length() - 1));
+    }
+}
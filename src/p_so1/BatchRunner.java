@@ -0,0 +1,499 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package p_so1;
+
+import core.CPU;
+import core.ContextSwitchCost;
+import core.MetricsRegistry;
+import core.OperatingSystem;
+import core.ProcessControlBlock;
+import core.ProcessState;
+import core.SimulationContext;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import scheduler.AdaptiveQuantumController;
+import scheduler.Feedback;
+import scheduler.PolicyType;
+import scheduler.RoundRobin;
+import util.IOHandler;
+
+/**
+ * BatchRunner ejecuta un barrido de parámetros: cada combinación de escenario, política,
+ * quantum de Round Robin, quantums de Feedback y capacidad de memoria se simula de forma
+ * aislada en modo headless sobre un ForkJoinPool, y al final se imprime una única tabla
+ * comparativa (opcionalmente también en CSV) junto con la mejor configuración por escenario.
+ * El quantum de RR solo varía en las celdas de Round Robin y los quantums de Feedback solo
+ * en las de Feedback, para no repetir simulaciones idénticas. Con --switch-cost todas las celdas
+ * cobran el mismo costo de cambio de contexto, así los barridos de quantum reflejan el sobrecosto
+ * de los quantums chicos; los ciclos dedicados a cargar procesos se exportan en su propia columna.
+ * Con --adaptive-quantum las celdas de Round Robin parten de su quantum y lo reajustan con
+ * AdaptiveQuantumController; los cambios de quantum se exportan en otra columna.
+ * Cada conjunto de --feedback fija tantos niveles como quantums tenga; --feedback-boost y
+ * --feedback-aging activan en las celdas de Feedback el boost periódico y el envejecimiento, y
+ * sus degradaciones y boosts se exportan en las dos últimas columnas.
+ *
+ * Uso: java -cp build/classes p_so1.BatchRunner [--scenarios=FCFS,RR] [--quanta=1,3,5]
+ *      [--feedback=1-2-3-4,2-4-6-8,1-2-4-8-16] [--feedback-boost=ciclos] [--feedback-aging=ciclos]
+ *      [--memory=2,4,8] [--switch-cost=1:2:8] [--adaptive-quantum] [--threads=N] [--csv=resultados.csv]
+ *
+ * @author santiagodelcastillo
+ */
+public final class BatchRunner {
+
+    /** Escenarios disponibles, en el mismo orden que el menú de P_so1. */
+    private static final String[] SCENARIO_NAMES = {"FCFS", "SPN", "HRRN", "SRTF", "RR", "FEEDBACK"};
+    /** Definición de cada escenario disponible (mismo índice que SCENARIO_NAMES). */
+    private static final P_so1.ProcessSpec[][] SCENARIOS = {
+        P_so1.SCENARIO_FCFS,
+        P_so1.SCENARIO_SPN,
+        P_so1.SCENARIO_HRRN,
+        P_so1.SCENARIO_SRTF,
+        P_so1.SCENARIO_RR,
+        P_so1.SCENARIO_FEEDBACK
+    };
+    /** Quantums de Round Robin evaluados por defecto. */
+    private static final int[] DEFAULT_QUANTA = {1, 2, 3, 4, 6, 8};
+    /** Quantums de Feedback evaluados por defecto (uno por nivel). */
+    private static final int[][] DEFAULT_FEEDBACK_QUANTA = {{1, 2, 3, 4}, {2, 4, 6, 8}, {1, 1, 2, 4}};
+    /** Capacidades de memoria evaluadas por defecto. */
+    private static final int[] DEFAULT_MEMORY_SIZES = {2, 4, 8};
+    /** Cantidad de celdas que una tarea simula sin volver a dividirse. */
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    private BatchRunner() {
+    }
+
+    public static void main(String[] args) {
+        Logger rootLogger = Logger.getLogger("");
+        rootLogger.setLevel(Level.WARNING);
+        for (Handler handler : rootLogger.getHandlers()) {
+            handler.setLevel(Level.WARNING);
+        }
+        SweepConfig config;
+        try {
+            config = SweepConfig.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println("❌ " + ex.getMessage());
+            return;
+        }
+
+        Cell[] cells = config.expandCells();
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(config.threads);
+        try {
+            pool.invoke(new SimulateCells(cells, 0, cells.length, config));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        printTable(cells);
+        printBestPerScenario(cells, config);
+        System.out.printf("%n%d simulaciones en %d ms con %d hilos%n", cells.length, elapsedMillis, config.threads);
+        if (config.csvPath != null) {
+            try {
+                writeCsv(cells, config.csvPath);
+                System.out.println("Resultados exportados a " + config.csvPath);
+            } catch (IOException ex) {
+                System.err.println("❌ No se pudo escribir el CSV: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una celda del barrido: crea un sistema operativo propio, programa los arribos en su
+     * ciclo y avanza el reloj hasta que todos los procesos terminan (mismo esquema que P_so1).
+     * Cada celda tiene su propio SimulationContext, así que no comparte PIDs ni quantums con otras.
+     * @param cell celda a simular; sus métricas se completan en el mismo objeto
+     * @param config opciones comunes a todas las celdas (costo de cambio de contexto, quantum
+     *               adaptativo, boost y envejecimiento de Feedback)
+     */
+    static void simulate(Cell cell, SweepConfig config) {
+        OperatingSystem os = new OperatingSystem(new SimulationContext());
+        os.setHeadlessMode(true);
+        os.setMaxProcessesInMemory(cell.memory);
+        os.setRoundRobinQuantum(cell.rrQuantum);
+        os.setContextSwitchCost(config.switchCost);
+        if (config.adaptiveQuantum) {
+            os.setAdaptiveQuantum(new AdaptiveQuantumController());
+        }
+        IOHandler ioHandler = new IOHandler(os);
+        CPU cpu = new CPU(os, ioHandler);
+        os.attachCpu(cpu);
+        os.setFeedbackQuanta(cell.feedbackQuanta);
+        os.setFeedbackBoostInterval(config.feedbackBoost);
+        os.setFeedbackAgingThreshold(config.feedbackAging);
+        os.setSchedulingPolicy(cell.policy);
+        runToCompletion(os, cpu, cell);
+    }
+
+    /**
+     * Avanza el reloj de la celda hasta que terminan todos sus procesos o se alcanza el límite
+     * de ciclos de P_so1, y registra sus métricas.
+     */
+    private static void runToCompletion(OperatingSystem os, CPU cpu, Cell cell) {
+        P_so1.ProcessSpec[] specs = cell.scenario;
+        ProcessControlBlock[] pcbs = new ProcessControlBlock[specs.length];
+        long[] completionCycles = new long[specs.length];
+        int finished = 0;
+        for (int i = 0; i < specs.length; i++) {
+            pcbs[i] = createProcess(os.getContext(), specs[i]);
+            os.scheduleArrival(pcbs[i], specs[i].arribo);
+        }
+        while (true) {
+            long cycle = os.getGlobalClockCycle();
+            if (finished == specs.length || cycle >= P_so1.MAX_CYCLES) {
+                break;
+            }
+            os.advanceClock();
+            for (int i = 0; i < specs.length; i++) {
+                if (completionCycles[i] == 0L && pcbs[i].getProcessState() == ProcessState.TERMINADO) {
+                    completionCycles[i] = os.getGlobalClockCycle();
+                    finished++;
+                }
+            }
+        }
+        os.stopSystemClock();
+        MetricsRegistry.PolicySnapshot policyMetrics = os.getMetrics().snapshot(cell.policy);
+        cell.record(specs, pcbs, completionCycles, finished, os.getGlobalClockCycle(), cpu.getBusyCycles(),
+                cpu.getSwitchCycles(), os.getMetrics().getQuantumChangeCount(),
+                policyMetrics.getFeedbackDemotions(), policyMetrics.getFeedbackBoosts());
+    }
+
+    private static ProcessControlBlock createProcess(SimulationContext context, P_so1.ProcessSpec spec) {
+        ProcessControlBlock pcb = context.newProcess(spec.nombre);
+        pcb.setTotalInstructions(spec.totalInstrucciones);
+        pcb.setIOBound(spec.ioBound);
+        pcb.setIoExceptionCycle(spec.cicloIO);
+        pcb.setIoDuration(spec.duracionIO);
+        return pcb;
+    }
+
+    private static void printTable(Cell[] cells) {
+        String header = String.format("%-9s %-11s %4s %-9s %4s %7s %9s %9s %10s %7s",
+                "escenario", "política", "q", "fb", "mem", "ciclos", "espera", "retorno", "throughput", "uso");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        String previousScenario = null;
+        for (Cell cell : cells) {
+            if (previousScenario != null && !previousScenario.equals(cell.scenarioName)) {
+                System.out.println();
+            }
+            previousScenario = cell.scenarioName;
+            System.out.printf(Locale.ROOT, "%-9s %-11s %4s %-9s %4d %7d %9.2f %9.2f %10.4f %6.1f%%%s%n",
+                    cell.scenarioName,
+                    cell.policy,
+                    cell.policy == PolicyType.ROUND_ROBIN ? Integer.toString(cell.rrQuantum) : "-",
+                    cell.policy == PolicyType.FEEDBACK ? cell.feedbackLabel() : "-",
+                    cell.memory,
+                    cell.totalCycles,
+                    cell.averageWaiting,
+                    cell.averageTurnaround,
+                    cell.throughput,
+                    cell.utilization * 100.0,
+                    cell.isComplete() ? "" : "  (incompleta)");
+        }
+    }
+
+    private static void printBestPerScenario(Cell[] cells, SweepConfig config) {
+        System.out.println("\nMejor configuración por escenario (menor espera promedio; desempata el retorno):");
+        for (String scenarioName : config.scenarioNames) {
+            Cell best = null;
+            for (Cell cell : cells) {
+                if (!cell.scenarioName.equals(scenarioName) || !cell.isComplete()) {
+                    continue;
+                }
+                if (best == null
+                        || cell.averageWaiting < best.averageWaiting
+                        || (cell.averageWaiting == best.averageWaiting && cell.averageTurnaround < best.averageTurnaround)) {
+                    best = cell;
+                }
+            }
+            if (best == null) {
+                System.out.printf("   %-9s sin simulaciones completas%n", scenarioName);
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "   %-9s %s%s%s mem=%d → espera=%.2f retorno=%.2f%n",
+                    scenarioName,
+                    best.policy,
+                    best.policy == PolicyType.ROUND_ROBIN ? " q=" + best.rrQuantum : "",
+                    best.policy == PolicyType.FEEDBACK ? " fb=" + best.feedbackLabel() : "",
+                    best.memory,
+                    best.averageWaiting,
+                    best.averageTurnaround);
+        }
+    }
+
+    private static void writeCsv(Cell[] cells, String path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8))) {
+            writer.println("escenario,politica,quantum_rr,quantums_feedback,memoria,ciclos,completados,procesos,espera_promedio,retorno_promedio,throughput,utilizacion,ciclos_cambio_contexto,cambios_quantum,degradaciones_feedback,boosts_feedback");
+            for (Cell cell : cells) {
+                writer.printf(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%d,%d,%.4f,%.4f,%.6f,%.4f,%d,%d,%d,%d%n",
+                        cell.scenarioName,
+                        cell.policy,
+                        cell.policy == PolicyType.ROUND_ROBIN ? Integer.toString(cell.rrQuantum) : "",
+                        cell.policy == PolicyType.FEEDBACK ? cell.feedbackLabel() : "",
+                        cell.memory,
+                        cell.totalCycles,
+                        cell.completed,
+                        cell.scenario.length,
+                        cell.averageWaiting,
+                        cell.averageTurnaround,
+                        cell.throughput,
+                        cell.utilization,
+                        cell.switchCycles,
+                        cell.quantumChanges,
+                        cell.feedbackDemotions,
+                        cell.feedbackBoosts);
+            }
+        }
+    }
+
+    /**
+     * Tarea fork-join que divide el rango de celdas hasta un umbral y simula cada celda.
+     */
+    private static final class SimulateCells extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Cell[] cells;
+        private final int from;
+        private final int to;
+        private final SweepConfig config;
+
+        SimulateCells(Cell[] cells, int from, int to, SweepConfig config) {
+            this.cells = cells;
+            this.from = from;
+            this.to = to;
+            this.config = config;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    simulate(cells[i], config);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SimulateCells(cells, from, middle, config),
+                    new SimulateCells(cells, middle, to, config));
+        }
+    }
+
+    /**
+     * Una combinación del barrido y sus métricas una vez simulada.
+     */
+    static final class Cell {
+        final String scenarioName;
+        final P_so1.ProcessSpec[] scenario;
+        final PolicyType policy;
+        final int rrQuantum;
+        final int[] feedbackQuanta;
+        final int memory;
+        private long totalCycles;
+        private int completed;
+        private double averageWaiting;
+        private double averageTurnaround;
+        private double throughput;
+        private double utilization;
+        private long switchCycles;
+        private long quantumChanges;
+        private long feedbackDemotions;
+        private long feedbackBoosts;
+
+        Cell(String scenarioName, P_so1.ProcessSpec[] scenario, PolicyType policy, int rrQuantum, int[] feedbackQuanta, int memory) {
+            this.scenarioName = scenarioName;
+            this.scenario = scenario;
+            this.policy = policy;
+            this.rrQuantum = rrQuantum;
+            this.feedbackQuanta = feedbackQuanta;
+            this.memory = memory;
+        }
+
+        /**
+         * Calcula las métricas de la celda. La espera se mide como en P_so1 (primer ciclo en CPU
+         * menos ciclo de llegada) y el retorno como ciclo de finalización menos ciclo de llegada.
+         * La utilización solo cuenta ciclos que ejecutaron instrucciones, no los de cambio de contexto.
+         */
+        void record(P_so1.ProcessSpec[] specs, ProcessControlBlock[] pcbs, long[] completionCycles,
+                    int completed, long totalCycles, long busyCycles, long switchCycles, long quantumChanges,
+                    long feedbackDemotions, long feedbackBoosts) {
+            this.totalCycles = totalCycles;
+            this.switchCycles = switchCycles;
+            this.quantumChanges = quantumChanges;
+            this.feedbackDemotions = feedbackDemotions;
+            this.feedbackBoosts = feedbackBoosts;
+            this.completed = completed;
+            double waiting = 0.0;
+            double turnaround = 0.0;
+            for (int i = 0; i < specs.length; i++) {
+                long firstExecution = pcbs[i] != null ? pcbs[i].getFirstExecutionCycle() : -1L;
+                long start = firstExecution >= 0 ? firstExecution : totalCycles;
+                waiting += Math.max(0L, start - specs[i].arribo);
+                long end = completionCycles[i] > 0 ? completionCycles[i] : totalCycles;
+                turnaround += Math.max(0L, end - specs[i].arribo);
+            }
+            int count = Math.max(1, specs.length);
+            this.averageWaiting = waiting / count;
+            this.averageTurnaround = turnaround / count;
+            this.throughput = totalCycles > 0 ? completed / (double) totalCycles : 0.0;
+            this.utilization = totalCycles > 0 ? busyCycles / (double) totalCycles : 0.0;
+        }
+
+        boolean isComplete() {
+            return completed == scenario.length;
+        }
+
+        String feedbackLabel() {
+            StringBuilder label = new StringBuilder();
+            for (int i = 0; i < feedbackQuanta.length; i++) {
+                if (i > 0) {
+                    label.append('-');
+                }
+                label.append(feedbackQuanta[i]);
+            }
+            return label.toString();
+        }
+    }
+
+    /**
+     * Dimensiones del barrido leídas de la línea de comandos.
+     */
+    private static final class SweepConfig {
+        String[] scenarioNames = SCENARIO_NAMES.clone();
+        int[] quanta = DEFAULT_QUANTA.clone();
+        int[][] feedbackQuanta = DEFAULT_FEEDBACK_QUANTA.clone();
+        int[] memorySizes = DEFAULT_MEMORY_SIZES.clone();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ContextSwitchCost switchCost = ContextSwitchCost.NONE;
+        boolean adaptiveQuantum;
+        int feedbackBoost;
+        int feedbackAging;
+        String csvPath;
+
+        static SweepConfig parse(String[] args) {
+            SweepConfig config = new SweepConfig();
+            for (String arg : args) {
+                if (arg.startsWith("--scenarios=")) {
+                    config.scenarioNames = parseScenarios(arg.substring("--scenarios=".length()));
+                } else if (arg.startsWith("--quanta=")) {
+                    config.quanta = parseIntList(arg.substring("--quanta=".length()), ",");
+                    for (int quantum : config.quanta) {
+                        if (!RoundRobin.isSupportedQuantum(quantum)) {
+                            throw new IllegalArgumentException("Quantum inválido para Round Robin: " + quantum);
+                        }
+                    }
+                } else if (arg.startsWith("--feedback=")) {
+                    String[] sets = arg.substring("--feedback=".length()).split(",");
+                    config.feedbackQuanta = new int[sets.length][];
+                    for (int i = 0; i < sets.length; i++) {
+                        config.feedbackQuanta[i] = Feedback.parseQuanta(sets[i]);
+                    }
+                } else if (arg.startsWith("--feedback-boost=")) {
+                    config.feedbackBoost = parseIntList(arg.substring("--feedback-boost=".length()), ",")[0];
+                } else if (arg.startsWith("--feedback-aging=")) {
+                    config.feedbackAging = parseIntList(arg.substring("--feedback-aging=".length()), ",")[0];
+                } else if (arg.startsWith("--memory=")) {
+                    config.memorySizes = parseIntList(arg.substring("--memory=".length()), ",");
+                } else if (arg.startsWith("--switch-cost=")) {
+                    config.switchCost = ContextSwitchCost.parse(arg.substring("--switch-cost=".length()));
+                } else if (arg.equals("--adaptive-quantum")) {
+                    config.adaptiveQuantum = true;
+                } else if (arg.startsWith("--threads=")) {
+                    config.threads = parseIntList(arg.substring("--threads=".length()), ",")[0];
+                } else if (arg.startsWith("--csv=")) {
+                    config.csvPath = arg.substring("--csv=".length());
+                } else {
+                    throw new IllegalArgumentException("Argumento no reconocido: " + arg);
+                }
+            }
+            if (config.threads <= 0) {
+                throw new IllegalArgumentException("La cantidad de hilos debe ser positiva");
+            }
+            if (config.feedbackBoost < 0 || config.feedbackAging < 0) {
+                throw new IllegalArgumentException("El boost y el envejecimiento de Feedback no pueden ser negativos");
+            }
+            return config;
+        }
+
+        /**
+         * Genera las celdas en orden escenario → política → memoria → quantum.
+         */
+        Cell[] expandCells() {
+            PolicyType[] policies = PolicyType.values();
+            int perMemory = 0;
+            for (PolicyType policy : policies) {
+                perMemory += policy == PolicyType.ROUND_ROBIN ? quanta.length
+                        : policy == PolicyType.FEEDBACK ? feedbackQuanta.length : 1;
+            }
+            Cell[] cells = new Cell[scenarioNames.length * memorySizes.length * perMemory];
+            int[] defaultFeedback = DEFAULT_FEEDBACK_QUANTA[0];
+            int index = 0;
+            for (String scenarioName : scenarioNames) {
+                P_so1.ProcessSpec[] scenario = SCENARIOS[scenarioIndex(scenarioName)];
+                for (PolicyType policy : policies) {
+                    for (int memory : memorySizes) {
+                        if (policy == PolicyType.ROUND_ROBIN) {
+                            for (int quantum : quanta) {
+                                cells[index++] = new Cell(scenarioName, scenario, policy, quantum, defaultFeedback, memory);
+                            }
+                        } else if (policy == PolicyType.FEEDBACK) {
+                            for (int[] levels : feedbackQuanta) {
+                                cells[index++] = new Cell(scenarioName, scenario, policy, RoundRobin.DEFAULT_QUANTUM, levels, memory);
+                            }
+                        } else {
+                            cells[index++] = new Cell(scenarioName, scenario, policy, RoundRobin.DEFAULT_QUANTUM, defaultFeedback, memory);
+                        }
+                    }
+                }
+            }
+            return cells;
+        }
+
+        private static String[] parseScenarios(String value) {
+            String[] names = value.split(",");
+            for (int i = 0; i < names.length; i++) {
+                names[i] = names[i].trim().toUpperCase(Locale.ROOT);
+                scenarioIndex(names[i]);
+            }
+            return names;
+        }
+
+        private static int scenarioIndex(String name) {
+            for (int i = 0; i < SCENARIO_NAMES.length; i++) {
+                if (SCENARIO_NAMES[i].equals(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Escenario desconocido: " + name + " (disponibles: " + String.join(",", SCENARIO_NAMES) + ")");
+        }
+
+        private static int[] parseIntList(String value, String separator) {
+            String[] parts = value.split(separator);
+            int[] numbers = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    numbers[i] = Integer.parseInt(parts[i].trim());
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Valor numérico inválido: " + parts[i]);
+                }
+                if (numbers[i] <= 0) {
+                    throw new IllegalArgumentException("Los valores deben ser positivos: " + parts[i]);
+                }
+            }
+            return numbers;
+        }
+    }
+}
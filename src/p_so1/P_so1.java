@@ -4,7 +4,26 @@
  */
 package p_so1;
 
+import core.CPU;
+import core.ContextSwitchCost;
+import core.Instrumentation;
+import core.MetricsRegistry;
+import core.OperatingSystem;
+import core.ProcessControlBlock;
+import core.SimulatorLog;
+import datastructures.IntIntHashMap;
+import java.text.MessageFormat;
+import java.util.Scanner;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import scheduler.AdaptiveQuantumController;
+import scheduler.Feedback;
+import scheduler.PolicyType;
 import ui.NewMainFrame;
+import util.IOHandler;
+import util.MetricsCalculator;
 
 /*
  * Simulador Interactivo de Algoritmos de Planificación de Procesos.
@@ -16,7 +35,29 @@ public class P_so1 {
     /* Duración de cada ciclo del reloj simulado. */
     private static final long CYCLE_DURATION_MS = 100L;
     /* Límite de ciclos antes de abortar la simulación. */
-    private static final int MAX_CYCLES = 1000;
+    static final int MAX_CYCLES = 1000;
+    /* Argumento de línea de comandos que ejecuta todos los escenarios sin esperas reales. */
+    private static final String HEADLESS_FLAG = "--headless";
+    /* Prefijo del argumento que define la cantidad de núcleos en modo headless (por ejemplo --cpus=4). */
+    private static final String CPUS_FLAG_PREFIX = "--cpus=";
+    /* Argumento que ejecuta cada núcleo en su propio hilo trabajador. */
+    private static final String PARALLEL_CORES_FLAG = "--parallel-cores";
+    /* Argumento que activa las colas locales por núcleo con robo de trabajo. */
+    private static final String PER_CORE_QUEUES_FLAG = "--per-core-queues";
+    /* Prefijo del argumento que define cada cuántos ciclos se rebalancean las colas locales. */
+    private static final String BALANCE_INTERVAL_FLAG_PREFIX = "--balance-interval=";
+    /* Argumento que publica los arribos en la cola de admisión sin bloqueos. */
+    private static final String LOCK_FREE_ADMISSION_FLAG = "--lock-free-admission";
+    /* Argumento que activa el quantum adaptativo de Round Robin. */
+    private static final String ADAPTIVE_QUANTUM_FLAG = "--adaptive-quantum";
+    /* Prefijo del argumento que define el costo de cambio de contexto (latencia[:penalización:ventana]). */
+    private static final String SWITCH_COST_FLAG_PREFIX = "--switch-cost=";
+    /* Prefijo del argumento que define los niveles de Feedback y sus quantums (por ejemplo 1-2-4-8-16). */
+    private static final String FEEDBACK_QUANTA_FLAG_PREFIX = "--feedback-quanta=";
+    /* Prefijo del argumento que define cada cuántos ciclos Feedback devuelve todos los procesos al nivel 0. */
+    private static final String FEEDBACK_BOOST_FLAG_PREFIX = "--feedback-boost=";
+    /* Prefijo del argumento que define la espera en listos tras la que Feedback sube un nivel a un proceso. */
+    private static final String FEEDBACK_AGING_FLAG_PREFIX = "--feedback-aging=";
     /** Quantum a utilizar para Round Robin. */
     private static final int ROUND_ROBIN_QUANTUM = 3;
 
@@ -40,7 +81,7 @@ public class P_so1 {
     private static final String COLOR_ERROR = "\u001B[31m";
 
     /* Escenario optimizado para FCFS: resalta el efecto convoy y suspensiones por memoria. */
-    private static final ProcessSpec[] SCENARIO_FCFS = new ProcessSpec[] {
+    static final ProcessSpec[] SCENARIO_FCFS = new ProcessSpec[] {
         new ProcessSpec("FCFS-Largo", 32, 0, false, -1, 0),
         new ProcessSpec("FCFS-IO-A", 14, 0, true, 4, 3),
         new ProcessSpec("FCFS-Corto", 6, 1, false, -1, 0),
@@ -50,7 +91,7 @@ public class P_so1 {
     };
 
     /* Escenario optimizado para SPN: enfatiza la selección del proceso más corto disponible. */
-    private static final ProcessSpec[] SCENARIO_SPN = new ProcessSpec[] {
+    static final ProcessSpec[] SCENARIO_SPN = new ProcessSpec[] {
         new ProcessSpec("SPN-Base", 20, 0, false, -1, 0),
         new ProcessSpec("SPN-Corto-IO", 5, 0, true, 2, 2),
         new ProcessSpec("SPN-Flash", 3, 1, false, -1, 0),
@@ -60,7 +101,7 @@ public class P_so1 {
     };
 
     /* Escenario optimizado para HRRN: procesos cortos llegan tras esperas prolongadas. */
-    private static final ProcessSpec[] SCENARIO_HRRN = new ProcessSpec[] {
+    static final ProcessSpec[] SCENARIO_HRRN = new ProcessSpec[] {
         new ProcessSpec("HRRN-Largo", 28, 0, false, -1, 0),
         new ProcessSpec("HRRN-Medio", 12, 1, false, -1, 0),
         new ProcessSpec("HRRN-Corto-A", 5, 6, false, -1, 0),
@@ -69,7 +110,7 @@ public class P_so1 {
     };
 
     /* Escenario optimizado para SRTF: demuestra expropiaciones por tiempo restante. */
-    private static final ProcessSpec[] SCENARIO_SRTF = new ProcessSpec[] {
+    static final ProcessSpec[] SCENARIO_SRTF = new ProcessSpec[] {
         new ProcessSpec("SRTF-Largo", 30, 0, false, -1, 0),
         new ProcessSpec("SRTF-IO-1", 11, 1, true, 3, 3),
         new ProcessSpec("SRTF-Flash", 3, 2, false, -1, 0),
@@ -79,7 +120,7 @@ public class P_so1 {
     };
 
     /* Escenario optimizado para Round Robin: ilustra repartición equitativa y bloqueos. */
-    private static final ProcessSpec[] SCENARIO_RR = new ProcessSpec[] {
+    static final ProcessSpec[] SCENARIO_RR = new ProcessSpec[] {
         new ProcessSpec("RR-CPU-Pesado", 22, 0, false, -1, 0),
         new ProcessSpec("RR-IO-1", 13, 0, true, 4, 3),
         new ProcessSpec("RR-Medio", 12, 1, false, -1, 0),
@@ -89,7 +130,7 @@ public class P_so1 {
     };
 
     /* Escenario optimizado para Feedback: procesos descienden de nivel al agotar su quantum. */
-    private static final ProcessSpec[] SCENARIO_FEEDBACK = new ProcessSpec[] {
+    static final ProcessSpec[] SCENARIO_FEEDBACK = new ProcessSpec[] {
         new ProcessSpec("FB-Largo", 12, 0, false, -1, 0),
         new ProcessSpec("FB-Corto-A", 4, 0, false, -1, 0),
         new ProcessSpec("FB-Medio", 6, 1, false, -1, 0)
@@ -97,9 +138,44 @@ public class P_so1 {
 
     /*
      * Punto de entrada principal con menú interactivo.
-     * @param args argumentos de línea de comandos (no utilizados)
+     * Con el argumento --headless ejecuta todos los escenarios en modo rápido y termina;
+     * admite además --cpus=N para simular N núcleos, --parallel-cores para ejecutarlos en hilos propios,
+     * --per-core-queues para darles colas locales con robo de trabajo, --balance-interval=N y
+     * --lock-free-admission para admitir los arribos sin tomar la cerradura de estado,
+     * --switch-cost=L[:P:V] para cobrar ciclos por cada cambio de contexto, --adaptive-quantum
+     * para que Round Robin reajuste su quantum durante la simulación, y --feedback-quanta=Q0-Q1-...,
+     * --feedback-boost=N y --feedback-aging=N para los niveles, el boost y el envejecimiento de Feedback.
+     * @param args argumentos de línea de comandos
      */
     public static void main(String[] args) {
+        if (args != null && args.length > 0 && HEADLESS_FLAG.equals(args[0])) {
+            OpcionesNucleos opciones = new OpcionesNucleos();
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].startsWith(CPUS_FLAG_PREFIX)) {
+                    opciones.nucleos = leerCantidadNucleos(args[i].substring(CPUS_FLAG_PREFIX.length()));
+                } else if (PARALLEL_CORES_FLAG.equals(args[i])) {
+                    opciones.paralelo = true;
+                } else if (PER_CORE_QUEUES_FLAG.equals(args[i])) {
+                    opciones.colasPorNucleo = true;
+                } else if (LOCK_FREE_ADMISSION_FLAG.equals(args[i])) {
+                    opciones.admisionSinBloqueo = true;
+                } else if (args[i].startsWith(BALANCE_INTERVAL_FLAG_PREFIX)) {
+                    opciones.intervaloBalanceo = leerIntervaloBalanceo(args[i].substring(BALANCE_INTERVAL_FLAG_PREFIX.length()));
+                } else if (ADAPTIVE_QUANTUM_FLAG.equals(args[i])) {
+                    opciones.quantumAdaptativo = true;
+                } else if (args[i].startsWith(SWITCH_COST_FLAG_PREFIX)) {
+                    opciones.costoCambioContexto = leerCostoCambioContexto(args[i].substring(SWITCH_COST_FLAG_PREFIX.length()));
+                } else if (args[i].startsWith(FEEDBACK_QUANTA_FLAG_PREFIX)) {
+                    opciones.quantumsFeedback = leerQuantumsFeedback(args[i].substring(FEEDBACK_QUANTA_FLAG_PREFIX.length()));
+                } else if (args[i].startsWith(FEEDBACK_BOOST_FLAG_PREFIX)) {
+                    opciones.boostFeedback = leerCiclosFeedback(args[i].substring(FEEDBACK_BOOST_FLAG_PREFIX.length()), "boost");
+                } else if (args[i].startsWith(FEEDBACK_AGING_FLAG_PREFIX)) {
+                    opciones.envejecimientoFeedback = leerCiclosFeedback(args[i].substring(FEEDBACK_AGING_FLAG_PREFIX.length()), "envejecimiento");
+                }
+            }
+            ejecutarTodosHeadless(opciones);
+            return;
+        }
         configurarSalidaColoreada();
         Scanner scanner = new Scanner(System.in);
         boolean continuar = true;
@@ -112,22 +188,22 @@ public class P_so1 {
 
             switch (opcion) {
                 case 1:
-                    ejecutarEscenario("FCFS (First Come First Served)", PolicyType.FCFS, SCENARIO_FCFS);
+                    ejecutarEscenario("FCFS (First Come First Served)", PolicyType.FCFS, SCENARIO_FCFS, false);
                     break;
                 case 2:
-                    ejecutarEscenario("SPN (Shortest Process Next)", PolicyType.SPN, SCENARIO_SPN);
+                    ejecutarEscenario("SPN (Shortest Process Next)", PolicyType.SPN, SCENARIO_SPN, false);
                     break;
                 case 3:
-                    ejecutarEscenario("HRRN (Highest Response Ratio Next)", PolicyType.HRRN, SCENARIO_HRRN);
+                    ejecutarEscenario("HRRN (Highest Response Ratio Next)", PolicyType.HRRN, SCENARIO_HRRN, false);
                     break;
                 case 4:
-                    ejecutarEscenario("SRTF (Shortest Remaining Time First)", PolicyType.SRT, SCENARIO_SRTF);
+                    ejecutarEscenario("SRTF (Shortest Remaining Time First)", PolicyType.SRT, SCENARIO_SRTF, false);
                     break;
                 case 5:
-                    ejecutarEscenario("Round Robin (Quantum=3)", PolicyType.ROUND_ROBIN, SCENARIO_RR);
+                    ejecutarEscenario("Round Robin (Quantum=3)", PolicyType.ROUND_ROBIN, SCENARIO_RR, false);
                     break;
                 case 6:
-                    ejecutarEscenario("Feedback (Multilevel Queues)", PolicyType.FEEDBACK, SCENARIO_FEEDBACK);
+                    ejecutarEscenario("Feedback (Multilevel Queues)", PolicyType.FEEDBACK, SCENARIO_FEEDBACK, false);
                     break;
                 case 7:
                     continuar = false;
@@ -146,18 +222,112 @@ public class P_so1 {
         scanner.close();
     }
 
+    /*
+     * Ejecuta los seis escenarios en modo headless (sin esperas) e imprime solo los resultados.
+     * Pensado para corridas en CI o por lotes donde el tiempo real no aporta información.
+     * @param opciones configuración de núcleos de la simulación
+     */
+    private static void ejecutarTodosHeadless(OpcionesNucleos opciones) {
+        configurarSalidaColoreada(Level.WARNING);
+        ejecutarEscenario("FCFS (First Come First Served)", PolicyType.FCFS, SCENARIO_FCFS, true, opciones);
+        ejecutarEscenario("SPN (Shortest Process Next)", PolicyType.SPN, SCENARIO_SPN, true, opciones);
+        ejecutarEscenario("HRRN (Highest Response Ratio Next)", PolicyType.HRRN, SCENARIO_HRRN, true, opciones);
+        ejecutarEscenario("SRTF (Shortest Remaining Time First)", PolicyType.SRT, SCENARIO_SRTF, true, opciones);
+        ejecutarEscenario("Round Robin (Quantum=3)", PolicyType.ROUND_ROBIN, SCENARIO_RR, true, opciones);
+        ejecutarEscenario("Feedback (Multilevel Queues)", PolicyType.FEEDBACK, SCENARIO_FEEDBACK, true, opciones);
+    }
+
+    /*
+     * Interpreta la cantidad de núcleos indicada por línea de comandos.
+     * @param valor texto numérico recibido
+     * @return cantidad de núcleos (al menos 1)
+     */
+    private static int leerCantidadNucleos(String valor) {
+        try {
+            return Math.max(1, Integer.parseInt(valor.trim()));
+        } catch (NumberFormatException e) {
+            imprimirConColor(COLOR_ERROR, "❌ Cantidad de núcleos inválida: " + valor + " (se usa 1)");
+            return 1;
+        }
+    }
+
+    /*
+     * Interpreta el intervalo de balanceo de colas locales indicado por línea de comandos.
+     * @param valor texto numérico recibido
+     * @return intervalo en ciclos (0 desactiva el balanceo periódico)
+     */
+    private static int leerIntervaloBalanceo(String valor) {
+        try {
+            return Math.max(0, Integer.parseInt(valor.trim()));
+        } catch (NumberFormatException e) {
+            imprimirConColor(COLOR_ERROR, "❌ Intervalo de balanceo inválido: " + valor + " (se usa " + OpcionesNucleos.INTERVALO_BALANCEO_POR_DEFECTO + ")");
+            return OpcionesNucleos.INTERVALO_BALANCEO_POR_DEFECTO;
+        }
+    }
+
+    /*
+     * Interpreta los quantums por nivel de Feedback indicados por línea de comandos.
+     * @param valor texto con un quantum por nivel separados por guiones
+     * @return quantums por nivel o null (quantums por defecto) si el valor es inválido
+     */
+    private static int[] leerQuantumsFeedback(String valor) {
+        try {
+            return Feedback.parseQuanta(valor);
+        } catch (IllegalArgumentException e) {
+            imprimirConColor(COLOR_ERROR, "❌ " + e.getMessage() + " (se usan los quantums por defecto)");
+            return null;
+        }
+    }
+
+    /*
+     * Interpreta un intervalo en ciclos de Feedback (boost o envejecimiento) indicado por línea de comandos.
+     * @param valor texto numérico recibido
+     * @param nombre opción a la que corresponde, para el mensaje de error
+     * @return ciclos (0 desactiva la opción)
+     */
+    private static int leerCiclosFeedback(String valor, String nombre) {
+        try {
+            return Math.max(0, Integer.parseInt(valor.trim()));
+        } catch (NumberFormatException e) {
+            imprimirConColor(COLOR_ERROR, "❌ Ciclos de " + nombre + " de Feedback inválidos: " + valor + " (se desactiva)");
+            return 0;
+        }
+    }
+
+    /*
+     * Interpreta el costo de cambio de contexto indicado por línea de comandos.
+     * @param valor texto con la forma latencia o latencia:penalización:ventana
+     * @return modelo de costo (sin costo si el valor es inválido)
+     */
+    private static ContextSwitchCost leerCostoCambioContexto(String valor) {
+        try {
+            return ContextSwitchCost.parse(valor);
+        } catch (IllegalArgumentException e) {
+            imprimirConColor(COLOR_ERROR, "❌ " + e.getMessage() + " (se usan cambios de contexto sin costo)");
+            return ContextSwitchCost.NONE;
+        }
+    }
+
     /*
      * Configura el logger global para imprimir eventos con códigos de color diferenciados.
      */
     private static void configurarSalidaColoreada() {
+        configurarSalidaColoreada(Level.INFO);
+    }
+
+    /*
+     * Configura el logger global con el handler coloreado y el nivel mínimo indicado.
+     * @param nivel nivel mínimo de los registros que se imprimen
+     */
+    private static void configurarSalidaColoreada(Level nivel) {
         Logger rootLogger = Logger.getLogger("");
         for (Handler handler : rootLogger.getHandlers()) {
             rootLogger.removeHandler(handler);
         }
         ColoredConsoleHandler handler = new ColoredConsoleHandler();
-        handler.setLevel(Level.INFO);
+        handler.setLevel(nivel);
         rootLogger.addHandler(handler);
-        rootLogger.setLevel(Level.INFO);
+        rootLogger.setLevel(nivel);
     }
 
     /*
@@ -232,8 +402,25 @@ public class P_so1 {
      * @param titulo etiqueta amigable de la política
      * @param politica política de planificación a evaluar
      * @param scenario arreglo de procesos precalibrados
+     * @param headless true para simular sin esperas reales entre ciclos
+     */
+    private static void ejecutarEscenario(String titulo, PolicyType politica, ProcessSpec[] scenario, boolean headless) {
+        ejecutarEscenario(titulo, politica, scenario, headless, new OpcionesNucleos());
+    }
+
+    /*
+     * Ejecuta la simulación de la política sobre la cantidad de núcleos indicada.
+     * @param titulo etiqueta amigable de la política
+     * @param politica política de planificación a evaluar
+     * @param scenario arreglo de procesos precalibrados
+     * @param headless true para simular sin esperas reales entre ciclos
+     * @param opciones configuración de núcleos de la simulación
      */
-    private static void ejecutarEscenario(String titulo, PolicyType politica, ProcessSpec[] scenario) {
+    private static void ejecutarEscenario(String titulo,
+                                          PolicyType politica,
+                                          ProcessSpec[] scenario,
+                                          boolean headless,
+                                          OpcionesNucleos opciones) {
         imprimirConColor(COLOR_SUMMARY, "\n═══════════════════════════════════════════════════════════════");
         imprimirConColor(COLOR_SUMMARY, "  EJECUTANDO: " + titulo);
         imprimirConColor(COLOR_SUMMARY, "═══════════════════════════════════════════════════════════════\n");
@@ -251,33 +438,56 @@ public class P_so1 {
         }
         System.out.println();
 
-        ScenarioResult resultado = simularEscenario(titulo, politica, scenario);
+        ScenarioResult resultado = simularEscenario(titulo, politica, scenario, headless, opciones);
         resultado.imprimirDetalle();
         analizarPolitica(politica, resultado);
     }
 
     /*
-     * Ejecuta la simulación en tiempo real controlando llegadas, bloqueos, suspensiones y métricas.
+     * Ejecuta la simulación controlando llegadas, bloqueos, suspensiones y métricas.
+     * En tiempo real el reloj corre en su propio hilo; en modo headless este método avanza
+     * el reloj ciclo a ciclo sin dormir. En ambos casos el I/O se resuelve sobre ciclos simulados.
      * @param titulo etiqueta amigable del escenario
      * @param politica política a emplear
      * @param scenario definición de procesos para el escenario
+     * @param headless true para simular lo más rápido posible
+     * @param opciones configuración de núcleos de la simulación
      * @return resultado con métricas agregadas del escenario
      */
-    private static ScenarioResult simularEscenario(String titulo, PolicyType politica, ProcessSpec[] scenario) {
+    private static ScenarioResult simularEscenario(String titulo,
+                                                   PolicyType politica,
+                                                   ProcessSpec[] scenario,
+                                                   boolean headless,
+                                                   OpcionesNucleos opciones) {
+        int nucleos = opciones.nucleos;
         OperatingSystem os = new OperatingSystem();
         os.setCycleDurationMillis(CYCLE_DURATION_MS);
         os.setRoundRobinQuantum(ROUND_ROBIN_QUANTUM);
-        IOHandler ioHandler = new IOHandler(os, CYCLE_DURATION_MS);
-        Thread ioThread = new Thread(ioHandler, "IOHandler-" + politica.name());
-        ioThread.setDaemon(true);
-        ioThread.start();
-        CPU cpu = new CPU(os, ioHandler);
-        os.attachCpu(cpu);
+        os.setHeadlessMode(headless);
+        os.setParallelCoreExecution(opciones.paralelo);
+        os.setPerCoreRunQueues(opciones.colasPorNucleo);
+        os.setLoadBalanceInterval(opciones.intervaloBalanceo);
+        os.setLockFreeAdmission(opciones.admisionSinBloqueo);
+        os.setContextSwitchCost(opciones.costoCambioContexto);
+        if (opciones.quantumAdaptativo) {
+            os.setAdaptiveQuantum(new AdaptiveQuantumController());
+        }
+        if (opciones.quantumsFeedback != null) {
+            os.setFeedbackQuanta(opciones.quantumsFeedback);
+        }
+        os.setFeedbackBoostInterval(opciones.boostFeedback);
+        os.setFeedbackAgingThreshold(opciones.envejecimientoFeedback);
+        IOHandler ioHandler = new IOHandler(os);
+        CPU[] cpus = new CPU[nucleos];
+        for (int i = 0; i < nucleos; i++) {
+            cpus[i] = new CPU(os, ioHandler);
+            os.attachCpu(cpus[i]);
+        }
         os.setSchedulingPolicy(politica);
 
         int totalProcesos = scenario.length;
         ProcessInfo[] infos = new ProcessInfo[totalProcesos];
-        int[] processIds = new int[totalProcesos];
+        IntIntHashMap processIds = new IntIntHashMap(totalProcesos, -1);
         boolean[] encolados = new boolean[totalProcesos];
 
         for (int i = 0; i < totalProcesos; i++) {
@@ -285,40 +495,55 @@ public class P_so1 {
             infos[i] = new ProcessInfo(spec.nombre, spec.totalInstrucciones, spec.arribo, spec.ioBound, spec.cicloIO, spec.duracionIO);
         }
 
-        inicializarArribos(os, infos, processIds, encolados, 0);
-        os.startSystemClock();
+        // Los arribos se programan en el sistema operativo; el observador anuncia cada llegada en su ciclo
+        os.setArrivalListener(pcb -> anunciarArribo(infos, processIds, encolados, pcb));
+        for (int i = 0; i < totalProcesos; i++) {
+            programarProceso(os, infos, processIds, i);
+        }
+        if (!headless) {
+            os.startSystemClock();
+        }
 
         imprimirConColor(COLOR_CYCLE, "🚀 INICIANDO SIMULACIÓN...");
-        imprimirConColor(COLOR_CYCLE, "   (Cada ciclo dura " + CYCLE_DURATION_MS + "ms para mejor visualización)\n");
+        if (headless) {
+            imprimirConColor(COLOR_CYCLE, "   (Modo headless: los ciclos se ejecutan sin esperas)\n");
+        } else {
+            imprimirConColor(COLOR_CYCLE, "   (Cada ciclo dura " + CYCLE_DURATION_MS + "ms para mejor visualización)\n");
+        }
 
         int lastBlockedSize = -1;
         int lastBlockedSuspSize = -1;
         int lastReadySuspSize = -1;
-        int ultimoPid = Integer.MIN_VALUE;
+        int[] ultimoPid = new int[nucleos];
+        for (int i = 0; i < nucleos; i++) {
+            ultimoPid[i] = Integer.MIN_VALUE;
+        }
 
         while (os.getGlobalClockCycle() < MAX_CYCLES) {
             long cicloActual = os.getGlobalClockCycle();
 
-            ProcessControlBlock procesoActual = cpu.getCurrentProcess();
-            int pidActual = procesoActual != null ? procesoActual.getProcessId() : -1;
-            if (pidActual != ultimoPid) {
-                if (procesoActual != null) {
-                    String mensaje = String.format("🔄 Cambio de CPU → %s (PID=%d)",
-                            procesoActual.getProcessName(),
-                            procesoActual.getProcessId());
-                    imprimirConColor(COLOR_SWITCH, mensaje);
-                } else if (ultimoPid != -1 && ultimoPid != Integer.MIN_VALUE) {
-                    imprimirConColor(COLOR_SWITCH, "🛑 La CPU queda inactiva");
+            for (int i = 0; i < nucleos; i++) {
+                ProcessControlBlock procesoActual = cpus[i].getCurrentProcess();
+                int pidActual = procesoActual != null ? procesoActual.getProcessId() : -1;
+                if (pidActual != ultimoPid[i]) {
+                    String cpuEtiqueta = nucleos > 1 ? "CPU " + i : "CPU";
+                    if (procesoActual != null) {
+                        String mensaje = String.format("🔄 Cambio de %s → %s (PID=%d)",
+                                cpuEtiqueta,
+                                procesoActual.getProcessName(),
+                                procesoActual.getProcessId());
+                        imprimirConColor(COLOR_SWITCH, mensaje);
+                    } else if (ultimoPid[i] != -1 && ultimoPid[i] != Integer.MIN_VALUE) {
+                        imprimirConColor(COLOR_SWITCH, "🛑 La " + cpuEtiqueta + " queda inactiva");
+                    }
+                    ultimoPid[i] = pidActual;
                 }
-                ultimoPid = pidActual;
             }
 
             if (cicloActual % 5 == 0) {
-                mostrarEstadoActual(os, cpu, cicloActual);
+                mostrarEstadoActual(os, cpus, cicloActual);
             }
 
-            encolarArribosPendientes(os, cicloActual, infos, processIds, encolados);
-
             int blockedSize = os.blockedQueueSize();
             int blockedSuspSize = os.blockedSuspendedQueueSize();
             int readySuspSize = os.readySuspendedQueueSize();
@@ -333,31 +558,36 @@ public class P_so1 {
                 lastReadySuspSize = readySuspSize;
             }
 
-            try {
-                Thread.sleep(CYCLE_DURATION_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            if (headless) {
+                os.advanceClock();
+                // Publica los mensajes del ciclo antes de imprimir el estado del siguiente
+                SimulatorLog.flush();
+            } else {
+                try {
+                    Thread.sleep(CYCLE_DURATION_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
 
             // Nota: cicloInicio ahora se registra automáticamente en CPU.loadProcess()
             // cuando el proceso ejecuta por primera vez.
 
-            if (todosTerminados(os, cpu, encolados)) {
+            if (todosTerminados(os, cpus, encolados)) {
                 break;
             }
         }
 
         os.stopSystemClock();
-        ioHandler.stop();
-        try {
-            ioThread.join(500L);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        SimulatorLog.flush();
 
         ScenarioResult resultado = new ScenarioResult(titulo, politica, infos);
         resultado.setTotalCiclos(os.getGlobalClockCycle());
+        resultado.setMetricasNucleos(MetricsCalculator.collectCoreMetrics(os.getCpus()));
+        resultado.setTrasladosBalanceo(os.getBalancedTransfers());
+        resultado.setMetricasPolitica(os.getMetrics().snapshot(politica));
+        resultado.setInstrumentacion(os.getInstrumentation().snapshot());
         resultado.calcularTiemposDeEspera();
         return resultado;
     }
@@ -365,10 +595,10 @@ public class P_so1 {
     /*
      * Muestra un resumen del estado actual del sistema cada ciertos ciclos.
      * @param os referencia al sistema operativo
-     * @param cpu referencia a la CPU
+     * @param cpus núcleos del sistema
      * @param ciclo número de ciclo global
      */
-    private static void mostrarEstadoActual(OperatingSystem os, CPU cpu, long ciclo) {
+    private static void mostrarEstadoActual(OperatingSystem os, CPU[] cpus, long ciclo) {
         int enMemoria = os.getProcessesInMemory();
         int ready = os.readyQueueSize();
         int blocked = os.blockedQueueSize();
@@ -379,16 +609,20 @@ public class P_so1 {
         String encabezado = String.format("⏰ Ciclo %d | Memoria: %d/4", ciclo, enMemoria);
         imprimirConColor(COLOR_CYCLE, encabezado);
 
-        ProcessControlBlock actual = cpu.getCurrentProcess();
-        if (actual != null) {
-            String mensaje = String.format("   CPU ejecuta %s (PID=%d, PC=%d/%d)",
-                    actual.getProcessName(),
-                    actual.getProcessId(),
-                    actual.getProgramCounter(),
-                    actual.getTotalInstructions());
-            imprimirConColor(COLOR_PROCESS, mensaje);
-        } else {
-            imprimirConColor(COLOR_PROCESS, "   CPU inactiva");
+        for (int i = 0; i < cpus.length; i++) {
+            String cpuEtiqueta = cpus.length > 1 ? "CPU " + i : "CPU";
+            ProcessControlBlock actual = cpus[i].getCurrentProcess();
+            if (actual != null) {
+                String mensaje = String.format("   %s ejecuta %s (PID=%d, PC=%d/%d)",
+                        cpuEtiqueta,
+                        actual.getProcessName(),
+                        actual.getProcessId(),
+                        actual.getProgramCounter(),
+                        actual.getTotalInstructions());
+                imprimirConColor(COLOR_PROCESS, mensaje);
+            } else {
+                imprimirConColor(COLOR_PROCESS, "   " + cpuEtiqueta + " inactiva");
+            }
         }
 
         String colas = String.format("   Ready: %d | Blocked: %d | Ready-Susp: %d | Blocked-Susp: %d | Finished: %d",
@@ -401,68 +635,44 @@ public class P_so1 {
     }
 
     /*
-     * Encola procesos cuya llegada ocurre antes o igual al ciclo de referencia inicial.
-     * @param os sistema operativo responsable de las colas
-     * @param infos metadatos de los procesos
-     * @param processIds arreglo para mapear índices con PID
-     * @param encolados bandera de arribo por proceso
-     * @param cicloReferencia ciclo utilizado para validar arribos iniciales
-     */
-    private static void inicializarArribos(OperatingSystem os,
-                                           ProcessInfo[] infos,
-                                           int[] processIds,
-                                           boolean[] encolados,
-                                           int cicloReferencia) {
-        for (int i = 0; i < infos.length; i++) {
-            if (!encolados[i] && infos[i].arribo <= cicloReferencia) {
-                encolarProceso(os, infos, processIds, encolados, i);
-            }
-        }
-    }
-
-    /*
-     * Encola procesos cuya llegada está programada para el ciclo actual.
-     * @param os sistema operativo responsable de las colas
-     * @param cicloActual ciclo global vigente
-     * @param infos metadatos de los procesos
-     * @param processIds arreglo para mapear índices con PID
-     * @param encolados bandera de arribo por proceso
-     */
-    private static void encolarArribosPendientes(OperatingSystem os,
-                                                 long cicloActual,
-                                                 ProcessInfo[] infos,
-                                                 int[] processIds,
-                                                 boolean[] encolados) {
-        for (int i = 0; i < infos.length; i++) {
-            if (!encolados[i] && infos[i].arribo <= cicloActual) {
-                encolarProceso(os, infos, processIds, encolados, i);
-            }
-        }
-    }
-
-    /*
-     * Crea el PCB del proceso indicado y lo mueve a la cola de listos respetando la configuración I/O.
-     * @param os sistema operativo responsable de la transición
+     * Crea el PCB del proceso indicado y programa su arribo en el sistema operativo.
+     * @param os sistema operativo que admitirá el proceso en su ciclo de llegada
      * @param infos metadatos de los procesos
-     * @param processIds arreglo para mapear índices con PID
-     * @param encolados bandera de arribo por proceso
+     * @param processIds mapa de PID a índice del escenario
      * @param indice posición del proceso en el escenario
      */
-    private static void encolarProceso(OperatingSystem os,
-                                       ProcessInfo[] infos,
-                                       int[] processIds,
-                                       boolean[] encolados,
-                                       int indice) {
+    private static void programarProceso(OperatingSystem os,
+                                         ProcessInfo[] infos,
+                                         IntIntHashMap processIds,
+                                         int indice) {
         ProcessInfo info = infos[indice];
-        ProcessControlBlock pcb = new ProcessControlBlock(info.nombre);
+        ProcessControlBlock pcb = os.getContext().newProcess(info.nombre);
         pcb.setTotalInstructions(info.instrucciones);
         pcb.setIOBound(info.ioBound);
         pcb.setIoExceptionCycle(info.cicloIO);
         pcb.setIoDuration(info.duracionIO);
-        os.moveToReady(pcb);
-        processIds[indice] = pcb.getProcessId();
+        processIds.put(pcb.getProcessId(), indice);
         info.id = pcb.getProcessId();
         info.pcb = pcb;  // ⭐ Guardar referencia al PCB
+        os.scheduleArrival(pcb, info.arribo);
+    }
+
+    /*
+     * Marca como arribado el proceso que el sistema operativo acaba de admitir e imprime su llegada.
+     * @param infos metadatos de los procesos
+     * @param processIds mapa de PID a índice del escenario
+     * @param encolados bandera de arribo por proceso
+     * @param pcb proceso admitido
+     */
+    private static void anunciarArribo(ProcessInfo[] infos,
+                                       IntIntHashMap processIds,
+                                       boolean[] encolados,
+                                       ProcessControlBlock pcb) {
+        int indice = buscarIndicePorId(processIds, pcb.getProcessId());
+        if (indice < 0) {
+            return;
+        }
+        ProcessInfo info = infos[indice];
         encolados[indice] = true;
         String llegada = String.format("📥 PROCESO LLEGA: %s (PID=%d, %d instrucciones)",
                 info.nombre,
@@ -478,29 +688,24 @@ public class P_so1 {
     }
 
     /*
-     * Busca el índice asociado a un PID específico dentro del arreglo de procesos.
-     * @param processIds arreglo de PIDs
+     * Busca el índice asociado a un PID específico en O(1).
+     * @param processIds mapa de PID a índice del escenario
      * @param id PID buscado
      * @return índice del proceso o -1 si no existe
      */
-    private static int buscarIndicePorId(int[] processIds, int id) {
-        for (int i = 0; i < processIds.length; i++) {
-            if (processIds[i] == id) {
-                return i;
-            }
-        }
-        return -1;
+    private static int buscarIndicePorId(IntIntHashMap processIds, int id) {
+        return processIds.get(id);
     }
 
     /*
-     * Determina si todos los procesos ya finalizaron considerando colas y estado de la CPU.
+     * Determina si todos los procesos ya finalizaron considerando colas y estado de las CPUs.
      * @param os sistema operativo con la información de colas
-     * @param cpu CPU ejecutando los procesos
+     * @param cpus núcleos ejecutando los procesos
      * @param encolados bandera de arribo por proceso
      * @return true cuando todos los procesos terminaron
      */
     private static boolean todosTerminados(OperatingSystem os,
-                                           CPU cpu,
+                                           CPU[] cpus,
                                            boolean[] encolados) {
         int encoladosTotal = 0;
         for (int i = 0; i < encolados.length; i++) {
@@ -508,9 +713,15 @@ public class P_so1 {
                 encoladosTotal++;
             }
         }
-        return encoladosTotal == encolados.length
-                && os.finishedQueueSize() == encolados.length
-                && cpu.isIdle();
+        if (encoladosTotal != encolados.length || os.finishedQueueSize() != encolados.length) {
+            return false;
+        }
+        for (CPU cpu : cpus) {
+            if (!cpu.isIdle()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /*
@@ -556,7 +767,7 @@ public class P_so1 {
     }
 
     /* Descriptor de proceso para el escenario de prueba. */
-    private static final class ProcessSpec {
+    static final class ProcessSpec {
         final String nombre;
         final int totalInstrucciones;
         final int arribo;
@@ -619,6 +830,32 @@ public class P_so1 {
         }
     }
 
+    /* Configuración de núcleos con la que se simula cada escenario. */
+    private static final class OpcionesNucleos {
+        /* Intervalo de balanceo que se usa si no se indica otro. */
+        static final int INTERVALO_BALANCEO_POR_DEFECTO = 4;
+        /* Cantidad de CPUs registradas en el sistema operativo. */
+        int nucleos = 1;
+        /* true para ejecutar cada núcleo en su propio hilo. */
+        boolean paralelo = false;
+        /* true para que cada núcleo tenga su cola local con robo de trabajo. */
+        boolean colasPorNucleo = false;
+        /* Ciclos entre rebalanceos de las colas locales. */
+        int intervaloBalanceo = INTERVALO_BALANCEO_POR_DEFECTO;
+        /* true para publicar los arribos en la cola de admisión sin bloqueos. */
+        boolean admisionSinBloqueo = false;
+        /* Ciclos que cuesta cada carga de proceso en CPU. */
+        ContextSwitchCost costoCambioContexto = ContextSwitchCost.NONE;
+        /* true para que Round Robin ajuste su quantum según las ráfagas y la cola de listos. */
+        boolean quantumAdaptativo = false;
+        /* Quantums por nivel de Feedback, o null para los cuatro niveles por defecto. */
+        int[] quantumsFeedback = null;
+        /* Ciclos entre boosts de prioridad de Feedback (0 sin boost). */
+        int boostFeedback = 0;
+        /* Espera en listos tras la que Feedback sube un nivel a un proceso (0 sin envejecimiento). */
+        int envejecimientoFeedback = 0;
+    }
+
     /* Resultado agregado para cada política. */
     private static final class ScenarioResult {
         final String etiqueta;
@@ -626,6 +863,10 @@ public class P_so1 {
         final ProcessInfo[] infos;
         private double promedioEspera;
         private long totalCiclos;
+        private MetricsCalculator.CoreMetrics[] metricasNucleos;
+        private long trasladosBalanceo;
+        private MetricsRegistry.PolicySnapshot metricasPolitica;
+        private Instrumentation.Snapshot instrumentacion;
 
         /*
          * Construye la estructura de resultados para un escenario ejecutado.
@@ -639,6 +880,7 @@ public class P_so1 {
             this.infos = infos;
             this.promedioEspera = 0.0;
             this.totalCiclos = 0L;
+            this.metricasNucleos = new MetricsCalculator.CoreMetrics[0];
         }
 
         /*
@@ -649,6 +891,38 @@ public class P_so1 {
             this.totalCiclos = totalCiclos;
         }
 
+        /*
+         * Registra las métricas de cada núcleo al final de la simulación.
+         * @param metricasNucleos instantánea de métricas por CPU
+         */
+        void setMetricasNucleos(MetricsCalculator.CoreMetrics[] metricasNucleos) {
+            this.metricasNucleos = metricasNucleos;
+        }
+
+        /*
+         * Registra los procesos que el balanceador trasladó entre colas locales.
+         * @param trasladosBalanceo traslados acumulados por el sistema operativo
+         */
+        void setTrasladosBalanceo(long trasladosBalanceo) {
+            this.trasladosBalanceo = trasladosBalanceo;
+        }
+
+        /*
+         * Registra los percentiles por proceso que la política acumuló durante la simulación.
+         * @param metricasPolitica instantánea del registro de métricas del sistema operativo
+         */
+        void setMetricasPolitica(MetricsRegistry.PolicySnapshot metricasPolitica) {
+            this.metricasPolitica = metricasPolitica;
+        }
+
+        /*
+         * Registra los contadores del pipeline (cambios de contexto, expropiaciones y tiempos por etapa).
+         * @param instrumentacion instantánea de la instrumentación del sistema operativo
+         */
+        void setInstrumentacion(Instrumentation.Snapshot instrumentacion) {
+            this.instrumentacion = instrumentacion;
+        }
+
         /*
          * Calcula el tiempo de espera individual y promedio de todos los procesos.
          */
@@ -701,6 +975,70 @@ public class P_so1 {
             }
             System.out.println("   └─────────────────────────────────┘");
             System.out.printf("   Tiempo de espera promedio: %.2f ciclos%n", promedioEspera);
+            if (metricasNucleos.length > 1) {
+                System.out.println("   ┌─ Métricas por núcleo ─┐");
+                for (MetricsCalculator.CoreMetrics metricas : metricasNucleos) {
+                    System.out.printf("   │ CPU %d: utilización=%5.1f%% | ocupado=%d | ocioso=%d | despachos=%d | completados=%d | robos=%d | migraciones=%d%n",
+                            metricas.getCoreId(),
+                            metricas.getUtilization() * 100.0,
+                            metricas.getBusyCycles(),
+                            metricas.getIdleCycles(),
+                            metricas.getDispatchCount(),
+                            metricas.getCompletedProcesses(),
+                            metricas.getSteals(),
+                            metricas.getMigrations());
+                }
+                System.out.printf("   │ Traslados por balanceo: %d%n", trasladosBalanceo);
+                System.out.println("   └───────────────────────┘");
+            }
+            if (metricasPolitica != null && metricasPolitica.getCompletedProcesses() > 0) {
+                System.out.println("   ┌─ Percentiles por proceso (ciclos) ─┐");
+                for (MetricsRegistry.Metric metrica : MetricsRegistry.Metric.values()) {
+                    System.out.printf("   │ %-20s p50=%7.2f | p95=%7.2f | p99=%7.2f | máx=%7.2f%n",
+                            metrica.getLabel(),
+                            metricasPolitica.getPercentile(metrica, 50.0),
+                            metricasPolitica.getPercentile(metrica, 95.0),
+                            metricasPolitica.getPercentile(metrica, 99.0),
+                            metricasPolitica.getMax(metrica));
+                }
+                System.out.printf("   │ Cambios de contexto totales: %d (costo: %d ciclos)%n",
+                        metricasPolitica.getContextSwitches(), metricasPolitica.getSwitchCostCycles());
+                if (metricasPolitica.getQuantumChanges() > 0) {
+                    System.out.printf("   │ Cambios de quantum adaptativo: %d%n", metricasPolitica.getQuantumChanges());
+                }
+                if (metricasPolitica.getFeedbackDemotions() > 0 || metricasPolitica.getFeedbackBoosts() > 0
+                        || metricasPolitica.getFeedbackAgingPromotions() > 0) {
+                    System.out.printf("   │ Feedback: degradaciones=%d | boosts=%d (%d procesos) | ascensos por envejecimiento=%d%n",
+                            metricasPolitica.getFeedbackDemotions(),
+                            metricasPolitica.getFeedbackBoosts(),
+                            metricasPolitica.getFeedbackBoostedProcesses(),
+                            metricasPolitica.getFeedbackAgingPromotions());
+                }
+                System.out.println("   └────────────────────────────────────┘");
+            }
+            if (instrumentacion != null) {
+                System.out.println("   ┌─ Instrumentación del pipeline ─┐");
+                System.out.printf("   │ Cambios de contexto: %d | liberaciones: %d | bloqueos por I/O: %d%n",
+                        instrumentacion.getContextSwitches(),
+                        instrumentacion.getReleases(),
+                        instrumentacion.getIoBlocks());
+                System.out.printf("   │ Expropiaciones: quantum=%d | SRTF=%d | Feedback=%d%n",
+                        instrumentacion.getPreemptions(Instrumentation.PreemptionCause.QUANTUM),
+                        instrumentacion.getPreemptions(Instrumentation.PreemptionCause.SHORTEST_REMAINING),
+                        instrumentacion.getPreemptions(Instrumentation.PreemptionCause.FEEDBACK));
+                System.out.printf("   │ Ciclos de CPU ociosos: %d | ocupados: %d | cargando procesos: %d%n",
+                        instrumentacion.getIdleCpuCycles(),
+                        instrumentacion.getBusyCpuCycles(),
+                        instrumentacion.getSwitchingCpuCycles());
+                System.out.printf("   │ Costo de cambios de contexto: latencia=%d | caché fría=%d ciclos%n",
+                        instrumentacion.getDispatchLatencyCycles(),
+                        instrumentacion.getCachePenaltyCycles());
+                System.out.printf("   │ Tiempo por ciclo: planificador=%.0f ns | despachador=%.0f ns | CPU=%.0f ns%n",
+                        instrumentacion.getNanosPerCycle(Instrumentation.Stage.SCHEDULER),
+                        instrumentacion.getNanosPerCycle(Instrumentation.Stage.DISPATCHER),
+                        instrumentacion.getNanosPerCycle(Instrumentation.Stage.CPU));
+                System.out.println("   └────────────────────────────────┘");
+            }
         }
     }
 
@@ -787,6 +1125,7 @@ public class P_so1 {
                     // Se ignora el fallo de formato y se usa el mensaje base
                 }
             }
-        });
+            return mensaje != null ? mensaje : "";
+        }
     }
 }
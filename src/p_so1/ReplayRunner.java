@@ -0,0 +1,80 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package p_so1;
+
+import core.TraceReplay;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * ReplayRunner muestra el estado de las colas y de los núcleos en los ciclos pedidos a partir de
+ * una traza de eventos grabada con TraceRunner --events, sin volver a simular.
+ *
+ * Uso: java -cp build/classes p_so1.ReplayRunner eventos.bin ciclo [ciclo...]
+ *
+ * @author santiagodelcastillo
+ */
+public final class ReplayRunner {
+
+    /** PID que se listan por cola antes de resumir el resto. */
+    private static final int MAX_LISTED = 20;
+
+    private ReplayRunner() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: p_so1.ReplayRunner <eventos.bin> <ciclo> [ciclo...]");
+            return;
+        }
+        TraceReplay replay;
+        long start = System.nanoTime();
+        try {
+            replay = TraceReplay.open(new File(args[0]));
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println("❌ No se pudo abrir la traza de eventos: " + ex.getMessage());
+            return;
+        }
+        System.out.printf("%d eventos hasta el ciclo %d, %d puntos de control (%d ms)%n",
+                replay.getEventCount(), replay.getLastCycle(), replay.getCheckpointCount(),
+                (System.nanoTime() - start) / 1_000_000L);
+        for (int i = 1; i < args.length; i++) {
+            long cycle;
+            try {
+                cycle = Long.parseLong(args[i]);
+            } catch (NumberFormatException ex) {
+                System.err.println("❌ Ciclo inválido: " + args[i]);
+                continue;
+            }
+            replay.seek(cycle);
+            System.out.printf("%nCiclo %d%n", cycle);
+            for (int core = 0; core < replay.getCoreCount(); core++) {
+                int pid = replay.getRunningProcess(core);
+                System.out.printf("  CPU %d: %s%n", core, pid == 0 ? "ociosa" : "#" + pid);
+                int[] local = replay.getLocalRunQueue(core);
+                if (local.length > 0) {
+                    System.out.printf("  Cola local %d: %s%n", core, formatQueue(local));
+                }
+            }
+            System.out.println("  Listos: " + formatQueue(replay.getReadyQueue()));
+            System.out.println("  Bloqueados: " + formatQueue(replay.getBlockedQueue()));
+            System.out.println("  Listos suspendidos: " + formatQueue(replay.getReadySuspendedQueue()));
+            System.out.println("  Bloqueados suspendidos: " + formatQueue(replay.getBlockedSuspendedQueue()));
+            System.out.println("  Terminados: " + replay.getFinishedCount());
+        }
+    }
+
+    /**
+     * Formatea una cola mostrando solo sus primeros PID cuando es muy larga.
+     */
+    private static String formatQueue(int[] pids) {
+        if (pids.length <= MAX_LISTED) {
+            return Arrays.toString(pids);
+        }
+        String head = Arrays.toString(Arrays.copyOf(pids, MAX_LISTED));
+        return head.substring(0, head.length() - 1) + ", ... (" + pids.length + " en total)]";
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package p_so1;
+
+import core.CPU;
+import core.ContextSwitchCost;
+import core.EventRecorder;
+import core.Instrumentation;
+import core.MetricsRegistry;
+import core.OperatingSystem;
+import core.ProcessTable;
+import core.SimulationContext;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import scheduler.AdaptiveQuantumController;
+import scheduler.Feedback;
+import scheduler.PolicyType;
+import util.BinaryWorkload;
+import util.IOHandler;
+import util.WorkloadReader;
+import util.WorkloadSource;
+
+/**
+ * TraceRunner simula en modo headless una traza de arribos guardada en el formato JSON de
+ * ConfigManager (leída en streaming con WorkloadReader) o en el formato binario de
+ * BinaryWorkload (mapeado en memoria). En ambos casos los procesos se crean y programan en
+ * la rueda de arribos solo cuando su ciclo de arribo entra en la ventana de anticipación, así que
+ * la traza nunca se carga completa. Al terminar, un proceso solo se cuenta: su fila de la
+ * ProcessTable se libera y la reutiliza un arribo posterior (ver
+ * OperatingSystem.setReleaseFinishedProcesses), así que la memoria depende de los procesos vivos
+ * a la vez y no del tamaño de la traza. Con --events=archivo cada transición de estado y cada carga o
+ * liberación de CPU se graba además en una traza binaria (ver EventRecorder).
+ *
+ * Uso: java -cp build/classes p_so1.TraceRunner traza.json|traza.bin [--policy=FCFS] [--quantum=N]
+ *      [--memory=N] [--horizon=N] [--max-cycles=N] [--events=eventos.bin]
+ *      [--switch-cost=latencia[:penalización:ventana]] [--adaptive-quantum]
+ *      [--feedback-quanta=1-2-4-8] [--feedback-boost=ciclos] [--feedback-aging=ciclos]
+ *
+ * @author santiagodelcastillo
+ */
+public final class TraceRunner {
+
+    /** Ciclos de anticipación con que se programan los arribos por defecto. */
+    private static final long DEFAULT_HORIZON = 4096L;
+    /** Límite de ciclos por defecto para no quedar en un bucle infinito. */
+    private static final long DEFAULT_MAX_CYCLES = 100_000_000L;
+
+    private TraceRunner() {
+    }
+
+    public static void main(String[] args) {
+        Logger rootLogger = Logger.getLogger("");
+        rootLogger.setLevel(Level.WARNING);
+        for (Handler handler : rootLogger.getHandlers()) {
+            handler.setLevel(Level.WARNING);
+        }
+        String path = null;
+        PolicyType policy = PolicyType.FCFS;
+        int quantum = 3;
+        int memory = 4;
+        long horizon = DEFAULT_HORIZON;
+        long maxCycles = DEFAULT_MAX_CYCLES;
+        String eventsPath = null;
+        ContextSwitchCost switchCost = ContextSwitchCost.NONE;
+        boolean adaptiveQuantum = false;
+        int[] feedbackQuanta = null;
+        int feedbackBoost = 0;
+        int feedbackAging = 0;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--policy=")) {
+                    policy = PolicyType.valueOf(arg.substring("--policy=".length()).toUpperCase(Locale.ROOT));
+                } else if (arg.startsWith("--quantum=")) {
+                    quantum = Integer.parseInt(arg.substring("--quantum=".length()));
+                } else if (arg.startsWith("--memory=")) {
+                    memory = Integer.parseInt(arg.substring("--memory=".length()));
+                } else if (arg.startsWith("--horizon=")) {
+                    horizon = Long.parseLong(arg.substring("--horizon=".length()));
+                } else if (arg.startsWith("--max-cycles=")) {
+                    maxCycles = Long.parseLong(arg.substring("--max-cycles=".length()));
+                } else if (arg.startsWith("--events=")) {
+                    eventsPath = arg.substring("--events=".length());
+                } else if (arg.equals("--adaptive-quantum")) {
+                    adaptiveQuantum = true;
+                } else if (arg.startsWith("--switch-cost=")) {
+                    switchCost = ContextSwitchCost.parse(arg.substring("--switch-cost=".length()));
+                } else if (arg.startsWith("--feedback-quanta=")) {
+                    feedbackQuanta = Feedback.parseQuanta(arg.substring("--feedback-quanta=".length()));
+                } else if (arg.startsWith("--feedback-boost=")) {
+                    feedbackBoost = Integer.parseInt(arg.substring("--feedback-boost=".length()));
+                } else if (arg.startsWith("--feedback-aging=")) {
+                    feedbackAging = Integer.parseInt(arg.substring("--feedback-aging=".length()));
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Opción desconocida: " + arg);
+                } else {
+                    path = arg;
+                }
+            }
+            if (path == null) {
+                throw new IllegalArgumentException("Falta el archivo de la traza");
+            }
+            if (horizon < 1L) {
+                throw new IllegalArgumentException("El horizonte debe ser al menos 1: " + horizon);
+            }
+            if (feedbackBoost < 0 || feedbackAging < 0) {
+                throw new IllegalArgumentException("El boost y el envejecimiento de Feedback no pueden ser negativos");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println("❌ " + ex.getMessage());
+            return;
+        }
+
+        OperatingSystem os = new OperatingSystem(new SimulationContext());
+        os.setHeadlessMode(true);
+        os.setReleaseFinishedProcesses(true);
+        os.setMaxProcessesInMemory(memory);
+        os.setRoundRobinQuantum(quantum);
+        os.setContextSwitchCost(switchCost);
+        if (adaptiveQuantum) {
+            os.setAdaptiveQuantum(new AdaptiveQuantumController());
+        }
+        if (feedbackQuanta != null) {
+            os.setFeedbackQuanta(feedbackQuanta);
+        }
+        os.setFeedbackBoostInterval(feedbackBoost);
+        os.setFeedbackAgingThreshold(feedbackAging);
+        IOHandler ioHandler = new IOHandler(os);
+        CPU cpu = new CPU(os, ioHandler);
+        os.attachCpu(cpu);
+        os.setSchedulingPolicy(policy);
+        EventRecorder recorder = null;
+        if (eventsPath != null) {
+            try {
+                recorder = new EventRecorder(new File(eventsPath));
+                recorder.start();
+            } catch (IOException ex) {
+                System.err.println("❌ No se pudo crear la traza de eventos: " + ex.getMessage());
+                return;
+            }
+            os.setEventRecorder(recorder);
+        }
+
+        long start = System.nanoTime();
+        long scheduled = 0L;
+        try (WorkloadSource reader = openSource(new File(path))) {
+            long scheduledHorizon = horizon;
+            scheduled += reader.scheduleUpTo(os, scheduledHorizon);
+            while (os.getGlobalClockCycle() < maxCycles) {
+                long cycle = os.getGlobalClockCycle();
+                if (cycle + horizon / 2L >= scheduledHorizon) {
+                    scheduledHorizon = cycle + horizon;
+                    scheduled += reader.scheduleUpTo(os, scheduledHorizon);
+                }
+                // Se detiene cuando no queda nada por llegar ni procesos vivos, aunque alguna
+                // admisión haya fallado y ese proceso nunca llegue a terminados.
+                if (!reader.hasRemaining() && os.pendingArrivalCount() == 0 && os.liveProcessCount() == 0) {
+                    break;
+                }
+                os.advanceClock();
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println("❌ No se pudo leer la traza: " + ex.getMessage());
+            os.stopSystemClock();
+            closeRecorder(os, recorder);
+            return;
+        }
+        os.stopSystemClock();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        MetricsRegistry.PolicySnapshot metrics = os.getMetrics().snapshot(policy);
+        printSummary(os, cpu, metrics, scheduled, elapsedMillis);
+        printPercentiles(metrics);
+        printInstrumentation(os.getInstrumentation().snapshot());
+        if (adaptiveQuantum && policy == PolicyType.ROUND_ROBIN) {
+            System.out.printf(Locale.ROOT, "Quantum RR final: %d%n", os.getRoundRobinQuantum());
+        }
+        if (closeRecorder(os, recorder)) {
+            System.out.printf(Locale.ROOT, "Eventos grabados: %d en %s%n", recorder.getWrittenEvents(), eventsPath);
+        }
+    }
+
+    /**
+     * Desconecta y cierra el grabador de eventos, si lo hay.
+     * @return true si la traza quedó cerrada correctamente
+     */
+    private static boolean closeRecorder(OperatingSystem os, EventRecorder recorder) {
+        if (recorder == null) {
+            return false;
+        }
+        os.setEventRecorder(null);
+        try {
+            recorder.close();
+            return true;
+        } catch (IOException ex) {
+            System.err.println("❌ No se pudo cerrar la traza de eventos: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    private static WorkloadSource openSource(File file) throws IOException {
+        return BinaryWorkload.isBinaryWorkload(file) ? BinaryWorkload.open(file) : new WorkloadReader(file);
+    }
+
+    /**
+     * Imprime las métricas agregadas. El tiempo de respuesta (primera ejecución - arribo) de los
+     * procesos que ejecutaron sale de las métricas, porque las filas de los terminados ya se
+     * liberaron; los que nunca ejecutaron siguen en la tabla y cuentan hasta el final de la
+     * simulación. La espera en listos se resume en los percentiles.
+     */
+    private static void printSummary(OperatingSystem os, CPU cpu, MetricsRegistry.PolicySnapshot metrics,
+                                     long scheduled, long elapsedMillis) {
+        ProcessTable table = os.getContext().getProcessTable();
+        long totalCycles = os.getGlobalClockCycle();
+        double response = metrics.get(MetricsRegistry.Metric.RESPONSE).getSum();
+        for (int pid = 1; pid <= table.size(); pid++) {
+            long arrival = table.getArrivalCycle(pid);
+            if (arrival >= 0L && table.getFirstExecutionCycle(pid) < 0L) {
+                response += Math.max(0L, totalCycles - arrival);
+            }
+        }
+        int completed = os.finishedQueueSize();
+        System.out.printf(Locale.ROOT, "Procesos leídos: %d, completados: %d%n", scheduled, completed);
+        System.out.printf(Locale.ROOT, "Ciclos totales: %d%n", totalCycles);
+        System.out.printf(Locale.ROOT, "Respuesta promedio: %.2f ciclos%n", response / Math.max(1L, scheduled));
+        System.out.printf(Locale.ROOT, "Throughput: %.4f procesos/ciclo%n",
+                totalCycles > 0 ? completed / (double) totalCycles : 0.0);
+        System.out.printf(Locale.ROOT, "Utilización de CPU: %.2f%%%n",
+                totalCycles > 0 ? 100.0 * cpu.getBusyCycles() / totalCycles : 0.0);
+        System.out.printf(Locale.ROOT, "Tiempo de simulación: %d ms%n", elapsedMillis);
+    }
+
+    /**
+     * Imprime los contadores del pipeline: cambios de contexto, expropiaciones y tiempo por etapa.
+     */
+    private static void printInstrumentation(Instrumentation.Snapshot snapshot) {
+        System.out.printf(Locale.ROOT, "Cambios de contexto: %d, expropiaciones: quantum=%d SRTF=%d Feedback=%d, bloqueos por I/O: %d%n",
+                snapshot.getContextSwitches(),
+                snapshot.getPreemptions(Instrumentation.PreemptionCause.QUANTUM),
+                snapshot.getPreemptions(Instrumentation.PreemptionCause.SHORTEST_REMAINING),
+                snapshot.getPreemptions(Instrumentation.PreemptionCause.FEEDBACK),
+                snapshot.getIoBlocks());
+        System.out.printf(Locale.ROOT, "Ciclos de CPU ociosos: %d, cargando procesos: %d (latencia=%d, caché fría=%d)%n",
+                snapshot.getIdleCpuCycles(),
+                snapshot.getSwitchingCpuCycles(),
+                snapshot.getDispatchLatencyCycles(),
+                snapshot.getCachePenaltyCycles());
+        System.out.printf(Locale.ROOT, "Tiempo por ciclo: planificador=%.0f ns, despachador=%.0f ns, CPU=%.0f ns, p99 total=%d ns%n",
+                snapshot.getNanosPerCycle(Instrumentation.Stage.SCHEDULER),
+                snapshot.getNanosPerCycle(Instrumentation.Stage.DISPATCHER),
+                snapshot.getNanosPerCycle(Instrumentation.Stage.CPU),
+                snapshot.getCycleNanos().getPercentile(99.0));
+    }
+
+    /**
+     * Imprime p50/p95/p99/máximo de cada métrica por proceso registrada por la política.
+     */
+    private static void printPercentiles(MetricsRegistry.PolicySnapshot snapshot) {
+        if (snapshot.getCompletedProcesses() == 0L) {
+            return;
+        }
+        for (MetricsRegistry.Metric metric : MetricsRegistry.Metric.values()) {
+            System.out.printf(Locale.ROOT, "%-20s p50=%.2f p95=%.2f p99=%.2f máx=%.2f%n",
+                    metric.getLabel() + ":",
+                    snapshot.getPercentile(metric, 50.0),
+                    snapshot.getPercentile(metric, 95.0),
+                    snapshot.getPercentile(metric, 99.0),
+                    snapshot.getMax(metric));
+        }
+        System.out.printf(Locale.ROOT, "Cambios de contexto totales: %d (costo: %d ciclos)%n",
+                snapshot.getContextSwitches(), snapshot.getSwitchCostCycles());
+        if (snapshot.getQuantumChanges() > 0L) {
+            System.out.printf(Locale.ROOT, "Cambios de quantum adaptativo: %d%n", snapshot.getQuantumChanges());
+        }
+        if (snapshot.getFeedbackDemotions() > 0L || snapshot.getFeedbackBoosts() > 0L
+                || snapshot.getFeedbackAgingPromotions() > 0L) {
+            System.out.printf(Locale.ROOT, "Feedback: degradaciones=%d, boosts=%d (%d procesos), ascensos por envejecimiento=%d%n",
+                    snapshot.getFeedbackDemotions(), snapshot.getFeedbackBoosts(),
+                    snapshot.getFeedbackBoostedProcesses(), snapshot.getFeedbackAgingPromotions());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package scheduler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * AdaptiveQuantumController reajusta en línea el quantum de Round Robin a partir de dos señales:
+ * <ul>
+ *   <li>la duración de las ráfagas de CPU observadas: se busca el menor quantum con el que la
+ *       fracción objetivo de ráfagas (80 % por defecto) termina sin ser expropiada. Una ráfaga
+ *       expropiada solo aporta una cota inferior, así que si la fracción no se alcanza el quantum
+ *       se duplica. Achicar el quantum convierte en expropiadas ráfagas que antes terminaban, por
+ *       lo que solo se achica si el valor menor cubre la fracción objetivo más SHRINK_MARGIN;</li>
+ *   <li>el largo de la cola de listos: con n procesos esperando (promedio móvil exponencial de
+ *       las muestras de cada ajuste, que solo se actualiza cuando se aleja al menos un proceso
+ *       del valor vigente) el quantum no supera latenciaObjetivo / n, para que una vuelta
+ *       completa de la cola no exceda esa latencia.</li>
+ * </ul>
+ * El resultado se redondea al menor valor de RoundRobin.SUPPORTED_QUANTA que lo cubre. La
+ * estimación por ráfagas solo se recalcula cuando hay al menos MIN_SAMPLES ráfagas nuevas y
+ * luego los conteos se reducen a la mitad, de modo que las recientes pesan más sin que unas
+ * pocas ráfagas hagan oscilar el quantum.
+ *
+ * Las CPU registran ráfagas con recordBurst (desde sus hilos si la ejecución es paralela); el
+ * sistema operativo consulta proposeQuantum desde el hilo del reloj.
+ *
+ * @author santiagodelcastillo
+ */
+public final class AdaptiveQuantumController {
+
+    /** Fracción de ráfagas que debería terminar dentro de un quantum. */
+    public static final double DEFAULT_TARGET_COVERAGE = 0.8;
+    /** Ciclos que puede tardar una vuelta completa de la cola de listos. */
+    public static final int DEFAULT_TARGET_LATENCY_CYCLES = 24;
+    /** Cada cuántos ciclos se reevalúa el quantum. */
+    public static final int DEFAULT_ADJUST_INTERVAL_CYCLES = 8;
+
+    /** Ráfagas necesarias para recalcular la estimación. */
+    private static final int MIN_SAMPLES = 16;
+    /** Cobertura adicional que debe alcanzar un quantum menor para reemplazar al vigente. */
+    private static final double SHRINK_MARGIN = 0.1;
+    /** Peso de la muestra nueva en el promedio del largo de la cola de listos. */
+    private static final double READY_SMOOTHING = 0.25;
+    /** Mayor quantum admitido por Round Robin. */
+    private static final int MAX_QUANTUM = RoundRobin.SUPPORTED_QUANTA[RoundRobin.SUPPORTED_QUANTA.length - 1];
+
+    private final double targetCoverage;
+    private final int targetLatencyCycles;
+    private final int adjustIntervalCycles;
+    /** Ráfagas terminadas antes del quantum, por duración (la última posición agrupa las más largas). */
+    private final AtomicLongArray completedBursts;
+    /** Ráfagas expropiadas, por quantum vigente al expirar. */
+    private final AtomicLongArray expiredBursts;
+    /** Porcentaje de ráfagas que cubría el quantum en el último ajuste. */
+    private volatile int lastCoveragePercent;
+    /** Quantum que cubre la fracción objetivo según la última estimación, o -1 si aún no hay. */
+    private int burstQuantum;
+    /** Largo promedio de la cola de listos, o -1 antes de la primera muestra. */
+    private double smoothedReadyLength;
+    /** Largo de la cola de listos con el que se acota el quantum. */
+    private long heldReadyLength;
+
+    /**
+     * Crea un controlador con cobertura del 80 %, latencia objetivo de 24 ciclos y ajuste cada 8 ciclos.
+     */
+    public AdaptiveQuantumController() {
+        this(DEFAULT_TARGET_COVERAGE, DEFAULT_TARGET_LATENCY_CYCLES, DEFAULT_ADJUST_INTERVAL_CYCLES);
+    }
+
+    /**
+     * Crea un controlador con parámetros propios.
+     * @param targetCoverage fracción de ráfagas que debe terminar dentro del quantum (entre 0 y 1)
+     * @param targetLatencyCycles ciclos máximos para una vuelta de la cola de listos (positivo)
+     * @param adjustIntervalCycles ciclos entre reevaluaciones (positivo)
+     */
+    public AdaptiveQuantumController(double targetCoverage, int targetLatencyCycles, int adjustIntervalCycles) {
+        if (!(targetCoverage > 0.0 && targetCoverage <= 1.0)) {
+            throw new IllegalArgumentException("La cobertura objetivo debe estar entre 0 y 1: " + targetCoverage);
+        }
+        if (targetLatencyCycles <= 0) {
+            throw new IllegalArgumentException("La latencia objetivo debe ser positiva: " + targetLatencyCycles);
+        }
+        if (adjustIntervalCycles <= 0) {
+            throw new IllegalArgumentException("El intervalo de ajuste debe ser positivo: " + adjustIntervalCycles);
+        }
+        this.targetCoverage = targetCoverage;
+        this.targetLatencyCycles = targetLatencyCycles;
+        this.adjustIntervalCycles = adjustIntervalCycles;
+        this.completedBursts = new AtomicLongArray(MAX_QUANTUM + 2);
+        this.expiredBursts = new AtomicLongArray(MAX_QUANTUM + 1);
+        this.lastCoveragePercent = 0;
+        this.burstQuantum = -1;
+        this.smoothedReadyLength = -1.0;
+        this.heldReadyLength = 0L;
+    }
+
+    /**
+     * Registra el fin de una ráfaga de CPU.
+     * @param cycles ciclos ejecutados desde la carga
+     * @param quantumExpired true si la ráfaga terminó por agotar el quantum
+     */
+    public void recordBurst(int cycles, boolean quantumExpired) {
+        if (cycles <= 0) {
+            return;
+        }
+        if (quantumExpired) {
+            expiredBursts.getAndIncrement(Math.min(cycles, MAX_QUANTUM));
+        } else {
+            completedBursts.getAndIncrement(Math.min(cycles, MAX_QUANTUM + 1));
+        }
+    }
+
+    /**
+     * Indica si en el ciclo dado corresponde reevaluar el quantum.
+     * @param cycle ciclo global
+     * @return true cada adjustIntervalCycles ciclos
+     */
+    public boolean isAdjustmentDue(long cycle) {
+        return cycle > 0L && cycle % adjustIntervalCycles == 0L;
+    }
+
+    /**
+     * Calcula el quantum para el próximo intervalo. Solo lo invoca el hilo del reloj.
+     * @param currentQuantum quantum vigente
+     * @param readyQueueLength procesos esperando en listos
+     * @return quantum admitido por Round Robin (puede ser igual al vigente)
+     */
+    public int proposeQuantum(int currentQuantum, int readyQueueLength) {
+        smoothedReadyLength = smoothedReadyLength < 0.0 ? readyQueueLength
+                : smoothedReadyLength + READY_SMOOTHING * (readyQueueLength - smoothedReadyLength);
+        long total = 0L;
+        for (int i = 0; i < completedBursts.length(); i++) {
+            total += completedBursts.get(i);
+        }
+        for (int i = 0; i < expiredBursts.length(); i++) {
+            total += expiredBursts.get(i);
+        }
+        if (total >= MIN_SAMPLES) {
+            estimateBurstQuantum(currentQuantum, total);
+            decay();
+        }
+        int proposed = burstQuantum > 0 ? burstQuantum : currentQuantum;
+        if (Math.abs(smoothedReadyLength - heldReadyLength) >= 1.0) {
+            heldReadyLength = Math.round(smoothedReadyLength);
+        }
+        if (heldReadyLength > 0L) {
+            proposed = (int) Math.min(proposed, Math.max(1L, targetLatencyCycles / heldReadyLength));
+        }
+        return supportedAtLeast(proposed);
+    }
+
+    /**
+     * Estima el quantum según las ráfagas registradas: si el vigente no cubre la fracción objetivo
+     * crece hasta el menor valor que la cubre (o se duplica si ninguno alcanza); si un valor
+     * menor cubre la fracción objetivo más SHRINK_MARGIN se achica a ese valor; si no, se mantiene.
+     */
+    private void estimateBurstQuantum(int currentQuantum, long total) {
+        long needed = (long) Math.ceil(targetCoverage * total);
+        long neededToShrink = (long) Math.ceil(Math.min(1.0, targetCoverage + SHRINK_MARGIN) * total);
+        long covered = 0L;
+        long coveredByCurrent = 0L;
+        int growTo = -1;
+        int shrinkTo = -1;
+        for (int length = 1; length <= MAX_QUANTUM; length++) {
+            covered += completedBursts.get(length);
+            if (length <= currentQuantum) {
+                coveredByCurrent = covered;
+            }
+            if (growTo < 0 && covered >= needed) {
+                growTo = length;
+            }
+            if (shrinkTo < 0 && covered >= neededToShrink) {
+                shrinkTo = length;
+            }
+        }
+        lastCoveragePercent = (int) (100L * coveredByCurrent / total);
+        if (coveredByCurrent < needed) {
+            burstQuantum = growTo > 0 ? growTo : Math.min(MAX_QUANTUM, currentQuantum * 2);
+        } else if (shrinkTo > 0 && shrinkTo < currentQuantum) {
+            burstQuantum = shrinkTo;
+        } else {
+            burstQuantum = currentQuantum;
+        }
+    }
+
+    /**
+     * @return porcentaje de ráfagas que el quantum vigente cubría en el último ajuste
+     */
+    public int getLastCoveragePercent() {
+        return lastCoveragePercent;
+    }
+
+    public double getTargetCoverage() {
+        return targetCoverage;
+    }
+
+    public int getTargetLatencyCycles() {
+        return targetLatencyCycles;
+    }
+
+    public int getAdjustIntervalCycles() {
+        return adjustIntervalCycles;
+    }
+
+    /**
+     * Reduce los conteos a la mitad para que las ráfagas antiguas pierdan peso.
+     */
+    private void decay() {
+        for (int i = 0; i < completedBursts.length(); i++) {
+            completedBursts.set(i, completedBursts.get(i) >> 1);
+        }
+        for (int i = 0; i < expiredBursts.length(); i++) {
+            expiredBursts.set(i, expiredBursts.get(i) >> 1);
+        }
+    }
+
+    /**
+     * Menor quantum admitido que es mayor o igual al indicado.
+     */
+    private static int supportedAtLeast(int quantum) {
+        for (int value : RoundRobin.SUPPORTED_QUANTA) {
+            if (value >= quantum) {
+                return value;
+            }
+        }
+        return MAX_QUANTUM;
+    }
+}
@@ -6,16 +6,23 @@ package scheduler;
 
 import core.CPU;
 import core.ProcessControlBlock;
+import core.SimulatorLog;
 import java.util.Objects;
-import java.util.logging.Logger;
+import java.util.function.Function;
+import java.util.logging.Level;
 
 /**
- * Dispatcher coordina la carga de procesos seleccionados por el planificador en la CPU disponible.
+ * Dispatcher coordina la carga de procesos seleccionados por el planificador en las CPUs disponibles.
  */
 public class Dispatcher {
 
-    /** Logger para diagnósticos de despacho en el simulador. */
-    private static final Logger LOGGER = Logger.getLogger(Dispatcher.class.getName());
+    /** Diagnósticos de despacho en el simulador (ver SimulatorLog). */
+    private static final SimulatorLog.Message BUSY_MESSAGE = SimulatorLog.message(Dispatcher.class,
+            SimulatorLog.Subsystem.DISPATCHER, Level.FINE,
+            entry -> String.format("CPU ocupada, se omite despacho de %s (#%d)", entry.ref(0), entry.arg(0)));
+    private static final SimulatorLog.Message DISPATCH_MESSAGE = SimulatorLog.message(Dispatcher.class,
+            SimulatorLog.Subsystem.DISPATCHER, Level.FINE,
+            entry -> String.format("Despachador cargó %s (#%d) en CPU %d", entry.ref(0), entry.arg(0), entry.arg(1)));
 
     /**
      * Carga el proceso indicado en la CPU si esta se encuentra libre.
@@ -28,14 +35,34 @@ public class Dispatcher {
             return;
         }
         if (!cpu.isIdle()) {
-            LOGGER.fine(() -> String.format("CPU ocupada, se omite despacho de %s (#%d)",
-                    pcb.getProcessName(),
-                    pcb.getProcessId()));
+            SimulatorLog.log(BUSY_MESSAGE, pcb.getProcessName(), pcb.getProcessId());
             return;
         }
         cpu.loadProcess(pcb);
-        LOGGER.fine(() -> String.format("Despachador cargó %s (#%d) en CPU",
-                pcb.getProcessName(),
-                pcb.getProcessId()));
+        SimulatorLog.log(DISPATCH_MESSAGE, pcb.getProcessName(), pcb.getProcessId(), cpu.getCoreId());
+    }
+
+    /**
+     * Recorre los núcleos en orden y carga en cada núcleo ocioso el proceso que indique el selector.
+     * @param cores núcleos del sistema
+     * @param selector función que elige (y retira de ready) el proceso para un núcleo ocioso
+     * @return cantidad de núcleos que recibieron un proceso en este ciclo
+     */
+    public int fillIdleCores(CPU[] cores, Function<CPU, ProcessControlBlock> selector) {
+        Objects.requireNonNull(cores, "Los núcleos de destino no pueden ser nulos");
+        Objects.requireNonNull(selector, "El selector de procesos no puede ser nulo");
+        int loaded = 0;
+        for (CPU core : cores) {
+            if (core == null || !core.isIdle()) {
+                continue;
+            }
+            ProcessControlBlock pcb = selector.apply(core);
+            if (pcb == null) {
+                continue;
+            }
+            dispatch(pcb, core);
+            loaded++;
+        }
+        return loaded;
     }
 }
@@ -5,8 +5,11 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.ProcessQueue;
+import core.ProcessTable;
+import core.SimulatorLog;
 import datastructures.CustomQueue;
-import java.util.logging.Logger;
+import java.util.logging.Level;
 
 /**
  * FCFS (First Come, First Served) selecciona procesos en orden de llegada sin expropiación.
@@ -14,8 +17,10 @@ import java.util.logging.Logger;
  */
 public class FCFS implements SchedulingPolicy {
 
-    /** Logger para trazar el proceso seleccionado en cada ciclo. */
-    private static final Logger LOGGER = Logger.getLogger(FCFS.class.getName());
+    /** Traza el proceso seleccionado en cada ciclo (ver SimulatorLog). */
+    private static final SimulatorLog.Message SELECTION_MESSAGE = SimulatorLog.message(FCFS.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.INFO,
+            entry -> String.format("Seleccionado: %s", entry.ref(0)));
 
     /**
      * Extrae el proceso al frente de la cola de listos (FIFO) y registra la selección.
@@ -32,8 +37,27 @@ public class FCFS implements SchedulingPolicy {
         }
         ProcessControlBlock next = readyQueue.dequeue();
         if (next != null) {
-            LOGGER.info(() -> String.format("Seleccionado: %s", next.getProcessName()));
+            SimulatorLog.log(SELECTION_MESSAGE, next.getProcessName());
         }
         return next;
     }
+
+    /**
+     * La cola FIFO de listos es intrusiva: expropiar, bloquear o finalizar un proceso lo retira en O(1).
+     * @param processTable tabla de procesos de la simulación
+     * @return cola intrusiva vacía
+     */
+    @Override
+    public CustomQueue<ProcessControlBlock> createReadyQueue(ProcessTable processTable) {
+        return new ProcessQueue(processTable);
+    }
+
+    /**
+     * FCFS no expropia: nunca reencola en colas locales, por lo que activarlas no altera su orden.
+     * @return true
+     */
+    @Override
+    public boolean supportsLocalRunQueues() {
+        return true;
+    }
 }
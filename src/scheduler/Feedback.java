@@ -5,55 +5,156 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.SimulationContext;
+import core.SimulatorLog;
 import datastructures.CustomQueue;
-import java.util.logging.Logger;
+import java.util.logging.Level;
 
 /**
  * Feedback implementa colas multinivel con quantums crecientes para balancear equidad y throughput.
+ *
+ * Cada nivel es una cola FIFO y se atiende siempre el nivel más prioritario con procesos. La
+ * cantidad de niveles y sus quantums los fijan las CPU (SimulationContext.setFeedbackQuanta):
+ * un proceso que agota el quantum de su nivel baja uno. Para que los procesos largos no esperen
+ * indefinidamente detrás de un flujo de procesos cortos, el sistema operativo puede además:
+ * <ul>
+ *   <li>hacer un boost periódico ({@link #boost(long)}): todos los procesos vuelven al nivel 0.
+ *       Los que están en estas colas se mueven en el momento; los que estaban bloqueados o
+ *       suspendidos se suben al volver a listos si no ejecutaron desde el último boost;</li>
+ *   <li>envejecerlos ({@link #age(long, int)}): un proceso que lleva en listos al menos el umbral
+ *       de espera sube un nivel.</li>
+ * </ul>
  */
 public class Feedback implements SchedulingPolicy {
 
-    private static final Logger LOGGER = Logger.getLogger(Feedback.class.getName());
-    private static final int LEVELS = 4;
+    private static final SimulatorLog.Message SELECTION_MESSAGE = SimulatorLog.message(Feedback.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.FINE,
+            entry -> String.format("Feedback selecciona %s (#%d) desde nivel %d", entry.ref(0), entry.arg(0), entry.arg(1)));
+    private static final int LEVELS = SimulationContext.MAX_FEEDBACK_LEVELS;
 
     private final CustomQueue<ProcessControlBlock>[] queues;
+    /** Uno más que el mayor nivel en el que se encoló un proceso; acota el recorrido de las colas. */
+    private int usedLevels;
+    /** Ciclo del último boost de prioridad, o -1 si no hubo ninguno. */
+    private long lastBoostCycle;
 
     public Feedback() {
         queues = new CustomQueue[LEVELS];
         for (int i = 0; i < LEVELS; i++) {
             queues[i] = new CustomQueue<>();
         }
+        usedLevels = 1;
+        lastBoostCycle = -1L;
+    }
+
+    /**
+     * Interpreta quantums por nivel escritos como "1-2-4-8" (un valor por nivel).
+     * @param spec texto a interpretar
+     * @return quantums positivos, entre 1 y SimulationContext.MAX_FEEDBACK_LEVELS
+     */
+    public static int[] parseQuanta(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            throw new IllegalArgumentException("Los quantums de Feedback no pueden estar vacíos");
+        }
+        String[] parts = spec.trim().split("-");
+        if (parts.length > SimulationContext.MAX_FEEDBACK_LEVELS) {
+            throw new IllegalArgumentException("Feedback admite hasta " + SimulationContext.MAX_FEEDBACK_LEVELS + " niveles: " + spec);
+        }
+        int[] quanta = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                quanta[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Quantum de Feedback inválido: " + parts[i]);
+            }
+            if (quanta[i] <= 0) {
+                throw new IllegalArgumentException("El quantum de Feedback debe ser positivo (nivel " + i + ")");
+            }
+        }
+        return quanta;
     }
 
     @Override
-    public ProcessControlBlock selectNextProcess(CustomQueue<ProcessControlBlock> readyQueue,
-                                                 ProcessControlBlock currentProcess,
-                                                 long currentCycle) {
+    public synchronized ProcessControlBlock selectNextProcess(CustomQueue<ProcessControlBlock> readyQueue,
+                                                              ProcessControlBlock currentProcess,
+                                                              long currentCycle) {
         if (readyQueue != null && !readyQueue.isEmpty()) {
             drainExternalQueue(readyQueue);
         }
-        for (int level = 0; level < LEVELS; level++) {
+        for (int level = 0; level < usedLevels; level++) {
             if (!queues[level].isEmpty()) {
                 ProcessControlBlock selected = queues[level].dequeue();
                 selected.setPriorityLevel(level);
-                final ProcessControlBlock chosen = selected;
-                final int logLevel = level;
-                LOGGER.fine(() -> String.format("Feedback selecciona %s (#%d) desde nivel %d",
-                        chosen.getProcessName(),
-                        chosen.getProcessId(),
-                        logLevel));
+                SimulatorLog.log(SELECTION_MESSAGE, selected.getProcessName(), selected.getProcessId(), level);
                 return selected;
             }
         }
         return null;
     }
 
+    /**
+     * Devuelve al nivel 0 a todos los procesos encolados, conservando el orden entre niveles, y
+     * registra el ciclo para subir también a los que vuelvan a listos sin haber ejecutado desde
+     * entonces.
+     * @param cycle ciclo global del boost
+     * @return procesos encolados que estaban en un nivel inferior al 0
+     */
+    public synchronized int boost(long cycle) {
+        lastBoostCycle = cycle;
+        int boosted = 0;
+        for (int level = 1; level < usedLevels; level++) {
+            ProcessControlBlock pcb;
+            while ((pcb = queues[level].dequeue()) != null) {
+                pcb.setPriorityLevel(0);
+                queues[0].enqueue(pcb);
+                boosted++;
+            }
+        }
+        usedLevels = 1;
+        return boosted;
+    }
+
+    /**
+     * Sube un nivel a los procesos que esperan en listos desde hace al menos el umbral. Cada cola
+     * es FIFO, así que basta revisar su cabeza; el proceso ascendido reinicia su marca de espera
+     * (la espera acumulada no cambia) para volver a envejecer recién tras otro umbral.
+     * @param cycle ciclo global actual
+     * @param waitThreshold ciclos de espera que justifican el ascenso (positivo)
+     * @return procesos ascendidos
+     */
+    public synchronized int age(long cycle, int waitThreshold) {
+        int promoted = 0;
+        for (int level = 1; level < usedLevels; level++) {
+            CustomQueue<ProcessControlBlock> queue = queues[level];
+            ProcessControlBlock head;
+            while ((head = queue.peek()) != null) {
+                long arrival = head.getReadyQueueArrivalTime();
+                if (arrival < 0L || cycle - arrival < waitThreshold) {
+                    break;
+                }
+                queue.dequeue();
+                head.leaveReadyQueue(cycle);
+                head.markReadyQueueArrival(cycle);
+                head.setPriorityLevel(level - 1);
+                queues[level - 1].enqueue(head);
+                promoted++;
+            }
+        }
+        return promoted;
+    }
+
     private void drainExternalQueue(CustomQueue<ProcessControlBlock> external) {
         ProcessControlBlock pcb;
         while ((pcb = external.dequeue()) != null) {
             int level = clampLevel(pcb.getPriorityLevel());
+            if (level > 0 && pcb.getLastRunCycle() < lastBoostCycle) {
+                level = 0;
+            }
             pcb.setPriorityLevel(level);
             queues[level].enqueue(pcb);
+            if (level >= usedLevels) {
+                usedLevels = level + 1;
+            }
         }
     }
 
@@ -5,17 +5,32 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.SimulatorLog;
 import datastructures.CustomQueue;
-import java.util.logging.Logger;
+import java.util.logging.Level;
 
 /**
  * HRRN (Highest Response Ratio Next) prioriza procesos considerando tiempo de espera y duración.
  * Evita la inanición de procesos largos al aumentar su prioridad a medida que esperan en ready.
+ * Usa una ResponseRatioQueue como cola de listos para no recalcular el ratio de cada proceso en
+ * cada despacho; con una cola FIFO recurre al recorrido lineal.
  */
 public class HRRN implements SchedulingPolicy {
 
-    /** Logger para registrar las decisiones de la política HRRN. */
-    private static final Logger LOGGER = Logger.getLogger(HRRN.class.getName());
+    /** Registra las decisiones de la política HRRN (ver SimulatorLog). */
+    private static final SimulatorLog.Message SELECTION_MESSAGE = SimulatorLog.message(HRRN.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.INFO,
+            entry -> String.format("HRRN seleccionó %s (#%d) con ratio=%.3f (espera=%d, total=%d)",
+                    entry.ref(0), entry.arg(0), entry.decimal(1), entry.arg(2), entry.arg(3)));
+
+    /**
+     * Mantiene la cola de listos agrupada por duración para seleccionar sin recorrerla completa.
+     * @return cola indexada por ratio de respuesta
+     */
+    @Override
+    public CustomQueue<ProcessControlBlock> createReadyQueue() {
+        return new ResponseRatioQueue();
+    }
 
     /**
      * Selecciona el proceso con mayor ratio de respuesta.
@@ -32,6 +47,27 @@ public class HRRN implements SchedulingPolicy {
             return null;
         }
 
+        ProcessControlBlock best = readyQueue instanceof ResponseRatioQueue
+                ? ((ResponseRatioQueue) readyQueue).dequeueHighestRatio(currentCycle)
+                : removeHighestRatio(readyQueue, currentCycle);
+        if (best == null) {
+            return null;
+        }
+        if (SELECTION_MESSAGE.isEnabled()) {
+            SimulatorLog.log(SELECTION_MESSAGE, best.getProcessName(), best.getProcessId(),
+                    SimulatorLog.bits(best.getResponseRatio(currentCycle)),
+                    best.getWaitingTime(currentCycle), best.getTotalInstructions());
+        }
+        return best;
+    }
+
+    /**
+     * Recorre una cola FIFO calculando el ratio de cada proceso y extrae el mayor (O(n)).
+     * @param readyQueue cola de listos sin índice de ratios
+     * @param currentCycle ciclo global usado para calcular la espera
+     * @return proceso con mayor ratio o null si la cola está vacía
+     */
+    private ProcessControlBlock removeHighestRatio(CustomQueue<ProcessControlBlock> readyQueue, long currentCycle) {
         Object[] snapshot = readyQueue.getAllProcesses();
         ProcessControlBlock best = null;
         double bestRatio = Double.NEGATIVE_INFINITY;
@@ -53,14 +89,7 @@ public class HRRN implements SchedulingPolicy {
         }
 
         readyQueue.remove(best);
-        ProcessControlBlock selected = best;
-        LOGGER.info(() -> String.format("HRRN seleccionó %s (#%d) con ratio=%.3f (espera=%d, total=%d)",
-                selected.getProcessName(),
-                selected.getProcessId(),
-                selected.getResponseRatio(currentCycle),
-                selected.getWaitingTime(currentCycle),
-                selected.getTotalInstructions()));
-        return selected;
+        return best;
     }
 
     private boolean isLowerId(ProcessControlBlock candidate, ProcessControlBlock current) {
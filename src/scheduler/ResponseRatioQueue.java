@@ -0,0 +1,481 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package scheduler;
+
+import core.ProcessControlBlock;
+import datastructures.CustomQueue;
+import datastructures.IntIntHashMap;
+import java.util.Objects;
+
+/**
+ * ResponseRatioQueue es la cola de listos de HRRN. Agrupa los procesos en cubetas por duración
+ * (S = instrucciones totales). Dentro de una cubeta todos comparten S, así que el de mayor ratio
+ * 1 + (ahora − llegada) / S es siempre el que llegó primero: el orden interno nunca cambia con el
+ * reloj y no hay que recalcularlo. Para despachar solo se comparan las cabezas de las cubetas,
+ * con un costo O(B + log n) donde B es la cantidad de duraciones distintas presentes, en lugar
+ * de evaluar el ratio de los n procesos listos. Cada duración distinta recibe una posición densa
+ * (a través de un IntIntHashMap), así la memoria depende de cuántas duraciones hay y no de su valor.
+ * Las comparaciones de ratios se hacen con productos cruzados enteros, sin redondeo.
+ */
+public class ResponseRatioQueue extends CustomQueue<ProcessControlBlock> {
+
+    /** Capacidad inicial de los arreglos indexados por cubeta o por ID. */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Marca usada para IDs o cubetas ausentes. */
+    private static final int ABSENT = -1;
+
+    /** Posición en buckets de cada duración vista. */
+    private final IntIntHashMap slotByBurst;
+    /** Cubetas en el orden en que apareció su duración (las primeras bucketCount posiciones). */
+    private Bucket[] buckets;
+    /** Cantidad de cubetas creadas. */
+    private int bucketCount;
+    /** Cubetas con al menos un proceso encolado, en arreglo denso para recorrerlas. */
+    private Bucket[] activeBuckets;
+    /** Cantidad de cubetas no vacías. */
+    private int activeCount;
+    /** Cubeta en la que se encoló cada proceso, indexada por ID (ABSENT si no está encolado). */
+    private int[] slotByHandle;
+    /** Posición de cada proceso dentro del montículo de su cubeta, indexada por ID. */
+    private int[] heapPositions;
+    /** ID del siguiente proceso en orden de llegada a la cola. */
+    private int[] newerLinks;
+    /** ID del proceso anterior en orden de llegada a la cola. */
+    private int[] olderLinks;
+    /** ID del proceso encolado hace más tiempo. */
+    private int oldestHandle;
+    /** ID del proceso encolado más recientemente. */
+    private int newestHandle;
+    /** Número total de procesos encolados. */
+    private int size;
+
+    /**
+     * Construye una cola HRRN vacía.
+     */
+    public ResponseRatioQueue() {
+        this.slotByBurst = new IntIntHashMap(DEFAULT_CAPACITY, ABSENT);
+        this.buckets = new Bucket[DEFAULT_CAPACITY];
+        this.bucketCount = 0;
+        this.activeBuckets = new Bucket[DEFAULT_CAPACITY];
+        this.activeCount = 0;
+        this.slotByHandle = filledArray(DEFAULT_CAPACITY);
+        this.heapPositions = new int[DEFAULT_CAPACITY];
+        this.newerLinks = new int[DEFAULT_CAPACITY];
+        this.olderLinks = new int[DEFAULT_CAPACITY];
+        this.oldestHandle = ABSENT;
+        this.newestHandle = ABSENT;
+        this.size = 0;
+    }
+
+    /**
+     * Encola el proceso en la cubeta de su duración. Requiere que su llegada a ready ya esté marcada.
+     * @param pcb proceso listo (no nulo)
+     * @throws IllegalStateException si el proceso ya estaba encolado
+     */
+    @Override
+    public synchronized void enqueue(ProcessControlBlock pcb) {
+        Objects.requireNonNull(pcb, "La cola HRRN no admite procesos nulos");
+        int handle = pcb.getProcessId();
+        ensureHandleCapacity(handle);
+        if (slotByHandle[handle] != ABSENT) {
+            throw new IllegalStateException("El proceso #" + handle + " ya está en la cola HRRN");
+        }
+        Bucket bucket = bucketFor(burstOf(pcb));
+        slotByHandle[handle] = bucket.slot;
+        bucket.insert(pcb);
+        activate(bucket);
+        linkNewest(handle);
+        size++;
+    }
+
+    /**
+     * Retira el proceso con mayor ratio de respuesta en el ciclo indicado.
+     * Ante empate exacto de ratios gana el ID menor, igual que el recorrido lineal clásico.
+     * @param currentCycle ciclo global usado para calcular la espera
+     * @return proceso seleccionado o null si la cola está vacía
+     */
+    public synchronized ProcessControlBlock dequeueHighestRatio(long currentCycle) {
+        ProcessControlBlock best = peekHighestRatioInternal(currentCycle);
+        if (best != null) {
+            removeInternal(best.getProcessId());
+        }
+        return best;
+    }
+
+    /**
+     * Devuelve sin retirarlo el proceso con mayor ratio de respuesta en el ciclo indicado.
+     * @param currentCycle ciclo global usado para calcular la espera
+     * @return proceso con mayor ratio o null si la cola está vacía
+     */
+    public synchronized ProcessControlBlock peekHighestRatio(long currentCycle) {
+        return peekHighestRatioInternal(currentCycle);
+    }
+
+    /**
+     * Sin un ciclo de referencia la cola se comporta como FIFO y retira el más antiguo.
+     * @return proceso encolado hace más tiempo o null si está vacía
+     */
+    @Override
+    public synchronized ProcessControlBlock dequeue() {
+        return dequeueOldest();
+    }
+
+    /**
+     * Retira el proceso encolado hace más tiempo, independientemente de su ratio.
+     * @return proceso más antiguo o null si la cola está vacía
+     */
+    @Override
+    public synchronized ProcessControlBlock dequeueOldest() {
+        if (size == 0) {
+            return null;
+        }
+        return removeInternal(oldestHandle);
+    }
+
+    /**
+     * Devuelve el proceso encolado hace más tiempo sin retirarlo.
+     * @return proceso más antiguo o null si la cola está vacía
+     */
+    @Override
+    public synchronized ProcessControlBlock peek() {
+        return size == 0 ? null : processAt(oldestHandle);
+    }
+
+    /**
+     * Elimina el proceso indicado localizándolo por su ID, en O(log n).
+     * @param pcb proceso a eliminar
+     * @return true si estaba encolado
+     */
+    @Override
+    public synchronized boolean remove(ProcessControlBlock pcb) {
+        if (pcb == null) {
+            return false;
+        }
+        int handle = pcb.getProcessId();
+        if (handle < 0 || handle >= slotByHandle.length || slotByHandle[handle] == ABSENT) {
+            return false;
+        }
+        // Los PCB son vistas sobre la tabla: dos vistas distintas del mismo proceso son iguales
+        if (!processAt(handle).equals(pcb)) {
+            return false;
+        }
+        removeInternal(handle);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene una copia de los procesos en orden de llegada a la cola.
+     * @return arreglo con la instantánea de los procesos listos
+     */
+    @Override
+    public synchronized Object[] getAllProcesses() {
+        Object[] snapshot = new Object[size];
+        int index = 0;
+        for (int handle = oldestHandle; handle != ABSENT; handle = newerLinks[handle]) {
+            snapshot[index++] = processAt(handle);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Compara las cabezas de todas las cubetas no vacías y devuelve la de mayor ratio.
+     * @param currentCycle ciclo global usado para calcular la espera
+     * @return proceso con mayor ratio o null si no hay procesos
+     */
+    private ProcessControlBlock peekHighestRatioInternal(long currentCycle) {
+        ProcessControlBlock best = null;
+        long bestWaiting = 0L;
+        int bestBurst = 1;
+        for (int i = 0; i < activeCount; i++) {
+            Bucket bucket = activeBuckets[i];
+            int burst = bucket.burst;
+            ProcessControlBlock head = bucket.heap[0];
+            long waiting = head.getWaitingTime(currentCycle);
+            if (best == null) {
+                best = head;
+                bestWaiting = waiting;
+                bestBurst = burst;
+                continue;
+            }
+            // ratio = 1 + espera / duración; se comparan espera_a * duración_b contra espera_b * duración_a
+            long lhs = waiting * bestBurst;
+            long rhs = bestWaiting * burst;
+            if (lhs > rhs || (lhs == rhs && head.getProcessId() < best.getProcessId())) {
+                best = head;
+                bestWaiting = waiting;
+                bestBurst = burst;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Retira de su cubeta y de la lista de antigüedad un proceso que se sabe encolado.
+     * @param handle ID del proceso a retirar
+     * @return proceso retirado
+     */
+    private ProcessControlBlock removeInternal(int handle) {
+        Bucket bucket = buckets[slotByHandle[handle]];
+        ProcessControlBlock removed = bucket.removeAt(heapPositions[handle]);
+        if (bucket.size == 0) {
+            deactivate(bucket);
+        }
+        slotByHandle[handle] = ABSENT;
+        unlink(handle);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Obtiene el proceso encolado con el ID indicado.
+     */
+    private ProcessControlBlock processAt(int handle) {
+        return buckets[slotByHandle[handle]].heap[heapPositions[handle]];
+    }
+
+    /**
+     * Calcula la duración usada como clave de cubeta; los procesos sin instrucciones cuentan como 1,
+     * igual que en ProcessControlBlock.getResponseRatio.
+     */
+    private static int burstOf(ProcessControlBlock pcb) {
+        return Math.max(1, pcb.getTotalInstructions());
+    }
+
+    /**
+     * Obtiene (creándola si hace falta) la cubeta asociada a una duración.
+     * @param burst duración del proceso
+     * @return cubeta ordenada por llegada
+     */
+    private Bucket bucketFor(int burst) {
+        int slot = slotByBurst.get(burst);
+        if (slot != ABSENT) {
+            return buckets[slot];
+        }
+        if (bucketCount == buckets.length) {
+            Bucket[] newBuckets = new Bucket[buckets.length * 2];
+            System.arraycopy(buckets, 0, newBuckets, 0, bucketCount);
+            buckets = newBuckets;
+        }
+        Bucket bucket = new Bucket(burst, bucketCount);
+        buckets[bucketCount] = bucket;
+        slotByBurst.put(burst, bucketCount);
+        bucketCount++;
+        return bucket;
+    }
+
+    /**
+     * Registra la cubeta como activa si aún no lo estaba.
+     */
+    private void activate(Bucket bucket) {
+        if (bucket.activePosition != ABSENT) {
+            return;
+        }
+        if (activeCount == activeBuckets.length) {
+            Bucket[] newActive = new Bucket[activeBuckets.length * 2];
+            System.arraycopy(activeBuckets, 0, newActive, 0, activeCount);
+            activeBuckets = newActive;
+        }
+        activeBuckets[activeCount] = bucket;
+        bucket.activePosition = activeCount;
+        activeCount++;
+    }
+
+    /**
+     * Quita la cubeta de las activas intercambiándola con la última, en O(1).
+     */
+    private void deactivate(Bucket bucket) {
+        int position = bucket.activePosition;
+        Bucket last = activeBuckets[--activeCount];
+        activeBuckets[position] = last;
+        last.activePosition = position;
+        activeBuckets[activeCount] = null;
+        bucket.activePosition = ABSENT;
+    }
+
+    /**
+     * Agrega el ID al final de la lista de antigüedad.
+     */
+    private void linkNewest(int handle) {
+        olderLinks[handle] = newestHandle;
+        newerLinks[handle] = ABSENT;
+        if (newestHandle == ABSENT) {
+            oldestHandle = handle;
+        } else {
+            newerLinks[newestHandle] = handle;
+        }
+        newestHandle = handle;
+    }
+
+    /**
+     * Retira el ID de la lista de antigüedad en O(1).
+     */
+    private void unlink(int handle) {
+        int older = olderLinks[handle];
+        int newer = newerLinks[handle];
+        if (older == ABSENT) {
+            oldestHandle = newer;
+        } else {
+            newerLinks[older] = newer;
+        }
+        if (newer == ABSENT) {
+            newestHandle = older;
+        } else {
+            olderLinks[newer] = older;
+        }
+    }
+
+    /**
+     * Asegura que los arreglos indexados por ID puedan contener el manejador indicado.
+     */
+    private void ensureHandleCapacity(int handle) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("El ID de proceso no puede ser negativo: " + handle);
+        }
+        if (handle < slotByHandle.length) {
+            return;
+        }
+        int oldCapacity = slotByHandle.length;
+        int newCapacity = Math.max(oldCapacity * 2, handle + 1);
+        int[] newSlotByHandle = filledArray(newCapacity);
+        int[] newHeapPositions = new int[newCapacity];
+        int[] newNewerLinks = new int[newCapacity];
+        int[] newOlderLinks = new int[newCapacity];
+        System.arraycopy(slotByHandle, 0, newSlotByHandle, 0, oldCapacity);
+        System.arraycopy(heapPositions, 0, newHeapPositions, 0, oldCapacity);
+        System.arraycopy(newerLinks, 0, newNewerLinks, 0, oldCapacity);
+        System.arraycopy(olderLinks, 0, newOlderLinks, 0, oldCapacity);
+        slotByHandle = newSlotByHandle;
+        heapPositions = newHeapPositions;
+        newerLinks = newNewerLinks;
+        olderLinks = newOlderLinks;
+    }
+
+    /**
+     * Crea un arreglo de enteros inicializado con ABSENT.
+     */
+    private static int[] filledArray(int length) {
+        int[] array = new int[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = ABSENT;
+        }
+        return array;
+    }
+
+    /**
+     * Montículo mínimo de una cubeta ordenado por (llegada a ready, ID). Las posiciones de sus
+     * elementos se guardan en heapPositions, compartido por todas las cubetas, para que la memoria
+     * de índices no crezca con la cantidad de cubetas.
+     */
+    private final class Bucket {
+
+        /** Duración compartida por los procesos de la cubeta. */
+        private final int burst;
+        /** Posición de la cubeta en buckets. */
+        private final int slot;
+        /** Posición dentro de activeBuckets, o ABSENT si la cubeta está vacía. */
+        private int activePosition = ABSENT;
+        /** Procesos de la cubeta organizados como montículo binario. */
+        private ProcessControlBlock[] heap = new ProcessControlBlock[4];
+        /** Cantidad de procesos en la cubeta. */
+        private int size;
+
+        private Bucket(int burst, int slot) {
+            this.burst = burst;
+            this.slot = slot;
+        }
+
+        /**
+         * Inserta el proceso en O(log k).
+         */
+        private void insert(ProcessControlBlock pcb) {
+            if (size == heap.length) {
+                ProcessControlBlock[] newHeap = new ProcessControlBlock[heap.length * 2];
+                System.arraycopy(heap, 0, newHeap, 0, size);
+                heap = newHeap;
+            }
+            heap[size] = pcb;
+            heapPositions[pcb.getProcessId()] = size;
+            siftUp(size++);
+        }
+
+        /**
+         * Retira el proceso en la posición indicada en O(log k).
+         */
+        private ProcessControlBlock removeAt(int index) {
+            ProcessControlBlock removed = heap[index];
+            int last = --size;
+            if (index != last) {
+                place(heap[last], index);
+                heap[last] = null;
+                if (!siftUp(index)) {
+                    siftDown(index);
+                }
+            } else {
+                heap[last] = null; // Ayuda al recolector de basura
+            }
+            return removed;
+        }
+
+        private boolean siftUp(int index) {
+            int start = index;
+            ProcessControlBlock value = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!arrivedBefore(value, heap[parent])) {
+                    break;
+                }
+                place(heap[parent], index);
+                index = parent;
+            }
+            place(value, index);
+            return index != start;
+        }
+
+        private void siftDown(int index) {
+            ProcessControlBlock value = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < size && arrivedBefore(heap[right], heap[child])) {
+                    child = right;
+                }
+                if (!arrivedBefore(heap[child], value)) {
+                    break;
+                }
+                place(heap[child], index);
+                index = child;
+            }
+            place(value, index);
+        }
+
+        private void place(ProcessControlBlock pcb, int index) {
+            heap[index] = pcb;
+            heapPositions[pcb.getProcessId()] = index;
+        }
+
+        /**
+         * Orden de la cubeta: llegada a ready más antigua primero, ID menor como desempate.
+         */
+        private boolean arrivedBefore(ProcessControlBlock a, ProcessControlBlock b) {
+            long arrivalA = a.getReadyQueueArrivalTime();
+            long arrivalB = b.getReadyQueueArrivalTime();
+            if (arrivalA != arrivalB) {
+                return arrivalA < arrivalB;
+            }
+            return a.getProcessId() < b.getProcessId();
+        }
+    }
+}
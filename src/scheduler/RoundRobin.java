@@ -5,6 +5,8 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.ProcessQueue;
+import core.ProcessTable;
 import datastructures.CustomQueue;
 
 /**
@@ -47,4 +49,23 @@ public class RoundRobin implements SchedulingPolicy {
         }
         return readyQueue.dequeue();
     }
+
+    /**
+     * La cola FIFO de listos es intrusiva: expropiar, bloquear o finalizar un proceso lo retira en O(1).
+     * @param processTable tabla de procesos de la simulación
+     * @return cola intrusiva vacía
+     */
+    @Override
+    public CustomQueue<ProcessControlBlock> createReadyQueue(ProcessTable processTable) {
+        return new ProcessQueue(processTable);
+    }
+
+    /**
+     * El orden FIFO se conserva dentro de cada cola local por núcleo.
+     * @return true
+     */
+    @Override
+    public boolean supportsLocalRunQueues() {
+        return true;
+    }
 }
@@ -5,8 +5,11 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.SimulatorLog;
 import datastructures.CustomQueue;
-import java.util.logging.Logger;
+import datastructures.IndexedPriorityQueue;
+import java.util.Comparator;
+import java.util.logging.Level;
 
 /**
  * SPN (Shortest Process Next) selecciona el proceso con menor cantidad de instrucciones pendientes.
@@ -15,8 +18,23 @@ import java.util.logging.Logger;
  */
 public class SPN implements SchedulingPolicy {
 
-    /** Logger para registrar la selección del proceso más corto. */
-    private static final Logger LOGGER = Logger.getLogger(SPN.class.getName());
+    /** Registra la selección del proceso más corto (ver SimulatorLog). */
+    private static final SimulatorLog.Message SELECTION_MESSAGE = SimulatorLog.message(SPN.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.INFO,
+            entry -> String.format("SPN seleccionó %s (#%d) con %d instrucciones", entry.ref(0), entry.arg(0), entry.arg(1)));
+    /** Orden de la cola de listos: menos instrucciones primero, ID como desempate. */
+    private static final Comparator<ProcessControlBlock> SHORTEST_FIRST =
+            Comparator.comparingInt(ProcessControlBlock::getTotalInstructions)
+                    .thenComparingInt(ProcessControlBlock::getProcessId);
+
+    /**
+     * Mantiene la cola de listos ordenada por duración para seleccionar en O(log n).
+     * @return cola de prioridad indexada por ID de proceso
+     */
+    @Override
+    public CustomQueue<ProcessControlBlock> createReadyQueue() {
+        return new IndexedPriorityQueue<>(SHORTEST_FIRST, ProcessControlBlock::getProcessId);
+    }
 
     /**
      * Encuentra el proceso con menor duración total y lo extrae de la cola de listos.
@@ -32,6 +50,33 @@ public class SPN implements SchedulingPolicy {
             return null;
         }
 
+        ProcessControlBlock shortest = isOrderedQueue(readyQueue)
+                ? readyQueue.dequeue()
+                : removeShortest(readyQueue);
+        if (shortest == null) {
+            return null;
+        }
+        SimulatorLog.log(SELECTION_MESSAGE, shortest.getProcessName(),
+                shortest.getProcessId(), shortest.getTotalInstructions());
+        return shortest;
+    }
+
+    /**
+     * Indica si la cola ya está ordenada con el criterio de SPN, de modo que su cabeza es el más corto.
+     * @param readyQueue cola a evaluar
+     * @return true si es una cola de prioridad creada por esta política
+     */
+    private boolean isOrderedQueue(CustomQueue<ProcessControlBlock> readyQueue) {
+        return readyQueue instanceof IndexedPriorityQueue
+                && ((IndexedPriorityQueue<ProcessControlBlock>) readyQueue).comparator() == SHORTEST_FIRST;
+    }
+
+    /**
+     * Recorre una cola FIFO buscando el proceso más corto y lo extrae (O(n)).
+     * @param readyQueue cola de listos sin orden de prioridad
+     * @return proceso más corto o null si la cola está vacía
+     */
+    private ProcessControlBlock removeShortest(CustomQueue<ProcessControlBlock> readyQueue) {
         Object[] snapshot = readyQueue.getAllProcesses();
         ProcessControlBlock shortest = null;
         for (int i = 0; i < snapshot.length; i++) {
@@ -49,12 +94,7 @@ public class SPN implements SchedulingPolicy {
         }
 
         readyQueue.remove(shortest);
-        ProcessControlBlock selected = shortest;
-        LOGGER.info(() -> String.format("SPN seleccionó %s (#%d) con %d instrucciones",
-                selected.getProcessName(),
-                selected.getProcessId(),
-                selected.getTotalInstructions()));
-        return selected;
+        return shortest;
     }
 
     /**
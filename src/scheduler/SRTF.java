@@ -5,8 +5,11 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.SimulatorLog;
 import datastructures.CustomQueue;
-import java.util.logging.Logger;
+import datastructures.IndexedPriorityQueue;
+import java.util.Comparator;
+import java.util.logging.Level;
 
 /**
  * SRTF (Shortest Remaining Time First) selecciona el proceso con menor tiempo restante.
@@ -15,8 +18,24 @@ import java.util.logging.Logger;
  */
 public class SRTF implements SchedulingPolicy {
 
-    /** Logger para diagnosticar las decisiones de SRTF. */
-    private static final Logger LOGGER = Logger.getLogger(SRTF.class.getName());
+    /** Diagnostica las decisiones de SRTF (ver SimulatorLog). */
+    private static final SimulatorLog.Message SELECTION_MESSAGE = SimulatorLog.message(SRTF.class,
+            SimulatorLog.Subsystem.SCHEDULER, Level.INFO,
+            entry -> String.format("SRTF carga %s (#%d) con restante=%d", entry.ref(0), entry.arg(0), entry.arg(1)));
+    /** Orden de la cola de listos: menor tiempo restante primero, ID como desempate. */
+    private static final Comparator<ProcessControlBlock> SHORTEST_REMAINING_FIRST =
+            Comparator.comparingInt(SRTF::remainingTime)
+                    .thenComparingInt(ProcessControlBlock::getProcessId);
+
+    /**
+     * Mantiene la cola de listos ordenada por tiempo restante. Un proceso listo no avanza su
+     * contador de programa, por lo que su clave no cambia mientras permanece encolado.
+     * @return cola de prioridad indexada por ID de proceso
+     */
+    @Override
+    public CustomQueue<ProcessControlBlock> createReadyQueue() {
+        return new IndexedPriorityQueue<>(SHORTEST_REMAINING_FIRST, ProcessControlBlock::getProcessId);
+    }
 
     /**
      * Selecciona el proceso con menor tiempo restante cuando la CPU está ociosa.
@@ -35,6 +54,33 @@ public class SRTF implements SchedulingPolicy {
             return null;
         }
 
+        ProcessControlBlock shortest = isOrderedQueue(readyQueue)
+                ? readyQueue.dequeue()
+                : removeShortest(readyQueue);
+        if (shortest == null) {
+            return null;
+        }
+        SimulatorLog.log(SELECTION_MESSAGE, shortest.getProcessName(),
+                shortest.getProcessId(), remainingTime(shortest));
+        return shortest;
+    }
+
+    /**
+     * Indica si la cola ya está ordenada por tiempo restante, de modo que su cabeza es el más corto.
+     * @param readyQueue cola a evaluar
+     * @return true si es una cola de prioridad creada por esta política
+     */
+    private boolean isOrderedQueue(CustomQueue<ProcessControlBlock> readyQueue) {
+        return readyQueue instanceof IndexedPriorityQueue
+                && ((IndexedPriorityQueue<ProcessControlBlock>) readyQueue).comparator() == SHORTEST_REMAINING_FIRST;
+    }
+
+    /**
+     * Recorre una cola FIFO buscando el menor tiempo restante y extrae ese proceso (O(n)).
+     * @param readyQueue cola de listos sin orden de prioridad
+     * @return proceso con menor restante o null si la cola está vacía
+     */
+    private ProcessControlBlock removeShortest(CustomQueue<ProcessControlBlock> readyQueue) {
         Object[] snapshot = readyQueue.getAllProcesses();
         ProcessControlBlock shortest = null;
         for (int i = 0; i < snapshot.length; i++) {
@@ -52,12 +98,7 @@ public class SRTF implements SchedulingPolicy {
         }
 
         readyQueue.remove(shortest);
-        ProcessControlBlock selected = shortest;
-        LOGGER.info(() -> String.format("SRTF carga %s (#%d) con restante=%d",
-                selected.getProcessName(),
-                selected.getProcessId(),
-                remainingTime(selected)));
-        return selected;
+        return shortest;
     }
 
     private int compareRemaining(ProcessControlBlock candidate, ProcessControlBlock current) {
@@ -68,7 +109,7 @@ public class SRTF implements SchedulingPolicy {
         return candidate.getProcessId() - current.getProcessId();
     }
 
-    private int remainingTime(ProcessControlBlock pcb) {
+    private static int remainingTime(ProcessControlBlock pcb) {
         int remaining = pcb.getTotalInstructions() - pcb.getProgramCounter();
         return remaining < 0 ? 0 : remaining;
     }
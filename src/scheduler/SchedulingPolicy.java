@@ -5,6 +5,7 @@
 package scheduler;
 
 import core.ProcessControlBlock;
+import core.ProcessTable;
 import datastructures.CustomQueue;
 
 /**
@@ -23,4 +24,34 @@ public interface SchedulingPolicy {
     ProcessControlBlock selectNextProcess(CustomQueue<ProcessControlBlock> readyQueue,
                                           ProcessControlBlock currentProcess,
                                           long currentCycle);
+
+    /**
+     * Crea la cola de listos que mejor se adapta a la política. Por defecto es una cola FIFO;
+     * las políticas por prioridad pueden devolver una cola ordenada para seleccionar en O(log n).
+     * @return cola vacía donde el sistema operativo mantendrá los procesos listos
+     */
+    default CustomQueue<ProcessControlBlock> createReadyQueue() {
+        return new CustomQueue<>();
+    }
+
+    /**
+     * Crea la cola de listos para los procesos de una tabla concreta. Por defecto delega en
+     * createReadyQueue(); las políticas FIFO la sobrescriben para devolver una ProcessQueue
+     * intrusiva, que retira procesos en O(1) y no reserva nodos al moverlos entre colas.
+     * @param processTable tabla de procesos de la simulación dueña de la cola
+     * @return cola vacía donde el sistema operativo mantendrá los procesos listos
+     */
+    default CustomQueue<ProcessControlBlock> createReadyQueue(ProcessTable processTable) {
+        return createReadyQueue();
+    }
+
+    /**
+     * Indica si la política tolera que cada núcleo reencole en su propia cola local FIFO los
+     * procesos que expropia, en lugar de devolverlos a la cola de listos global. Solo las
+     * políticas sin orden propio (FCFS, RR) lo admiten; las demás necesitan ver todos los listos.
+     * @return true si el sistema operativo puede usar colas locales por núcleo con esta política
+     */
+    default boolean supportsLocalRunQueues() {
+        return false;
+    }
 }
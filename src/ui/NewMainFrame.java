@@ -5,6 +5,7 @@
 package ui;
 
 import core.CPU;
+import core.Instrumentation;
 import core.OperatingSystem;
 import core.ProcessControlBlock;
 import scheduler.PolicyType;
@@ -27,24 +28,11 @@ import javax.swing.filechooser.FileNameExtensionFilter;
  */
 public class NewMainFrame extends javax.swing.JFrame {
 
-    private static class PendingProcess {
-        ProcessControlBlock pcb;
-        long arrivalCycle;
-
-        PendingProcess(ProcessControlBlock pcb, long arrivalCycle) {
-            this.pcb = pcb;
-            this.arrivalCycle = arrivalCycle;
-        }
-    }
-
     private OperatingSystem operatingSystem;
     private CPU cpu;
     private IOHandler ioHandler;
-    private Thread ioThread;
-    private Thread arrivalCheckerThread;
     private Thread uiUpdaterThread;
     private boolean internalPolicyUpdate;
-    private ArrayList<PendingProcess> pendingProcesses;
     private RandomProcessGenerator processGenerator;
     private LogCapture logCapture;
     private util.MetricsCalculator.PolicyMetrics[] policyMetricsArray;
@@ -63,8 +51,6 @@ public class NewMainFrame extends javax.swing.JFrame {
      * Creates new form NewMainFrame
      */
     public NewMainFrame() {
-        pendingProcesses = new ArrayList<>();
-        processGenerator = new RandomProcessGenerator();
         policyMetricsArray = new util.MetricsCalculator.PolicyMetrics[6];
         policyMetricsCount = 0;
         currentPolicyMetrics = null;
@@ -114,13 +100,11 @@ public class NewMainFrame extends javax.swing.JFrame {
         int initialValue = (int) Math.max(0L, Math.min(2000L, currentCycleDuration));
         speedSlider.setValue(initialValue);
         operatingSystem.setCycleDurationMillis(initialValue);
-        ioHandler.setCycleDurationMillis(initialValue);
         updateSpeedLabel(initialValue);
         speedSlider.addChangeListener(new javax.swing.event.ChangeListener() {
             public void stateChanged(javax.swing.event.ChangeEvent evt) {
                 int value = speedSlider.getValue();
                 operatingSystem.setCycleDurationMillis(value);
-                ioHandler.setCycleDurationMillis(value);
                 updateSpeedLabel(value);
             }
         });
@@ -242,69 +226,23 @@ public class NewMainFrame extends javax.swing.JFrame {
     }
 
     private void initializeSimulationComponents() {
+        if (operatingSystem != null) {
+            operatingSystem.getInstrumentation().unregisterMBean();
+        }
         operatingSystem = new OperatingSystem();
-        int speedValue = resolveCurrentSpeedSelection();
-        ioHandler = new IOHandler(operatingSystem, speedValue);
+        // Los contadores del pipeline quedan visibles en JConsole mientras dure la simulación
+        operatingSystem.getInstrumentation().registerMBean();
+        processGenerator = operatingSystem.getContext().getProcessGenerator();
+        // Los arribos inmediatos llegan desde el hilo de la interfaz: se publican sin bloqueo
+        operatingSystem.setLockFreeAdmission(true);
+        ioHandler = new IOHandler(operatingSystem);
         cpu = new CPU(operatingSystem, ioHandler);
         operatingSystem.attachCpu(cpu);
-        ioThread = null;
-    }
-
-    private int resolveCurrentSpeedSelection() {
-        return speedSlider != null ? speedSlider.getValue() : 100;
-    }
-
-    private void ensureIoThread() {
-        if (ioHandler == null) {
-            return;
-        }
-        if (ioThread == null || !ioThread.isAlive()) {
-            ioThread = new Thread(ioHandler, "IOHandler-Thread");
-            ioThread.setDaemon(true);
-            ioThread.start();
-        }
-    }
-
-    private void startArrivalChecker() {
-        if (arrivalCheckerThread != null && arrivalCheckerThread.isAlive()) {
-            return;
-        }
-        arrivalCheckerThread = new Thread(this::runArrivalChecker, "ArrivalChecker-Thread");
-        arrivalCheckerThread.setDaemon(true);
-        arrivalCheckerThread.start();
-    }
-
-    private void runArrivalChecker() {
-        while (!Thread.currentThread().isInterrupted() && operatingSystem.isClockRunning()) {
-            try {
-                long currentCycle = operatingSystem.getGlobalClockCycle();
-                checkPendingArrivals(currentCycle);
-                Thread.sleep(Math.max(50L, operatingSystem.getCycleDurationMillis() / 2));
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-    }
-
-    private void checkPendingArrivals(long currentCycle) {
-        synchronized (pendingProcesses) {
-            for (int i = pendingProcesses.size() - 1; i >= 0; i--) {
-                PendingProcess pending = pendingProcesses.get(i);
-                if (currentCycle >= pending.arrivalCycle) {
-                    operatingSystem.moveToReady(pending.pcb);
-                    pendingProcesses.remove(i);
-                }
-            }
-        }
     }
 
     private void startSimulation() {
         int value = speedSlider.getValue();
         operatingSystem.setCycleDurationMillis(value);
-        ioHandler.setCycleDurationMillis(value);
-        ensureIoThread();
-        startArrivalChecker();
         startUIUpdater();
         operatingSystem.startSystemClock();
         String selectedPolicy = (String) policySelector.getSelectedItem();
@@ -326,11 +264,7 @@ public class NewMainFrame extends javax.swing.JFrame {
         currentPolicyMetrics = null;
         operatingSystem.stopSystemClock();
         shutdownIoHandler();
-        shutdownArrivalChecker();
         shutdownUIUpdater();
-        synchronized (pendingProcesses) {
-            pendingProcesses = new ArrayList<>();
-        }
         String selectedLabel = (String) policySelector.getSelectedItem();
         int rrValue = ((Number) RRQuantumSpinner.getValue()).intValue();
         int[] feedbackValues = collectFeedbackQuanta();
@@ -338,7 +272,6 @@ public class NewMainFrame extends javax.swing.JFrame {
         initializeSimulationComponents();
         int speedValue = speedSlider.getValue();
         operatingSystem.setCycleDurationMillis(speedValue);
-        ioHandler.setCycleDurationMillis(speedValue);
         updateSpeedLabel(speedValue);
         RRQuantumSpinner.setValue(rrValue);
         level0Spinner.setValue(feedbackValues[0]);
@@ -359,35 +292,7 @@ public class NewMainFrame extends javax.swing.JFrame {
 
     private void shutdownIoHandler() {
         if (ioHandler != null) {
-            ioHandler.stop();
-        }
-        if (ioThread != null && ioThread.isAlive()) {
-            try {
-                ioThread.join(1000L);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            if (ioThread.isAlive()) {
-                ioThread.interrupt();
-                try {
-                    ioThread.join(500L);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-            ioThread = null;
-        }
-    }
-
-    private void shutdownArrivalChecker() {
-        if (arrivalCheckerThread != null && arrivalCheckerThread.isAlive()) {
-            arrivalCheckerThread.interrupt();
-            try {
-                arrivalCheckerThread.join(500L);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            arrivalCheckerThread = null;
+            ioHandler.clear();
         }
     }
 
@@ -460,10 +365,32 @@ public class NewMainFrame extends javax.swing.JFrame {
         }
         // Actualiza el contador de ciclos globales
         currentCycleLabel.setText(String.valueOf(operatingSystem.getGlobalClockCycle()));
+        updateInstrumentationTooltip();
         // Actualiza todas las colas de procesos
         updateProcessQueues();
     }
 
+    /**
+     * Muestra en el tooltip del ciclo actual los contadores de la instrumentación del pipeline.
+     */
+    private void updateInstrumentationTooltip() {
+        Instrumentation.Snapshot snapshot = operatingSystem.getInstrumentation().snapshot();
+        currentCycleLabel.setToolTipText(String.format(
+                "<html>Cambios de contexto: %d<br>Expropiaciones: quantum=%d, SRTF=%d, Feedback=%d<br>"
+                + "Bloqueos por I/O: %d<br>Ciclos de CPU ociosos: %d, cargando procesos: %d<br>"
+                + "Planificador: %.0f ns/ciclo, despachador: %.0f ns/ciclo, CPU: %.0f ns/ciclo</html>",
+                snapshot.getContextSwitches(),
+                snapshot.getPreemptions(Instrumentation.PreemptionCause.QUANTUM),
+                snapshot.getPreemptions(Instrumentation.PreemptionCause.SHORTEST_REMAINING),
+                snapshot.getPreemptions(Instrumentation.PreemptionCause.FEEDBACK),
+                snapshot.getIoBlocks(),
+                snapshot.getIdleCpuCycles(),
+                snapshot.getSwitchingCpuCycles(),
+                snapshot.getNanosPerCycle(Instrumentation.Stage.SCHEDULER),
+                snapshot.getNanosPerCycle(Instrumentation.Stage.DISPATCHER),
+                snapshot.getNanosPerCycle(Instrumentation.Stage.CPU)));
+    }
+
     /**
      * Actualiza las cuatro listas de colas de procesos en la interfaz.
      * Obtiene snapshots (copias) de cada cola desde el sistema operativo
@@ -554,7 +481,7 @@ public class NewMainFrame extends javax.swing.JFrame {
             boolean isIOBound = "I/O-bound".equals(processType.getSelectedItem());
             int ioCycle = ((Number) ioCycleSpinner.getValue()).intValue();
             int ioDuration = ((Number) ioDurationSpinner.getValue()).intValue();
-            ProcessControlBlock pcb = new ProcessControlBlock(processName);
+            ProcessControlBlock pcb = operatingSystem.getContext().newProcess(processName);
             pcb.setTotalInstructions(totalInstructions);
             pcb.setIOBound(isIOBound);
             if (isIOBound) {
@@ -565,13 +492,7 @@ public class NewMainFrame extends javax.swing.JFrame {
                 pcb.setIoDuration(0);
             }
             long currentCycle = operatingSystem.getGlobalClockCycle();
-            if (arrivalCycle <= currentCycle) {
-                operatingSystem.moveToReady(pcb);
-            } else {
-                synchronized (pendingProcesses) {
-                    pendingProcesses.add(new PendingProcess(pcb, arrivalCycle));
-                }
-            }
+            operatingSystem.scheduleArrival(pcb, arrivalCycle);
             processNameField.setText("");
             String arrivalMessage = arrivalCycle <= currentCycle
                 ? "Agregado inmediatamente a la cola de listos"
@@ -609,9 +530,7 @@ public class NewMainFrame extends javax.swing.JFrame {
                     (int) currentCycle + 1,
                     (int) currentCycle + 50
                 );
-                synchronized (pendingProcesses) {
-                    pendingProcesses.add(new PendingProcess(pcb, arrivalCycle));
-                }
+                operatingSystem.scheduleArrival(pcb, arrivalCycle);
                 processesScheduled++;
             }
 
@@ -633,20 +552,18 @@ public class NewMainFrame extends javax.swing.JFrame {
     private ArrayList<ProcessData> collectAllProcesses() {
         ArrayList<ProcessData> processDataList = new ArrayList<>();
 
-        synchronized (pendingProcesses) {
-            for (int i = 0; i < pendingProcesses.size(); i++) {
-                PendingProcess pp = pendingProcesses.get(i);
-                ProcessControlBlock pcb = pp.pcb;
-                ProcessData pd = new ProcessData(
-                    pcb.getProcessName(),
-                    pcb.getTotalInstructions(),
-                    pcb.isIOBound(),
-                    pcb.getIoExceptionCycle(),
-                    pcb.getIoDuration(),
-                    pp.arrivalCycle
-                );
-                processDataList.add(pd);
-            }
+        ProcessControlBlock[] pendingArrivals = operatingSystem.getPendingArrivalsSnapshot();
+        for (int i = 0; i < pendingArrivals.length; i++) {
+            ProcessControlBlock pcb = pendingArrivals[i];
+            ProcessData pd = new ProcessData(
+                pcb.getProcessName(),
+                pcb.getTotalInstructions(),
+                pcb.isIOBound(),
+                pcb.getIoExceptionCycle(),
+                pcb.getIoDuration(),
+                pcb.getArrivalCycle()
+            );
+            processDataList.add(pd);
         }
 
         ProcessControlBlock[] readyProcesses = operatingSystem.getReadyQueueSnapshot();
@@ -748,13 +665,9 @@ public class NewMainFrame extends javax.swing.JFrame {
         }
 
         // Contar procesos pendientes
-        synchronized (pendingProcesses) {
-            for (int i = 0; i < pendingProcesses.size(); i++) {
-                PendingProcess pending = pendingProcesses.get(i);
-                if (pending != null && pending.pcb != null) {
-                    util.MetricsCalculator.countSingleProcess(pending.pcb, count);
-                }
-            }
+        ProcessControlBlock[] pendingArrivals = operatingSystem.getPendingArrivalsSnapshot();
+        for (int i = 0; i < pendingArrivals.length; i++) {
+            util.MetricsCalculator.countSingleProcess(pendingArrivals[i], count);
         }
 
         // Crear el gráfico
@@ -1372,7 +1285,7 @@ public class NewMainFrame extends javax.swing.JFrame {
     private void loadFileActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_loadFileActionPerformed
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Cargar Configuración");
-        FileNameExtensionFilter filter = new FileNameExtensionFilter("Archivos JSON (*.json)", "json");
+        FileNameExtensionFilter filter = new FileNameExtensionFilter("Archivos JSON o trazas binarias (*.json, *.bin)", "json", "bin");
         fileChooser.setFileFilter(filter);
 
         int userSelection = fileChooser.showOpenDialog(this);
@@ -1412,7 +1325,7 @@ public class NewMainFrame extends javax.swing.JFrame {
                         processName = "Proceso-" + processCounter++;
                     }
 
-                    ProcessControlBlock pcb = new ProcessControlBlock(processName);
+                    ProcessControlBlock pcb = operatingSystem.getContext().newProcess(processName);
                     pcb.setTotalInstructions(pd.getTotalInstructions());
                     pcb.setIOBound(pd.isIOBound());
                     if (pd.isIOBound()) {
@@ -1424,13 +1337,11 @@ public class NewMainFrame extends javax.swing.JFrame {
                     long adjustedArrival = pd.getArrivalCycle() - minArrivalCycle;
 
                     // Si el arribo es 0, agregarlo directamente a la cola ready
-                    // Si no, agregarlo a pendingProcesses para que aparezca cuando llegue su ciclo
+                    // Si no, programarlo en el sistema operativo para que llegue en su ciclo
                     if (adjustedArrival == 0) {
                         operatingSystem.moveToReady(pcb);
                     } else {
-                        synchronized (pendingProcesses) {
-                            pendingProcesses.add(new PendingProcess(pcb, adjustedArrival));
-                        }
+                        operatingSystem.scheduleArrival(pcb, adjustedArrival);
                     }
                 }
 
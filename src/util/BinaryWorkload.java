@@ -0,0 +1,514 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package util;
+
+import core.OperatingSystem;
+import datastructures.ArrayList;
+import datastructures.IntArrayList;
+import datastructures.IntIntHashMap;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * BinaryWorkload es el formato binario de ancho fijo para trazas de arribos. El archivo se mapea
+ * en memoria con FileChannel.map, así que abrirlo no lee los registros: el sistema operativo
+ * carga las páginas a medida que se consultan, y cada campo se lee con un acceso absoluto al
+ * búfer, sin parsear texto.
+ *
+ * Distribución (little endian):
+ * <pre>
+ *   encabezado (32 bytes): magic "PSOW", versión, cycleDurationMillis, cantidad de registros,
+ *                          cantidad de strings, desplazamiento de la tabla de strings
+ *   registros (28 bytes):  arrivalCycle (long), totalInstructions, ioExceptionCycle, ioDuration,
+ *                          nameIndex, flags (bit 0 = I/O bound)
+ *   tabla de strings:      cantidad+1 desplazamientos (int) seguidos de los bytes UTF-8
+ * </pre>
+ * Los nombres repetidos se guardan una sola vez. El archivo se mapea en segmentos de 1 GB (como
+ * TraceReplay), así que una traza puede superar los 2 GB; cada segmento se solapa unos bytes con
+ * el siguiente para que un campo nunca quede partido entre dos mapeos. Solo la tabla de strings
+ * está limitada a 2 GB, porque sus desplazamientos son int.
+ *
+ * Como WorkloadSource, scheduleUpTo() recorre los registros en orden con un cursor; no es seguro
+ * para hilos.
+ *
+ * @author santiagodelcastillo
+ */
+public final class BinaryWorkload implements WorkloadSource {
+
+    /** Firma del formato ("PSOW" leído en little endian). */
+    private static final int MAGIC = 0x574F5350;
+    /** Versión del formato. */
+    private static final int VERSION = 1;
+    /** Tamaño del encabezado en bytes. */
+    private static final int HEADER_SIZE = 32;
+    /** Tamaño de cada registro en bytes. */
+    static final int RECORD_SIZE = 28;
+    /** Bandera de proceso I/O bound. */
+    private static final int FLAG_IO_BOUND = 1;
+    /** Tamaño del búfer de escritura del convertidor. */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    /** Cada segmento mapeado cubre 2^SEGMENT_BITS bytes del archivo (1 GB). */
+    private static final int SEGMENT_BITS = 30;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+    /** Bytes que cada segmento mapea de más, para leer un long que empieza al final del segmento. */
+    private static final int SEGMENT_OVERLAP = Long.BYTES;
+
+    /** Segmentos mapeados del archivo (solo lectura). */
+    private final MappedByteBuffer[] segments;
+    /** Tamaño del archivo en bytes. */
+    private final long length;
+    /** Duración de ciclo declarada. */
+    private final long cycleDurationMillis;
+    /** Cantidad de registros. */
+    private final int recordCount;
+    /** Cantidad de strings de la tabla. */
+    private final int stringCount;
+    /** Posición de la tabla de desplazamientos de strings. */
+    private final long stringOffsetsPosition;
+    /** Posición del primer byte de los strings. */
+    private final long stringBytesPosition;
+    /** Próximo registro a programar con scheduleUpTo. */
+    private int cursor;
+
+    private BinaryWorkload(MappedByteBuffer[] segments, long length) throws IOException {
+        this.segments = segments;
+        this.length = length;
+        if (length < HEADER_SIZE || getInt(0L) != MAGIC) {
+            throw new IllegalArgumentException("El archivo no es una traza binaria de procesos");
+        }
+        int version = getInt(4L);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de traza binaria no soportada: " + version);
+        }
+        this.cycleDurationMillis = getLong(8L);
+        this.recordCount = getInt(16L);
+        this.stringCount = getInt(20L);
+        long stringTable = getLong(24L);
+        long stringBytes = stringTable + 4L * (stringCount + 1L);
+        if (recordCount < 0 || stringCount < 0
+                || stringTable != HEADER_SIZE + (long) recordCount * RECORD_SIZE
+                || stringBytes > length) {
+            throw new IOException("Encabezado de traza binaria inconsistente o archivo truncado");
+        }
+        this.stringOffsetsPosition = stringTable;
+        this.stringBytesPosition = stringBytes;
+        validateStringTable();
+    }
+
+    /**
+     * Verifica que los desplazamientos de la tabla de strings no decrezcan y queden dentro del
+     * archivo mapeado, así getProcessName nunca lee fuera del mapeo ni pide longitudes negativas.
+     * @throws IOException si la tabla está corrupta o truncada
+     */
+    private void validateStringTable() throws IOException {
+        long available = length - stringBytesPosition;
+        int previous = 0;
+        for (int i = 0; i <= stringCount; i++) {
+            int offset = getInt(stringOffsetsPosition + 4L * i);
+            if (offset < previous || offset > available) {
+                throw new IOException("Tabla de strings corrupta o truncada: el desplazamiento " + i
+                        + " vale " + offset + " y los strings ocupan " + available + " bytes");
+            }
+            previous = offset;
+        }
+    }
+
+    /**
+     * Mapea una traza binaria en memoria, en segmentos de 1 GB. Solo se validan el encabezado y
+     * la tabla de strings; los registros se cargan bajo demanda.
+     * @param file archivo en formato BinaryWorkload
+     * @return traza mapeada
+     * @throws IOException si no se puede abrir o mapear el archivo, o si está truncado o corrupto
+     * @throws IllegalArgumentException si el archivo no es una traza binaria de una versión soportada
+     */
+    public static BinaryWorkload open(File file) throws IOException {
+        Objects.requireNonNull(file, "El archivo no puede ser nulo");
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            int segmentCount = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+            MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(1, segmentCount)];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                // El mapeo sigue siendo válido después de cerrar el canal
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min((1L << SEGMENT_BITS) + SEGMENT_OVERLAP, length - start));
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new BinaryWorkload(segments, length);
+        }
+    }
+
+    /**
+     * Indica si el archivo empieza con la firma del formato binario.
+     * @param file archivo a inspeccionar
+     * @return true si es una traza binaria
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static boolean isBinaryWorkload(File file) throws IOException {
+        byte[] magic = new byte[4];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            if (in.readNBytes(magic, 0, magic.length) < magic.length) {
+                return false;
+            }
+        }
+        return ByteBuffer.wrap(magic).order(ByteOrder.LITTLE_ENDIAN).getInt() == MAGIC;
+    }
+
+    /**
+     * Guarda una configuración en formato binario.
+     * @param config configuración a guardar
+     * @param file archivo destino
+     * @throws IOException si falla la escritura
+     */
+    public static void write(ConfigManager.SimulationConfig config, File file) throws IOException {
+        ArrayList<ProcessData> processes = config.getProcesses();
+        try (Writer writer = new Writer(file)) {
+            for (int i = 0; i < processes.size(); i++) {
+                writer.append(processes.get(i));
+            }
+            writer.finish(config.getCycleDurationMillis());
+        }
+    }
+
+    /**
+     * Convierte una traza JSON (formato de ConfigManager) a binario leyéndola en streaming, así
+     * que el JSON nunca se carga completo en memoria.
+     * @param jsonFile traza JSON de origen
+     * @param binaryFile archivo binario destino
+     * @return cantidad de registros convertidos
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public static int convert(File jsonFile, File binaryFile) throws IOException {
+        try (WorkloadReader reader = new WorkloadReader(jsonFile);
+             Writer writer = new Writer(binaryFile)) {
+            ProcessData record = new ProcessData();
+            while (reader.next(record)) {
+                writer.append(record);
+            }
+            writer.finish(reader.getCycleDurationMillis());
+            return writer.count;
+        }
+    }
+
+    /**
+     * Convierte una traza JSON a binario desde la línea de comandos.
+     * Uso: java -cp build/classes util.BinaryWorkload traza.json traza.bin
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Uso: util.BinaryWorkload <traza.json> <traza.bin>");
+            return;
+        }
+        try {
+            int count = convert(new File(args[0]), new File(args[1]));
+            System.out.println("Se convirtieron " + count + " procesos a " + args[1]);
+        } catch (IOException | IllegalArgumentException | IllegalStateException ex) {
+            System.err.println("❌ No se pudo convertir la traza: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Cantidad de registros de la traza.
+     * @return número de procesos
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Duración de ciclo declarada en el encabezado.
+     * @return milisegundos por ciclo, o 0 si no se declaró
+     */
+    @Override
+    public long getCycleDurationMillis() {
+        return cycleDurationMillis;
+    }
+
+    /**
+     * Ciclo de arribo del registro.
+     * @param index registro entre 0 y size-1
+     * @return ciclo global de llegada
+     */
+    public long getArrivalCycle(int index) {
+        return getLong(recordPosition(index));
+    }
+
+    /**
+     * Instrucciones totales del registro.
+     * @param index registro entre 0 y size-1
+     * @return cantidad de instrucciones
+     */
+    public int getTotalInstructions(int index) {
+        return getInt(recordPosition(index) + 8);
+    }
+
+    /**
+     * Ciclo de ejecución en que el proceso solicita I/O.
+     * @param index registro entre 0 y size-1
+     * @return ciclo de la excepción de I/O
+     */
+    public int getIoExceptionCycle(int index) {
+        return getInt(recordPosition(index) + 12);
+    }
+
+    /**
+     * Duración de la operación de I/O del registro.
+     * @param index registro entre 0 y size-1
+     * @return ciclos que dura la I/O
+     */
+    public int getIoDuration(int index) {
+        return getInt(recordPosition(index) + 16);
+    }
+
+    /**
+     * Indica si el registro corresponde a un proceso I/O bound.
+     * @param index registro entre 0 y size-1
+     * @return true si la bandera de I/O bound está activa
+     */
+    public boolean isIOBound(int index) {
+        return (getInt(recordPosition(index) + 24) & FLAG_IO_BOUND) != 0;
+    }
+
+    /**
+     * Decodifica el nombre del registro desde la tabla de strings.
+     * @param index registro entre 0 y size-1
+     * @return nombre del proceso
+     */
+    public String getProcessName(int index) {
+        int nameIndex = getInt(recordPosition(index) + 20);
+        if (nameIndex < 0 || nameIndex >= stringCount) {
+            throw new IllegalArgumentException("Índice de nombre inválido en el registro " + index + ": " + nameIndex);
+        }
+        int start = getInt(stringOffsetsPosition + 4L * nameIndex);
+        int end = getInt(stringOffsetsPosition + 4L * (nameIndex + 1));
+        byte[] bytes = new byte[end - start];
+        getBytes(stringBytesPosition + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copia un registro en un ProcessData.
+     * @param index registro entre 0 y size-1
+     * @param target registro destino
+     */
+    public void read(int index, ProcessData target) {
+        target.setProcessName(getProcessName(index));
+        target.setTotalInstructions(getTotalInstructions(index));
+        target.setIOBound(isIOBound(index));
+        target.setIoExceptionCycle(getIoExceptionCycle(index));
+        target.setIoDuration(getIoDuration(index));
+        target.setArrivalCycle(getArrivalCycle(index));
+    }
+
+    /**
+     * Obtiene un registro como ProcessData.
+     * @param index registro entre 0 y size-1
+     * @return registro nuevo
+     */
+    public ProcessData get(int index) {
+        ProcessData record = new ProcessData();
+        read(index, record);
+        return record;
+    }
+
+    /**
+     * Materializa la traza completa como configuración (para la carga desde la interfaz).
+     * @return configuración con todos los procesos
+     */
+    public ConfigManager.SimulationConfig toConfig() {
+        ArrayList<ProcessData> processes = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            processes.add(get(i));
+        }
+        return new ConfigManager.SimulationConfig(cycleDurationMillis, processes);
+    }
+
+    /**
+     * Programa en orden los registros cuyo arribo no supera el horizonte; el primero posterior
+     * queda en el cursor para la próxima llamada. Los campos se leen directamente del mapeo.
+     */
+    @Override
+    public int scheduleUpTo(OperatingSystem os, long horizonCycle) {
+        Objects.requireNonNull(os, "El sistema operativo no puede ser nulo");
+        int scheduled = 0;
+        while (cursor < recordCount) {
+            long position = recordPosition(cursor);
+            long arrival = getLong(position);
+            if (arrival > horizonCycle) {
+                break;
+            }
+            boolean ioBound = (getInt(position + 24) & FLAG_IO_BOUND) != 0;
+            os.scheduleArrival(WorkloadReader.createProcess(os, getProcessName(cursor), cursor + 1L,
+                    getInt(position + 8), ioBound, getInt(position + 12), getInt(position + 16)),
+                    Math.max(0L, arrival));
+            cursor++;
+            scheduled++;
+        }
+        return scheduled;
+    }
+
+    @Override
+    public boolean hasRemaining() {
+        return cursor < recordCount;
+    }
+
+    /**
+     * No hay recursos que liberar: el mapeo se libera cuando la traza deja de ser alcanzable.
+     */
+    @Override
+    public void close() {
+    }
+
+    private long recordPosition(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + recordCount);
+        }
+        return HEADER_SIZE + (long) index * RECORD_SIZE;
+    }
+
+    private int getInt(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Copia bytes a partir de una posición del archivo; un nombre puede cruzar el límite entre
+     * dos segmentos, así que la copia se hace por tramos.
+     */
+    private void getBytes(long position, byte[] target) {
+        int copied = 0;
+        while (copied < target.length) {
+            long current = position + copied;
+            int offset = (int) (current & SEGMENT_MASK);
+            int chunk = Math.min(target.length - copied, SEGMENT_MASK + 1 - offset);
+            segments[(int) (current >>> SEGMENT_BITS)].get(offset, target, copied, chunk);
+            copied += chunk;
+        }
+    }
+
+    /**
+     * Escritor secuencial: los registros se escriben a medida que llegan, la tabla de strings se
+     * acumula aparte (sin repetir nombres) y el encabezado se completa al final.
+     */
+    private static final class Writer implements java.io.Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        /** Bytes UTF-8 de los nombres distintos. */
+        private byte[] stringBytes;
+        private int stringLength;
+        /** Desplazamiento de inicio de cada nombre distinto. */
+        private final IntArrayList stringStarts;
+        /** Hash del nombre → índice del primer nombre con ese hash. */
+        private final IntIntHashMap stringsByHash;
+        private int count;
+
+        Writer(File file) throws IOException {
+            this.channel = FileChannel.open(Objects.requireNonNull(file, "El archivo no puede ser nulo").toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            this.stringBytes = new byte[256];
+            this.stringStarts = new IntArrayList();
+            this.stringsByHash = new IntIntHashMap();
+            channel.position(HEADER_SIZE);
+        }
+
+        void append(ProcessData record) throws IOException {
+            if (count == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Demasiados registros para una traza binaria");
+            }
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+            buffer.putLong(record.getArrivalCycle());
+            buffer.putInt(record.getTotalInstructions());
+            buffer.putInt(record.getIoExceptionCycle());
+            buffer.putInt(record.getIoDuration());
+            buffer.putInt(internName(record.getProcessName()));
+            buffer.putInt(record.isIOBound() ? FLAG_IO_BOUND : 0);
+            count++;
+        }
+
+        /**
+         * Escribe la tabla de strings y el encabezado.
+         */
+        void finish(long cycleDurationMillis) throws IOException {
+            long stringTable = HEADER_SIZE + (long) count * RECORD_SIZE;
+            for (int i = 0; i <= stringStarts.size(); i++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush();
+                }
+                buffer.putInt(i < stringStarts.size() ? stringStarts.get(i) : stringLength);
+            }
+            flush();
+            ByteBuffer strings = ByteBuffer.wrap(stringBytes, 0, stringLength);
+            while (strings.hasRemaining()) {
+                channel.write(strings);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(cycleDurationMillis)
+                    .putInt(count).putInt(stringStarts.size()).putLong(stringTable).flip();
+            channel.write(header, 0L);
+        }
+
+        /**
+         * Devuelve el índice del nombre en la tabla, agregándolo si es nuevo. Ante una colisión
+         * de hash con otro nombre se agrega una copia: la tabla sigue siendo correcta.
+         */
+        private int internName(String name) {
+            byte[] encoded = (name == null ? "" : name).getBytes(StandardCharsets.UTF_8);
+            int hash = Arrays.hashCode(encoded);
+            int existing = stringsByHash.get(hash);
+            if (existing >= 0 && sameBytes(existing, encoded)) {
+                return existing;
+            }
+            if (encoded.length > Integer.MAX_VALUE - 8 - stringLength) {
+                throw new IllegalStateException("La tabla de strings de la traza binaria supera los 2 GB");
+            }
+            int index = stringStarts.size();
+            stringStarts.add(stringLength);
+            if (stringLength + encoded.length > stringBytes.length) {
+                stringBytes = Arrays.copyOf(stringBytes, Math.max(stringLength + encoded.length, stringBytes.length * 2));
+            }
+            System.arraycopy(encoded, 0, stringBytes, stringLength, encoded.length);
+            stringLength += encoded.length;
+            if (existing < 0) {
+                stringsByHash.put(hash, index);
+            }
+            return index;
+        }
+
+        private boolean sameBytes(int index, byte[] encoded) {
+            int start = stringStarts.get(index);
+            int end = index + 1 < stringStarts.size() ? stringStarts.get(index + 1) : stringLength;
+            return Arrays.equals(stringBytes, start, end, encoded, 0, encoded.length);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -5,12 +5,11 @@
 package util;
 
 import datastructures.ArrayList;
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 /**
  * Gestor de configuración para guardar y cargar parámetros de simulación.
@@ -53,14 +52,14 @@ public class ConfigManager {
     }
 
     /**
-     * Guarda la configuración en un archivo JSON.
+     * Guarda la configuración en un archivo JSON (UTF-8).
      *
      * @param config Configuración a guardar
      * @param file Archivo destino
      * @throws IOException Si hay error al escribir el archivo
      */
     public static void save(SimulationConfig config, File file) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
             writer.write("{\n");
             writer.write("  \"cycleDurationMillis\": " + config.getCycleDurationMillis() + ",\n");
             writer.write("  \"processes\": [\n");
@@ -88,7 +87,9 @@ public class ConfigManager {
     }
 
     /**
-     * Carga la configuración desde un archivo JSON.
+     * Carga la configuración desde un archivo JSON (UTF-8) con WorkloadReader, o desde una traza
+     * binaria (BinaryWorkload) si el archivo empieza con su firma. Para trazas demasiado grandes
+     * para tenerlas en memoria conviene programarlas con WorkloadSource.scheduleUpTo.
      *
      * @param file Archivo fuente
      * @return Configuración cargada
@@ -96,235 +97,28 @@ public class ConfigManager {
      * @throws IllegalArgumentException Si el formato JSON es inválido
      */
     public static SimulationConfig load(File file) throws IOException {
-        StringBuilder content = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append(" ");
+        if (BinaryWorkload.isBinaryWorkload(file)) {
+            SimulationConfig config = BinaryWorkload.open(file).toConfig();
+            if (config.getCycleDurationMillis() == 0L) {
+                config.setCycleDurationMillis(100L);
             }
+            return config;
         }
-
-        String json = content.toString();
         SimulationConfig config = new SimulationConfig();
-
-        // Parsear cycleDurationMillis
-        long cycleDuration = parseLongValue(json, "cycleDurationMillis");
-        if (cycleDuration == 0L) {
-            cycleDuration = 100L;
-        }
-        config.setCycleDurationMillis(cycleDuration);
-
-        // Parsear array de procesos
-        String processesArray = extractArrayValue(json, "processes");
-        if (processesArray != null && !processesArray.isEmpty()) {
-            ArrayList<ProcessData> processes = parseProcessArray(processesArray);
-            config.setProcesses(processes);
-        }
-
-        return config;
-    }
-
-    /**
-     * Extrae un valor long de una clave JSON.
-     */
-    private static long parseLongValue(String json, String key) {
-        int keyIndex = json.indexOf("\"" + key + "\"");
-        if (keyIndex == -1) {
-            return 0L; // valor por defecto
-        }
-        int colonIndex = json.indexOf(":", keyIndex);
-        if (colonIndex == -1) {
-            return 0L;
-        }
-        int startIndex = colonIndex + 1;
-        while (startIndex < json.length() && Character.isWhitespace(json.charAt(startIndex))) {
-            startIndex++;
-        }
-        int endIndex = startIndex;
-        while (endIndex < json.length() &&
-               (Character.isDigit(json.charAt(endIndex)) || json.charAt(endIndex) == '-')) {
-            endIndex++;
-        }
-        if (startIndex >= endIndex) {
-            return 0L;
-        }
-        String valueStr = json.substring(startIndex, endIndex).trim();
-        try {
-            return Long.parseLong(valueStr);
-        } catch (NumberFormatException e) {
-            return 0L;
-        }
-    }
-
-    /**
-     * Extrae el contenido de un array JSON.
-     */
-    private static String extractArrayValue(String json, String key) {
-        int keyIndex = json.indexOf("\"" + key + "\"");
-        if (keyIndex == -1) {
-            return "";
-        }
-
-        int colonIndex = json.indexOf(":", keyIndex);
-        if (colonIndex == -1) {
-            return "";
-        }
-
-        int startIndex = json.indexOf("[", colonIndex);
-        if (startIndex == -1) {
-            return "";
-        }
-
-        startIndex++; // Avanzar después del '['
-        int depth = 1;
-        int endIndex = startIndex;
-
-        while (depth > 0 && endIndex < json.length()) {
-            if (json.charAt(endIndex) == '[') {
-                depth++;
-            } else if (json.charAt(endIndex) == ']') {
-                depth--;
-            }
-            endIndex++;
-        }
-
-        return json.substring(startIndex, endIndex - 1);
-    }
-
-    /**
-     * Parsea un array JSON de procesos.
-     */
-    private static ArrayList<ProcessData> parseProcessArray(String arrayContent) {
         ArrayList<ProcessData> processes = new ArrayList<>();
-
-        // Dividir en objetos individuales
-        int depth = 0;
-        int objStart = -1;
-        for (int i = 0; i < arrayContent.length(); i++) {
-            char c = arrayContent.charAt(i);
-            if (c == '{') {
-                if (depth == 0) {
-                    objStart = i;
-                }
-                depth++;
-            } else if (c == '}') {
-                depth--;
-                if (depth == 0 && objStart != -1) {
-                    String objStr = arrayContent.substring(objStart, i + 1);
-                    ProcessData pd = parseProcessObject(objStr);
-                    if (pd != null) {
-                        processes.add(pd);
-                    }
-                    objStart = -1;
-                }
+        try (WorkloadReader reader = new WorkloadReader(file)) {
+            ProcessData pd;
+            while ((pd = reader.next()) != null) {
+                processes.add(pd);
             }
-        }
-
-        return processes;
-    }
-
-    /**
-     * Parsea un objeto JSON individual de proceso.
-     */
-    private static ProcessData parseProcessObject(String objStr) {
-        ProcessData pd = new ProcessData();
-
-        pd.setProcessName(parseStringValue(objStr, "processName"));
-        pd.setTotalInstructions(parseIntValue(objStr, "totalInstructions"));
-        pd.setIOBound(parseBooleanValue(objStr, "isIOBound"));
-        pd.setIoExceptionCycle(parseIntValue(objStr, "ioExceptionCycle"));
-        pd.setIoDuration(parseIntValue(objStr, "ioDuration"));
-        pd.setArrivalCycle(parseLongValue(objStr, "arrivalCycle"));
-
-        return pd;
-    }
-
-    /**
-     * Parsea un valor String de JSON.
-     */
-    private static String parseStringValue(String json, String key) {
-        int keyIndex = json.indexOf("\"" + key + "\"");
-        if (keyIndex == -1) {
-            return "";
-        }
-        int colonIndex = json.indexOf(":", keyIndex);
-        if (colonIndex == -1) {
-            return "";
-        }
-        int startIndex = json.indexOf("\"", colonIndex);
-        if (startIndex == -1) {
-            return "";
-        }
-        startIndex++;
-        int endIndex = startIndex;
-        while (endIndex < json.length() && json.charAt(endIndex) != '\"') {
-            if (json.charAt(endIndex) == '\\') {
-                endIndex += 2;
-            } else {
-                endIndex++;
+            long cycleDuration = reader.getCycleDurationMillis();
+            if (cycleDuration == 0L) {
+                cycleDuration = 100L;
             }
+            config.setCycleDurationMillis(cycleDuration);
         }
-        return json.substring(startIndex, endIndex);
-    }
-
-    /**
-     * Parsea un valor int de JSON.
-     */
-    private static int parseIntValue(String json, String key) {
-        int keyIndex = json.indexOf("\"" + key + "\"");
-        if (keyIndex == -1) {
-            return 0;
-        }
-        int colonIndex = json.indexOf(":", keyIndex);
-        if (colonIndex == -1) {
-            return 0;
-        }
-        int startIndex = colonIndex + 1;
-        while (startIndex < json.length() && Character.isWhitespace(json.charAt(startIndex))) {
-            startIndex++;
-        }
-        int endIndex = startIndex;
-        while (endIndex < json.length() &&
-               (Character.isDigit(json.charAt(endIndex)) || json.charAt(endIndex) == '-')) {
-            endIndex++;
-        }
-        if (startIndex >= endIndex) {
-            return 0;
-        }
-        String valueStr = json.substring(startIndex, endIndex).trim();
-        try {
-            return Integer.parseInt(valueStr);
-        } catch (NumberFormatException e) {
-            return 0;
-        }
-    }
-
-    /**
-     * Parsea un valor boolean de JSON.
-     */
-    private static boolean parseBooleanValue(String json, String key) {
-        int keyIndex = json.indexOf("\"" + key + "\"");
-        if (keyIndex == -1) {
-            return false;
-        }
-        int colonIndex = json.indexOf(":", keyIndex);
-        if (colonIndex == -1) {
-            return false;
-        }
-        int startIndex = colonIndex + 1;
-        while (startIndex < json.length() && Character.isWhitespace(json.charAt(startIndex))) {
-            startIndex++;
-        }
-        int endIndex = startIndex;
-        while (endIndex < json.length() &&
-               Character.isLetter(json.charAt(endIndex))) {
-            endIndex++;
-        }
-        if (startIndex >= endIndex) {
-            return false;
-        }
-        String valueStr = json.substring(startIndex, endIndex).trim();
-        return Boolean.parseBoolean(valueStr);
+        config.setProcesses(processes);
+        return config;
     }
 
     /**
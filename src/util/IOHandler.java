@@ -7,137 +7,98 @@ package util;
 
 import core.OperatingSystem;
 import core.ProcessControlBlock;
-import datastructures.CustomQueue;
+import core.SimulatorLog;
+import datastructures.MinHeap;
 import java.util.Objects;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit; //enum that provides a set of time units
 import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /*
- * IOHandler mantiene una cola de procesos esperando la finalización de eventos de I/O y los procesa de forma asíncrona.
- * Permite encolar procesos bloqueados por entrada/salida, simular el retardo de I/O y reinsertarlos en la cola de listos del sistema operativo.
+ * IOHandler es el motor de finalizaciones de I/O dirigido por el reloj global.
+ * Cada proceso bloqueado se programa para terminar en el ciclo de solicitud + ioDuration
+ * dentro de un montículo mínimo ordenado por ciclo de finalización; al inicio de cada ciclo
+ * el reloj libera todos los procesos vencidos, de modo que los I/O simultáneos se solapan
+ * y el resultado no depende del tiempo real ni de hilos bloqueados.
  */
-public class IOHandler implements Runnable {
+public class IOHandler {
 
-    /* Logger para mensajes de depuración y seguimiento de eventos de I/O. */
-    private static final Logger LOGGER = Logger.getLogger(IOHandler.class.getName());
+    /* Mensajes de seguimiento de eventos de I/O; se registran sin asignar memoria (ver SimulatorLog). */
+    private static final SimulatorLog.Message ENQUEUE_MESSAGE = SimulatorLog.message(IOHandler.class,
+            SimulatorLog.Subsystem.IO, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) encolado para I/O hasta el ciclo #%d",
+                    entry.ref(0), entry.arg(0), entry.arg(1)));
+    private static final SimulatorLog.Message COMPLETION_MESSAGE = SimulatorLog.message(IOHandler.class,
+            SimulatorLog.Subsystem.IO, Level.INFO,
+            entry -> String.format("Proceso %s (#%d) completó I/O en el ciclo #%d y retorna a readyQueue",
+                    entry.ref(0), entry.arg(0), entry.arg(1)));
 
     /* Referencia al sistema operativo para reinsertar procesos en la cola de listos. */
     private final OperatingSystem operatingSystem;
-    /* Cola de procesos esperando la finalización de I/O. */
-    private final CustomQueue<ProcessControlBlock> ioQueue;
-    /* Semáforo que indica la cantidad de procesos pendientes de I/O. */
-    private final Semaphore pendingProcesses;
-    /* Indica si el manejador debe seguir ejecutándose. */
-    private volatile boolean running;
-    /* Duración de un ciclo de CPU en milisegundos (para simular retardo de I/O). */
-    private volatile long cycleDurationMillis;
+    /* Finalizaciones pendientes ordenadas por ciclo de vencimiento (FIFO ante empates). */
+    private final MinHeap<ProcessControlBlock> pendingCompletions;
 
     /*
-     * Construye una instancia de IOHandler con una cola vacía para procesos bloqueados.
+     * Construye un motor de I/O sin finalizaciones pendientes.
      * @param operatingSystem sistema operativo usado para reinsertar procesos en la cola de listos
-     * @param cycleDurationMillis duración de un ciclo de CPU en milisegundos
      */
-    public IOHandler(OperatingSystem operatingSystem, long cycleDurationMillis) {
+    public IOHandler(OperatingSystem operatingSystem) {
         this.operatingSystem = Objects.requireNonNull(operatingSystem, "El sistema operativo no puede ser nulo");
-        this.ioQueue = new CustomQueue<>();
-        this.pendingProcesses = new Semaphore(0);
-        this.running = true;
-        this.cycleDurationMillis = Math.max(0L, cycleDurationMillis);
+        this.pendingCompletions = new MinHeap<>();
     }
 
     /*
-     * Encola un proceso para que el subsistema de I/O lo reanude cuando termine la operación.
+     * Programa la finalización del I/O del proceso en el ciclo actual + ioDuration.
      * @param pcb proceso que espera la finalización de I/O
      */
     public void enqueueProcess(ProcessControlBlock pcb) {
         Objects.requireNonNull(pcb, "El proceso en I/O no puede ser nulo");
-        ioQueue.enqueue(pcb);
-        pendingProcesses.release();
-        LOGGER.info(() -> String.format("Proceso %s (#%d) encolado para I/O",
-                pcb.getProcessName(),
-                pcb.getProcessId()));
-    }
-
-    /*
-     * Recupera el siguiente proceso que espera la finalización de I/O.
-     * @return siguiente proceso bloqueado o null si no hay procesos esperando
-     */
-    public ProcessControlBlock dequeueProcess() {
-        return ioQueue.dequeue();
+        long dueCycle = operatingSystem.getGlobalClockCycle() + Math.max(0, pcb.getIoDuration());
+        synchronized (pendingCompletions) {
+            pendingCompletions.insert(dueCycle, pcb);
+        }
+        SimulatorLog.log(ENQUEUE_MESSAGE, pcb.getProcessName(), pcb.getProcessId(), dueCycle);
     }
 
     /*
-     * Da visibilidad sobre la cantidad de procesos encolados esperando I/O.
-     * @return cantidad de procesos en espera de finalización de I/O
+     * Da visibilidad sobre la cantidad de procesos esperando la finalización de su I/O.
+     * @return cantidad de finalizaciones pendientes
      */
     public int queuedProcessCount() {
-        return ioQueue.size();
+        synchronized (pendingCompletions) {
+            return pendingCompletions.size();
+        }
     }
 
     /*
-     * Actualiza la duración de un ciclo de CPU utilizada para calcular los retardos simulados de I/O.
-     * @param cycleDurationMillis nueva duración en milisegundos
+     * Devuelve el ciclo en el que vence la próxima finalización de I/O.
+     * @return ciclo de la finalización más próxima o -1 si no hay pendientes
      */
-    public void setCycleDurationMillis(long cycleDurationMillis) {
-        this.cycleDurationMillis = Math.max(0L, cycleDurationMillis);
+    public long nextCompletionCycle() {
+        synchronized (pendingCompletions) {
+            return pendingCompletions.isEmpty() ? -1L : pendingCompletions.peekKey();
+        }
     }
 
     /*
-     * Detiene el bucle del manejador de forma segura.
+     * Devuelve a la cola de listos todos los procesos cuyo I/O vence en el ciclo indicado o antes.
+     * Lo invoca el reloj global al inicio de cada ciclo; cuesta O(k log n) para k vencimientos.
+     * @param currentCycle ciclo global que comienza
      */
-    public void stop() {
-        running = false;
-        pendingProcesses.release();
+    public void advanceToCycle(long currentCycle) {
+        synchronized (pendingCompletions) {
+            while (!pendingCompletions.isEmpty() && pendingCompletions.peekKey() <= currentCycle) {
+                ProcessControlBlock pcb = pendingCompletions.poll();
+                operatingSystem.completeIo(pcb);
+                SimulatorLog.log(COMPLETION_MESSAGE, pcb.getProcessName(), pcb.getProcessId(), currentCycle);
+            }
+        }
     }
 
     /*
-     * Ejecuta el bucle asíncrono que procesa las finalizaciones de I/O.
-     * Extrae procesos de la cola, simula el retardo de I/O y los reinserta en la cola de listos.
+     * Descarta todas las finalizaciones pendientes (por ejemplo, al reiniciar la simulación).
      */
-    @Override
-    public void run() {
-        while (running || queuedProcessCount() > 0) {
-            try {
-                // Intentar adquirir un permiso del semáforo con timeout
-                if (!pendingProcesses.tryAcquire(1, java.util.concurrent.TimeUnit.SECONDS)) {
-                    // Si el timeout se agota y no está corriendo, salir del bucle
-                    if (!running && queuedProcessCount() == 0) {
-                        break;
-                    }
-                    continue;
-                }
-                
-                if (!running && queuedProcessCount() == 0) {
-                    break;
-                }
-                
-                ProcessControlBlock pcb = dequeueProcess();
-                if (pcb == null) {
-                    continue;
-                }
-                
-                long sleepTime = Math.max(0L, pcb.getIoDuration() * cycleDurationMillis);
-                if (sleepTime > 0) {
-                    Thread.sleep(sleepTime);
-                }
-                
-                operatingSystem.completeIo(pcb);
-                LOGGER.info(() -> String.format("Proceso %s (#%d) completó I/O y retorna a readyQueue",
-                        pcb.getProcessName(),
-                        pcb.getProcessId()));
-            } catch (InterruptedException ex) {
-                // La interrupción es normal durante el cierre
-                LOGGER.log(Level.FINE, "Hilo de IOHandler interrumpido durante shutdown", ex);
-                // Restaurar el estado de interrupción
-                Thread.currentThread().interrupt();
-                // Si estamos deteniendo, salir de forma controlada
-                if (!running) {
-                    break;
-                }
-            }
+    public void clear() {
+        synchronized (pendingCompletions) {
+            pendingCompletions.clear();
         }
-        LOGGER.info("IOHandler detenido");
     }
 }
@@ -4,6 +4,7 @@
  */
 package util;
 
+import core.CPU;
 import core.ProcessControlBlock;
 
 /**
@@ -190,4 +191,91 @@ public class MetricsCalculator {
             return (double) completedProcesses / (double) cycles;
         }
     }
+
+    /**
+     * Clase para almacenar las métricas de un núcleo en un sistema multiprocesador
+     */
+    public static class CoreMetrics {
+        private final int coreId;
+        private final long busyCycles;
+        private final long idleCycles;
+        private final long dispatchCount;
+        private final long completedProcesses;
+        private final long steals;
+        private final long migrations;
+
+        public CoreMetrics(int coreId, long busyCycles, long idleCycles, long dispatchCount, long completedProcesses,
+                           long steals, long migrations) {
+            this.coreId = coreId;
+            this.busyCycles = busyCycles;
+            this.idleCycles = idleCycles;
+            this.dispatchCount = dispatchCount;
+            this.completedProcesses = completedProcesses;
+            this.steals = steals;
+            this.migrations = migrations;
+        }
+
+        public int getCoreId() {
+            return coreId;
+        }
+
+        public long getBusyCycles() {
+            return busyCycles;
+        }
+
+        public long getIdleCycles() {
+            return idleCycles;
+        }
+
+        public long getDispatchCount() {
+            return dispatchCount;
+        }
+
+        public long getCompletedProcesses() {
+            return completedProcesses;
+        }
+
+        public long getSteals() {
+            return steals;
+        }
+
+        public long getMigrations() {
+            return migrations;
+        }
+
+        /**
+         * Calcula la utilización del núcleo (ciclos ocupados sobre ciclos observados)
+         * @return utilización entre 0 y 1, o 0 si el núcleo no ejecutó ciclos
+         */
+        public double getUtilization() {
+            long total = busyCycles + idleCycles;
+            if (total <= 0) {
+                return 0.0;
+            }
+            return (double) busyCycles / (double) total;
+        }
+    }
+
+    /**
+     * Toma una instantánea de las métricas de cada núcleo
+     * @param cores núcleos registrados en el sistema operativo
+     * @return arreglo con las métricas en el mismo orden que los núcleos
+     */
+    public static CoreMetrics[] collectCoreMetrics(CPU[] cores) {
+        if (cores == null) {
+            return new CoreMetrics[0];
+        }
+        CoreMetrics[] metrics = new CoreMetrics[cores.length];
+        for (int i = 0; i < cores.length; i++) {
+            CPU core = cores[i];
+            metrics[i] = new CoreMetrics(core.getCoreId(),
+                    core.getBusyCycles(),
+                    core.getIdleCycles(),
+                    core.getDispatchCount(),
+                    core.getCompletedProcesses(),
+                    core.getStealCount(),
+                    core.getMigrationCount());
+        }
+        return metrics;
+    }
 }
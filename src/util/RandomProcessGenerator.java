@@ -5,6 +5,8 @@
 package util;
 
 import core.ProcessControlBlock;
+import core.SimulationContext;
+import java.util.Objects;
 import java.util.Random;
 
 /*
@@ -16,6 +18,8 @@ public class RandomProcessGenerator {
 
     private final Random random;
     private int processCounter;
+    /** Contexto que asigna los PIDs de los procesos generados. */
+    private final SimulationContext context;
 
     private static final int MIN_INSTRUCTIONS = 5;
     private static final int MAX_INSTRUCTIONS = 50;
@@ -26,20 +30,24 @@ public class RandomProcessGenerator {
     private static final double IO_BOUND_PROBABILITY = 0.4;
 
     /*
-     * Constructor que inicializa el generador con una semilla aleatoria.
+     * Constructor que asigna los PIDs desde el contexto de una simulación concreta.
+     * @param context contexto de la simulación dueña de los procesos generados
      */
-    public RandomProcessGenerator() {
+    public RandomProcessGenerator(SimulationContext context) {
         this.random = new Random();
         this.processCounter = 1;
+        this.context = Objects.requireNonNull(context, "El contexto de simulación no puede ser nulo");
     }
 
     /*
-     * Constructor que permite especificar una semilla para reproducibilidad.
+     * Constructor con contexto y semilla para reproducibilidad.
+     * @param context contexto de la simulación dueña de los procesos generados
      * @param seed semilla para el generador aleatorio
      */
-    public RandomProcessGenerator(long seed) {
+    public RandomProcessGenerator(SimulationContext context, long seed) {
         this.random = new Random(seed);
         this.processCounter = 1;
+        this.context = Objects.requireNonNull(context, "El contexto de simulación no puede ser nulo");
     }
 
     /*
@@ -48,7 +56,7 @@ public class RandomProcessGenerator {
      */
     public ProcessControlBlock generateRandomProcess() {
         String name = "P" + processCounter++;
-        ProcessControlBlock pcb = new ProcessControlBlock(name);
+        ProcessControlBlock pcb = context.newProcess(name);
 
         // Generar número aleatorio de instrucciones
         int instructions = MIN_INSTRUCTIONS + random.nextInt(MAX_INSTRUCTIONS - MIN_INSTRUCTIONS + 1);
@@ -0,0 +1,582 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package util;
+
+import core.OperatingSystem;
+import core.ProcessControlBlock;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+
+/**
+ * WorkloadReader lee trazas de arribos en el formato JSON de ConfigManager de forma incremental:
+ * un tokenizador de una sola pasada recorre el archivo con un búfer fijo y entrega un proceso a
+ * la vez, sin cargar el texto completo ni volver a recorrer cada objeto. La raíz puede ser el
+ * objeto de configuración ({"cycleDurationMillis": ..., "processes": [...]}) o directamente el
+ * arreglo de procesos; las claves desconocidas se ignoran.
+ *
+ * scheduleUpTo() vuelca los registros en la rueda de arribos del sistema operativo hasta un
+ * horizonte de ciclos. Con trazas ordenadas por arribo, el lector solo retiene el siguiente
+ * registro, así que la memoria del lector y de la rueda queda acotada por el horizonte y no por
+ * el tamaño de la traza.
+ *
+ * @author santiagodelcastillo
+ */
+public class WorkloadReader implements WorkloadSource {
+
+    /** Tamaño del búfer de lectura en caracteres. */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** Marca de fin de entrada devuelta por peek/read. */
+    private static final int EOF = -1;
+
+    /** Fuente de caracteres. */
+    private final Reader in;
+    /** Búfer de lectura. */
+    private final char[] buffer;
+    /** Posición del próximo carácter en el búfer. */
+    private int position;
+    /** Cantidad de caracteres válidos en el búfer. */
+    private int limit;
+    /** Línea actual, para los mensajes de error. */
+    private long line;
+    /** Texto del último string o literal leído (se reutiliza entre tokens). */
+    private final StringBuilder text;
+    /** Indica si ya se leyó el encabezado hasta el arreglo de procesos. */
+    private boolean started;
+    /** Indica si el tokenizador está dentro del arreglo de procesos. */
+    private boolean inProcessArray;
+    /** Indica si la raíz es el objeto de configuración (y no el arreglo directamente). */
+    private boolean rootIsObject;
+    /** Cantidad de registros entregados. */
+    private long recordsRead;
+    /** Duración de ciclo declarada en la traza (0 si no se declaró). */
+    private long cycleDurationMillis;
+    /** Registro leído por adelantado que aún no vence dentro del horizonte. */
+    private final ProcessData lookahead;
+    /** Indica si lookahead contiene un registro pendiente. */
+    private boolean hasLookahead;
+
+    /**
+     * Abre una traza almacenada en disco (UTF-8).
+     * @param file archivo de la traza
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public WorkloadReader(File file) throws IOException {
+        this(Files.newBufferedReader(Objects.requireNonNull(file, "El archivo no puede ser nulo").toPath(),
+                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Crea un lector sobre una fuente de caracteres; el lector se cierra con close().
+     * @param in fuente de la traza
+     */
+    public WorkloadReader(Reader in) {
+        this.in = Objects.requireNonNull(in, "La fuente no puede ser nula");
+        this.buffer = new char[BUFFER_SIZE];
+        this.position = 0;
+        this.limit = 0;
+        this.line = 1L;
+        this.text = new StringBuilder();
+        this.lookahead = new ProcessData();
+    }
+
+    /**
+     * Lee el siguiente proceso de la traza.
+     * @return registro nuevo o null al terminar la traza
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el formato JSON es inválido
+     */
+    public ProcessData next() throws IOException {
+        ProcessData record = new ProcessData();
+        return next(record) ? record : null;
+    }
+
+    /**
+     * Lee el siguiente proceso sobrescribiendo el registro indicado, sin reservar otro objeto.
+     * @param target registro donde se copian los campos
+     * @return true si se leyó un proceso, false al terminar la traza
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el formato JSON es inválido
+     */
+    public boolean next(ProcessData target) throws IOException {
+        Objects.requireNonNull(target, "El registro destino no puede ser nulo");
+        if (hasLookahead) {
+            copy(lookahead, target);
+            hasLookahead = false;
+            return true;
+        }
+        if (!started) {
+            start();
+        }
+        if (!inProcessArray) {
+            return false;
+        }
+        int c = peekNonWhitespace();
+        if (c == ']') {
+            read();
+            finishProcessArray();
+            return false;
+        }
+        if (recordsRead > 0) {
+            expect(',');
+            peekNonWhitespace();
+        }
+        readProcess(target);
+        recordsRead++;
+        return true;
+    }
+
+    /**
+     * Crea y programa en el sistema operativo los procesos cuyo arribo no supera el horizonte.
+     * El primer registro posterior al horizonte queda retenido para la próxima llamada.
+     * Los arribos ya vencidos se admiten de inmediato (ver OperatingSystem.scheduleArrival).
+     * @param os sistema operativo destino
+     * @param horizonCycle último ciclo de arribo a programar en esta llamada
+     * @return cantidad de procesos programados
+     * @throws IOException si falla la lectura
+     */
+    @Override
+    public int scheduleUpTo(OperatingSystem os, long horizonCycle) throws IOException {
+        Objects.requireNonNull(os, "El sistema operativo no puede ser nulo");
+        int scheduled = 0;
+        while (next(lookahead)) {
+            if (lookahead.getArrivalCycle() > horizonCycle) {
+                hasLookahead = true;
+                break;
+            }
+            os.scheduleArrival(createProcess(os, lookahead), Math.max(0L, lookahead.getArrivalCycle()));
+            scheduled++;
+        }
+        return scheduled;
+    }
+
+    /**
+     * Indica si quedan registros por entregar.
+     * @return true si la traza no terminó
+     * @throws IOException si falla la lectura
+     */
+    @Override
+    public boolean hasRemaining() throws IOException {
+        if (hasLookahead) {
+            return true;
+        }
+        if (!started) {
+            start();
+        }
+        return inProcessArray;
+    }
+
+    /**
+     * Duración de ciclo declarada en la traza. Solo es definitiva cuando la clave aparece antes
+     * del arreglo de procesos (como la escribe ConfigManager) o al terminar de leer.
+     * @return milisegundos por ciclo, o 0 si no se declaró
+     */
+    @Override
+    public long getCycleDurationMillis() {
+        return cycleDurationMillis;
+    }
+
+    /**
+     * Cantidad de procesos leídos hasta el momento.
+     * @return registros entregados por el tokenizador
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Crea el PCB de un registro con los mismos valores por defecto que la carga desde la interfaz.
+     */
+    private ProcessControlBlock createProcess(OperatingSystem os, ProcessData record) {
+        return createProcess(os, record.getProcessName(), recordsRead, record.getTotalInstructions(),
+                record.isIOBound(), record.getIoExceptionCycle(), record.getIoDuration());
+    }
+
+    /**
+     * Crea un PCB a partir de los campos de un registro de traza. Un nombre vacío se reemplaza por
+     * "Proceso-N" con el número de registro, y los datos de E/S solo se copian si el proceso es
+     * I/O bound.
+     * @param ordinal número de registro (desde 1) usado en el nombre por defecto
+     */
+    static ProcessControlBlock createProcess(OperatingSystem os, String name, long ordinal, int totalInstructions,
+                                             boolean ioBound, int ioExceptionCycle, int ioDuration) {
+        if (name == null || name.isBlank()) {
+            name = "Proceso-" + ordinal;
+        }
+        ProcessControlBlock pcb = os.getContext().newProcess(name);
+        pcb.setTotalInstructions(totalInstructions);
+        pcb.setIOBound(ioBound);
+        if (ioBound) {
+            pcb.setIoExceptionCycle(ioExceptionCycle);
+            pcb.setIoDuration(ioDuration);
+        }
+        return pcb;
+    }
+
+    private static void copy(ProcessData from, ProcessData to) {
+        to.setProcessName(from.getProcessName());
+        to.setTotalInstructions(from.getTotalInstructions());
+        to.setIOBound(from.isIOBound());
+        to.setIoExceptionCycle(from.getIoExceptionCycle());
+        to.setIoDuration(from.getIoDuration());
+        to.setArrivalCycle(from.getArrivalCycle());
+    }
+
+    // --- Estructura del documento ---
+
+    /**
+     * Lee la raíz hasta entrar al arreglo de procesos (o hasta el final si no lo hay).
+     */
+    private void start() throws IOException {
+        started = true;
+        int c = peekNonWhitespace();
+        if (c == '[') {
+            read();
+            inProcessArray = true;
+            return;
+        }
+        expect('{');
+        rootIsObject = true;
+        readRootMembers(true);
+    }
+
+    /**
+     * Recorre los miembros del objeto raíz. Se detiene al abrir "processes" o al cerrar la raíz.
+     * @param first true si todavía no se leyó ningún miembro
+     */
+    private void readRootMembers(boolean first) throws IOException {
+        while (true) {
+            int c = peekNonWhitespace();
+            if (c == '}') {
+                read();
+                expectEnd();
+                return;
+            }
+            if (!first) {
+                expect(',');
+                peekNonWhitespace();
+            }
+            first = false;
+            readKey();
+            if (text.length() == 9 && "processes".contentEquals(text)) {
+                expect('[');
+                inProcessArray = true;
+                return;
+            } else if ("cycleDurationMillis".contentEquals(text)) {
+                cycleDurationMillis = readLong();
+            } else {
+                skipValue();
+            }
+        }
+    }
+
+    private void finishProcessArray() throws IOException {
+        inProcessArray = false;
+        if (rootIsObject) {
+            readRootMembers(false);
+        } else {
+            expectEnd();
+        }
+    }
+
+    /**
+     * Lee un objeto de proceso completo en el registro indicado.
+     */
+    private void readProcess(ProcessData target) throws IOException {
+        target.setProcessName("");
+        target.setTotalInstructions(0);
+        target.setIOBound(false);
+        target.setIoExceptionCycle(0);
+        target.setIoDuration(0);
+        target.setArrivalCycle(0L);
+        expect('{');
+        boolean first = true;
+        while (true) {
+            int c = peekNonWhitespace();
+            if (c == '}') {
+                read();
+                return;
+            }
+            if (!first) {
+                expect(',');
+                peekNonWhitespace();
+            }
+            first = false;
+            readKey();
+            if ("processName".contentEquals(text)) {
+                target.setProcessName(readString());
+            } else if ("totalInstructions".contentEquals(text)) {
+                target.setTotalInstructions(readInt());
+            } else if ("isIOBound".contentEquals(text)) {
+                target.setIOBound(readBoolean());
+            } else if ("ioExceptionCycle".contentEquals(text)) {
+                target.setIoExceptionCycle(readInt());
+            } else if ("ioDuration".contentEquals(text)) {
+                target.setIoDuration(readInt());
+            } else if ("arrivalCycle".contentEquals(text)) {
+                target.setArrivalCycle(readLong());
+            } else {
+                skipValue();
+            }
+        }
+    }
+
+    // --- Tokens ---
+
+    /**
+     * Lee una clave de objeto en text y consume los dos puntos que la siguen.
+     */
+    private void readKey() throws IOException {
+        if (peekNonWhitespace() != '"') {
+            throw error("se esperaba el nombre de una clave");
+        }
+        readStringToken();
+        expect(':');
+    }
+
+    private String readString() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == 'n') {
+            readLiteral("null");
+            return "";
+        }
+        if (c != '"') {
+            throw error("se esperaba un texto");
+        }
+        readStringToken();
+        return text.toString();
+    }
+
+    /**
+     * Lee un string JSON (con sus escapes) en text.
+     */
+    private void readStringToken() throws IOException {
+        read(); // comilla inicial
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                throw error("texto sin cerrar");
+            }
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                int escaped = read();
+                switch (escaped) {
+                    case '"': case '\\': case '/': text.append((char) escaped); break;
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'u': text.append((char) readHex4()); break;
+                    default: throw error("secuencia de escape inválida");
+                }
+            } else {
+                if (c == '\n') {
+                    line++;
+                }
+                text.append((char) c);
+            }
+        }
+    }
+
+    private int readHex4() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw error("escape \\u inválido");
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private int readInt() throws IOException {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("entero fuera de rango: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Lee un entero acumulando los dígitos directamente, sin crear strings.
+     */
+    private long readLong() throws IOException {
+        int c = peekNonWhitespace();
+        boolean negative = c == '-';
+        if (negative) {
+            read();
+            c = peek();
+        }
+        if (c < '0' || c > '9') {
+            throw error("se esperaba un número entero");
+        }
+        long value = 0L;
+        while (c >= '0' && c <= '9') {
+            read();
+            int digit = c - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10L) {
+                throw error("número fuera de rango");
+            }
+            value = value * 10L + digit;
+            c = peek();
+        }
+        if (c == '.' || c == 'e' || c == 'E') {
+            throw error("se esperaba un número entero");
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean readBoolean() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == 't') {
+            readLiteral("true");
+            return true;
+        }
+        if (c == 'f') {
+            readLiteral("false");
+            return false;
+        }
+        throw error("se esperaba true o false");
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("se esperaba " + literal);
+            }
+        }
+    }
+
+    /**
+     * Descarta un valor JSON de cualquier tipo (incluidos objetos y arreglos anidados).
+     */
+    private void skipValue() throws IOException {
+        int c = peekNonWhitespace();
+        switch (c) {
+            case '"':
+                readStringToken();
+                return;
+            case '{':
+            case '[':
+                skipContainer();
+                return;
+            case 't':
+                readLiteral("true");
+                return;
+            case 'f':
+                readLiteral("false");
+                return;
+            case 'n':
+                readLiteral("null");
+                return;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                        read();
+                        c = peek();
+                    }
+                    return;
+                }
+                throw error("valor inesperado");
+        }
+    }
+
+    /**
+     * Descarta un objeto o arreglo contando la profundidad, sin recursión.
+     */
+    private void skipContainer() throws IOException {
+        int depth = 0;
+        do {
+            int c = peekNonWhitespace();
+            if (c == EOF) {
+                throw error("fin de archivo dentro de un valor");
+            }
+            if (c == '"') {
+                readStringToken();
+                continue;
+            }
+            read();
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peekNonWhitespace() != expected) {
+            throw error("se esperaba '" + expected + "'");
+        }
+        read();
+    }
+
+    private void expectEnd() throws IOException {
+        if (peekNonWhitespace() != EOF) {
+            throw error("contenido después del final del documento");
+        }
+    }
+
+    // --- Búfer ---
+
+    private int peekNonWhitespace() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\t' || c == '\r') {
+                position++;
+            } else if (c == '\n') {
+                position++;
+                line++;
+            } else if (c == '\uFEFF' && line == 1L) {
+                position++; // marca de orden de bytes al inicio del archivo
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            limit = 0;
+            position = 0;
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+    private IllegalArgumentException error(String detail) {
+        return new IllegalArgumentException("Formato JSON inválido en la línea " + line + ": " + detail);
+    }
+}
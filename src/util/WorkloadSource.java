@@ -0,0 +1,41 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package util;
+
+import core.OperatingSystem;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * WorkloadSource es una traza de arribos que se vuelca de forma incremental en la rueda de
+ * arribos de un sistema operativo. La implementan el lector JSON en streaming (WorkloadReader)
+ * y el formato binario mapeado en memoria (BinaryWorkload).
+ *
+ * @author santiagodelcastillo
+ */
+public interface WorkloadSource extends Closeable {
+
+    /**
+     * Crea y programa los procesos cuyo arribo no supera el horizonte indicado.
+     * @param os sistema operativo destino
+     * @param horizonCycle último ciclo de arribo a programar en esta llamada
+     * @return cantidad de procesos programados
+     * @throws IOException si falla la lectura
+     */
+    int scheduleUpTo(OperatingSystem os, long horizonCycle) throws IOException;
+
+    /**
+     * Indica si quedan procesos por programar.
+     * @return true si la traza no terminó
+     * @throws IOException si falla la lectura
+     */
+    boolean hasRemaining() throws IOException;
+
+    /**
+     * Duración de ciclo declarada en la traza.
+     * @return milisegundos por ciclo, o 0 si no se declaró
+     */
+    long getCycleDurationMillis();
+}
@@ -0,0 +1,82 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de la lista libre de ProcessTable: una fila liberada vuelve a sus valores iniciales y
+ * la reutiliza el siguiente proceso, así que la tabla no crece con el total de procesos.
+ */
+public class ProcessTableTest {
+
+    @Test
+    public void releasedRowIsReusedWithInitialValues() {
+        ProcessTable table = new ProcessTable();
+        int first = table.allocate("A", ProcessState.NUEVO);
+        table.setTotalInstructions(first, 40);
+        table.setProgramCounter(first, 12);
+        table.setIOBound(first, true);
+        table.setArrivalCycle(first, 7L);
+        table.setFirstExecutionCycle(first, 9L);
+        table.addReadyWaitCycles(first, 5L);
+        table.incrementDispatchCount(first);
+        table.setState(first, ProcessState.TERMINADO);
+
+        table.release(first);
+        assertTrue(table.isReleased(first));
+        assertEquals(1, table.releasedCount());
+
+        int reused = table.allocate("B", ProcessState.NUEVO);
+        assertEquals(first, reused);
+        assertFalse(table.isReleased(reused));
+        assertEquals(0, table.releasedCount());
+        assertEquals("B", table.getName(reused));
+        assertEquals(ProcessState.NUEVO, table.getState(reused));
+        assertEquals(0, table.getTotalInstructions(reused));
+        assertEquals(0, table.getProgramCounter(reused));
+        assertFalse(table.isIOBound(reused));
+        assertEquals(-1L, table.getArrivalCycle(reused));
+        assertEquals(-1L, table.getFirstExecutionCycle(reused));
+        assertEquals(0L, table.getReadyWaitCycles(reused));
+        assertEquals(0, table.getDispatchCount(reused));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void tableSizeFollowsLiveProcesses() {
+        ProcessTable table = new ProcessTable();
+        // A lo sumo tres procesos vivos a la vez: cada uno se libera tres arribos después
+        int[] live = new int[3];
+        for (int i = 0; i < 10_000; i++) {
+            if (i >= live.length) {
+                table.release(live[i % live.length]);
+            }
+            live[i % live.length] = table.allocate("P" + i, ProcessState.NUEVO);
+        }
+        assertTrue("filas: " + table.size(), table.size() <= 3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsDoubleRelease() {
+        ProcessTable table = new ProcessTable();
+        int pid = table.allocate("A", ProcessState.NUEVO);
+        table.release(pid);
+        table.release(pid);
+    }
+
+    @Test
+    public void blockAllocationDoesNotTakeReleasedRows() {
+        ProcessTable table = new ProcessTable();
+        int pid = table.allocate("A", ProcessState.NUEVO);
+        table.release(pid);
+        int first = table.allocate(4);
+        assertEquals(pid + 1, first);
+        assertEquals(1, table.releasedCount());
+    }
+}
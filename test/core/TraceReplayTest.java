@@ -0,0 +1,164 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import scheduler.PolicyType;
+import util.IOHandler;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de ida y vuelta de TraceReplay: se graba una simulación corta con EventRecorder y se
+ * comprueba que seek hacia atrás y hacia adelante reproduce las colas y los núcleos que tenía el
+ * sistema operativo en ese ciclo.
+ */
+public class TraceReplayTest {
+
+    private static final int CORES = 2;
+    private static final int PROCESSES = 40;
+
+    /** Estado del sistema operativo al final de un ciclo, con las colas como listas de PID. */
+    private static final class Frame {
+        final long cycle;
+        final String state;
+
+        Frame(long cycle, String state) {
+            this.cycle = cycle;
+            this.state = state;
+        }
+    }
+
+    private static int[] pids(Object[] processes, int from, int to) {
+        int[] pids = new int[to - from];
+        for (int i = from; i < to; i++) {
+            pids[i - from] = ((ProcessControlBlock) processes[i]).getProcessId();
+        }
+        return pids;
+    }
+
+    private static String describe(OperatingSystem os) {
+        StringBuilder state = new StringBuilder();
+        CPU[] cpus = os.getCpus();
+        int localTotal = 0;
+        for (CPU cpu : cpus) {
+            ProcessControlBlock running = cpu.getCurrentProcess();
+            Object[] local = cpu.localRunQueue().toArray();
+            localTotal += local.length;
+            state.append("cpu").append(cpu.getCoreId()).append('=').append(running == null ? 0 : running.getProcessId())
+                    .append(" local").append(cpu.getCoreId()).append('=').append(Arrays.toString(pids(local, 0, local.length)))
+                    .append('\n');
+        }
+        ProcessControlBlock[] ready = os.getReadyQueueSnapshot();
+        ProcessControlBlock[] suspended = os.getSuspendedQueuesSnapshot();
+        int readySuspended = os.readySuspendedQueueSize();
+        state.append("listos=").append(Arrays.toString(pids(ready, 0, ready.length - localTotal))).append('\n')
+                .append("bloqueados=").append(Arrays.toString(pids(os.getBlockedQueueSnapshot(), 0, os.blockedQueueSize()))).append('\n')
+                .append("listosSusp=").append(Arrays.toString(pids(suspended, 0, readySuspended))).append('\n')
+                .append("bloqueadosSusp=").append(Arrays.toString(pids(suspended, readySuspended, suspended.length))).append('\n')
+                .append("terminados=").append(os.finishedQueueSize());
+        return state.toString();
+    }
+
+    private static String describe(TraceReplay replay) {
+        StringBuilder state = new StringBuilder();
+        for (int core = 0; core < CORES; core++) {
+            state.append("cpu").append(core).append('=').append(replay.getRunningProcess(core))
+                    .append(" local").append(core).append('=').append(Arrays.toString(replay.getLocalRunQueue(core)))
+                    .append('\n');
+        }
+        state.append("listos=").append(Arrays.toString(replay.getReadyQueue())).append('\n')
+                .append("bloqueados=").append(Arrays.toString(replay.getBlockedQueue())).append('\n')
+                .append("listosSusp=").append(Arrays.toString(replay.getReadySuspendedQueue())).append('\n')
+                .append("bloqueadosSusp=").append(Arrays.toString(replay.getBlockedSuspendedQueue())).append('\n')
+                .append("terminados=").append(replay.getFinishedCount());
+        return state.toString();
+    }
+
+    /**
+     * Simula dos núcleos con Round Robin, colas por núcleo con reparto periódico, I/O y memoria
+     * limitada (para que haya suspensiones), guardando el estado al final de cada ciclo.
+     */
+    private static List<Frame> recordSimulation(File file) throws IOException {
+        OperatingSystem os = new OperatingSystem(new SimulationContext());
+        os.setHeadlessMode(true);
+        os.setMaxProcessesInMemory(6);
+        os.setRoundRobinQuantum(2);
+        os.setPerCoreRunQueues(true);
+        os.setLoadBalanceInterval(3);
+        IOHandler ioHandler = new IOHandler(os);
+        for (int i = 0; i < CORES; i++) {
+            os.attachCpu(new CPU(os, ioHandler));
+        }
+        os.setSchedulingPolicy(PolicyType.ROUND_ROBIN);
+        EventRecorder recorder = new EventRecorder(file, 64);
+        recorder.start();
+        os.setEventRecorder(recorder);
+
+        List<Frame> frames = new ArrayList<>();
+        SimulationContext context = os.getContext();
+        int created = 0;
+        while (created < PROCESSES || os.finishedQueueSize() < PROCESSES) {
+            // Dos arribos por ciclo; se admiten con el reloj detenido, así que quedan en este ciclo
+            for (int i = 0; i < 2 && created < PROCESSES; i++, created++) {
+                ProcessControlBlock pcb = context.newProcess("P" + created);
+                pcb.setTotalInstructions(3 + created % 7);
+                if (created % 3 == 0) {
+                    pcb.setIOBound(true);
+                    pcb.setIoExceptionCycle(2);
+                    pcb.setIoDuration(2 + created % 4);
+                }
+                os.admitProcess(pcb);
+            }
+            frames.add(new Frame(os.getGlobalClockCycle(), describe(os)));
+            assertTrue("La simulación no termina", os.advanceClock() < 2_000L);
+        }
+        frames.add(new Frame(os.getGlobalClockCycle(), describe(os)));
+        os.setEventRecorder(null);
+        recorder.close();
+        assertEquals(0L, recorder.getDroppedEvents());
+        return frames;
+    }
+
+    @Test
+    public void seekBackwardAndForwardReproducesRecordedState() throws IOException {
+        File file = File.createTempFile("trace-replay", ".bin");
+        file.deleteOnExit();
+        List<Frame> frames = recordSimulation(file);
+        // Puntos de control frecuentes para que retroceder restaure uno intermedio
+        TraceReplay replay = TraceReplay.open(file, 32);
+        assertTrue(replay.getCheckpointCount() > 2);
+
+        Frame last = frames.get(frames.size() - 1);
+        replay.seek(last.cycle);
+        assertEquals("Ciclo " + last.cycle, last.state, describe(replay));
+
+        // Hacia atrás desde el final y luego hacia adelante, ciclo por ciclo
+        for (int i = frames.size() - 1; i >= 0; i -= 5) {
+            Frame frame = frames.get(i);
+            replay.seek(frame.cycle);
+            assertEquals("Ciclo " + frame.cycle, frame.state, describe(replay));
+        }
+        for (Frame frame : frames) {
+            replay.seek(frame.cycle);
+            assertEquals("Ciclo " + frame.cycle, frame.state, describe(replay));
+        }
+
+        // Saltos alternados entre un ciclo temprano y uno tardío
+        Frame early = frames.get(frames.size() / 4);
+        Frame late = frames.get(frames.size() * 3 / 4);
+        for (int i = 0; i < 3; i++) {
+            replay.seek(late.cycle);
+            assertEquals("Ciclo " + late.cycle, late.state, describe(replay));
+            replay.seek(early.cycle);
+            assertEquals("Ciclo " + early.cycle, early.state, describe(replay));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de TimingWheel: orden de programación dentro de un mismo instante, vencimientos en
+ * los límites entre niveles (63/64, 4095/4096) y saltos de advanceTo sobre tramos vacíos.
+ */
+public class TimingWheelTest {
+
+    private static void assertValues(IntArrayList actual, int... expected) {
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Posición " + i, expected[i], actual.get(i));
+        }
+    }
+
+    @Test
+    public void entriesWithSameDeadlineLeaveInScheduleOrder() {
+        TimingWheel wheel = new TimingWheel();
+        wheel.schedule(5, 10L);
+        wheel.schedule(3, 10L);
+        wheel.schedule(9, 11L);
+        wheel.schedule(1, 10L);
+        IntArrayList due = new IntArrayList();
+        assertEquals(3, wheel.advanceTo(10L, due));
+        assertValues(due, 5, 3, 1);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void cascadedEntryStaysAheadOfLaterScheduleForSameDeadline() {
+        TimingWheel wheel = new TimingWheel();
+        // Desde 0 el vencimiento 70 va al nivel 1; en 64 baja al nivel 0
+        wheel.schedule(1, 70L);
+        IntArrayList due = new IntArrayList();
+        assertEquals(0, wheel.advanceTo(65L, due));
+        wheel.schedule(2, 70L);
+        wheel.schedule(3, 70L);
+        assertEquals(3, wheel.advanceTo(70L, due));
+        assertValues(due, 1, 2, 3);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void deliversDeadlinesOnLevelBoundariesAtTheirCycle() {
+        long[] deadlines = {1L, 62L, 63L, 64L, 65L, 127L, 128L, 4095L, 4096L, 4097L, 262_143L, 262_144L};
+        TimingWheel wheel = new TimingWheel();
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(i, deadlines[i]);
+        }
+        IntArrayList due = new IntArrayList();
+        int next = 0;
+        // Avanza de a un ciclo: cada valor debe salir exactamente en su vencimiento
+        for (long cycle = 1L; cycle <= deadlines[deadlines.length - 1]; cycle++) {
+            due.clear();
+            wheel.advanceTo(cycle, due);
+            if (next < deadlines.length && deadlines[next] == cycle) {
+                assertValues(due, next);
+                next++;
+            } else {
+                assertEquals("Ciclo " + cycle, 0, due.size());
+            }
+        }
+        assertEquals(deadlines.length, next);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void schedulesAcrossBoundariesFromNonZeroTime() {
+        long[] starts = {62L, 63L, 4094L, 4095L};
+        for (long start : starts) {
+            TimingWheel wheel = new TimingWheel(start);
+            wheel.schedule(1, start + 1L);
+            wheel.schedule(2, start + 2L);
+            wheel.schedule(3, start + 64L);
+            wheel.schedule(4, start + 4096L);
+            IntArrayList due = new IntArrayList();
+            for (long cycle = start + 1L; cycle <= start + 4096L; cycle++) {
+                int before = due.size();
+                wheel.advanceTo(cycle, due);
+                long offset = cycle - start;
+                boolean expected = offset == 1L || offset == 2L || offset == 64L || offset == 4096L;
+                assertEquals("Inicio " + start + ", ciclo " + cycle, expected ? 1 : 0, due.size() - before);
+            }
+            assertValues(due, 1, 2, 3, 4);
+        }
+    }
+
+    @Test
+    public void advanceToJumpsPastEmptyStretches() {
+        long far = 1_000_000_000_000L;
+        TimingWheel wheel = new TimingWheel();
+        wheel.schedule(7, far);
+        wheel.schedule(8, 5L);
+        IntArrayList due = new IntArrayList();
+
+        assertEquals(1, wheel.advanceTo(far - 1L, due));
+        assertValues(due, 8);
+        assertEquals(far - 1L, wheel.currentTime());
+        assertEquals(1, wheel.size());
+
+        assertEquals(1, wheel.advanceTo(far, due));
+        assertValues(due, 8, 7);
+        assertTrue(wheel.isEmpty());
+
+        // Sin entradas el reloj salta directamente al instante pedido
+        assertEquals(0, wheel.advanceTo(far * 3L, due));
+        assertEquals(far * 3L, wheel.currentTime());
+    }
+
+    @Test
+    public void singleJumpDeliversEveryDeadlineInOrder() {
+        TimingWheel wheel = new TimingWheel();
+        wheel.schedule(5000, 5000L);
+        wheel.schedule(70, 70L);
+        wheel.schedule(4096, 4096L);
+        wheel.schedule(63, 63L);
+        wheel.schedule(300_000, 300_000L);
+        IntArrayList due = new IntArrayList();
+        assertEquals(4, wheel.advanceTo(10_000L, due));
+        assertValues(due, 63, 70, 4096, 5000);
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advanceTo(1L << 40, due));
+        assertValues(due, 63, 70, 4096, 5000, 300_000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDeadlineNotAfterCurrentTime() {
+        TimingWheel wheel = new TimingWheel(100L);
+        wheel.schedule(1, 100L);
+    }
+}
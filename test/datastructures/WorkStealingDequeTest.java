@@ -0,0 +1,114 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de WorkStealingDeque: orden FIFO de steal, crecimiento del arreglo circular y robos
+ * concurrentes mientras el dueño inserta.
+ */
+public class WorkStealingDequeTest {
+
+    @Test
+    public void stealReturnsElementsInInsertionOrderAcrossGrowth() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        for (int i = 0; i < 100; i++) {
+            deque.pushBottom(i);
+        }
+        assertEquals(100, deque.size());
+        assertEquals(Integer.valueOf(0), deque.peekTop());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), deque.steal());
+        }
+        assertTrue(deque.isEmpty());
+        assertNull(deque.steal());
+        assertNull(deque.peekTop());
+    }
+
+    @Test
+    public void interleavedPushAndStealKeepFifoOrder() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 7; i++) {
+                deque.pushBottom(next++);
+            }
+            for (int i = 0; i < 5; i++) {
+                assertEquals(Integer.valueOf(expected++), deque.steal());
+            }
+        }
+        assertEquals(next - expected, deque.size());
+        while (!deque.isEmpty()) {
+            assertEquals(Integer.valueOf(expected++), deque.steal());
+        }
+        assertEquals(next, expected);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNullElements() {
+        new WorkStealingDeque<Integer>().pushBottom(null);
+    }
+
+    @Test
+    public void concurrentThievesTakeEveryElementExactlyOnce() throws InterruptedException {
+        final int elements = 200_000;
+        final int thieves = 3;
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(elements);
+        boolean[] ordered = new boolean[thieves];
+        int[] counts = new int[thieves];
+        Thread[] workers = new Thread[thieves];
+        Thread owner = new Thread(() -> {
+            for (int i = 0; i < elements; i++) {
+                deque.pushBottom(i);
+            }
+        });
+        for (int t = 0; t < thieves; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                int previous = -1;
+                boolean inOrder = true;
+                while (owner.isAlive() || !deque.isEmpty()) {
+                    Integer value = deque.steal();
+                    if (value == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    // Cada ladrón ve los elementos en el orden en que se insertaron
+                    inOrder &= value > previous;
+                    previous = value;
+                    taken.incrementAndGet(value);
+                    counts[id]++;
+                }
+                ordered[id] = inOrder;
+            });
+        }
+        owner.start();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        owner.join();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int total = 0;
+        for (int t = 0; t < thieves; t++) {
+            assertTrue("El ladrón " + t + " recibió elementos fuera de orden", ordered[t]);
+            total += counts[t];
+        }
+        assertEquals(elements, total);
+        for (int i = 0; i < elements; i++) {
+            assertEquals("Elemento " + i, 1, taken.get(i));
+        }
+        assertTrue(deque.isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package scheduler;
+
+import core.ProcessControlBlock;
+import core.SimulationContext;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de ResponseRatioQueue con duraciones muy grandes: las cubetas se indexan por una
+ * posición densa, así que la memoria no depende del valor de la duración.
+ */
+public class ResponseRatioQueueTest {
+
+    private final SimulationContext context = new SimulationContext();
+
+    private ProcessControlBlock process(String name, int instructions, long arrival) {
+        ProcessControlBlock pcb = context.newProcess(name);
+        pcb.setTotalInstructions(instructions);
+        pcb.markReadyQueueArrival(arrival);
+        return pcb;
+    }
+
+    @Test
+    public void acceptsVeryLargeBursts() {
+        ResponseRatioQueue queue = new ResponseRatioQueue();
+        ProcessControlBlock huge = process("huge", Integer.MAX_VALUE, 0L);
+        ProcessControlBlock large = process("large", 200_000_000, 0L);
+        ProcessControlBlock small = process("small", 2, 5L);
+        queue.enqueue(huge);
+        queue.enqueue(large);
+        queue.enqueue(small);
+        assertEquals(3, queue.size());
+
+        // ratios en el ciclo 10: small = 1 + 5/2, large = 1 + 10/2e8, huge = 1 + 10/(2^31 - 1)
+        assertSame(small, queue.dequeueHighestRatio(10L));
+        assertSame(large, queue.dequeueHighestRatio(10L));
+        assertSame(huge, queue.dequeueHighestRatio(10L));
+        assertNull(queue.dequeueHighestRatio(10L));
+    }
+
+    @Test
+    public void reusesBucketOfRepeatedLargeBurst() {
+        ResponseRatioQueue queue = new ResponseRatioQueue();
+        ProcessControlBlock first = process("first", Integer.MAX_VALUE, 3L);
+        ProcessControlBlock second = process("second", Integer.MAX_VALUE, 1L);
+        queue.enqueue(first);
+        queue.enqueue(second);
+        // misma duración: gana el que llegó antes a listos
+        assertSame(second, queue.dequeueHighestRatio(20L));
+        queue.enqueue(second);
+        assertSame(first, queue.peek());
+        assertEquals(2, queue.size());
+        assertSame(second, queue.dequeueHighestRatio(20L));
+        assertSame(first, queue.dequeueHighestRatio(20L));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void removesProcessThroughAnotherView() {
+        ResponseRatioQueue queue = new ResponseRatioQueue();
+        ProcessControlBlock first = process("first", 4, 0L);
+        ProcessControlBlock second = process("second", 4, 1L);
+        queue.enqueue(first);
+        queue.enqueue(second);
+
+        // Otra vista de la misma fila, como la que recibe markAsFinished
+        ProcessControlBlock view = context.getProcessTable().view(first.getProcessId());
+        assertTrue(queue.remove(view));
+        assertEquals(1, queue.size());
+        assertSame(second, queue.peek());
+        assertFalse(queue.remove(view));
+
+        // Una vista con el mismo PID pero de otra tabla no es el proceso encolado
+        SimulationContext otherContext = new SimulationContext();
+        otherContext.newProcess("a");
+        ProcessControlBlock foreign = otherContext.newProcess("b");
+        assertEquals(second.getProcessId(), foreign.getProcessId());
+        assertFalse(queue.remove(foreign));
+        assertEquals(1, queue.size());
+    }
+}